@@ -3,10 +3,13 @@ package com.basit.cz.analytics.entity;
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.*;
 import java.time.OffsetDateTime;
+import java.util.Optional;
 
 
 @Entity
-@Table(name = "fact_appointment")
+@Table(name = "fact_appointment", indexes = {
+        @Index(name = "idx_fact_appointment_appointment_event", columnList = "appointment_id, event_type, event_time")
+})
 public class FactAppointment extends PanacheEntityBase {
 
     @Id
@@ -54,4 +57,12 @@ public class FactAppointment extends PanacheEntityBase {
 
     @Column(name = "created_at")
     public OffsetDateTime createdAt;
+
+    /**
+     * Latest fact an appointment's event of the given type left
+     */
+    public static Optional<FactAppointment> findByAppointmentAndEventType(Long appointmentId, String eventType) {
+        return find("appointmentId = ?1 AND eventType = ?2 ORDER BY eventTime DESC", appointmentId, eventType)
+                .firstResultOptional();
+    }
 }
@@ -3,6 +3,7 @@ package com.basit.cz.analytics.messaging;
 import com.basit.cz.analytics.entity.FactAppointment;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.smallrye.reactive.messaging.annotations.Blocking;
+import io.smallrye.reactive.messaging.kafka.api.IncomingKafkaRecordMetadata;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -13,17 +14,37 @@ import java.time.OffsetDateTime;
 @ApplicationScoped
 public class AppointmentEventConsumer {
 
+    /**
+     * Header the appointment service puts on replayed events (value: replay job id)
+     */
+    static final String REPLAY_HEADER = "event-replay";
+
     @Inject
     ObjectMapper objectMapper;
 
+    /**
+     * Record one appointment event as a fact row
+     *
+     * Replayed events (marked with the REPLAY_HEADER) overwrite the fact the original
+     * event left instead of adding a second one. A replay only re-emits events that
+     * happen once per appointment, so the fact is found by appointment and event type;
+     * the replayed event time may differ slightly from the original's.
+     */
     @Incoming("appointment-events")
     @Blocking
     @Transactional
-    public void consume(String payload) {
+    public void consume(String payload, IncomingKafkaRecordMetadata<String, String> metadata) {
         try {
             AppointmentEvent event = objectMapper.readValue(payload, AppointmentEvent.class);
 
-            FactAppointment fact = new FactAppointment();
+            FactAppointment fact = null;
+            if (metadata.getHeaders().lastHeader(REPLAY_HEADER) != null) {
+                fact = FactAppointment.findByAppointmentAndEventType(event.appointmentId, event.eventType)
+                        .orElse(null);
+            }
+            if (fact == null) {
+                fact = new FactAppointment();
+            }
             fact.appointmentId = event.appointmentId;
             fact.doctorId = event.doctorId;
             fact.patientId = event.patientId;
@@ -37,7 +58,9 @@ public class AppointmentEventConsumer {
             fact.sourceService = "appointment-service";
             fact.eventType = event.eventType;
             fact.eventTime = event.eventTime != null ? event.eventTime : OffsetDateTime.now();
-            fact.createdAt = OffsetDateTime.now();
+            if (fact.createdAt == null) {
+                fact.createdAt = OffsetDateTime.now();
+            }
 
             fact.persist();
         } catch (Exception e) {
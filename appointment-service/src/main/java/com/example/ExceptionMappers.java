@@ -3,6 +3,7 @@ package com.example;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.ServiceUnavailableException;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
@@ -36,6 +37,25 @@ public class ExceptionMappers {
         }
     }
 
+    /**
+     * Handle ServiceUnavailableException (503 - downstream service unavailable)
+     */
+    @Provider
+    public static class ServiceUnavailableExceptionMapper implements ExceptionMapper<ServiceUnavailableException> {
+        @Override
+        public Response toResponse(ServiceUnavailableException exception) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Service Unavailable");
+            error.put("message", exception.getMessage());
+            error.put("status", 503);
+            error.put("timestamp", LocalDateTime.now());
+
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .entity(error)
+                    .build();
+        }
+    }
+
     /**
      * Handle IllegalArgumentException (400 - Bad Request)
      */
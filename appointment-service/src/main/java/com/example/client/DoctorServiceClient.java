@@ -0,0 +1,45 @@
+package com.example.client;
+
+import com.example.dto.DoctorAvailabilityWindow;
+import com.example.dto.DoctorLeave;
+import com.example.dto.DoctorSummary;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+
+import java.util.List;
+
+/**
+ * REST client for the Doctor Service.
+ * Only the read endpoints needed for slot computation are mapped.
+ */
+@Path("/api/doctors")
+@Produces(MediaType.APPLICATION_JSON)
+@RegisterRestClient(configKey = "doctor-service")
+public interface DoctorServiceClient {
+
+    /**
+     * Get active doctors of a specialization
+     */
+    @GET
+    @Path("/specialization/{specialization}")
+    List<DoctorSummary> getDoctorsBySpecialization(@PathParam("specialization") String specialization);
+
+    /**
+     * Get weekly availability windows of a doctor
+     */
+    @GET
+    @Path("/{id}/availability")
+    List<DoctorAvailabilityWindow> getDoctorAvailability(@PathParam("id") Long doctorId);
+
+    /**
+     * Get approved time off of all doctors overlapping a date range (yyyy-MM-dd, inclusive)
+     */
+    @GET
+    @Path("/on-leave")
+    List<DoctorLeave> getDoctorsOnLeave(@QueryParam("from") String from, @QueryParam("to") String to);
+}
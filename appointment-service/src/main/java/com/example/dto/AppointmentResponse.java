@@ -3,12 +3,16 @@ package com.example.dto;
 import com.example.constant.AppointmentStatus;
 import com.example.constant.AppointmentType;
 import com.example.entity.Appointment;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import java.time.LocalDateTime;
 
 /**
- * DTO for appointment response
+ * DTO for appointment response.
+ * Serialized by AppointmentResponseSerializer and built by the projection query in
+ * Appointment; keep all three in sync when adding fields.
  */
+@JsonSerialize(using = AppointmentResponseSerializer.class)
 public class AppointmentResponse {
 
     public Long id;
@@ -53,6 +57,34 @@ public class AppointmentResponse {
         this.confirmationSent = appointment.confirmationSent;
     }
 
+    // Constructor for JPQL "select new" projections (see Appointment.RESPONSE_PROJECTION)
+    public AppointmentResponse(Long id, Long patientId, Long doctorId,
+                               LocalDateTime startTime, LocalDateTime endTime,
+                               AppointmentStatus status, AppointmentType type,
+                               String notes, String reason,
+                               LocalDateTime createdAt, LocalDateTime updatedAt,
+                               LocalDateTime checkedInAt, LocalDateTime completedAt,
+                               LocalDateTime cancelledAt, String cancellationReason,
+                               boolean reminderSent, boolean confirmationSent) {
+        this.id = id;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.status = status;
+        this.type = type;
+        this.notes = notes;
+        this.reason = reason;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.checkedInAt = checkedInAt;
+        this.completedAt = completedAt;
+        this.cancelledAt = cancelledAt;
+        this.cancellationReason = cancellationReason;
+        this.reminderSent = reminderSent;
+        this.confirmationSent = confirmationSent;
+    }
+
     // Builder pattern for testing
     public static Builder builder() {
         return new Builder();
@@ -0,0 +1,176 @@
+package com.example.dto;
+
+import com.example.constant.AppointmentStatus;
+import com.example.constant.AppointmentType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Hand-specialized Jackson serializer for AppointmentResponse.
+ *
+ * Produces exactly the JSON of the default bean serializer (same field order, nulls
+ * included, ISO-8601 local date-times) but skips reflection: field names and enum
+ * values are pre-encoded once, and date-times are formatted into a char buffer that is
+ * handed to the generator without creating intermediate Strings. Since it works on the
+ * JsonGenerator, list endpoints stream straight to the response output.
+ */
+public class AppointmentResponseSerializer extends StdSerializer<AppointmentResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString PATIENT_ID = new SerializedString("patientId");
+    private static final SerializedString DOCTOR_ID = new SerializedString("doctorId");
+    private static final SerializedString START_TIME = new SerializedString("startTime");
+    private static final SerializedString END_TIME = new SerializedString("endTime");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString NOTES = new SerializedString("notes");
+    private static final SerializedString REASON = new SerializedString("reason");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializedString CHECKED_IN_AT = new SerializedString("checkedInAt");
+    private static final SerializedString COMPLETED_AT = new SerializedString("completedAt");
+    private static final SerializedString CANCELLED_AT = new SerializedString("cancelledAt");
+    private static final SerializedString CANCELLATION_REASON = new SerializedString("cancellationReason");
+    private static final SerializedString REMINDER_SENT = new SerializedString("reminderSent");
+    private static final SerializedString CONFIRMATION_SENT = new SerializedString("confirmationSent");
+
+    private static final Map<AppointmentStatus, SerializedString> STATUS_NAMES = encode(AppointmentStatus.class);
+    private static final Map<AppointmentType, SerializedString> TYPE_NAMES = encode(AppointmentType.class);
+
+    // "yyyy-MM-ddTHH:mm:ss.nnnnnnnnn"
+    private static final int MAX_DATE_TIME_LENGTH = 29;
+
+    public AppointmentResponseSerializer() {
+        super(AppointmentResponse.class);
+    }
+
+    @Override
+    public void serialize(AppointmentResponse value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        char[] buffer = new char[MAX_DATE_TIME_LENGTH];
+
+        gen.writeStartObject(value);
+        writeNumberField(gen, ID, value.id);
+        writeNumberField(gen, PATIENT_ID, value.patientId);
+        writeNumberField(gen, DOCTOR_ID, value.doctorId);
+        writeDateTimeField(gen, START_TIME, value.startTime, buffer);
+        writeDateTimeField(gen, END_TIME, value.endTime, buffer);
+        writeEncodedField(gen, STATUS, value.status != null ? STATUS_NAMES.get(value.status) : null);
+        writeEncodedField(gen, TYPE, value.type != null ? TYPE_NAMES.get(value.type) : null);
+        writeStringField(gen, NOTES, value.notes);
+        writeStringField(gen, REASON, value.reason);
+        writeDateTimeField(gen, CREATED_AT, value.createdAt, buffer);
+        writeDateTimeField(gen, UPDATED_AT, value.updatedAt, buffer);
+        writeDateTimeField(gen, CHECKED_IN_AT, value.checkedInAt, buffer);
+        writeDateTimeField(gen, COMPLETED_AT, value.completedAt, buffer);
+        writeDateTimeField(gen, CANCELLED_AT, value.cancelledAt, buffer);
+        writeStringField(gen, CANCELLATION_REASON, value.cancellationReason);
+        gen.writeFieldName(REMINDER_SENT);
+        gen.writeBoolean(value.reminderSent);
+        gen.writeFieldName(CONFIRMATION_SENT);
+        gen.writeBoolean(value.confirmationSent);
+        gen.writeEndObject();
+    }
+
+    // ==================== Field Writers ====================
+
+    private static void writeNumberField(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeStringField(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeEncodedField(JsonGenerator gen, SerializableString name, SerializableString value)
+            throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeDateTimeField(JsonGenerator gen, SerializableString name, LocalDateTime value,
+                                           char[] buffer) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else if (value.getYear() < 0 || value.getYear() > 9999) {
+            // Outside the fixed 4-digit layout; let the JDK formatter handle sign and padding
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        } else {
+            gen.writeString(buffer, 0, formatDateTime(value, buffer));
+        }
+    }
+
+    /**
+     * Format like DateTimeFormatter.ISO_LOCAL_DATE_TIME (always with seconds,
+     * fraction only when non-zero and without trailing zeros) for years 0-9999
+     * @return number of chars written
+     */
+    static int formatDateTime(LocalDateTime value, char[] buffer) {
+        writeDigits(buffer, 0, value.getYear(), 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, value.getMonthValue(), 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, value.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        writeDigits(buffer, 11, value.getHour(), 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, value.getMinute(), 2);
+        buffer[16] = ':';
+        writeDigits(buffer, 17, value.getSecond(), 2);
+
+        int nano = value.getNano();
+        if (nano == 0) {
+            return 19;
+        }
+        buffer[19] = '.';
+        writeDigits(buffer, 20, nano, 9);
+        int length = 29;
+        while (buffer[length - 1] == '0') {
+            length--;
+        }
+        return length;
+    }
+
+    private static void writeDigits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static <E extends Enum<E>> Map<E, SerializedString> encode(Class<E> type) {
+        Map<E, SerializedString> names = new EnumMap<>(type);
+        for (E constant : type.getEnumConstants()) {
+            SerializedString encoded = new SerializedString(constant.name());
+            // Force the UTF-8 and quoted forms to be computed once, up front
+            encoded.asQuotedUTF8();
+            encoded.asQuotedChars();
+            names.put(constant, encoded);
+        }
+        return names;
+    }
+}
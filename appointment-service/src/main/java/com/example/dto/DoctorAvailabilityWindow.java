@@ -0,0 +1,25 @@
+package com.example.dto;
+
+import java.time.LocalTime;
+
+/**
+ * Weekly availability window of a doctor, as returned by the Doctor Service
+ */
+public class DoctorAvailabilityWindow {
+
+    public String dayOfWeek;
+    public LocalTime startTime;
+    public LocalTime endTime;
+    public Boolean isActive;
+
+    // Default constructor for JSON deserialization
+    public DoctorAvailabilityWindow() {}
+
+    // Constructor for testing
+    public DoctorAvailabilityWindow(String dayOfWeek, LocalTime startTime, LocalTime endTime) {
+        this.dayOfWeek = dayOfWeek;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.isActive = true;
+    }
+}
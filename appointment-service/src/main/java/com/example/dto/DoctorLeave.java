@@ -0,0 +1,27 @@
+package com.example.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Approved time off of a doctor (whole days, inclusive), as returned by the Doctor Service
+ */
+public class DoctorLeave {
+
+    public Long doctorId;
+    public LocalDate startDate;
+    public LocalDate endDate;
+
+    // Default constructor for JSON deserialization
+    public DoctorLeave() {}
+
+    // Constructor for testing
+    public DoctorLeave(Long doctorId, LocalDate startDate, LocalDate endDate) {
+        this.doctorId = doctorId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public boolean covers(LocalDate date) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.dto;
+
+/**
+ * Subset of the Doctor Service's doctor representation used for slot recommendations
+ */
+public class DoctorSummary {
+
+    public Long id;
+    public String fullName;
+    public String specialization;
+    public Double averageRating;
+    public Double consultationFee;
+    public Boolean isActive;
+
+    // Default constructor for JSON deserialization
+    public DoctorSummary() {}
+
+    // Constructor for testing
+    public DoctorSummary(Long id, String fullName, String specialization, Double averageRating) {
+        this.id = id;
+        this.fullName = fullName;
+        this.specialization = specialization;
+        this.averageRating = averageRating;
+        this.isActive = true;
+    }
+}
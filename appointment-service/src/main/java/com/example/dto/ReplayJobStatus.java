@@ -0,0 +1,33 @@
+package com.example.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for reporting the progress of an event replay job
+ */
+public class ReplayJobStatus {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    public String jobId;
+    public State state;
+    public long appointmentsScanned;
+    public long eventsPublished;
+    public long eventsFailed;
+    public long batchesCompleted;
+    public int batchSize;
+    public int parallelism;
+    public int maxEventsPerSecond;
+    public double eventsPerSecond;
+    public LocalDateTime startedAt;
+    public LocalDateTime finishedAt;
+    public String message;
+
+    // Default constructor
+    public ReplayJobStatus() {}
+}
@@ -0,0 +1,49 @@
+package com.example.dto;
+
+import com.example.constant.AppointmentStatus;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for starting an event replay job.
+ * All filter fields are optional; tuning fields fall back to configured defaults.
+ */
+public class ReplayRequest {
+
+    // Filters
+    public AppointmentStatus status;
+
+    public Long doctorId;
+
+    public Long patientId;
+
+    public LocalDateTime startDate;
+
+    public LocalDateTime endDate;
+
+    // Tuning
+    @Min(value = 1, message = "Batch size must be at least 1")
+    @Max(value = 5000, message = "Batch size must be at most 5000")
+    public Integer batchSize;
+
+    @Min(value = 1, message = "Parallelism must be at least 1")
+    @Max(value = 16, message = "Parallelism must be at most 16")
+    public Integer parallelism;
+
+    @Min(value = 1, message = "Max events per second must be at least 1")
+    public Integer maxEventsPerSecond;
+
+    // Default constructor for JSON deserialization
+    public ReplayRequest() {}
+
+    // Constructor for testing
+    public ReplayRequest(AppointmentStatus status, Long doctorId, Long patientId,
+                         LocalDateTime startDate, LocalDateTime endDate) {
+        this.status = status;
+        this.doctorId = doctorId;
+        this.patientId = patientId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+}
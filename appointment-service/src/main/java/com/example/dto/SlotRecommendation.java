@@ -0,0 +1,28 @@
+package com.example.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A free appointment slot of a specific doctor
+ */
+public class SlotRecommendation {
+
+    public Long doctorId;
+    public String doctorName;
+    public String specialization;
+    public Double averageRating;
+    public LocalDateTime startTime;
+    public LocalDateTime endTime;
+
+    // Default constructor
+    public SlotRecommendation() {}
+
+    public SlotRecommendation(DoctorSummary doctor, LocalDateTime startTime, LocalDateTime endTime) {
+        this.doctorId = doctor.id;
+        this.doctorName = doctor.fullName;
+        this.specialization = doctor.specialization;
+        this.averageRating = doctor.averageRating != null ? doctor.averageRating : 0.0;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the multi-doctor slot recommendation response.
+ * partial is true when some doctors did not answer within the latency budget.
+ */
+public class SlotRecommendationResponse {
+
+    public String specialization;
+    public String sort;
+    public int doctorsConsidered;
+    public int doctorsResponded;
+    public boolean partial;
+    public long elapsedMillis;
+    public List<SlotRecommendation> slots;
+
+    // Default constructor
+    public SlotRecommendationResponse() {}
+}
@@ -2,14 +2,18 @@ package com.example.entity;
 
 import com.example.constant.AppointmentStatus;
 import com.example.constant.AppointmentType;
+import com.example.dto.AppointmentResponse;
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Appointment entity representing a scheduled medical appointment.
@@ -24,6 +28,14 @@ import java.util.List;
 })
 public class Appointment extends PanacheEntityBase {
 
+    /**
+     * Constructor projection onto AppointmentResponse (same argument order as its constructor)
+     */
+    static final String RESPONSE_PROJECTION = "select new com.example.dto.AppointmentResponse(" +
+            "a.id, a.patientId, a.doctorId, a.startTime, a.endTime, a.status, a.type, a.notes, a.reason, " +
+            "a.createdAt, a.updatedAt, a.checkedInAt, a.completedAt, a.cancelledAt, a.cancellationReason, " +
+            "a.reminderSent, a.confirmationSent) from Appointment a ";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     public Long id;
@@ -154,6 +166,17 @@ public class Appointment extends PanacheEntityBase {
                 doctorId, start, end);
     }
 
+    /**
+     * Find blocking (not cancelled/completed) appointments of several doctors overlapping a range
+     */
+    public static List<Appointment> findBlockingByDoctorIdsAndRange(List<Long> doctorIds,
+                                                                    LocalDateTime start,
+                                                                    LocalDateTime end) {
+        return list("doctorId in ?1 and status not in (?2, ?3) and startTime < ?5 and endTime > ?4 " +
+                        "order by startTime asc",
+                doctorIds, AppointmentStatus.CANCELLED, AppointmentStatus.COMPLETED, start, end);
+    }
+
     /**
      * Count appointments by doctor and status
      */
@@ -200,8 +223,128 @@ public class Appointment extends PanacheEntityBase {
         return list(query.toString(), params.toArray());
     }
 
+    /**
+     * Build a replay query ordered by id, so it can be read through a cursor
+     */
+    public static PanacheQuery<Appointment> findForReplay(AppointmentStatus status,
+                                                         Long doctorId,
+                                                         Long patientId,
+                                                         LocalDateTime startDate,
+                                                         LocalDateTime endDate) {
+        StringBuilder query = new StringBuilder("1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        if (status != null) {
+            params.add(status);
+            query.append(" and status = ?").append(params.size());
+        }
+        if (doctorId != null) {
+            params.add(doctorId);
+            query.append(" and doctorId = ?").append(params.size());
+        }
+        if (patientId != null) {
+            params.add(patientId);
+            query.append(" and patientId = ?").append(params.size());
+        }
+        if (startDate != null) {
+            params.add(startDate);
+            query.append(" and startTime >= ?").append(params.size());
+        }
+        if (endDate != null) {
+            params.add(endDate);
+            query.append(" and startTime <= ?").append(params.size());
+        }
+
+        query.append(" order by id asc");
+        return find(query.toString(), params.toArray());
+    }
+
+    // ==================== Read-only Projection Queries ====================
+    // Rows are copied straight into AppointmentResponse: no managed entities, no
+    // dirty-checking snapshots, nothing retained in the persistence context.
+
+    /**
+     * Find one appointment as a response DTO
+     */
+    public static Optional<AppointmentResponse> findResponseById(Long id) {
+        return projectResponses("where a.id = ?1", id).stream().findFirst();
+    }
+
+    /**
+     * Find appointments by IDs as response DTOs
+     */
+    public static List<AppointmentResponse> findResponsesByIds(List<Long> ids) {
+        return projectResponses("where a.id in ?1", ids);
+    }
+
+    /**
+     * Find all appointments for a specific patient as response DTOs
+     */
+    public static List<AppointmentResponse> findResponsesByPatientId(Long patientId) {
+        return projectResponses("where a.patientId = ?1", patientId);
+    }
 
+    /**
+     * Find all appointments for a specific doctor as response DTOs
+     */
+    public static List<AppointmentResponse> findResponsesByDoctorId(Long doctorId) {
+        return projectResponses("where a.doctorId = ?1", doctorId);
+    }
 
+    /**
+     * Find appointments by status as response DTOs
+     */
+    public static List<AppointmentResponse> findResponsesByStatus(AppointmentStatus status) {
+        return projectResponses("where a.status = ?1", status);
+    }
+
+    /**
+     * Find upcoming appointments (future, not cancelled/completed) as response DTOs
+     */
+    public static List<AppointmentResponse> findUpcomingResponses(LocalDateTime fromDate) {
+        return projectResponses("where a.startTime >= ?1 and a.status in (?2, ?3) order by a.startTime asc",
+                fromDate,
+                AppointmentStatus.SCHEDULED,
+                AppointmentStatus.CONFIRMED);
+    }
+
+    /**
+     * Find all appointments starting within [start, end) as response DTOs, ordered by start time
+     */
+    public static List<AppointmentResponse> findResponsesByStartRange(LocalDateTime start, LocalDateTime end) {
+        return projectResponses("where a.startTime >= ?1 and a.startTime < ?2 order by a.startTime asc",
+                start, end);
+    }
+
+    /**
+     * Find a patient's appointments starting within [start, end) as response DTOs, ordered by start time
+     */
+    public static List<AppointmentResponse> findResponsesByPatientIdAndStartRange(Long patientId,
+                                                                                 LocalDateTime start,
+                                                                                 LocalDateTime end) {
+        return projectResponses("where a.patientId = ?1 and a.startTime >= ?2 and a.startTime < ?3 " +
+                "order by a.startTime asc", patientId, start, end);
+    }
+
+    private static List<AppointmentResponse> projectResponses(String clause, Object... params) {
+        TypedQuery<AppointmentResponse> query = getEntityManager()
+                .createQuery(RESPONSE_PROJECTION + clause, AppointmentResponse.class)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        for (int i = 0; i < params.length; i++) {
+            query.setParameter(i + 1, params[i]);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Mark an appointment checked-in unless it has already moved past SCHEDULED/CONFIRMED
+     * @return number of updated rows (0 or 1)
+     */
+    public static int markCheckedIn(Long id, LocalDateTime checkedInAt) {
+        return update("status = ?1, checkedInAt = ?2, updatedAt = ?3 where id = ?4 and status in (?5, ?6)",
+                AppointmentStatus.CHECKED_IN, checkedInAt, LocalDateTime.now(), id,
+                AppointmentStatus.SCHEDULED, AppointmentStatus.CONFIRMED);
+    }
 
     /**
      * Check if time slots overlap
@@ -4,11 +4,21 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.smallrye.reactive.messaging.kafka.Record;
+import io.smallrye.reactive.messaging.kafka.api.OutgoingKafkaRecordMetadata;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.apache.kafka.common.header.internals.RecordHeader;
 import org.eclipse.microprofile.reactive.messaging.Channel;
 import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Metadata;
+import org.eclipse.microprofile.reactive.messaging.OnOverflow;
 import org.jboss.logging.Logger;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 /**
  * Producer for publishing appointment events to Kafka
  */
@@ -17,9 +27,20 @@ public class AppointmentEventProducer {
 
     private static final Logger LOG = Logger.getLogger(AppointmentEventProducer.class);
 
+    /**
+     * Kafka header marking a replayed event; its value is the replay job id
+     */
+    public static final String REPLAY_HEADER = "event-replay";
+
     @Channel("appointment-events")
     Emitter<Record<String, String>> eventEmitter;
 
+    // Separate channel (and Kafka producer) for replays, so bulk re-emission
+    // never competes with live events for the same emitter buffer
+    @Channel("appointment-replay-events")
+    @OnOverflow(value = OnOverflow.Strategy.BUFFER, bufferSize = 8192)
+    Emitter<Record<String, String>> replayEmitter;
+
     private final ObjectMapper objectMapper;
 
     public AppointmentEventProducer() {
@@ -51,6 +72,38 @@ public class AppointmentEventProducer {
         }
     }
 
+    /**
+     * Publish a replayed event on the replay channel
+     *
+     * The payload is the same as the live event's; the REPLAY_HEADER (holding the
+     * replay job id) tells consumers it is a re-emission of an event they may have seen.
+     * @param event The event to re-emit
+     * @param jobId Replay job re-emitting the event
+     * @return stage completed when the broker acknowledges the event
+     */
+    public CompletionStage<Void> publishReplayEvent(AppointmentEvent event, String jobId) {
+        try {
+            String eventJson = objectMapper.writeValueAsString(event);
+            OutgoingKafkaRecordMetadata<String> metadata = OutgoingKafkaRecordMetadata.<String>builder()
+                    .withHeaders(List.of(new RecordHeader(REPLAY_HEADER, jobId.getBytes(StandardCharsets.UTF_8))))
+                    .build();
+
+            CompletableFuture<Void> acknowledged = new CompletableFuture<>();
+            replayEmitter.send(Message.of(Record.of(event.appointmentId.toString(), eventJson), Metadata.of(metadata),
+                    () -> {
+                        acknowledged.complete(null);
+                        return CompletableFuture.completedFuture(null);
+                    },
+                    error -> {
+                        acknowledged.completeExceptionally(error);
+                        return CompletableFuture.completedFuture(null);
+                    }));
+            return acknowledged;
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Publish appointment created event
      */
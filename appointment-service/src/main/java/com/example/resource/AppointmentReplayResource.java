@@ -0,0 +1,67 @@
+package com.example.resource;
+
+import com.example.dto.ReplayJobStatus;
+import com.example.dto.ReplayRequest;
+import com.example.service.AppointmentReplayService;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.List;
+
+/**
+ * Admin endpoints for re-emitting appointment history as events.
+ * Used to rebuild downstream projections (analytics, notifications) when they drift.
+ */
+@Path("/api/admin/appointments/replay")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Appointment Replay", description = "Admin endpoints for event replay")
+public class AppointmentReplayResource {
+
+    @Inject
+    AppointmentReplayService replayService;
+
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Start event replay", description = "Re-emit all appointments matching the filter as events")
+    @APIResponse(responseCode = "202", description = "Replay started")
+    @APIResponse(responseCode = "400", description = "Invalid filter or tuning options")
+    @APIResponse(responseCode = "409", description = "Another replay is already running")
+    public Response startReplay(@Valid ReplayRequest request) {
+        ReplayJobStatus status = replayService.startReplay(request);
+        return Response.accepted(status).build();
+    }
+
+    @GET
+    @Operation(summary = "List replay jobs", description = "List all replay jobs since service startup")
+    @APIResponse(responseCode = "200", description = "List of replay jobs")
+    public Response listReplays() {
+        List<ReplayJobStatus> jobs = replayService.listJobs();
+        return Response.ok(jobs).build();
+    }
+
+    @GET
+    @Path("/{jobId}")
+    @Operation(summary = "Get replay progress", description = "Retrieve progress of a replay job")
+    @APIResponse(responseCode = "200", description = "Replay job found")
+    @APIResponse(responseCode = "404", description = "Replay job not found")
+    public Response getReplay(@PathParam("jobId") String jobId) {
+        ReplayJobStatus status = replayService.getStatus(jobId);
+        return Response.ok(status).build();
+    }
+
+    @DELETE
+    @Path("/{jobId}")
+    @Operation(summary = "Cancel replay", description = "Stop a running replay after its current batch")
+    @APIResponse(responseCode = "202", description = "Cancellation requested")
+    @APIResponse(responseCode = "404", description = "Replay job not found")
+    public Response cancelReplay(@PathParam("jobId") String jobId) {
+        ReplayJobStatus status = replayService.cancelReplay(jobId);
+        return Response.accepted(status).build();
+    }
+}
@@ -5,7 +5,10 @@ import com.example.constant.AppointmentStatus;
 import com.example.dto.AppointmentResponse;
 import com.example.dto.CreateAppointmentRequest;
 import com.example.dto.UpdateAppointmentRequest;
+import com.example.dto.SlotRecommendationResponse;
 import com.example.service.AppointmentService;
+import com.example.service.CheckInAgendaService;
+import com.example.service.SlotRecommendationService;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
@@ -18,6 +21,7 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +38,12 @@ public class AppointmentResource {
     @Inject
     AppointmentService appointmentService;
 
+    @Inject
+    SlotRecommendationService recommendationService;
+
+    @Inject
+    CheckInAgendaService checkInAgenda;
+
     // ==================== ENDPOINT 1: Create Appointment ====================
 
     @POST
@@ -191,7 +201,44 @@ public class AppointmentResource {
     @APIResponse(responseCode = "400", description = "Cannot check-in for appointment in current state")
     public Response checkInAppointment(@PathParam("id") Long id) {
         try {
-            AppointmentResponse response = appointmentService.checkInAppointment(id);
+            // Today's appointments are checked in from the in-memory agenda
+            AppointmentResponse response = checkInAgenda.checkIn(id)
+                    .orElseGet(() -> appointmentService.checkInAppointment(id));
+            return Response.ok(response).build();
+        } catch (NotFoundException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Not Found");
+            error.put("message", e.getMessage());
+            error.put("status", 404);
+            return Response.status(404).entity(error).build();
+        } catch (IllegalStateException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Bad Request");
+            error.put("message", e.getMessage());
+            error.put("status", 400);
+            return Response.status(400).entity(error).build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Internal Server Error");
+            error.put("message", e.getMessage());
+            error.put("status", 500);
+            return Response.status(500).entity(error).build();
+        }
+    }
+
+    // ==================== ENDPOINT 10b: Check-in by Patient (desk kiosk) ====================
+
+    @POST
+    @Path("/check-in/patient/{patientId}")
+    @Operation(summary = "Check-in patient by ID",
+            description = "Check in the patient's next appointment of today from the preloaded agenda")
+    @APIResponse(responseCode = "200", description = "Patient checked-in successfully")
+    @APIResponse(responseCode = "404", description = "No appointment to check in today")
+    @APIResponse(responseCode = "400", description = "Patient is already checked in")
+    public Response checkInPatient(@PathParam("patientId") Long patientId) {
+        try {
+            AppointmentResponse response = checkInAgenda.checkInByPatient(patientId);
             return Response.ok(response).build();
         } catch (NotFoundException e) {
             Map<String, Object> error = new HashMap<>();
@@ -271,6 +318,36 @@ public class AppointmentResource {
         return Response.ok(response).build();
     }
 
+    // ==================== ENDPOINT 12b: Recommend Slots by Specialization ====================
+
+    @GET
+    @Path("/recommendations")
+    @Operation(summary = "Recommend slots by specialization",
+            description = "Get the earliest or best-rated free slots across all active doctors of a specialization")
+    @APIResponse(responseCode = "200", description = "Recommended slots (partial if the latency budget ran out)")
+    @APIResponse(responseCode = "400", description = "Invalid parameters")
+    @APIResponse(responseCode = "503", description = "Doctor service unavailable")
+    public Response recommendSlots(
+            @QueryParam("specialization") String specialization,
+            @QueryParam("from") String from,
+            @QueryParam("days") @DefaultValue("7") int days,
+            @QueryParam("duration") @DefaultValue("30") int durationMinutes,
+            @QueryParam("limit") @DefaultValue("10") int limit,
+            @QueryParam("sort") @DefaultValue("EARLIEST") SlotRecommendationService.SortOrder sort,
+            @QueryParam("budgetMs") Long budgetMillis) {
+
+        LocalDateTime fromTime;
+        try {
+            fromTime = from != null ? LocalDateTime.parse(from) : null;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid from date-time: " + from);
+        }
+
+        SlotRecommendationResponse response = recommendationService.recommend(
+                specialization, fromTime, days, durationMinutes, limit, sort, budgetMillis);
+        return Response.ok(response).build();
+    }
+
     // ==================== ENDPOINT 13: Join Waiting List ====================
 
     @POST
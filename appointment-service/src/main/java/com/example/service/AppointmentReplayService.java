@@ -0,0 +1,506 @@
+package com.example.service;
+
+import com.example.constant.AppointmentStatus;
+import com.example.dto.ReplayJobStatus;
+import com.example.dto.ReplayRequest;
+import com.example.entity.Appointment;
+import com.example.event.*;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.NotFoundException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Re-emits appointment history as AppointmentEvents so downstream projections
+ * (analytics, notifications) can be rebuilt without replaying the Kafka topic.
+ *
+ * Appointments are read through a server-side cursor in id order, cut into batches,
+ * and each batch is partitioned by appointment id across a fixed number of publish
+ * lanes. Events of one appointment always go through the same lane, in order.
+ * Only one replay runs at a time and its publish rate is capped. Events not acknowledged
+ * within the ack timeout count as failed. Finished jobs are kept for a while for polling,
+ * then dropped (after job-ttl, or oldest first beyond max-retained-jobs).
+ */
+@ApplicationScoped
+public class AppointmentReplayService {
+
+    private static final Logger LOG = Logger.getLogger(AppointmentReplayService.class);
+
+    private static final int MAX_PARALLELISM = 16;
+
+    @Inject
+    AppointmentEventProducer eventProducer;
+
+    @Inject
+    EntityManager entityManager;
+
+    @ConfigProperty(name = "appointment.replay.batch-size", defaultValue = "500")
+    int defaultBatchSize;
+
+    @ConfigProperty(name = "appointment.replay.parallelism", defaultValue = "4")
+    int defaultParallelism;
+
+    @ConfigProperty(name = "appointment.replay.max-events-per-second", defaultValue = "5000")
+    int defaultMaxEventsPerSecond;
+
+    @ConfigProperty(name = "appointment.replay.ack-timeout", defaultValue = "PT30S")
+    Duration ackTimeout;
+
+    @ConfigProperty(name = "appointment.replay.transaction-timeout", defaultValue = "PT1H")
+    Duration transactionTimeout;
+
+    @ConfigProperty(name = "appointment.replay.job-ttl", defaultValue = "PT24H")
+    Duration jobTtl;
+
+    @ConfigProperty(name = "appointment.replay.max-retained-jobs", defaultValue = "100")
+    int maxRetainedJobs;
+
+    private final Map<String, ReplayJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicReference<ReplayJob> activeJob = new AtomicReference<>();
+
+    private ExecutorService readerExecutor;
+    private ExecutorService laneExecutor;
+
+    @PostConstruct
+    void init() {
+        readerExecutor = Executors.newSingleThreadExecutor(daemonThreads("appointment-replay-reader"));
+        laneExecutor = Executors.newFixedThreadPool(MAX_PARALLELISM, daemonThreads("appointment-replay-lane"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ReplayJob job = activeJob.get();
+        if (job != null) {
+            job.cancelled.set(true);
+        }
+        readerExecutor.shutdownNow();
+        laneExecutor.shutdownNow();
+    }
+
+    /**
+     * Start a replay job in the background
+     * @param request filters and tuning options
+     * @return initial job status
+     * @throws IllegalStateException if another replay is already running
+     */
+    public ReplayJobStatus startReplay(ReplayRequest request) {
+        ReplayRequest options = request != null ? request : new ReplayRequest();
+        if (options.startDate != null && options.endDate != null && options.endDate.isBefore(options.startDate)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+
+        ReplayJob job = new ReplayJob(
+                UUID.randomUUID().toString(),
+                options,
+                options.batchSize != null ? options.batchSize : defaultBatchSize,
+                Math.min(options.parallelism != null ? options.parallelism : defaultParallelism, MAX_PARALLELISM),
+                options.maxEventsPerSecond != null ? options.maxEventsPerSecond : defaultMaxEventsPerSecond
+        );
+
+        if (!activeJob.compareAndSet(null, job)) {
+            throw new IllegalStateException(
+                    String.format("Replay %s is already running", activeJob.get().jobId));
+        }
+
+        jobs.put(job.jobId, job);
+        pruneJobs();
+        LOG.infof("Starting replay %s (batchSize=%d, parallelism=%d, maxEventsPerSecond=%d)",
+                job.jobId, job.batchSize, job.parallelism, job.maxEventsPerSecond);
+
+        try {
+            readerExecutor.execute(() -> runJob(job));
+        } catch (RejectedExecutionException e) {
+            activeJob.compareAndSet(job, null);
+            job.finish(ReplayJobStatus.State.FAILED, "Replay executor is not accepting jobs");
+        }
+        return job.toStatus();
+    }
+
+    /**
+     * Get progress of a replay job
+     * @throws NotFoundException if the job is unknown
+     */
+    public ReplayJobStatus getStatus(String jobId) {
+        return findJob(jobId).toStatus();
+    }
+
+    /**
+     * List the running replay and the retained finished ones
+     */
+    public List<ReplayJobStatus> listJobs() {
+        pruneJobs();
+        List<ReplayJobStatus> statuses = new ArrayList<>();
+        for (ReplayJob job : jobs.values()) {
+            statuses.add(job.toStatus());
+        }
+        statuses.sort((a, b) -> b.startedAt.compareTo(a.startedAt));
+        return statuses;
+    }
+
+    /**
+     * Request cancellation of a running replay; it stops after the current batch
+     * @throws NotFoundException if the job is unknown
+     */
+    public ReplayJobStatus cancelReplay(String jobId) {
+        ReplayJob job = findJob(jobId);
+        job.cancelled.set(true);
+        return job.toStatus();
+    }
+
+    // ==================== Job Execution ====================
+
+    private void runJob(ReplayJob job) {
+        ReplayJobStatus.State finalState;
+        String finalMessage;
+        try {
+            QuarkusTransaction.requiringNew()
+                    .timeout((int) transactionTimeout.toSeconds())
+                    .run(() -> readAndPublish(job));
+
+            if (job.cancelled.get()) {
+                finalState = ReplayJobStatus.State.CANCELLED;
+                finalMessage = "Replay cancelled";
+            } else if (job.eventsFailed.get() > 0) {
+                finalState = ReplayJobStatus.State.COMPLETED;
+                finalMessage = String.format("Replay finished with %d failed events", job.eventsFailed.get());
+            } else {
+                finalState = ReplayJobStatus.State.COMPLETED;
+                finalMessage = "Replay finished";
+            }
+        } catch (Exception e) {
+            LOG.errorf(e, "Replay %s failed", job.jobId);
+            finalState = ReplayJobStatus.State.FAILED;
+            finalMessage = e.getMessage();
+        }
+
+        // Free the slot first, so a client that sees the final state can start the next replay
+        activeJob.compareAndSet(job, null);
+        job.finish(finalState, finalMessage);
+        LOG.infof("Replay %s %s: scanned=%d published=%d failed=%d",
+                job.jobId, job.state, job.appointmentsScanned.get(),
+                job.eventsPublished.get(), job.eventsFailed.get());
+    }
+
+    private void readAndPublish(ReplayJob job) {
+        ReplayRequest filter = job.request;
+
+        // Read-only entities skip dirty-checking snapshots; the fetch size makes the
+        // JDBC driver stream rows through a cursor instead of materializing the result
+        try (Stream<Appointment> rows = Appointment.findForReplay(
+                        filter.status, filter.doctorId, filter.patientId, filter.startDate, filter.endDate)
+                .withHint("org.hibernate.readOnly", true)
+                .withHint("org.hibernate.fetchSize", job.batchSize)
+                .stream()) {
+
+            Iterator<Appointment> cursor = rows.iterator();
+            List<List<AppointmentEvent>> batch = new ArrayList<>(job.batchSize);
+
+            while (cursor.hasNext() && !job.cancelled.get()) {
+                batch.add(toEvents(cursor.next()));
+                if (batch.size() == job.batchSize) {
+                    publishBatch(job, batch);
+                    batch = new ArrayList<>(job.batchSize);
+                }
+            }
+            if (!batch.isEmpty() && !job.cancelled.get()) {
+                publishBatch(job, batch);
+            }
+        }
+    }
+
+    private void publishBatch(ReplayJob job, List<List<AppointmentEvent>> batch) {
+        // Nothing in the batch is needed once converted to events
+        entityManager.clear();
+
+        List<List<AppointmentEvent>> lanes = new ArrayList<>(job.parallelism);
+        for (int i = 0; i < job.parallelism; i++) {
+            lanes.add(new ArrayList<>());
+        }
+        int eventCount = 0;
+        for (List<AppointmentEvent> events : batch) {
+            int lane = (int) Math.floorMod(events.get(0).appointmentId, (long) job.parallelism);
+            lanes.get(lane).addAll(events);
+            eventCount += events.size();
+        }
+
+        long batchStart = System.nanoTime();
+        // One acknowledgement per event, completed by the broker or given up on at the timeout
+        List<CompletableFuture<Void>> acks = new ArrayList<>(eventCount);
+        List<CompletableFuture<Void>> counted = new ArrayList<>(eventCount);
+        for (List<AppointmentEvent> laneEvents : lanes) {
+            if (!laneEvents.isEmpty()) {
+                List<CompletableFuture<Void>> laneAcks = new ArrayList<>(laneEvents.size());
+                for (int i = 0; i < laneEvents.size(); i++) {
+                    CompletableFuture<Void> ack = new CompletableFuture<>();
+                    laneAcks.add(ack);
+                    counted.add(countOutcome(job, ack));
+                }
+                acks.addAll(laneAcks);
+                laneExecutor.execute(() -> publishLane(job.jobId, laneEvents, laneAcks));
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(counted.toArray(new CompletableFuture[0]))
+                    .get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.cancelled.set(true);
+        } catch (ExecutionException e) {
+            LOG.warnf("Replay %s: batch %d did not fully acknowledge: %s",
+                    job.jobId, job.batchesCompleted.get() + 1, e.getMessage());
+        } catch (TimeoutException e) {
+            // Whatever is still pending is given up on; a late acknowledgement is ignored
+            TimeoutException expired = new TimeoutException("No acknowledgement within " + ackTimeout);
+            long unacknowledged = acks.stream().filter(ack -> ack.completeExceptionally(expired)).count();
+            LOG.warnf("Replay %s: %d events of batch %d were not acknowledged within %s",
+                    job.jobId, unacknowledged, job.batchesCompleted.get() + 1, ackTimeout);
+        }
+
+        job.appointmentsScanned.addAndGet(batch.size());
+        job.batchesCompleted.incrementAndGet();
+        throttle(job, eventCount, batchStart);
+    }
+
+    /**
+     * Count an event as published or failed once its acknowledgement completes;
+     * only the first completion counts, so a late broker ack after the timeout is ignored
+     * @return stage completed after the event was counted
+     */
+    private static CompletableFuture<Void> countOutcome(ReplayJob job, CompletableFuture<Void> ack) {
+        return ack.whenComplete((ignored, error) -> {
+            if (error == null) {
+                job.eventsPublished.incrementAndGet();
+            } else {
+                job.eventsFailed.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Send one lane's events in order, without waiting for each acknowledgement
+     */
+    private void publishLane(String jobId, List<AppointmentEvent> events, List<CompletableFuture<Void>> acks) {
+        for (int i = 0; i < events.size(); i++) {
+            CompletableFuture<Void> ack = acks.get(i);
+            try {
+                eventProducer.publishReplayEvent(events.get(i), jobId).whenComplete((ignored, error) -> {
+                    if (error == null) {
+                        ack.complete(null);
+                    } else {
+                        ack.completeExceptionally(error);
+                    }
+                });
+            } catch (RuntimeException e) {
+                ack.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Sleep long enough that the batch stays under the configured events/second cap
+     */
+    private void throttle(ReplayJob job, int eventCount, long batchStartNanos) {
+        long minimumNanos = TimeUnit.SECONDS.toNanos(eventCount) / job.maxEventsPerSecond;
+        long remainingNanos = minimumNanos - (System.nanoTime() - batchStartNanos);
+        if (remainingNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remainingNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                job.cancelled.set(true);
+            }
+        }
+    }
+
+    // ==================== Event Mapping ====================
+
+    /**
+     * Rebuild the event history implied by an appointment's current state.
+     * Every appointment starts with a created event, followed by the events
+     * for the transitions it has gone through.
+     */
+    static List<AppointmentEvent> toEvents(Appointment appointment) {
+        List<AppointmentEvent> events = new ArrayList<>(3);
+
+        AppointmentCreatedEvent created = new AppointmentCreatedEvent(
+                appointment.id,
+                appointment.patientId,
+                appointment.doctorId,
+                appointment.startTime,
+                appointment.endTime,
+                appointment.type,
+                appointment.reason
+        );
+        created.timestamp = appointment.createdAt;
+        events.add(created);
+
+        if (appointment.confirmationSent || appointment.status == AppointmentStatus.CONFIRMED) {
+            AppointmentConfirmedEvent confirmed = new AppointmentConfirmedEvent(
+                    appointment.id,
+                    appointment.patientId,
+                    appointment.doctorId,
+                    appointment.updatedAt,
+                    appointment.startTime
+            );
+            confirmed.timestamp = appointment.updatedAt;
+            events.add(confirmed);
+        }
+
+        if (appointment.status == AppointmentStatus.CANCELLED) {
+            AppointmentCancelledEvent cancelled = new AppointmentCancelledEvent(
+                    appointment.id,
+                    appointment.patientId,
+                    appointment.doctorId,
+                    appointment.cancelledAt,
+                    appointment.cancellationReason,
+                    appointment.startTime
+            );
+            cancelled.timestamp = appointment.cancelledAt;
+            events.add(cancelled);
+        } else if (appointment.status == AppointmentStatus.COMPLETED) {
+            Integer durationMinutes = null;
+            if (appointment.startTime != null && appointment.endTime != null) {
+                durationMinutes = (int) ChronoUnit.MINUTES.between(appointment.startTime, appointment.endTime);
+            }
+            AppointmentCompletedEvent completed = new AppointmentCompletedEvent(
+                    appointment.id,
+                    appointment.patientId,
+                    appointment.doctorId,
+                    appointment.completedAt,
+                    appointment.startTime,
+                    durationMinutes
+            );
+            completed.timestamp = appointment.completedAt;
+            events.add(completed);
+        }
+
+        for (AppointmentEvent event : events) {
+            if (event.timestamp == null) {
+                event.timestamp = LocalDateTime.now();
+            }
+        }
+        return events;
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    /**
+     * Drop finished jobs past their TTL, then the oldest finished ones beyond the cap
+     */
+    private void pruneJobs() {
+        LocalDateTime expiry = LocalDateTime.now().minus(jobTtl);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(expiry));
+
+        int excess = jobs.size() - maxRetainedJobs;
+        if (excess > 0) {
+            jobs.values().stream()
+                    .filter(job -> job.finishedAt != null)
+                    .sorted(Comparator.comparing((ReplayJob job) -> job.finishedAt))
+                    .limit(excess)
+                    .map(job -> job.jobId)
+                    .collect(Collectors.toList())
+                    .forEach(jobs::remove);
+        }
+    }
+
+    private ReplayJob findJob(String jobId) {
+        ReplayJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new NotFoundException("Replay job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicLong counter = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            // Replays yield to request threads when the CPU is contended
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        };
+    }
+
+    /**
+     * Mutable progress of a single replay job
+     */
+    private static class ReplayJob {
+        final String jobId;
+        final ReplayRequest request;
+        final int batchSize;
+        final int parallelism;
+        final int maxEventsPerSecond;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final long startNanos = System.nanoTime();
+
+        final AtomicLong appointmentsScanned = new AtomicLong();
+        final AtomicLong eventsPublished = new AtomicLong();
+        final AtomicLong eventsFailed = new AtomicLong();
+        final AtomicLong batchesCompleted = new AtomicLong();
+        final AtomicBoolean cancelled = new AtomicBoolean();
+
+        volatile ReplayJobStatus.State state = ReplayJobStatus.State.RUNNING;
+        volatile LocalDateTime finishedAt;
+        volatile long finishNanos;
+        volatile String message;
+
+        ReplayJob(String jobId, ReplayRequest request, int batchSize, int parallelism, int maxEventsPerSecond) {
+            this.jobId = jobId;
+            this.request = request;
+            this.batchSize = batchSize;
+            this.parallelism = parallelism;
+            this.maxEventsPerSecond = maxEventsPerSecond;
+        }
+
+        void finish(ReplayJobStatus.State finalState, String finalMessage) {
+            this.finishNanos = System.nanoTime();
+            this.finishedAt = LocalDateTime.now();
+            this.message = finalMessage;
+            this.state = finalState;
+        }
+
+        ReplayJobStatus toStatus() {
+            ReplayJobStatus status = new ReplayJobStatus();
+            status.jobId = jobId;
+            status.state = state;
+            status.appointmentsScanned = appointmentsScanned.get();
+            status.eventsPublished = eventsPublished.get();
+            status.eventsFailed = eventsFailed.get();
+            status.batchesCompleted = batchesCompleted.get();
+            status.batchSize = batchSize;
+            status.parallelism = parallelism;
+            status.maxEventsPerSecond = maxEventsPerSecond;
+            status.startedAt = startedAt;
+            status.finishedAt = finishedAt;
+            status.message = message;
+
+            long endNanos = finishedAt != null ? finishNanos : System.nanoTime();
+            double seconds = (endNanos - startNanos) / 1_000_000_000.0;
+            status.eventsPerSecond = seconds > 0 ? status.eventsPublished / seconds : 0.0;
+            return status;
+        }
+    }
+}
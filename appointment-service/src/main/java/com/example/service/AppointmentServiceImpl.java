@@ -13,6 +13,7 @@ import jakarta.ws.rs.NotFoundException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -25,6 +26,9 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Inject
     AppointmentEventProducer eventProducer;
 
+    @Inject
+    CheckInAgendaService checkInAgenda;
+
     @Override
     @Transactional
     public AppointmentResponse createAppointment(CreateAppointmentRequest request) {
@@ -65,13 +69,14 @@ public class AppointmentServiceImpl implements AppointmentService {
         );
         eventProducer.publishCreatedEvent(event);
 
-        return new AppointmentResponse(appointment);
+        return trackedResponse(appointment);
     }
 
     @Override
     public AppointmentResponse getAppointment(Long id) {
-        Appointment appointment = findAppointmentById(id);
-        return new AppointmentResponse(appointment);
+        return Appointment.findResponseById(id)
+                .map(checkInAgenda::applyPending)
+                .orElseThrow(() -> new NotFoundException("Appointment not found with id: " + id));
     }
 
     @Override
@@ -123,7 +128,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         );
         eventProducer.publishRescheduledEvent(event);
 
-        return new AppointmentResponse(appointment);
+        return trackedResponse(appointment);
     }
 
     @Override
@@ -148,6 +153,8 @@ public class AppointmentServiceImpl implements AppointmentService {
                 originalStartTime
         );
         eventProducer.publishCancelledEvent(event);
+
+        checkInAgenda.refreshAfterCommit(new AppointmentResponse(appointment));
     }
 
     @Override
@@ -177,7 +184,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         );
         eventProducer.publishConfirmedEvent(event);
 
-        return new AppointmentResponse(appointment);
+        return trackedResponse(appointment);
     }
 
     @Override
@@ -200,7 +207,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         // Note: Check-in doesn't have a specific event, we could add one if needed
         // For now, this is just a status change without event emission
 
-        return new AppointmentResponse(appointment);
+        return trackedResponse(appointment);
     }
 
     @Override
@@ -237,28 +244,24 @@ public class AppointmentServiceImpl implements AppointmentService {
         );
         eventProducer.publishCompletedEvent(event);
 
-        return new AppointmentResponse(appointment);
+        return trackedResponse(appointment);
     }
 
     @Override
     public List<AppointmentResponse> getPatientAppointments(Long patientId) {
-        return Appointment.findByPatientId(patientId).stream()
-                .map(AppointmentResponse::new)
-                .collect(Collectors.toList());
+        return withPendingCheckIns(Appointment.findResponsesByPatientId(patientId));
     }
 
     @Override
     public List<AppointmentResponse> getDoctorAppointments(Long doctorId) {
-        return Appointment.findByDoctorId(doctorId).stream()
-                .map(AppointmentResponse::new)
-                .collect(Collectors.toList());
+        return withPendingCheckIns(Appointment.findResponsesByDoctorId(doctorId));
     }
 
     @Override
     public List<AppointmentResponse> getUpcomingAppointments() {
-        return Appointment.findUpcoming(LocalDateTime.now()).stream()
-                .map(AppointmentResponse::new)
-                .collect(Collectors.toList());
+        List<AppointmentResponse> upcoming = withPendingCheckIns(Appointment.findUpcomingResponses(LocalDateTime.now()));
+        upcoming.removeIf(a -> a.status == AppointmentStatus.CHECKED_IN);
+        return upcoming;
     }
 
     @Override
@@ -268,9 +271,16 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     @Override
     public List<AppointmentResponse> getAppointmentsByStatus(AppointmentStatus status) {
-        return Appointment.findByStatus(status).stream()
-                .map(AppointmentResponse::new)
-                .collect(Collectors.toList());
+        List<AppointmentResponse> appointments = withPendingCheckIns(Appointment.findResponsesByStatus(status));
+        appointments.removeIf(a -> a.status != status);
+        if (status == AppointmentStatus.CHECKED_IN) {
+            // Desk check-ins not yet flushed are still SCHEDULED/CONFIRMED in the database
+            Set<Long> listed = appointments.stream().map(a -> a.id).collect(Collectors.toSet());
+            checkInAgenda.unflushedCheckIns().stream()
+                    .filter(a -> !listed.contains(a.id))
+                    .forEach(appointments::add);
+        }
+        return appointments;
     }
 
     // ==================== Private Helper Methods ====================
@@ -283,7 +293,26 @@ public class AppointmentServiceImpl implements AppointmentService {
         if (appointment == null) {
             throw new NotFoundException("Appointment not found with id: " + id);
         }
-        return appointment;
+        // A desk check-in may not have been written yet
+        return checkInAgenda.applyPending(appointment);
+    }
+
+    /**
+     * Build the response for a changed appointment and keep today's check-in agenda in step
+     * (once the change commits)
+     */
+    private AppointmentResponse trackedResponse(Appointment appointment) {
+        AppointmentResponse response = new AppointmentResponse(appointment);
+        checkInAgenda.refreshAfterCommit(new AppointmentResponse(appointment));
+        return response;
+    }
+
+    /**
+     * Overlay desk check-ins that are not yet written to the database
+     */
+    private List<AppointmentResponse> withPendingCheckIns(List<AppointmentResponse> responses) {
+        responses.forEach(checkInAgenda::applyPending);
+        return responses;
     }
 
     /**
@@ -0,0 +1,476 @@
+package com.example.service;
+
+import com.example.constant.AppointmentStatus;
+import com.example.dto.AppointmentResponse;
+import com.example.entity.Appointment;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.ws.rs.NotFoundException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory agenda of today's appointments for the check-in desks.
+ *
+ * The agenda is preloaded at start of day and indexed by appointment id and patient id,
+ * so a desk check-in is a map lookup plus one journal append; it never waits for the
+ * database. Check-ins are journaled to disk, kept as pending, and written to the
+ * database in batches by a background flusher (one transaction per batch). Until a
+ * check-in is flushed, reads and state changes elsewhere overlay it via applyPending().
+ * A check-in whose row moved on before the flush (cancelled, rescheduled) is not written;
+ * it is logged, counted in droppedCount() and the agenda takes the row's current state.
+ */
+@ApplicationScoped
+public class CheckInAgendaService {
+
+    private static final Logger LOG = Logger.getLogger(CheckInAgendaService.class);
+
+    @ConfigProperty(name = "appointment.checkin.journal-path", defaultValue = "data/checkin.journal")
+    Path journalPath;
+
+    @ConfigProperty(name = "appointment.checkin.journal-fsync", defaultValue = "true")
+    boolean journalFsync;
+
+    @ConfigProperty(name = "appointment.checkin.flush-interval", defaultValue = "PT0.2S")
+    Duration flushInterval;
+
+    @ConfigProperty(name = "appointment.checkin.flush-batch-size", defaultValue = "200")
+    int flushBatchSize;
+
+    @ConfigProperty(name = "appointment.checkin.preload-at", defaultValue = "00:05")
+    LocalTime preloadAt;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Object journalLock = new Object();
+
+    private volatile DayAgenda agenda = new DayAgenda(LocalDate.now(), List.of());
+    private CheckInJournal journal;
+    private ScheduledExecutorService scheduler;
+
+    void onStart(@Observes StartupEvent event) {
+        journal = new CheckInJournal(journalPath, journalFsync);
+
+        // Check-ins journaled before a crash or restart go to the database first
+        recover();
+        try {
+            loadAgenda();
+        } catch (RuntimeException e) {
+            // Desks fall back to the database path until the next preload
+            LOG.warnf("Check-in agenda preload failed: %s", e.getMessage());
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkin-agenda");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly,
+                flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduleNextPreload();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        // Best effort; whatever is left stays in the journal for the next start
+        flushQuietly();
+        synchronized (journalLock) {
+            if (journal != null) {
+                journal.close();
+            }
+        }
+    }
+
+    // ==================== Desk Check-in ====================
+
+    /**
+     * Check in an appointment from today's agenda
+     * @param appointmentId appointment ID
+     * @return checked-in appointment, or empty if it is not on today's agenda
+     * @throws IllegalStateException if appointment cannot be checked in
+     */
+    public Optional<AppointmentResponse> checkIn(Long appointmentId) {
+        DayAgenda today = currentAgenda();
+        if (today == null || !today.byId.containsKey(appointmentId)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(checkIn(today, appointmentId));
+    }
+
+    /**
+     * Check in a patient's next appointment of today
+     * @param patientId patient ID
+     * @return checked-in appointment
+     * @throws NotFoundException if the patient has no appointment to check in today
+     * @throws IllegalStateException if the patient is already checked in
+     */
+    public AppointmentResponse checkInByPatient(Long patientId) {
+        DayAgenda today = currentAgenda();
+        if (today == null) {
+            today = loadAgenda();
+        }
+
+        Set<Long> ids = today.byPatient.get(patientId);
+        if (ids == null) {
+            // Booked after the preload (possibly through another instance)
+            LocalDateTime dayStart = today.day.atStartOfDay();
+            List<AppointmentResponse> booked = QuarkusTransaction.joiningExisting().call(() ->
+                    Appointment.findResponsesByPatientIdAndStartRange(patientId, dayStart, dayStart.plusDays(1)));
+            for (AppointmentResponse appointment : booked) {
+                today.track(applyPending(appointment));
+            }
+            ids = today.byPatient.getOrDefault(patientId, Set.of());
+        }
+
+        AppointmentResponse next = null;
+        boolean checkedIn = false;
+        for (Long id : ids) {
+            AppointmentResponse appointment = today.byId.get(id);
+            if (appointment == null) {
+                continue;
+            }
+            if (isCheckable(appointment.status)) {
+                if (next == null || appointment.startTime.isBefore(next.startTime)) {
+                    next = appointment;
+                }
+            } else if (appointment.status == AppointmentStatus.CHECKED_IN) {
+                checkedIn = true;
+            }
+        }
+
+        if (next == null) {
+            if (checkedIn) {
+                throw new IllegalStateException(
+                        String.format("Patient %d is already checked in", patientId));
+            }
+            throw new NotFoundException("No appointment to check in today for patient: " + patientId);
+        }
+        return checkIn(today, next.id);
+    }
+
+    // ==================== Consistency with the Database Path ====================
+
+    /**
+     * Overlay a not-yet-flushed check-in onto a response read from the database
+     */
+    public AppointmentResponse applyPending(AppointmentResponse response) {
+        LocalDateTime checkedInAt = pending.get(response.id);
+        if (checkedInAt != null && isCheckable(response.status)) {
+            response.status = AppointmentStatus.CHECKED_IN;
+            response.checkedInAt = checkedInAt;
+        }
+        return response;
+    }
+
+    /**
+     * Overlay a not-yet-flushed check-in onto an entity about to be changed
+     */
+    public Appointment applyPending(Appointment appointment) {
+        LocalDateTime checkedInAt = pending.get(appointment.id);
+        if (checkedInAt != null && isCheckable(appointment.status)) {
+            appointment.status = AppointmentStatus.CHECKED_IN;
+            appointment.checkedInAt = checkedInAt;
+        }
+        return appointment;
+    }
+
+    /**
+     * Reflect a change made through the database path once its transaction commits,
+     * so desks never see (or check in) a change that is rolled back
+     */
+    public void refreshAfterCommit(AppointmentResponse appointment) {
+        if (transactionRegistry.getTransactionKey() == null) {
+            refresh(appointment);
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    refresh(appointment);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reflect a change made through the database path: the appointment is (re)tracked
+     * if it is on today's agenda and dropped otherwise
+     */
+    public void refresh(AppointmentResponse appointment) {
+        DayAgenda today = agenda;
+        if (appointment.startTime != null && appointment.startTime.toLocalDate().equals(today.day)) {
+            today.track(appointment);
+        } else {
+            today.untrack(appointment.id);
+        }
+    }
+
+    /**
+     * Desk check-ins not yet written to the database, as CHECKED_IN responses
+     * (the database still has them SCHEDULED or CONFIRMED)
+     */
+    public List<AppointmentResponse> unflushedCheckIns() {
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        List<AppointmentResponse> responses = QuarkusTransaction.joiningExisting().call(() ->
+                Appointment.findResponsesByIds(new ArrayList<>(pending.keySet())));
+        responses.forEach(this::applyPending);
+        responses.removeIf(r -> r.status != AppointmentStatus.CHECKED_IN);
+        return responses;
+    }
+
+    // ==================== Preload and Write-behind ====================
+
+    /**
+     * Load today's agenda from the database, replacing the current one
+     */
+    public void reload() {
+        loadAgenda();
+    }
+
+    /**
+     * Write up to one batch of pending check-ins to the database in a single transaction
+     * @return number of check-ins written
+     */
+    public synchronized int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, LocalDateTime> batch = new LinkedHashMap<>();
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() == flushBatchSize) {
+                break;
+            }
+        }
+
+        // Rows that moved on meanwhile (completed, cancelled elsewhere) are left alone
+        List<Long> notWritten = QuarkusTransaction.requiringNew().call(() -> {
+            List<Long> skipped = new ArrayList<>();
+            batch.forEach((id, checkedInAt) -> {
+                if (Appointment.markCheckedIn(id, checkedInAt) == 0) {
+                    skipped.add(id);
+                }
+            });
+            return skipped;
+        });
+
+        synchronized (journalLock) {
+            batch.forEach(pending::remove);
+            journal.rewrite(new LinkedHashMap<>(pending));
+        }
+        if (!notWritten.isEmpty()) {
+            reportNotWritten(notWritten, batch);
+        }
+        return batch.size();
+    }
+
+    /**
+     * Write check-ins journaled before a crash or restart to the database (run at startup)
+     * @return number of check-ins read back from the journal
+     */
+    int recover() {
+        Map<Long, LocalDateTime> recovered;
+        synchronized (journalLock) {
+            // Read what is on disk; check-ins taken since startup are already pending
+            journal.close();
+            recovered = journal.readAll();
+            recovered.forEach(pending::putIfAbsent);
+        }
+        if (!recovered.isEmpty()) {
+            LOG.infof("Recovered %d unflushed check-ins from %s", recovered.size(), journalPath);
+            flushQuietly();
+        }
+        return recovered.size();
+    }
+
+    /**
+     * @return number of check-ins not yet written to the database
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return number of desk check-ins not written because the appointment had moved on
+     */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private AppointmentResponse checkIn(DayAgenda today, Long appointmentId) {
+        AppointmentResponse[] result = new AppointmentResponse[1];
+        today.byId.computeIfPresent(appointmentId, (id, current) -> {
+            if (!isCheckable(current.status)) {
+                throw new IllegalStateException(
+                        String.format("Cannot check-in appointment with status %s", current.status));
+            }
+            AppointmentResponse checkedIn = copy(current);
+            checkedIn.status = AppointmentStatus.CHECKED_IN;
+            checkedIn.checkedInAt = LocalDateTime.now();
+            checkedIn.updatedAt = checkedIn.checkedInAt;
+
+            synchronized (journalLock) {
+                journal.append(id, checkedIn.checkedInAt);
+                pending.put(id, checkedIn.checkedInAt);
+            }
+            result[0] = checkedIn;
+            return checkedIn;
+        });
+        return result[0] != null ? copy(result[0]) : null;
+    }
+
+    /**
+     * Log check-ins the database did not take and show the rows' current state on the agenda
+     */
+    private void reportNotWritten(List<Long> ids, Map<Long, LocalDateTime> batch) {
+        Map<Long, AppointmentResponse> current = new HashMap<>();
+        QuarkusTransaction.requiringNew().call(() -> Appointment.findResponsesByIds(ids))
+                .forEach(r -> current.put(r.id, r));
+
+        for (Long id : ids) {
+            AppointmentResponse appointment = current.get(id);
+            if (appointment != null && appointment.status == AppointmentStatus.CHECKED_IN) {
+                // Already written, e.g. journal replayed after the flush it recorded
+                LOG.debugf("Check-in of appointment %d was already written", id);
+                continue;
+            }
+            dropped.incrementAndGet();
+            LOG.warnf("Check-in of appointment %d at %s was not written: appointment is %s",
+                    id, batch.get(id), appointment != null ? appointment.status : "deleted");
+            if (appointment != null) {
+                refresh(appointment);
+            } else {
+                agenda.untrack(id);
+            }
+        }
+    }
+
+    private DayAgenda loadAgenda() {
+        LocalDate day = LocalDate.now();
+        List<AppointmentResponse> appointments = QuarkusTransaction.joiningExisting().call(() ->
+                Appointment.findResponsesByStartRange(day.atStartOfDay(), day.plusDays(1).atStartOfDay()));
+        appointments.forEach(this::applyPending);
+
+        DayAgenda loaded = new DayAgenda(day, appointments);
+        agenda = loaded;
+        LOG.infof("Loaded check-in agenda for %s with %d appointments", day, appointments.size());
+        return loaded;
+    }
+
+    private DayAgenda currentAgenda() {
+        DayAgenda today = agenda;
+        return today.day.equals(LocalDate.now()) ? today : null;
+    }
+
+    private void flushQuietly() {
+        try {
+            while (flush() == flushBatchSize) {
+                // keep draining full batches
+            }
+        } catch (RuntimeException e) {
+            LOG.warnf("Check-in flush failed, %d check-ins stay pending: %s", pending.size(), e.getMessage());
+        }
+    }
+
+    private void scheduleNextPreload() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = now.toLocalDate().atTime(preloadAt);
+        if (!next.isAfter(now)) {
+            next = next.plusDays(1);
+        }
+        scheduler.schedule(() -> {
+            try {
+                reload();
+            } catch (RuntimeException e) {
+                LOG.warnf("Check-in agenda preload failed: %s", e.getMessage());
+            } finally {
+                scheduleNextPreload();
+            }
+        }, Duration.between(now, next).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static boolean isCheckable(AppointmentStatus status) {
+        return status == AppointmentStatus.SCHEDULED || status == AppointmentStatus.CONFIRMED;
+    }
+
+    private static AppointmentResponse copy(AppointmentResponse r) {
+        return new AppointmentResponse(r.id, r.patientId, r.doctorId, r.startTime, r.endTime, r.status, r.type,
+                r.notes, r.reason, r.createdAt, r.updatedAt, r.checkedInAt, r.completedAt, r.cancelledAt,
+                r.cancellationReason, r.reminderSent, r.confirmationSent);
+    }
+
+    /**
+     * One day's appointments, indexed by appointment id and patient id
+     */
+    static class DayAgenda {
+        final LocalDate day;
+        final Map<Long, AppointmentResponse> byId = new ConcurrentHashMap<>();
+        final Map<Long, Set<Long>> byPatient = new ConcurrentHashMap<>();
+
+        DayAgenda(LocalDate day, List<AppointmentResponse> appointments) {
+            this.day = day;
+            appointments.forEach(this::track);
+        }
+
+        void track(AppointmentResponse appointment) {
+            AppointmentResponse previous = byId.put(appointment.id, appointment);
+            if (previous != null && !previous.patientId.equals(appointment.patientId)) {
+                removeFromPatient(previous);
+            }
+            byPatient.compute(appointment.patientId, (p, ids) -> {
+                Set<Long> tracked = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                tracked.add(appointment.id);
+                return tracked;
+            });
+        }
+
+        void untrack(Long appointmentId) {
+            AppointmentResponse previous = byId.remove(appointmentId);
+            if (previous != null) {
+                removeFromPatient(previous);
+            }
+        }
+
+        private void removeFromPatient(AppointmentResponse appointment) {
+            byPatient.computeIfPresent(appointment.patientId, (p, ids) -> {
+                ids.remove(appointment.id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+}
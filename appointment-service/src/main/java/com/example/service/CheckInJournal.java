@@ -0,0 +1,144 @@
+package com.example.service;
+
+import org.jboss.logging.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only file journal of check-ins that are not yet written to the database.
+ *
+ * One line per check-in: "appointmentId,checkedInAt". A line is forced to disk before
+ * the desk gets its answer, so a crash between check-in and write-behind flush loses
+ * nothing; on startup the journal is read back and flushed. Not thread-safe, callers
+ * serialize access.
+ */
+class CheckInJournal implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(CheckInJournal.class);
+
+    private final Path path;
+    private final boolean fsync;
+    private FileChannel channel;
+
+    CheckInJournal(Path path, boolean fsync) {
+        this.path = path;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Read all complete entries; a torn last line from a crash mid-write is skipped.
+     * Later entries for the same appointment win.
+     */
+    Map<Long, LocalDateTime> readAll() {
+        Map<Long, LocalDateTime> entries = new LinkedHashMap<>();
+        if (!Files.exists(path)) {
+            return entries;
+        }
+        try {
+            List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                int comma = line.indexOf(',');
+                try {
+                    entries.put(Long.parseLong(line.substring(0, comma)),
+                            LocalDateTime.parse(line.substring(comma + 1)));
+                } catch (RuntimeException e) {
+                    LOG.warnf("Skipping malformed check-in journal line: %s", line);
+                }
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read check-in journal " + path, e);
+        }
+    }
+
+    /**
+     * Append one entry and force it to disk
+     */
+    void append(Long appointmentId, LocalDateTime checkedInAt) {
+        ByteBuffer line = StandardCharsets.UTF_8.encode(appointmentId + "," + checkedInAt + "\n");
+        try {
+            FileChannel out = channel();
+            while (line.hasRemaining()) {
+                out.write(line);
+            }
+            if (fsync) {
+                out.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to check-in journal " + path, e);
+        }
+    }
+
+    /**
+     * Atomically replace the journal with the given entries (the ones still pending)
+     */
+    void rewrite(Map<Long, LocalDateTime> entries) {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            closeChannel();
+            if (entries.isEmpty() && !Files.exists(path)) {
+                return;
+            }
+            createParentDirectories();
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<Long, LocalDateTime> entry : entries.entrySet()) {
+                    writer.write(entry.getKey() + "," + entry.getValue());
+                    writer.newLine();
+                }
+            }
+            if (fsync) {
+                try (FileChannel written = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    written.force(true);
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot rewrite check-in journal " + path, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            closeChannel();
+        } catch (IOException e) {
+            LOG.warnf("Cannot close check-in journal %s: %s", path, e.getMessage());
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            createParentDirectories();
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private void createParentDirectories() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.example.service;
+
+import com.example.client.DoctorServiceClient;
+import com.example.dto.DoctorAvailabilityWindow;
+import com.example.dto.DoctorLeave;
+import com.example.dto.DoctorSummary;
+import com.example.dto.SlotRecommendation;
+import com.example.dto.SlotRecommendationResponse;
+import com.example.entity.Appointment;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ServiceUnavailableException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.jboss.logging.Logger;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Recommends the earliest (or best-rated) free slots across all active doctors
+ * of a specialization.
+ *
+ * Booked appointments of every candidate doctor are loaded with one query and their
+ * approved time off with one Doctor Service call; days on leave get no slots. Then slot
+ * computation (availability lookup + free-slot generation) fans out per doctor on a
+ * bounded pool. Whatever has finished when the latency budget runs out is merged with
+ * a k-way heap; slower doctors are left out and the response is flagged as partial.
+ */
+@ApplicationScoped
+public class SlotRecommendationService {
+
+    private static final Logger LOG = Logger.getLogger(SlotRecommendationService.class);
+
+    /**
+     * Ordering of recommended slots
+     */
+    public enum SortOrder {
+        EARLIEST,
+        RATING
+    }
+
+    static final Comparator<SlotRecommendation> EARLIEST_FIRST = Comparator
+            .comparing((SlotRecommendation s) -> s.startTime)
+            .thenComparing(s -> s.averageRating, Comparator.reverseOrder())
+            .thenComparing(s -> s.doctorId);
+
+    static final Comparator<SlotRecommendation> BEST_RATED_FIRST = Comparator
+            .comparing((SlotRecommendation s) -> s.averageRating, Comparator.reverseOrder())
+            .thenComparing(s -> s.startTime)
+            .thenComparing(s -> s.doctorId);
+
+    @Inject
+    @RestClient
+    DoctorServiceClient doctorClient;
+
+    @ConfigProperty(name = "appointment.recommendation.parallelism", defaultValue = "16")
+    int parallelism;
+
+    @ConfigProperty(name = "appointment.recommendation.default-budget", defaultValue = "PT1S")
+    Duration defaultBudget;
+
+    @ConfigProperty(name = "appointment.recommendation.max-budget", defaultValue = "PT5S")
+    Duration maxBudget;
+
+    @ConfigProperty(name = "appointment.recommendation.max-days", defaultValue = "60")
+    int maxDays;
+
+    @ConfigProperty(name = "appointment.recommendation.max-limit", defaultValue = "100")
+    int maxLimit;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        AtomicLong counter = new AtomicLong();
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "slot-recommendation-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Recommend free slots across all active doctors of a specialization
+     * @param specialization doctor specialization
+     * @param from earliest slot start (defaults to now)
+     * @param days number of days to search
+     * @param durationMinutes slot length
+     * @param limit number of slots to return
+     * @param sort EARLIEST or RATING
+     * @param budgetMillis latency budget for the fan-out (null for the default)
+     * @return top slots, flagged partial if some doctors missed the budget
+     * @throws IllegalArgumentException if parameters are invalid
+     */
+    public SlotRecommendationResponse recommend(String specialization, LocalDateTime from, int days,
+                                                int durationMinutes, int limit, SortOrder sort,
+                                                Long budgetMillis) {
+        long startNanos = System.nanoTime();
+        validate(specialization, days, durationMinutes, limit);
+
+        Duration budget = budgetMillis != null ? Duration.ofMillis(budgetMillis) : defaultBudget;
+        if (budget.isNegative() || budget.isZero() || budget.compareTo(maxBudget) > 0) {
+            budget = maxBudget;
+        }
+        long deadline = startNanos + budget.toNanos();
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime rangeStart = from == null || from.isBefore(now) ? now : from;
+        LocalDateTime rangeEnd = rangeStart.toLocalDate().plusDays(days).atStartOfDay();
+        SortOrder order = sort != null ? sort : SortOrder.EARLIEST;
+
+        List<DoctorSummary> doctors = fetchDoctors(specialization);
+
+        SlotRecommendationResponse response = new SlotRecommendationResponse();
+        response.specialization = specialization;
+        response.sort = order.name();
+        response.doctorsConsidered = doctors.size();
+
+        if (doctors.isEmpty()) {
+            response.slots = List.of();
+            response.elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            return response;
+        }
+
+        Map<Long, List<Appointment>> busyByDoctor = Appointment.findBlockingByDoctorIdsAndRange(
+                        doctors.stream().map(d -> d.id).collect(Collectors.toList()), rangeStart, rangeEnd)
+                .stream()
+                .collect(Collectors.groupingBy(a -> a.doctorId));
+        Map<Long, List<DoctorLeave>> leaveByDoctor = fetchLeave(rangeStart.toLocalDate(), rangeEnd.toLocalDate().minusDays(1))
+                .stream()
+                .filter(leave -> leave.doctorId != null && leave.startDate != null && leave.endDate != null)
+                .collect(Collectors.groupingBy(leave -> leave.doctorId));
+
+        // Fan out: one task per doctor
+        Map<DoctorSummary, CompletableFuture<List<SlotRecommendation>>> tasks = new LinkedHashMap<>();
+        for (DoctorSummary doctor : doctors) {
+            List<Appointment> busy = busyByDoctor.getOrDefault(doctor.id, List.of());
+            List<DoctorLeave> leave = leaveByDoctor.getOrDefault(doctor.id, List.of());
+            LocalDateTime taskStart = rangeStart;
+            tasks.put(doctor, CompletableFuture.supplyAsync(() -> computeDoctorSlots(
+                    doctor, doctorClient.getDoctorAvailability(doctor.id), busy, leave,
+                    taskStart, rangeEnd, durationMinutes, limit), executor));
+        }
+
+        // Collect whatever finishes within the budget
+        List<List<SlotRecommendation>> perDoctor = new ArrayList<>(tasks.size());
+        int responded = 0;
+        for (Map.Entry<DoctorSummary, CompletableFuture<List<SlotRecommendation>>> task : tasks.entrySet()) {
+            long remaining = deadline - System.nanoTime();
+            try {
+                perDoctor.add(task.getValue().get(Math.max(0, remaining), TimeUnit.NANOSECONDS));
+                responded++;
+            } catch (TimeoutException e) {
+                task.getValue().cancel(true);
+            } catch (ExecutionException e) {
+                LOG.warnf("Slot computation failed for doctor %d: %s", task.getKey().id, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        response.doctorsResponded = responded;
+        response.partial = responded < doctors.size();
+        response.slots = mergeTopN(perDoctor, order == SortOrder.RATING ? BEST_RATED_FIRST : EARLIEST_FIRST, limit);
+        response.elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        return response;
+    }
+
+    // ==================== Slot Computation ====================
+
+    /**
+     * Generate free slots of one doctor in chronological order, at most limit of them.
+     * Busy appointments must be sorted by start time; days covered by leave are skipped.
+     */
+    static List<SlotRecommendation> computeDoctorSlots(DoctorSummary doctor,
+                                                       List<DoctorAvailabilityWindow> windows,
+                                                       List<Appointment> busy,
+                                                       List<DoctorLeave> leave,
+                                                       LocalDateTime rangeStart,
+                                                       LocalDateTime rangeEnd,
+                                                       int durationMinutes,
+                                                       int limit) {
+        Map<DayOfWeek, List<DoctorAvailabilityWindow>> byDay = new EnumMap<>(DayOfWeek.class);
+        for (DoctorAvailabilityWindow window : windows) {
+            if (Boolean.FALSE.equals(window.isActive) || window.dayOfWeek == null
+                    || window.startTime == null || window.endTime == null) {
+                continue;
+            }
+            byDay.computeIfAbsent(DayOfWeek.valueOf(window.dayOfWeek.toUpperCase()), d -> new ArrayList<>())
+                    .add(window);
+        }
+        byDay.values().forEach(list -> list.sort(Comparator.comparing((DoctorAvailabilityWindow w) -> w.startTime)));
+
+        List<SlotRecommendation> slots = new ArrayList<>(limit);
+        Duration duration = Duration.ofMinutes(durationMinutes);
+        int busyIndex = 0;
+
+        for (LocalDate date = rangeStart.toLocalDate(); date.atStartOfDay().isBefore(rangeEnd); date = date.plusDays(1)) {
+            LocalDate day = date;
+            if (leave.stream().anyMatch(l -> l.covers(day))) {
+                continue;
+            }
+            for (DoctorAvailabilityWindow window : byDay.getOrDefault(date.getDayOfWeek(), List.of())) {
+                LocalDateTime windowEnd = window.endTime.equals(LocalTime.MIDNIGHT)
+                        ? date.plusDays(1).atStartOfDay()
+                        : date.atTime(window.endTime);
+                LocalDateTime slotStart = date.atTime(window.startTime);
+
+                while (!slotStart.plus(duration).isAfter(windowEnd)) {
+                    LocalDateTime slotEnd = slotStart.plus(duration);
+                    if (!slotStart.isBefore(rangeStart) && !slotEnd.isAfter(rangeEnd)) {
+                        // Appointments don't overlap per doctor, so their end times are ordered too
+                        while (busyIndex < busy.size() && !busy.get(busyIndex).endTime.isAfter(slotStart)) {
+                            busyIndex++;
+                        }
+                        if (busyIndex >= busy.size() || !busy.get(busyIndex).startTime.isBefore(slotEnd)) {
+                            slots.add(new SlotRecommendation(doctor, slotStart, slotEnd));
+                            if (slots.size() == limit) {
+                                return slots;
+                            }
+                        }
+                    }
+                    slotStart = slotEnd;
+                }
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * K-way merge of per-doctor slot lists, each already sorted by the given order
+     */
+    static List<SlotRecommendation> mergeTopN(List<List<SlotRecommendation>> sortedLists,
+                                              Comparator<SlotRecommendation> order,
+                                              int limit) {
+        PriorityQueue<ListCursor> heap = new PriorityQueue<>(Math.max(1, sortedLists.size()),
+                (a, b) -> order.compare(a.head(), b.head()));
+        for (List<SlotRecommendation> list : sortedLists) {
+            if (!list.isEmpty()) {
+                heap.add(new ListCursor(list));
+            }
+        }
+
+        List<SlotRecommendation> result = new ArrayList<>(limit);
+        while (!heap.isEmpty() && result.size() < limit) {
+            ListCursor cursor = heap.poll();
+            result.add(cursor.head());
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private List<DoctorSummary> fetchDoctors(String specialization) {
+        try {
+            return doctorClient.getDoctorsBySpecialization(specialization).stream()
+                    .filter(d -> d.id != null && !Boolean.FALSE.equals(d.isActive))
+                    .collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            LOG.warnf("Doctor service lookup failed for specialization %s: %s", specialization, e.getMessage());
+            throw new ServiceUnavailableException("Doctor service is unavailable");
+        }
+    }
+
+    private List<DoctorLeave> fetchLeave(LocalDate from, LocalDate to) {
+        try {
+            return doctorClient.getDoctorsOnLeave(from.toString(), to.toString());
+        } catch (RuntimeException e) {
+            // Without leave data, doctors on leave would be recommended
+            LOG.warnf("Doctor service leave lookup failed for %s..%s: %s", from, to, e.getMessage());
+            throw new ServiceUnavailableException("Doctor service is unavailable");
+        }
+    }
+
+    private void validate(String specialization, int days, int durationMinutes, int limit) {
+        if (specialization == null || specialization.isBlank()) {
+            throw new IllegalArgumentException("Specialization is required");
+        }
+        if (days < 1 || days > maxDays) {
+            throw new IllegalArgumentException("Days must be between 1 and " + maxDays);
+        }
+        if (durationMinutes < 5 || durationMinutes > 480) {
+            throw new IllegalArgumentException("Duration must be between 5 and 480 minutes");
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxLimit);
+        }
+    }
+
+    /**
+     * Read position in one sorted per-doctor list
+     */
+    private static class ListCursor {
+        private final List<SlotRecommendation> list;
+        private int index;
+
+        ListCursor(List<SlotRecommendation> list) {
+            this.list = list;
+        }
+
+        SlotRecommendation head() {
+            return list.get(index);
+        }
+
+        boolean advance() {
+            return ++index < list.size();
+        }
+    }
+}
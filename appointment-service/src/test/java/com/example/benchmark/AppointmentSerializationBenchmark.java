@@ -0,0 +1,105 @@
+package com.example.benchmark;
+
+import com.example.constant.AppointmentStatus;
+import com.example.constant.AppointmentType;
+import com.example.dto.AppointmentResponse;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: serializing a doctor agenda (list of AppointmentResponse) with the
+ * default reflection-based bean serializer vs. AppointmentResponseSerializer.
+ *
+ * Run with: mvn -Pbenchmark test -Dbenchmark.include=AppointmentSerializationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppointmentSerializationBenchmark {
+
+    @Param({"50", "500"})
+    int agendaSize;
+
+    private List<AppointmentResponse> agenda;
+    private ObjectWriter defaultWriter;
+    private ObjectWriter specializedWriter;
+    private final OutputStream sink = new DiscardingOutputStream();
+
+    @Setup
+    public void setUp() {
+        // Same configuration as the Quarkus ObjectMapper (ISO dates, not timestamps);
+        // disabling annotations drops @JsonSerialize and falls back to the bean serializer
+        ObjectMapper defaultMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(MapperFeature.USE_ANNOTATIONS)
+                .build();
+        ObjectMapper specializedMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        defaultWriter = defaultMapper.writerFor(defaultMapper.getTypeFactory()
+                .constructCollectionType(List.class, AppointmentResponse.class));
+        specializedWriter = specializedMapper.writerFor(specializedMapper.getTypeFactory()
+                .constructCollectionType(List.class, AppointmentResponse.class));
+
+        agenda = new ArrayList<>(agendaSize);
+        LocalDateTime base = LocalDateTime.of(2026, 3, 2, 8, 0, 0, 123_456_000);
+        for (int i = 0; i < agendaSize; i++) {
+            AppointmentResponse response = new AppointmentResponse();
+            response.id = (long) i + 1;
+            response.patientId = 10_000L + i;
+            response.doctorId = 42L;
+            response.startTime = base.plusMinutes(30L * i);
+            response.endTime = response.startTime.plusMinutes(30);
+            response.status = AppointmentStatus.values()[i % AppointmentStatus.values().length];
+            response.type = AppointmentType.values()[i % AppointmentType.values().length];
+            response.reason = "Follow-up on blood pressure readings";
+            response.notes = i % 3 == 0 ? "Bring previous lab results" : null;
+            response.createdAt = base.minusDays(10).plusSeconds(i);
+            response.updatedAt = base.minusDays(1).plusSeconds(i);
+            response.checkedInAt = i % 4 == 0 ? response.startTime.minusMinutes(5) : null;
+            response.confirmationSent = i % 2 == 0;
+            agenda.add(response);
+        }
+    }
+
+    @Benchmark
+    public void defaultJackson() throws IOException {
+        defaultWriter.writeValue(sink, agenda);
+    }
+
+    @Benchmark
+    public void specializedSerializer() throws IOException {
+        specializedWriter.writeValue(sink, agenda);
+    }
+
+    /**
+     * Discards bytes and survives close(), unlike OutputStream.nullOutputStream()
+     */
+    private static class DiscardingOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.dto;
+
+import com.example.constant.AppointmentStatus;
+import com.example.constant.AppointmentType;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for AppointmentResponseSerializer
+ * Tests: 4 test cases checking byte-for-byte parity with the default bean serializer
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AppointmentResponseSerializerTest {
+
+    private ObjectMapper defaultMapper;
+    private ObjectMapper specializedMapper;
+
+    @BeforeEach
+    void setUp() {
+        defaultMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(MapperFeature.USE_ANNOTATIONS)
+                .build();
+        specializedMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Should match default Jackson output for a fully populated response")
+    void shouldMatchDefaultForFullResponse() throws Exception {
+        AppointmentResponse response = fullResponse();
+
+        assertThat(specializedMapper.writeValueAsString(response))
+                .isEqualTo(defaultMapper.writeValueAsString(response));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Should match default Jackson output when fields are null")
+    void shouldMatchDefaultForEmptyResponse() throws Exception {
+        AppointmentResponse response = new AppointmentResponse();
+
+        assertThat(specializedMapper.writeValueAsString(response))
+                .isEqualTo(defaultMapper.writeValueAsString(response));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Should format date-times like ISO_LOCAL_DATE_TIME")
+    void shouldFormatDateTimesLikeIso() throws Exception {
+        List<LocalDateTime> samples = List.of(
+                LocalDateTime.of(2026, 1, 5, 9, 0),
+                LocalDateTime.of(2026, 12, 31, 23, 59, 59),
+                LocalDateTime.of(2026, 6, 15, 14, 30, 5, 100_000_000),
+                LocalDateTime.of(2026, 6, 15, 14, 30, 5, 123_456_789),
+                LocalDateTime.of(2026, 6, 15, 14, 30, 5, 1_000),
+                LocalDateTime.of(12026, 6, 15, 14, 30)
+        );
+
+        for (LocalDateTime sample : samples) {
+            AppointmentResponse response = new AppointmentResponse();
+            response.startTime = sample;
+            assertThat(specializedMapper.writeValueAsString(response))
+                    .isEqualTo(defaultMapper.writeValueAsString(response));
+        }
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Should match default Jackson output for lists and escaped text")
+    void shouldMatchDefaultForLists() throws Exception {
+        AppointmentResponse first = fullResponse();
+        AppointmentResponse second = fullResponse();
+        second.id = 2L;
+        second.status = AppointmentStatus.CANCELLED;
+        second.type = AppointmentType.VACCINATION;
+        second.notes = "Needs \"quiet\" room\nand a wheelchair";
+        List<AppointmentResponse> agenda = List.of(first, second);
+
+        assertThat(specializedMapper.writeValueAsString(agenda))
+                .isEqualTo(defaultMapper.writeValueAsString(agenda));
+    }
+
+    // ==================== Helper Methods ====================
+
+    private AppointmentResponse fullResponse() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 2, 10, 0);
+        AppointmentResponse response = new AppointmentResponse();
+        response.id = 1L;
+        response.patientId = 100L;
+        response.doctorId = 200L;
+        response.startTime = start;
+        response.endTime = start.plusMinutes(45);
+        response.status = AppointmentStatus.CHECKED_IN;
+        response.type = AppointmentType.FOLLOW_UP;
+        response.notes = "Bring lab results";
+        response.reason = "Blood pressure";
+        response.createdAt = start.minusDays(3).withNano(120_000_000);
+        response.updatedAt = start.minusHours(1);
+        response.checkedInAt = start.minusMinutes(10);
+        response.completedAt = start.plusMinutes(40);
+        response.cancelledAt = start.minusDays(1);
+        response.cancellationReason = "n/a";
+        response.reminderSent = true;
+        response.confirmationSent = true;
+        return response;
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.service;
+
+import com.example.constant.AppointmentStatus;
+import com.example.constant.AppointmentType;
+import com.example.dto.ReplayJobStatus;
+import com.example.dto.ReplayRequest;
+import com.example.entity.Appointment;
+import com.example.event.AppointmentEventProducer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.reactive.messaging.kafka.Record;
+import io.smallrye.reactive.messaging.kafka.api.OutgoingKafkaRecordMetadata;
+import io.smallrye.reactive.messaging.memory.InMemoryConnector;
+import io.smallrye.reactive.messaging.memory.InMemorySink;
+import jakarta.enterprise.inject.Any;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for AppointmentReplayService
+ * Tests: 6 test cases covering event mapping, filtering, ordering, validation and job retention
+ */
+@QuarkusTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AppointmentReplayServiceTest {
+
+    private static final Long DOCTOR_ID = 9100L;
+
+    @Inject
+    AppointmentReplayService replayService;
+
+    @Inject
+    @Any
+    InMemoryConnector connector;
+
+    private InMemorySink<Record<String, String>> sink;
+
+    @BeforeEach
+    void setUp() {
+        sink = connector.sink("appointment-replay-events");
+        sink.clear();
+        QuarkusTransaction.requiringNew().run(() -> Appointment.delete("doctorId", DOCTOR_ID));
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Should map appointment state to its event history")
+    void shouldMapAppointmentStateToEvents() {
+        Appointment scheduled = newAppointment(AppointmentStatus.SCHEDULED);
+        scheduled.id = 1L;
+        Appointment cancelled = newAppointment(AppointmentStatus.CANCELLED);
+        cancelled.id = 2L;
+        cancelled.cancelledAt = LocalDateTime.now();
+        Appointment completed = newAppointment(AppointmentStatus.COMPLETED);
+        completed.id = 3L;
+        completed.confirmationSent = true;
+        completed.completedAt = LocalDateTime.now();
+
+        assertThat(AppointmentReplayService.toEvents(scheduled))
+                .extracting(e -> e.eventType)
+                .containsExactly("APPOINTMENT_CREATED");
+        assertThat(AppointmentReplayService.toEvents(cancelled))
+                .extracting(e -> e.eventType)
+                .containsExactly("APPOINTMENT_CREATED", "APPOINTMENT_CANCELLED");
+        assertThat(AppointmentReplayService.toEvents(completed))
+                .extracting(e -> e.eventType)
+                .containsExactly("APPOINTMENT_CREATED", "APPOINTMENT_CONFIRMED", "APPOINTMENT_COMPLETED");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Should replay all matching appointments and report progress")
+    void shouldReplayMatchingAppointments() {
+        persistAppointments(AppointmentStatus.SCHEDULED, AppointmentStatus.CANCELLED, AppointmentStatus.COMPLETED);
+
+        ReplayRequest request = new ReplayRequest(null, DOCTOR_ID, null, null, null);
+        request.batchSize = 2;
+        request.parallelism = 2;
+
+        String jobId = replayService.startReplay(request).jobId;
+        ReplayJobStatus status = awaitFinished(jobId);
+
+        assertThat(status.state).isEqualTo(ReplayJobStatus.State.COMPLETED);
+        assertThat(status.appointmentsScanned).isEqualTo(3);
+        assertThat(status.batchesCompleted).isEqualTo(2);
+        assertThat(status.eventsPublished).isEqualTo(5);
+        assertThat(status.eventsFailed).isZero();
+        assertThat(sink.received()).hasSize(5);
+
+        // Every event is marked as a replay of this job, so consumers do not count it twice
+        assertThat(sink.received()).allSatisfy(message -> {
+            Header replay = message.getMetadata(OutgoingKafkaRecordMetadata.class).orElseThrow()
+                    .getHeaders().lastHeader(AppointmentEventProducer.REPLAY_HEADER);
+            assertThat(new String(replay.value(), StandardCharsets.UTF_8)).isEqualTo(jobId);
+        });
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Should keep events of one appointment in order under the same key")
+    void shouldKeepPerAppointmentOrder() {
+        List<Long> ids = persistAppointments(AppointmentStatus.CANCELLED, AppointmentStatus.CANCELLED,
+                AppointmentStatus.CANCELLED, AppointmentStatus.CANCELLED);
+
+        ReplayRequest request = new ReplayRequest(AppointmentStatus.CANCELLED, DOCTOR_ID, null, null, null);
+        request.parallelism = 4;
+        awaitFinished(replayService.startReplay(request).jobId);
+
+        for (Long id : ids) {
+            List<String> payloads = sink.received().stream()
+                    .map(m -> m.getPayload())
+                    .filter(r -> r.key().equals(id.toString()))
+                    .map(Record::value)
+                    .collect(Collectors.toList());
+            assertThat(payloads).hasSize(2);
+            assertThat(payloads.get(0)).contains("APPOINTMENT_CREATED");
+            assertThat(payloads.get(1)).contains("APPOINTMENT_CANCELLED");
+        }
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Should reject an invalid date range")
+    void shouldRejectInvalidDateRange() {
+        ReplayRequest request = new ReplayRequest(null, DOCTOR_ID, null,
+                LocalDateTime.now(), LocalDateTime.now().minusDays(1));
+
+        assertThatThrownBy(() -> replayService.startReplay(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("End date must be after start date");
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test 5: Should throw NotFoundException for unknown job")
+    void shouldThrowForUnknownJob() {
+        assertThatThrownBy(() -> replayService.getStatus("missing"))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test 6: Should drop the oldest finished jobs beyond the retention cap")
+    void shouldPruneFinishedJobs() {
+        persistAppointments(AppointmentStatus.SCHEDULED);
+        ReplayRequest request = new ReplayRequest(null, DOCTOR_ID, null, null, null);
+
+        List<String> jobIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            jobIds.add(awaitFinished(replayService.startReplay(request).jobId).jobId);
+        }
+
+        // appointment.replay.max-retained-jobs=2 in the test configuration
+        assertThat(replayService.listJobs()).extracting(s -> s.jobId)
+                .containsExactlyInAnyOrder(jobIds.get(1), jobIds.get(2));
+        assertThatThrownBy(() -> replayService.getStatus(jobIds.get(0)))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    // ==================== Helper Methods ====================
+
+    private List<Long> persistAppointments(AppointmentStatus... statuses) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            List<Long> ids = new ArrayList<>();
+            for (AppointmentStatus status : statuses) {
+                Appointment appointment = newAppointment(status);
+                if (status == AppointmentStatus.CANCELLED) {
+                    appointment.cancelledAt = LocalDateTime.now();
+                } else if (status == AppointmentStatus.COMPLETED) {
+                    appointment.completedAt = LocalDateTime.now();
+                }
+                appointment.persist();
+                ids.add(appointment.id);
+            }
+            return ids;
+        });
+    }
+
+    private Appointment newAppointment(AppointmentStatus status) {
+        Appointment appointment = new Appointment();
+        appointment.patientId = 1L;
+        appointment.doctorId = DOCTOR_ID;
+        appointment.startTime = LocalDateTime.now().plusDays(1);
+        appointment.endTime = appointment.startTime.plusHours(1);
+        appointment.type = AppointmentType.CONSULTATION;
+        appointment.status = status;
+        return appointment;
+    }
+
+    private ReplayJobStatus awaitFinished(String jobId) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        ReplayJobStatus status = replayService.getStatus(jobId);
+        while (status.state == ReplayJobStatus.State.RUNNING && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            status = replayService.getStatus(jobId);
+        }
+        return status;
+    }
+}
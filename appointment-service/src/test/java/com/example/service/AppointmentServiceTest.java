@@ -9,6 +9,7 @@ import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.NotFoundException;
+import org.hibernate.Session;
 import org.junit.jupiter.api.*;
 
 import java.time.LocalDateTime;
@@ -18,7 +19,7 @@ import static org.assertj.core.api.Assertions.*;
 
 /**
  * Comprehensive tests for AppointmentService business logic
- * Tests: 20 test cases covering all service methods and business rules
+ * Tests: 21 test cases covering all service methods and business rules
  */
 @QuarkusTest
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -407,6 +408,33 @@ class AppointmentServiceTest {
         assertThat(appointments).allMatch(a -> a.doctorId.equals(doctorId));
     }
 
+    @Test
+    @Order(21)
+    @DisplayName("Test 21: Should read appointments without loading managed entities")
+    @Transactional
+    void shouldReadWithoutManagedEntities() {
+        // Given
+        CreateAppointmentRequest request = createValidRequest();
+        request.patientId = 300L;
+        AppointmentResponse created = appointmentService.createAppointment(request);
+        Session session = Appointment.getEntityManager().unwrap(Session.class);
+        session.clear();
+
+        // When
+        List<AppointmentResponse> byPatient = appointmentService.getPatientAppointments(300L);
+        List<AppointmentResponse> byStatus = appointmentService.getAppointmentsByStatus(AppointmentStatus.SCHEDULED);
+        List<AppointmentResponse> upcoming = appointmentService.getUpcomingAppointments();
+        AppointmentResponse single = appointmentService.getAppointment(created.id);
+
+        // Then
+        assertThat(byPatient).hasSize(1);
+        assertThat(byStatus).hasSize(1);
+        assertThat(upcoming).hasSize(1);
+        assertThat(single.reason).isEqualTo("Regular checkup");
+        assertThat(single.createdAt).isNotNull();
+        assertThat(session.getStatistics().getEntityCount()).isZero();
+    }
+
     // ==================== Helper Methods ====================
 
     private CreateAppointmentRequest createValidRequest() {
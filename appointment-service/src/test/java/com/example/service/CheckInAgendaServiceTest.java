@@ -0,0 +1,197 @@
+package com.example.service;
+
+import com.example.constant.AppointmentStatus;
+import com.example.constant.AppointmentType;
+import com.example.dto.AppointmentResponse;
+import com.example.entity.Appointment;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.junit.jupiter.api.*;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for the check-in desk agenda and its write-behind journal
+ * Tests: 6 test cases covering agenda check-in, patient lookup, read overlay, journal recovery
+ * and rollback of tracked changes
+ */
+@QuarkusTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CheckInAgendaServiceTest {
+
+    @Inject
+    CheckInAgendaService agenda;
+
+    @Inject
+    AppointmentService appointmentService;
+
+    @ConfigProperty(name = "appointment.checkin.journal-path")
+    Path journalPath;
+
+    @BeforeEach
+    void setUp() {
+        agenda.flush();
+        QuarkusTransaction.requiringNew().run(() -> Appointment.deleteAll());
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Should check in from the agenda and write it behind in a batch")
+    void shouldCheckInFromAgendaAndFlush() {
+        // Given
+        Long id = persistToday(500L, 9, AppointmentStatus.CONFIRMED);
+        agenda.reload();
+
+        // When
+        AppointmentResponse checkedIn = agenda.checkIn(id).orElseThrow();
+
+        // Then
+        assertThat(checkedIn.status).isEqualTo(AppointmentStatus.CHECKED_IN);
+        assertThat(agenda.pendingCount()).isEqualTo(1);
+        assertThat(agenda.flush()).isEqualTo(1);
+        assertThat(agenda.pendingCount()).isZero();
+
+        Appointment stored = QuarkusTransaction.requiringNew().call(() -> Appointment.findById(id));
+        assertThat(stored.status).isEqualTo(AppointmentStatus.CHECKED_IN);
+        assertThat(stored.checkedInAt).isCloseTo(checkedIn.checkedInAt, within(1, ChronoUnit.MILLIS));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Should check in the patient's earliest open appointment of today")
+    void shouldCheckInByPatient() {
+        // Given
+        persistToday(501L, 1, AppointmentStatus.CANCELLED);
+        Long second = persistToday(501L, 3, AppointmentStatus.SCHEDULED);
+        persistToday(501L, 5, AppointmentStatus.SCHEDULED);
+        agenda.reload();
+
+        // When
+        AppointmentResponse checkedIn = agenda.checkInByPatient(501L);
+
+        // Then
+        assertThat(checkedIn.id).isEqualTo(second);
+        assertThat(checkedIn.status).isEqualTo(AppointmentStatus.CHECKED_IN);
+        assertThatThrownBy(() -> agenda.checkIn(second))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("CHECKED_IN");
+        assertThatThrownBy(() -> agenda.checkInByPatient(502L))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Should show unflushed check-ins on reads and state changes")
+    void shouldOverlayPendingCheckIns() {
+        // Given
+        Long id = persistToday(503L, 2, AppointmentStatus.SCHEDULED);
+        agenda.reload();
+        agenda.checkIn(id).orElseThrow();
+
+        // When / Then
+        assertThat(appointmentService.getAppointment(id).status).isEqualTo(AppointmentStatus.CHECKED_IN);
+        assertThat(appointmentService.getAppointmentsByStatus(AppointmentStatus.SCHEDULED)).isEmpty();
+        assertThat(appointmentService.getAppointmentsByStatus(AppointmentStatus.CHECKED_IN))
+                .extracting(a -> a.id).containsExactly(id);
+
+        AppointmentResponse completed = appointmentService.completeAppointment(id);
+        assertThat(completed.checkedInAt).isNotNull();
+        assertThatThrownBy(() -> agenda.checkInByPatient(503L))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Should pick up appointments booked after the preload")
+    void shouldLoadPatientMissingFromAgenda() {
+        // Given
+        agenda.reload();
+        Long id = persistToday(504L, 4, AppointmentStatus.SCHEDULED);
+
+        // When
+        AppointmentResponse checkedIn = agenda.checkInByPatient(504L);
+
+        // Then
+        assertThat(checkedIn.id).isEqualTo(id);
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test 5: Should recover journaled check-ins at startup and drop rows that moved on")
+    void shouldRecoverJournal() {
+        // Given: the journal as a crash before the flush leaves it
+        Long id = persistToday(505L, 6, AppointmentStatus.SCHEDULED);
+        Long cancelled = persistToday(506L, 7, AppointmentStatus.CANCELLED);
+        LocalDateTime checkedInAt = LocalDate.now().atTime(0, 30);
+        try (CheckInJournal journal = new CheckInJournal(journalPath, false)) {
+            journal.rewrite(Map.of());
+            journal.append(id, checkedInAt);
+            journal.append(id, checkedInAt);
+            journal.append(cancelled, checkedInAt);
+        }
+        long dropped = agenda.droppedCount();
+
+        // When
+        int recovered = agenda.recover();
+
+        // Then
+        assertThat(recovered).isEqualTo(2);
+        assertThat(agenda.pendingCount()).isZero();
+        assertThat(agenda.droppedCount()).isEqualTo(dropped + 1);
+        try (CheckInJournal journal = new CheckInJournal(journalPath, false)) {
+            assertThat(journal.readAll()).isEmpty();
+        }
+        Appointment stored = QuarkusTransaction.requiringNew().call(() -> Appointment.findById(id));
+        assertThat(stored.status).isEqualTo(AppointmentStatus.CHECKED_IN);
+        assertThat(stored.checkedInAt).isEqualTo(checkedInAt);
+        Appointment stillCancelled = QuarkusTransaction.requiringNew().call(() -> Appointment.findById(cancelled));
+        assertThat(stillCancelled.status).isEqualTo(AppointmentStatus.CANCELLED);
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test 6: Should leave the agenda alone when a change rolls back")
+    void shouldNotTrackRolledBackChanges() {
+        // Given
+        Long id = persistToday(507L, 8, AppointmentStatus.SCHEDULED);
+        agenda.reload();
+
+        // When: a cancellation rolls back after it was handed to the agenda
+        assertThatThrownBy(() -> QuarkusTransaction.requiringNew().run(() -> {
+            Appointment appointment = Appointment.findById(id);
+            appointment.status = AppointmentStatus.CANCELLED;
+            agenda.refreshAfterCommit(new AppointmentResponse(appointment));
+            throw new IllegalStateException("rolled back");
+        })).hasMessage("rolled back");
+
+        // Then: the desk still sees the committed, checkable appointment
+        assertThat(agenda.checkIn(id)).get()
+                .extracting(a -> a.status).isEqualTo(AppointmentStatus.CHECKED_IN);
+        assertThat(agenda.flush()).isEqualTo(1);
+    }
+
+    // ==================== Helper Methods ====================
+
+    private Long persistToday(Long patientId, int hour, AppointmentStatus status) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            Appointment appointment = new Appointment();
+            appointment.patientId = patientId;
+            appointment.doctorId = 77L;
+            appointment.startTime = LocalDate.now().atTime(hour, 0);
+            appointment.endTime = appointment.startTime.plusMinutes(30);
+            appointment.type = AppointmentType.CONSULTATION;
+            appointment.status = status;
+            appointment.persist();
+            return appointment.id;
+        });
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.service;
+
+import com.example.constant.AppointmentStatus;
+import com.example.dto.DoctorAvailabilityWindow;
+import com.example.dto.DoctorLeave;
+import com.example.dto.DoctorSummary;
+import com.example.dto.SlotRecommendation;
+import com.example.entity.Appointment;
+import org.junit.jupiter.api.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for slot generation and k-way merging in SlotRecommendationService
+ * Tests: 6 test cases covering free-slot computation, leave and top-N merge ordering
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SlotRecommendationServiceTest {
+
+    // A Monday far enough in the future to never be "now"
+    private static final LocalDate MONDAY = LocalDate.of(2100, 1, 1)
+            .with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+
+    private final DoctorSummary alice = new DoctorSummary(1L, "Alice Heart", "Cardiology", 4.9);
+    private final DoctorSummary bob = new DoctorSummary(2L, "Bob Pulse", "Cardiology", 3.5);
+
+    @Test
+    @Order(1)
+    @DisplayName("Test 1: Should generate consecutive slots inside availability windows")
+    void shouldGenerateSlotsInsideWindows() {
+        List<SlotRecommendation> slots = SlotRecommendationService.computeDoctorSlots(
+                alice, List.of(window("MONDAY", 9, 11)), List.of(), List.of(),
+                MONDAY.atStartOfDay(), MONDAY.plusDays(1).atStartOfDay(), 30, 10);
+
+        assertThat(slots).extracting(s -> s.startTime.toLocalTime())
+                .containsExactly(LocalTime.of(9, 0), LocalTime.of(9, 30), LocalTime.of(10, 0), LocalTime.of(10, 30));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test 2: Should skip slots overlapping booked appointments")
+    void shouldSkipBookedSlots() {
+        Appointment booked = new Appointment();
+        booked.doctorId = alice.id;
+        booked.status = AppointmentStatus.CONFIRMED;
+        booked.startTime = MONDAY.atTime(9, 15);
+        booked.endTime = MONDAY.atTime(10, 0);
+
+        List<SlotRecommendation> slots = SlotRecommendationService.computeDoctorSlots(
+                alice, List.of(window("MONDAY", 9, 11)), List.of(booked), List.of(),
+                MONDAY.atStartOfDay(), MONDAY.plusDays(1).atStartOfDay(), 30, 10);
+
+        assertThat(slots).extracting(s -> s.startTime.toLocalTime())
+                .containsExactly(LocalTime.of(10, 0), LocalTime.of(10, 30));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test 3: Should stop at limit and ignore inactive windows and other days")
+    void shouldRespectLimitAndWindowState() {
+        DoctorAvailabilityWindow inactive = window("MONDAY", 7, 9);
+        inactive.isActive = false;
+
+        List<SlotRecommendation> slots = SlotRecommendationService.computeDoctorSlots(
+                alice, List.of(inactive, window("TUESDAY", 8, 12), window("MONDAY", 14, 18)), List.of(), List.of(),
+                MONDAY.atStartOfDay(), MONDAY.plusDays(7).atStartOfDay(), 60, 5);
+
+        assertThat(slots).hasSize(5);
+        assertThat(slots.get(0).startTime).isEqualTo(MONDAY.atTime(14, 0));
+        assertThat(slots.get(4).startTime).isEqualTo(MONDAY.plusDays(1).atTime(8, 0));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Test 4: Should merge per-doctor lists into the earliest top-N")
+    void shouldMergeEarliestFirst() {
+        List<SlotRecommendation> aliceSlots = List.of(slot(alice, 10), slot(alice, 12), slot(alice, 14));
+        List<SlotRecommendation> bobSlots = List.of(slot(bob, 9), slot(bob, 11), slot(bob, 13));
+
+        List<SlotRecommendation> merged = SlotRecommendationService.mergeTopN(
+                List.of(aliceSlots, bobSlots), SlotRecommendationService.EARLIEST_FIRST, 4);
+
+        assertThat(merged).extracting(s -> s.startTime.getHour()).containsExactly(9, 10, 11, 12);
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Test 5: Should merge best-rated doctors first when sorting by rating")
+    void shouldMergeBestRatedFirst() {
+        List<SlotRecommendation> aliceSlots = List.of(slot(alice, 10), slot(alice, 12));
+        List<SlotRecommendation> bobSlots = List.of(slot(bob, 9), slot(bob, 11));
+
+        List<SlotRecommendation> merged = SlotRecommendationService.mergeTopN(
+                List.of(bobSlots, aliceSlots, List.of()), SlotRecommendationService.BEST_RATED_FIRST, 3);
+
+        assertThat(merged).extracting(s -> s.doctorId).containsExactly(1L, 1L, 2L);
+        assertThat(merged.get(2).startTime.getHour()).isEqualTo(9);
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Test 6: Should skip days covered by approved leave")
+    void shouldSkipDaysOnLeave() {
+        List<DoctorLeave> leave = List.of(new DoctorLeave(alice.id, MONDAY.minusDays(3), MONDAY.plusDays(1)));
+
+        List<SlotRecommendation> slots = SlotRecommendationService.computeDoctorSlots(
+                alice, List.of(window("MONDAY", 9, 10), window("TUESDAY", 9, 10), window("WEDNESDAY", 9, 10)),
+                List.of(), leave, MONDAY.atStartOfDay(), MONDAY.plusDays(7).atStartOfDay(), 30, 10);
+
+        assertThat(slots).extracting(s -> s.startTime.toLocalDate()).containsOnly(MONDAY.plusDays(2));
+        assertThat(slots).hasSize(2);
+    }
+
+    // ==================== Helper Methods ====================
+
+    private DoctorAvailabilityWindow window(String day, int startHour, int endHour) {
+        return new DoctorAvailabilityWindow(day, LocalTime.of(startHour, 0), LocalTime.of(endHour, 0));
+    }
+
+    private SlotRecommendation slot(DoctorSummary doctor, int hour) {
+        LocalDateTime start = MONDAY.atTime(hour, 0);
+        return new SlotRecommendation(doctor, start, start.plusMinutes(30));
+    }
+}
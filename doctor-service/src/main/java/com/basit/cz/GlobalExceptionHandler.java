@@ -1,9 +1,11 @@
 package com.basit.cz;
 
 import com.basit.cz.exception.NotFoundException;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
+import org.hibernate.StaleStateException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -20,6 +22,8 @@ public class GlobalExceptionHandler implements ExceptionMapper<Exception> {
             return handleNotFoundException((NotFoundException) exception);
         } else if (exception instanceof IllegalArgumentException) {
             return handleIllegalArgumentException((IllegalArgumentException) exception);
+        } else if (isConcurrentUpdate(exception)) {
+            return handleConcurrentUpdate(exception);
         } else {
             return handleGenericException(exception);
         }
@@ -47,6 +51,30 @@ public class GlobalExceptionHandler implements ExceptionMapper<Exception> {
                 .build();
     }
 
+    /**
+     * Whether the failure is a versioned write that lost to a concurrent change
+     * (commit failures arrive wrapped, so the whole cause chain is checked)
+     */
+    private boolean isConcurrentUpdate(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof OptimisticLockException || t instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Response handleConcurrentUpdate(Exception ex) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "Conflict");
+        error.put("message", "The resource was changed concurrently, retry the request");
+        error.put("status", 409);
+
+        return Response.status(Response.Status.CONFLICT)
+                .entity(error)
+                .build();
+    }
+
     private Response handleGenericException(Exception ex) {
         Map<String, Object> error = new HashMap<>();
         error.put("error", "Internal Server Error");
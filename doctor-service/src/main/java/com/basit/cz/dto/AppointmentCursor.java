@@ -0,0 +1,50 @@
+package com.basit.cz.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in an appointment history: the (startTime, appointmentId) of the
+ * last appointment returned
+ *
+ * Travels to clients as an opaque URL-safe token.
+ */
+public final class AppointmentCursor {
+
+    public final LocalDateTime startTime;
+    public final Long appointmentId;
+
+    public AppointmentCursor(LocalDateTime startTime, Long appointmentId) {
+        this.startTime = startTime;
+        this.appointmentId = appointmentId;
+    }
+
+    /**
+     * Encode as an opaque token
+     */
+    public String encode() {
+        String raw = startTime + "|" + appointmentId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token from a previous page (null or blank means first page)
+     *
+     * @throws IllegalArgumentException if the token was not produced by encode()
+     */
+    public static AppointmentCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new AppointmentCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.basit.cz.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one appointment in a doctor's appointment history
+ */
+public class AppointmentHistoryDTO {
+
+    public Long appointmentId;
+    public Long patientId;
+    public LocalDateTime startTime;
+    public LocalDateTime endTime;
+    public String status;
+    public LocalDateTime updatedAt;
+
+    // Default constructor
+    public AppointmentHistoryDTO() {
+    }
+
+    // Full constructor
+    public AppointmentHistoryDTO(Long appointmentId, Long patientId, LocalDateTime startTime,
+                                 LocalDateTime endTime, String status, LocalDateTime updatedAt) {
+        this.appointmentId = appointmentId;
+        this.patientId = patientId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.status = status;
+        this.updatedAt = updatedAt;
+    }
+}
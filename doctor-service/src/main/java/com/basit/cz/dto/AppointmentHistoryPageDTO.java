@@ -0,0 +1,45 @@
+package com.basit.cz.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a doctor's appointment history, latest start first,
+ * with the doctor's appointment counts
+ */
+public class AppointmentHistoryPageDTO {
+
+    public Long doctorId;
+    public List<AppointmentHistoryDTO> appointments;
+    public int limit;
+
+    /**
+     * Pass as "cursor" to fetch the next page; null on the last page
+     */
+    public String nextCursor;
+
+    /**
+     * All of the doctor's appointments, regardless of the status filter
+     */
+    public long total;
+
+    /**
+     * Appointments per status, every status listed
+     */
+    public Map<String, Long> countsByStatus;
+
+    // Empty constructor
+    public AppointmentHistoryPageDTO() {
+    }
+
+    // Constructor
+    public AppointmentHistoryPageDTO(Long doctorId, List<AppointmentHistoryDTO> appointments, int limit,
+                                     String nextCursor, long total, Map<String, Long> countsByStatus) {
+        this.doctorId = doctorId;
+        this.appointments = appointments;
+        this.limit = limit;
+        this.nextCursor = nextCursor;
+        this.total = total;
+        this.countsByStatus = countsByStatus;
+    }
+}
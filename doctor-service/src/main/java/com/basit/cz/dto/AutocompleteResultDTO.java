@@ -0,0 +1,64 @@
+package com.basit.cz.dto;
+
+import java.util.List;
+
+/**
+ * Autocomplete suggestions for a typed prefix
+ */
+public class AutocompleteResultDTO {
+
+    public String query;
+    public List<DoctorSuggestion> doctors;
+    public List<SpecializationSuggestion> specializations;
+
+    // Empty constructor
+    public AutocompleteResultDTO() {
+    }
+
+    // Constructor
+    public AutocompleteResultDTO(String query, List<DoctorSuggestion> doctors,
+                                 List<SpecializationSuggestion> specializations) {
+        this.query = query;
+        this.doctors = doctors;
+        this.specializations = specializations;
+    }
+
+    /**
+     * An active doctor whose name or specialization starts with the query
+     */
+    public static class DoctorSuggestion {
+        public Long id;
+        public String fullName;
+        public String specialization;
+        public double averageRating;
+        public int totalReviews;
+
+        public DoctorSuggestion() {
+        }
+
+        public DoctorSuggestion(Long id, String fullName, String specialization,
+                                double averageRating, int totalReviews) {
+            this.id = id;
+            this.fullName = fullName;
+            this.specialization = specialization;
+            this.averageRating = averageRating;
+            this.totalReviews = totalReviews;
+        }
+    }
+
+    /**
+     * A specialization starting with the query, with its number of active doctors
+     */
+    public static class SpecializationSuggestion {
+        public String name;
+        public int doctorCount;
+
+        public SpecializationSuggestion() {
+        }
+
+        public SpecializationSuggestion(String name, int doctorCount) {
+            this.name = name;
+            this.doctorCount = doctorCount;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.basit.cz.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of replacing a doctor's weekly availability template
+ */
+public class AvailabilityTemplateResultDTO {
+
+    public Long doctorId;
+    public int inserted;
+    public int updated;
+    public int deleted;
+    public int unchanged;
+
+    /**
+     * The doctor's slots after the replacement, by day and start time
+     */
+    public List<AvailabilityDTO> availability;
+
+    // Empty constructor
+    public AvailabilityTemplateResultDTO() {
+    }
+}
@@ -0,0 +1,40 @@
+package com.basit.cz.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+/**
+ * Request DTO for requesting time off
+ */
+public class CreateTimeOffRequest {
+
+    @NotBlank(message = "Schedule type is required")
+    public String scheduleType; // VACATION, SICK_LEAVE, CONFERENCE, TRAINING, EMERGENCY_LEAVE, OTHER
+
+    @NotNull(message = "Start date is required")
+    public LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    public LocalDate endDate;
+
+    @Size(max = 500, message = "Reason cannot exceed 500 characters")
+    public String reason;
+
+    @Size(max = 1000, message = "Notes cannot exceed 1000 characters")
+    public String notes;
+
+    // Empty constructor
+    public CreateTimeOffRequest() {
+    }
+
+    // Constructor
+    public CreateTimeOffRequest(String scheduleType, LocalDate startDate, LocalDate endDate, String reason) {
+        this.scheduleType = scheduleType;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,98 @@
+package com.basit.cz.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse fieldset of a doctor list response (the fields= query parameter)
+ *
+ * Names are DoctorDTO fields. The id is always included, and fullName is built
+ * from firstName and lastName. The fieldset decides both which Doctor columns
+ * are selected and which fields the JSON carries.
+ */
+public final class DoctorFields {
+
+    // DoctorDTO field -> Doctor attributes it is built from, in DoctorDTO order
+    private static final Map<String, List<String>> ATTRIBUTES = new LinkedHashMap<>();
+
+    static {
+        ATTRIBUTES.put("id", List.of("id"));
+        ATTRIBUTES.put("firstName", List.of("firstName"));
+        ATTRIBUTES.put("lastName", List.of("lastName"));
+        ATTRIBUTES.put("fullName", List.of("firstName", "lastName"));
+        ATTRIBUTES.put("email", List.of("email"));
+        ATTRIBUTES.put("phoneNumber", List.of("phoneNumber"));
+        ATTRIBUTES.put("specialization", List.of("specialization"));
+        ATTRIBUTES.put("yearsOfExperience", List.of("yearsOfExperience"));
+        ATTRIBUTES.put("licenseNumber", List.of("licenseNumber"));
+        ATTRIBUTES.put("qualifications", List.of("qualifications"));
+        ATTRIBUTES.put("bio", List.of("bio"));
+        ATTRIBUTES.put("consultationFee", List.of("consultationFee"));
+        ATTRIBUTES.put("averageRating", List.of("averageRating"));
+        ATTRIBUTES.put("totalReviews", List.of("totalReviews"));
+        ATTRIBUTES.put("isActive", List.of("isActive"));
+        ATTRIBUTES.put("createdAt", List.of("createdAt"));
+        ATTRIBUTES.put("updatedAt", List.of("updatedAt"));
+    }
+
+    private final List<String> fields;
+    private final List<String> attributes;
+
+    private DoctorFields(List<String> fields, List<String> attributes) {
+        this.fields = fields;
+        this.attributes = attributes;
+    }
+
+    /**
+     * Parse a comma-separated list of DoctorDTO field names
+     *
+     * @return The fieldset, or null when the value is missing or blank (all fields)
+     * @throws IllegalArgumentException on an unknown field name
+     */
+    public static DoctorFields parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        for (String name : value.split(",")) {
+            String field = name.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (!ATTRIBUTES.containsKey(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field
+                        + ". Use any of " + String.join(", ", ATTRIBUTES.keySet()));
+            }
+            requested.add(field);
+        }
+
+        List<String> fields = new ArrayList<>();
+        Set<String> attributes = new LinkedHashSet<>();
+        for (Map.Entry<String, List<String>> entry : ATTRIBUTES.entrySet()) {
+            if (entry.getKey().equals("id") || requested.contains(entry.getKey())) {
+                fields.add(entry.getKey());
+                attributes.addAll(entry.getValue());
+            }
+        }
+        return new DoctorFields(Collections.unmodifiableList(fields), List.copyOf(attributes));
+    }
+
+    /**
+     * DoctorDTO fields of the response, id first
+     */
+    public List<String> fields() {
+        return fields;
+    }
+
+    /**
+     * Doctor attributes to select, id first
+     */
+    public List<String> attributes() {
+        return attributes;
+    }
+}
@@ -0,0 +1,45 @@
+package com.basit.cz.dto;
+
+/**
+ * Typed criteria for filtering active doctors in the database
+ *
+ * Every criterion is optional and always bound as a query parameter,
+ * never concatenated into the query text.
+ */
+public class DoctorFilter {
+
+    /**
+     * Sort orders supported by the filter; each ends on the id so pages are stable
+     */
+    public enum Sort {
+        RATING("d.averageRating DESC, d.yearsOfExperience DESC, d.id"),
+        EXPERIENCE("d.yearsOfExperience DESC, d.averageRating DESC, d.id"),
+        FEE("d.consultationFee, d.averageRating DESC, d.id"),
+        NAME("d.lastName, d.firstName, d.id");
+
+        public final String orderBy;
+
+        Sort(String orderBy) {
+            this.orderBy = orderBy;
+        }
+    }
+
+    public String specialization;
+    public Double minRating;
+    public Integer minExperience;
+    public Double minFee;
+    public Double maxFee;
+
+    /**
+     * Case-insensitive substring of the first or last name
+     */
+    public String name;
+
+    public Sort sort = Sort.RATING;
+    public int page = 0;
+    public int size = 20;
+
+    // Empty constructor
+    public DoctorFilter() {
+    }
+}
@@ -0,0 +1,24 @@
+package com.basit.cz.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk doctor import
+ */
+public class DoctorImportResultDTO {
+
+    public int received;
+    public int imported;
+    public int duplicates;
+    public int rejected;
+
+    /**
+     * Line numbers and reasons of skipped rows (first 100 only)
+     */
+    public List<String> errors = new ArrayList<>();
+
+    // Empty constructor
+    public DoctorImportResultDTO() {
+    }
+}
@@ -3,6 +3,11 @@ package com.basit.cz.dto;
 import com.basit.cz.entity.Doctor;
 import jakarta.enterprise.context.ApplicationScoped;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Mapper class to convert between Doctor entity and DTOs
  */
@@ -38,6 +43,69 @@ public class DoctorMapper {
         return dto;
     }
 
+    /**
+     * Convert a projected row to DoctorDTO; fields outside the fieldset stay null
+     *
+     * @param row Values of fields.attributes(), in that order
+     */
+    public static DoctorDTO fromProjection(Object[] row, DoctorFields fields) {
+        Doctor doctor = new Doctor();
+        List<String> attributes = fields.attributes();
+        for (int i = 0; i < attributes.size(); i++) {
+            Object value = row[i];
+            switch (attributes.get(i)) {
+                case "id" -> doctor.id = (Long) value;
+                case "firstName" -> doctor.firstName = (String) value;
+                case "lastName" -> doctor.lastName = (String) value;
+                case "email" -> doctor.email = (String) value;
+                case "phoneNumber" -> doctor.phoneNumber = (String) value;
+                case "specialization" -> doctor.specialization = (String) value;
+                case "yearsOfExperience" -> doctor.yearsOfExperience = (Integer) value;
+                case "licenseNumber" -> doctor.licenseNumber = (String) value;
+                case "qualifications" -> doctor.qualifications = (String) value;
+                case "bio" -> doctor.bio = (String) value;
+                case "consultationFee" -> doctor.consultationFee = (Double) value;
+                case "averageRating" -> doctor.averageRating = (Double) value;
+                case "totalReviews" -> doctor.totalReviews = (Integer) value;
+                case "isActive" -> doctor.isActive = (Boolean) value;
+                case "createdAt" -> doctor.createdAt = (LocalDateTime) value;
+                case "updatedAt" -> doctor.updatedAt = (LocalDateTime) value;
+                default -> throw new IllegalStateException("Unmapped attribute: " + attributes.get(i));
+            }
+        }
+        return toDTO(doctor);
+    }
+
+    /**
+     * Convert DoctorDTO to a JSON object holding only the fieldset's fields
+     */
+    public static Map<String, Object> toSparse(DoctorDTO dto, DoctorFields fields) {
+        Map<String, Object> sparse = new LinkedHashMap<>();
+        for (String field : fields.fields()) {
+            sparse.put(field, switch (field) {
+                case "id" -> dto.id;
+                case "firstName" -> dto.firstName;
+                case "lastName" -> dto.lastName;
+                case "fullName" -> dto.fullName;
+                case "email" -> dto.email;
+                case "phoneNumber" -> dto.phoneNumber;
+                case "specialization" -> dto.specialization;
+                case "yearsOfExperience" -> dto.yearsOfExperience;
+                case "licenseNumber" -> dto.licenseNumber;
+                case "qualifications" -> dto.qualifications;
+                case "bio" -> dto.bio;
+                case "consultationFee" -> dto.consultationFee;
+                case "averageRating" -> dto.averageRating;
+                case "totalReviews" -> dto.totalReviews;
+                case "isActive" -> dto.isActive;
+                case "createdAt" -> dto.createdAt;
+                case "updatedAt" -> dto.updatedAt;
+                default -> throw new IllegalStateException("Unmapped field: " + field);
+            });
+        }
+        return sparse;
+    }
+
     /**
      * Convert CreateDoctorRequest to Doctor entity
      */
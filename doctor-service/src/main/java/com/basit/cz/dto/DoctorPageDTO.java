@@ -0,0 +1,26 @@
+package com.basit.cz.dto;
+
+import java.util.List;
+
+/**
+ * One page of filtered doctors
+ */
+public class DoctorPageDTO {
+
+    public int page;
+    public int size;
+    public long total;
+    public List<DoctorDTO> doctors;
+
+    // Empty constructor
+    public DoctorPageDTO() {
+    }
+
+    // Constructor
+    public DoctorPageDTO(int page, int size, long total, List<DoctorDTO> doctors) {
+        this.page = page;
+        this.size = size;
+        this.total = total;
+        this.doctors = doctors;
+    }
+}
@@ -0,0 +1,37 @@
+package com.basit.cz.dto;
+
+/**
+ * Criteria for the in-memory doctor search
+ *
+ * All criteria are optional; an empty query lists active doctors by rating.
+ */
+public class DoctorSearchRequest {
+
+    /**
+     * Free text, matched against names, specialization and qualifications
+     */
+    public String query;
+
+    /**
+     * Restrict text matching to doctor names only
+     */
+    public boolean namesOnly;
+
+    public String specialization;
+    public Double minRating;
+    public Double minFee;
+    public Double maxFee;
+    public Integer minExperience;
+
+    public int page = 0;
+    public int size = 20;
+
+    // Empty constructor
+    public DoctorSearchRequest() {
+    }
+
+    // Constructor
+    public DoctorSearchRequest(String query) {
+        this.query = query;
+    }
+}
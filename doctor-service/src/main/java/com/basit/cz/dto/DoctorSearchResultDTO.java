@@ -0,0 +1,44 @@
+package com.basit.cz.dto;
+
+import java.util.List;
+
+/**
+ * One page of ranked doctor search results
+ */
+public class DoctorSearchResultDTO {
+
+    public String query;
+    public int page;
+    public int size;
+    public long total;
+    public List<Hit> results;
+
+    // Empty constructor
+    public DoctorSearchResultDTO() {
+    }
+
+    // Constructor
+    public DoctorSearchResultDTO(String query, int page, int size, long total, List<Hit> results) {
+        this.query = query;
+        this.page = page;
+        this.size = size;
+        this.total = total;
+        this.results = results;
+    }
+
+    /**
+     * A matching doctor with its relevance score
+     */
+    public static class Hit {
+        public DoctorDTO doctor;
+        public double score;
+
+        public Hit() {
+        }
+
+        public Hit(DoctorDTO doctor, double score) {
+            this.doctor = doctor;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.basit.cz.dto;
+
+/**
+ * DTO for the active doctors within a range of years of experience
+ */
+public class ExperienceBandDTO {
+
+    public Integer minYears;
+
+    /**
+     * Inclusive upper bound; null for the open-ended top band
+     */
+    public Integer maxYears;
+
+    public Long doctorCount;
+    public Double averageRating;
+    public Double averageConsultationFee;
+
+    // Empty constructor
+    public ExperienceBandDTO() {
+    }
+
+    // Constructor
+    public ExperienceBandDTO(Integer minYears, Integer maxYears, Long doctorCount,
+                             Double averageRating, Double averageConsultationFee) {
+        this.minYears = minYears;
+        this.maxYears = maxYears;
+        this.doctorCount = doctorCount;
+        this.averageRating = averageRating;
+        this.averageConsultationFee = averageConsultationFee;
+    }
+}
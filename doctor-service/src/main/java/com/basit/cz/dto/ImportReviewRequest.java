@@ -0,0 +1,32 @@
+package com.basit.cz.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One review migrated from the legacy system
+ *
+ * Validated per entry by the import, so one bad row does not fail the whole file.
+ */
+public class ImportReviewRequest {
+
+    public Long doctorId;
+    public Long patientId;
+    public Integer rating;
+    public String comment;
+    public String patientName;
+    public Boolean isVerified;
+    public LocalDateTime appointmentDate;
+    public LocalDateTime createdAt; // Original timestamp; defaults to import time
+
+    // Default constructor
+    public ImportReviewRequest() {
+    }
+
+    // Constructor with required fields
+    public ImportReviewRequest(Long doctorId, Long patientId, Integer rating, String comment) {
+        this.doctorId = doctorId;
+        this.patientId = patientId;
+        this.rating = rating;
+        this.comment = comment;
+    }
+}
@@ -0,0 +1,28 @@
+package com.basit.cz.dto;
+
+/**
+ * DTO for a doctor's rating distribution
+ */
+public class RatingHistogramDTO {
+
+    public Long doctorId;
+    public Long totalReviews;
+    public Double averageRating;
+
+    /**
+     * Review counts per star: [1-star, 2-star, 3-star, 4-star, 5-star]
+     */
+    public long[] starCounts;
+
+    // Empty constructor
+    public RatingHistogramDTO() {
+    }
+
+    // Constructor
+    public RatingHistogramDTO(Long doctorId, Long totalReviews, Double averageRating, long[] starCounts) {
+        this.doctorId = doctorId;
+        this.totalReviews = totalReviews;
+        this.averageRating = averageRating;
+        this.starCounts = starCounts;
+    }
+}
@@ -0,0 +1,24 @@
+package com.basit.cz.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk review import
+ */
+public class ReviewImportResultDTO {
+
+    public int received;
+    public int imported;
+    public int duplicates;
+    public int rejected;
+
+    /**
+     * Reasons for rejected entries (first 100 only)
+     */
+    public List<String> errors = new ArrayList<>();
+
+    // Empty constructor
+    public ReviewImportResultDTO() {
+    }
+}
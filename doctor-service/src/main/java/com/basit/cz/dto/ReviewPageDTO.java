@@ -0,0 +1,28 @@
+package com.basit.cz.dto;
+
+import java.util.List;
+
+/**
+ * One page of reviews, newest first
+ */
+public class ReviewPageDTO {
+
+    public List<ReviewDTO> reviews;
+    public int limit;
+
+    /**
+     * Pass as "cursor" to fetch the next page; null on the last page
+     */
+    public String nextCursor;
+
+    // Empty constructor
+    public ReviewPageDTO() {
+    }
+
+    // Constructor
+    public ReviewPageDTO(List<ReviewDTO> reviews, int limit, String nextCursor) {
+        this.reviews = reviews;
+        this.limit = limit;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,28 @@
+package com.basit.cz.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for a doctor's time-off entry
+ */
+public class ScheduleDTO {
+
+    public Long id;
+    public Long doctorId;
+    public String doctorName;
+    public String scheduleType;
+    public LocalDate startDate;
+    public LocalDate endDate;
+    public Long durationDays;
+    public String reason;
+    public String status;
+    public String approvedBy;
+    public LocalDateTime approvalDate;
+    public String notes;
+    public LocalDateTime createdAt;
+
+    // Empty constructor
+    public ScheduleDTO() {
+    }
+}
@@ -0,0 +1,31 @@
+package com.basit.cz.dto;
+
+import com.basit.cz.entity.DoctorSchedule;
+
+public class ScheduleMapper {
+
+    /**
+     * Convert DoctorSchedule entity to ScheduleDTO
+     */
+    public static ScheduleDTO toDTO(DoctorSchedule schedule) {
+        if (schedule == null) {
+            return null;
+        }
+
+        ScheduleDTO dto = new ScheduleDTO();
+        dto.id = schedule.id;
+        dto.doctorId = schedule.doctor != null ? schedule.doctor.id : null;
+        dto.doctorName = schedule.doctor != null ? schedule.doctor.getFullName() : null;
+        dto.scheduleType = schedule.scheduleType != null ? schedule.scheduleType.name() : null;
+        dto.startDate = schedule.startDate;
+        dto.endDate = schedule.endDate;
+        dto.durationDays = schedule.getDurationInDays();
+        dto.reason = schedule.reason;
+        dto.status = schedule.status != null ? schedule.status.name() : null;
+        dto.approvedBy = schedule.approvedBy;
+        dto.approvalDate = schedule.approvalDate;
+        dto.notes = schedule.notes;
+        dto.createdAt = schedule.createdAt;
+        return dto;
+    }
+}
@@ -9,6 +9,7 @@ public class SpecializationDTO {
     public Long doctorCount;
     public Double averageConsultationFee;
     public Double averageRating;
+    public Double averageExperience;
 
     // Empty constructor
     public SpecializationDTO() {
@@ -22,6 +23,13 @@ public class SpecializationDTO {
         this.averageConsultationFee = averageConsultationFee;
         this.averageRating = averageRating;
     }
+
+    // Constructor with average experience
+    public SpecializationDTO(String name, Long doctorCount, Double averageConsultationFee,
+                             Double averageRating, Double averageExperience) {
+        this(name, doctorCount, averageConsultationFee, averageRating);
+        this.averageExperience = averageExperience;
+    }
 }
 
 
@@ -0,0 +1,27 @@
+package com.basit.cz.dto;
+
+import jakarta.validation.constraints.*;
+
+/**
+ * Request DTO for updating an existing doctor review
+ */
+public class UpdateReviewRequest {
+
+    @NotNull(message = "Rating is required")
+    @Min(value = 1, message = "Rating must be at least 1")
+    @Max(value = 5, message = "Rating must be at most 5")
+    public Integer rating;
+
+    @Size(max = 1000, message = "Comment must not exceed 1000 characters")
+    public String comment; // Optional: keeps the current comment when null
+
+    // Default constructor
+    public UpdateReviewRequest() {
+    }
+
+    // Constructor with all fields
+    public UpdateReviewRequest(Integer rating, String comment) {
+        this.rating = rating;
+        this.comment = comment;
+    }
+}
@@ -2,24 +2,38 @@ package com.basit.cz.entity;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Entity representing a Doctor in the healthcare system
+ *
+ * Doctors and their availability collection are kept in the second-level cache.
+ * Each replica has its own cache, so writes are versioned: an update from a stale
+ * cached copy fails instead of overwriting another replica's change.
  */
 @Entity
-@Table(name = "doctors")
+@Table(name = "doctors", uniqueConstraints = {
+        @UniqueConstraint(name = Doctor.UNIQUE_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = Doctor.UNIQUE_LICENSE_NUMBER, columnNames = "license_number")
+})
+@Cacheable
 public class Doctor extends PanacheEntity {
 
+    // Unique constraint names, so a violation can be told apart from other failures
+    public static final String UNIQUE_EMAIL = "uk_doctors_email";
+    public static final String UNIQUE_LICENSE_NUMBER = "uk_doctors_license_number";
+
     @Column(name = "first_name", nullable = false, length = 100)
     public String firstName;
 
     @Column(name = "last_name", nullable = false, length = 100)
     public String lastName;
 
-    @Column(name = "email", nullable = false, unique = true, length = 150)
+    @Column(name = "email", nullable = false, length = 150)
     public String email;
 
     @Column(name = "phone_number", length = 20)
@@ -31,7 +45,7 @@ public class Doctor extends PanacheEntity {
     @Column(name = "years_of_experience")
     public Integer yearsOfExperience;
 
-    @Column(name = "license_number", unique = true, length = 50)
+    @Column(name = "license_number", length = 50)
     public String licenseNumber;
 
     @Column(name = "consultation_fee")
@@ -58,8 +72,13 @@ public class Doctor extends PanacheEntity {
     @Column(name = "updated_at")
     public LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version")
+    public Long version;
+
     // One-to-many relationship with DoctorAvailability
     @OneToMany(mappedBy = "doctor", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     public List<DoctorAvailability> availabilities = new ArrayList<>();
 
     /**
@@ -0,0 +1,66 @@
+package com.basit.cz.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Doctor Appointment Entity
+ *
+ * Local copy of one appointment, projected from the appointment-service event
+ * stream, so a doctor's appointment history is served without calling the
+ * Appointment Service. Only what the history shows is kept.
+ *
+ * Relationship:
+ * - Belongs to a doctor through doctor_id (no foreign key: events may name
+ *   doctors this service no longer knows, and must never be rejected for it)
+ */
+@Entity
+@Table(name = "doctor_appointments", indexes = {
+        @Index(name = "idx_doctor_appointments_doctor_start", columnList = "doctor_id, start_time, appointment_id"),
+        @Index(name = "idx_doctor_appointments_doctor_status", columnList = "doctor_id, status")
+})
+public class DoctorAppointment extends PanacheEntityBase {
+
+    /**
+     * Appointment Status Enum (mirrors the Appointment Service)
+     */
+    public enum AppointmentStatus {
+        SCHEDULED,
+        CONFIRMED,
+        CHECKED_IN,
+        IN_PROGRESS,
+        COMPLETED,
+        CANCELLED,
+        NO_SHOW
+    }
+
+    @Id
+    @Column(name = "appointment_id")
+    public Long appointmentId; // ID in the Appointment Service
+
+    @Column(name = "doctor_id", nullable = false)
+    public Long doctorId;
+
+    @Column(name = "patient_id")
+    public Long patientId; // Reference to patient in Patient Service
+
+    @Column(name = "start_time", nullable = false)
+    public LocalDateTime startTime;
+
+    @Column(name = "end_time")
+    public LocalDateTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    public AppointmentStatus status;
+
+    /**
+     * Timestamp of the newest event applied; older events must not overwrite it
+     */
+    @Column(name = "last_event_at", nullable = false)
+    public LocalDateTime lastEventAt;
+
+    @Column(name = "updated_at", nullable = false)
+    public LocalDateTime updatedAt;
+}
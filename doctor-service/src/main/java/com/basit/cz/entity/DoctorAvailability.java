@@ -13,12 +13,19 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 /**
- * Entity representing a doctor's availability slot
+ * Entity representing a doctor's availability slot (second-level cached)
  */
 @Entity
 @Table(name = "doctor_availability")
+@Cacheable
+@NamedEntityGraph(name = DoctorAvailability.WITH_DOCTOR, attributeNodes = @NamedAttributeNode("doctor"))
 public class DoctorAvailability extends PanacheEntity {
 
+    /**
+     * Fetch graph loading the slot together with its doctor
+     */
+    public static final String WITH_DOCTOR = "DoctorAvailability.withDoctor";
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id", nullable = false)
     public Doctor doctor;
@@ -0,0 +1,80 @@
+package com.basit.cz.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Doctor Rating Aggregate Entity
+ *
+ * Running review count, rating sum and 1-5 star histogram for one doctor.
+ * Maintained incrementally as reviews are added, changed or removed, so the
+ * doctor's average rating never needs an AVG over all reviews.
+ *
+ * Relationship:
+ * - One-to-One with Doctor (shares the doctor's id)
+ */
+@Entity
+@Table(name = "doctor_rating_aggregates")
+public class DoctorRatingAggregate extends PanacheEntityBase {
+
+    @Id
+    @Column(name = "doctor_id")
+    public Long doctorId;
+
+    @Column(name = "review_count", nullable = false)
+    public long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    public long ratingSum;
+
+    @Column(name = "one_star", nullable = false)
+    public long oneStar;
+
+    @Column(name = "two_star", nullable = false)
+    public long twoStar;
+
+    @Column(name = "three_star", nullable = false)
+    public long threeStar;
+
+    @Column(name = "four_star", nullable = false)
+    public long fourStar;
+
+    @Column(name = "five_star", nullable = false)
+    public long fiveStar;
+
+    @Column(name = "updated_at")
+    public LocalDateTime updatedAt;
+
+    /**
+     * Star counts as an array: [1-star, 2-star, 3-star, 4-star, 5-star]
+     */
+    public long[] starCounts() {
+        return new long[]{oneStar, twoStar, threeStar, fourStar, fiveStar};
+    }
+
+    /**
+     * Overwrite the histogram and derived totals from star counts
+     */
+    public void setStarCounts(long[] counts) {
+        oneStar = counts[0];
+        twoStar = counts[1];
+        threeStar = counts[2];
+        fourStar = counts[3];
+        fiveStar = counts[4];
+        reviewCount = 0;
+        ratingSum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            reviewCount += counts[i];
+            ratingSum += (i + 1) * counts[i];
+        }
+        updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Average rating, 0.0 without reviews
+     */
+    public double averageRating() {
+        return reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
+    }
+}
@@ -15,16 +15,32 @@ import java.time.LocalDateTime;
  *
  * Relationship:
  * - Many-to-One with Doctor
+ *
+ * A patient can review a doctor only once (unique doctor_id, patient_id).
  */
 @Entity
 @Table(name = "doctor_reviews", indexes = {
         @Index(name = "idx_reviews_doctor_id", columnList = "doctor_id"),
         @Index(name = "idx_reviews_patient_id", columnList = "patient_id"),
         @Index(name = "idx_reviews_rating", columnList = "rating"),
-        @Index(name = "idx_reviews_created_at", columnList = "created_at")
+        @Index(name = "idx_reviews_created_at", columnList = "created_at"),
+        @Index(name = "idx_reviews_doctor_created", columnList = "doctor_id, created_at, id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = DoctorReview.UNIQUE_DOCTOR_PATIENT, columnNames = {"doctor_id", "patient_id"})
 })
+@NamedEntityGraph(name = DoctorReview.WITH_DOCTOR, attributeNodes = @NamedAttributeNode("doctor"))
 public class DoctorReview extends PanacheEntity {
 
+    /**
+     * Fetch graph loading the review together with its doctor
+     */
+    public static final String WITH_DOCTOR = "DoctorReview.withDoctor";
+
+    /**
+     * One review per patient and doctor
+     */
+    public static final String UNIQUE_DOCTOR_PATIENT = "uk_reviews_doctor_patient";
+
     @NotNull(message = "Doctor is required")
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id", nullable = false)
@@ -60,8 +76,13 @@ public class DoctorReview extends PanacheEntity {
 
     @PrePersist
     public void prePersist() {
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        // Imported reviews keep their original timestamps
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+        if (this.updatedAt == null) {
+            this.updatedAt = this.createdAt;
+        }
     }
 
     @PreUpdate
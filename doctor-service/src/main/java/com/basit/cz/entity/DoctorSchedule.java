@@ -14,6 +14,8 @@ import java.time.LocalDateTime;
  *
  * Relationship:
  * - Many-to-One with Doctor
+ *
+ * Second-level cached.
  */
 @Entity
 @Table(name = "doctor_schedules", indexes = {
@@ -21,8 +23,15 @@ import java.time.LocalDateTime;
         @Index(name = "idx_schedules_dates", columnList = "start_date, end_date"),
         @Index(name = "idx_schedules_type", columnList = "schedule_type")
 })
+@Cacheable
+@NamedEntityGraph(name = DoctorSchedule.WITH_DOCTOR, attributeNodes = @NamedAttributeNode("doctor"))
 public class DoctorSchedule extends PanacheEntity {
 
+    /**
+     * Fetch graph loading the schedule together with its doctor
+     */
+    public static final String WITH_DOCTOR = "DoctorSchedule.withDoctor";
+
     /**
      * Schedule Type Enum
      */
@@ -0,0 +1,53 @@
+package com.basit.cz.event;
+
+import com.basit.cz.service.AppointmentHistoryProjector;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.smallrye.reactive.messaging.annotations.Blocking;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.jboss.logging.Logger;
+
+/**
+ * Feeds appointment-service events into the doctor-side appointment history
+ *
+ * Malformed events are logged and skipped so one bad record cannot stall the
+ * topic; an event that fails to store is not skipped but redelivered.
+ *
+ * The Appointment Service writes times as arrays or ISO strings depending on
+ * its mapper settings; both are accepted.
+ */
+@ApplicationScoped
+public class AppointmentEventConsumer {
+
+    private static final Logger LOG = Logger.getLogger(AppointmentEventConsumer.class);
+
+    @Inject
+    AppointmentHistoryProjector projector;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Incoming("appointment-events-in")
+    @Blocking
+    public void onAppointmentEvent(String message) {
+        AppointmentEventMessage event;
+        try {
+            event = objectMapper.readValue(message, AppointmentEventMessage.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            LOG.errorf("Ignoring malformed appointment event: %s", e.getMessage());
+            return;
+        }
+
+        // Persistence failures propagate, so the record is nacked and not committed
+        try {
+            projector.apply(event);
+        } catch (IllegalArgumentException e) {
+            LOG.errorf("Ignoring incomplete appointment event: %s", e.getMessage());
+        }
+    }
+}
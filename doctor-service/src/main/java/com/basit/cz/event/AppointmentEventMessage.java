@@ -0,0 +1,56 @@
+package com.basit.cz.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDateTime;
+
+/**
+ * Appointment event as published by the Appointment Service on appointment-events
+ *
+ * One flat class for every event type: only the fields the doctor-side history
+ * needs are read, the rest is ignored.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AppointmentEventMessage {
+
+    public static final String CREATED = "APPOINTMENT_CREATED";
+    public static final String CONFIRMED = "APPOINTMENT_CONFIRMED";
+    public static final String CANCELLED = "APPOINTMENT_CANCELLED";
+    public static final String RESCHEDULED = "APPOINTMENT_RESCHEDULED";
+    public static final String COMPLETED = "APPOINTMENT_COMPLETED";
+
+    public String eventId;
+    public String eventType;
+    public LocalDateTime timestamp;
+    public Long appointmentId;
+    public Long patientId;
+    public Long doctorId;
+
+    // APPOINTMENT_CREATED
+    public LocalDateTime startTime;
+    public LocalDateTime endTime;
+
+    // APPOINTMENT_RESCHEDULED
+    public LocalDateTime newStartTime;
+    public LocalDateTime newEndTime;
+
+    // APPOINTMENT_CONFIRMED and APPOINTMENT_COMPLETED
+    public LocalDateTime scheduledTime;
+
+    // APPOINTMENT_CANCELLED
+    public LocalDateTime originalScheduledTime;
+
+    // Empty constructor
+    public AppointmentEventMessage() {
+    }
+
+    // Constructor
+    public AppointmentEventMessage(String eventType, LocalDateTime timestamp,
+                                   Long appointmentId, Long patientId, Long doctorId) {
+        this.eventType = eventType;
+        this.timestamp = timestamp;
+        this.appointmentId = appointmentId;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+    }
+}
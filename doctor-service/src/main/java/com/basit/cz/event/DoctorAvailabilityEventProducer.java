@@ -0,0 +1,195 @@
+package com.basit.cz.event;
+
+import com.basit.cz.entity.Doctor;
+import com.basit.cz.entity.DoctorAvailability;
+import com.basit.cz.entity.DoctorSchedule;
+import com.basit.cz.repository.DoctorAvailabilityRepository;
+import com.basit.cz.repository.DoctorRepository;
+import com.basit.cz.repository.DoctorScheduleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.reactive.messaging.kafka.Record;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.jboss.logging.Logger;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes DoctorAvailabilityUpdated snapshots to Kafka
+ *
+ * Every availability or approved time-off change republishes the doctor's whole
+ * snapshot, read from committed data, with the doctor ID as the record key. The
+ * topic is meant to be log-compacted: only the newest snapshot per doctor has to
+ * be kept, and per-key ordering keeps the newest one last.
+ */
+@ApplicationScoped
+public class DoctorAvailabilityEventProducer {
+
+    private static final Logger LOG = Logger.getLogger(DoctorAvailabilityEventProducer.class);
+
+    private static final int PUBLISH_STRIPES = 64;
+
+    private static final Comparator<DoctorAvailability> WEEK_ORDER = Comparator
+            .comparing((DoctorAvailability a) -> dayIndex(a.dayOfWeek))
+            .thenComparing(a -> a.startTime);
+
+    @Channel("doctor-availability-out")
+    Emitter<Record<String, String>> emitter;
+
+    @Inject
+    DoctorRepository doctorRepository;
+
+    @Inject
+    DoctorAvailabilityRepository availabilityRepository;
+
+    @Inject
+    DoctorScheduleRepository scheduleRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @ConfigProperty(name = "doctor.availability-events.republish-on-startup", defaultValue = "false")
+    boolean republishOnStartup;
+
+    private final ObjectMapper objectMapper;
+
+    // Serializes load-and-send per doctor, so the newest snapshot is always sent last
+    private final Object[] publishLocks = new Object[PUBLISH_STRIPES];
+
+    private final LongAdder failedSends = new LongAdder();
+
+    public DoctorAvailabilityEventProducer() {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        for (int i = 0; i < PUBLISH_STRIPES; i++) {
+            publishLocks[i] = new Object();
+        }
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (republishOnStartup) {
+            LOG.infof("Republished availability of %d doctors", republishAll());
+        }
+    }
+
+    /**
+     * Publish the doctor's snapshot once the current transaction commits,
+     * immediately if there is none
+     */
+    public void publishAfterCommit(Long doctorId) {
+        if (transactionRegistry.getTransactionKey() == null) {
+            publish(doctorId);
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    publish(doctorId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Publish the doctor's current snapshot
+     */
+    public void publish(Long doctorId) {
+        synchronized (publishLocks[(int) (doctorId & (PUBLISH_STRIPES - 1))]) {
+            try {
+                DoctorAvailabilityUpdated snapshot = QuarkusTransaction.requiringNew().call(() -> snapshot(doctorId));
+                if (snapshot == null) {
+                    return;
+                }
+                emitter.send(Record.of(doctorId.toString(), objectMapper.writeValueAsString(snapshot)))
+                        .whenComplete((ignored, failure) -> {
+                            if (failure != null) {
+                                // Kafka did not take the record; as below, the next change resends
+                                failedSends.increment();
+                                LOG.errorf("Kafka rejected availability of doctor %d: %s",
+                                        doctorId, failure.getMessage());
+                            }
+                        });
+            } catch (Exception e) {
+                failedSends.increment();
+                // The next change of this doctor publishes a complete snapshot again
+                LOG.errorf("Failed to publish availability of doctor %d: %s", doctorId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Snapshots that could not be built or were not acknowledged by Kafka
+     */
+    public long failedSends() {
+        return failedSends.sum();
+    }
+
+    /**
+     * Publish the snapshot of every doctor (seeds a new or emptied topic)
+     *
+     * @return Number of doctors published
+     */
+    public int republishAll() {
+        List<Long> ids = QuarkusTransaction.requiringNew().call(() ->
+                doctorRepository.getEntityManager()
+                        .createQuery("SELECT d.id FROM Doctor d ORDER BY d.id", Long.class)
+                        .getResultList());
+        ids.forEach(this::publish);
+        return ids.size();
+    }
+
+    private DoctorAvailabilityUpdated snapshot(Long doctorId) {
+        Doctor doctor = doctorRepository.findById(doctorId);
+        if (doctor == null) {
+            return null;
+        }
+
+        DoctorAvailabilityUpdated snapshot = new DoctorAvailabilityUpdated();
+        snapshot.doctorId = doctorId;
+        snapshot.active = Boolean.TRUE.equals(doctor.isActive);
+        snapshot.occurredAt = LocalDateTime.now();
+
+        availabilityRepository.findActiveByDoctorId(doctorId).stream()
+                .sorted(WEEK_ORDER)
+                .forEach(a -> snapshot.weeklyWindows.add(
+                        new DoctorAvailabilityUpdated.WeeklyWindow(a.dayOfWeek, a.startTime, a.endTime)));
+
+        LocalDate today = LocalDate.now();
+        scheduleRepository.findApprovedSchedules(doctorId).stream()
+                .filter(s -> !s.endDate.isBefore(today))
+                .sorted(Comparator.comparing((DoctorSchedule s) -> s.startDate))
+                .forEach(s -> snapshot.timeOff.add(new DoctorAvailabilityUpdated.TimeOff(
+                        s.id, s.scheduleType.name(), s.startDate, s.endDate)));
+        return snapshot;
+    }
+
+    private static int dayIndex(String dayOfWeek) {
+        try {
+            return DayOfWeek.valueOf(dayOfWeek.trim().toUpperCase()).getValue();
+        } catch (IllegalArgumentException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+}
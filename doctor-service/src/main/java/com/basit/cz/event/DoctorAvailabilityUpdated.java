@@ -0,0 +1,66 @@
+package com.basit.cz.event;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Full availability snapshot of one doctor
+ *
+ * Published keyed by doctor ID to a log-compacted topic, so the latest snapshot of
+ * every doctor survives compaction and a consumer reading the topic from the start
+ * ends up with the current availability of the whole roster.
+ */
+public class DoctorAvailabilityUpdated {
+
+    public String eventType = "DoctorAvailabilityUpdated";
+    public Long doctorId;
+    public boolean active;
+    public List<WeeklyWindow> weeklyWindows = new ArrayList<>();
+    public List<TimeOff> timeOff = new ArrayList<>();
+    public LocalDateTime occurredAt;
+
+    /**
+     * Recurring weekly availability window
+     */
+    public static class WeeklyWindow {
+        public String dayOfWeek;
+        public LocalTime startTime;
+        public LocalTime endTime;
+
+        // Empty constructor
+        public WeeklyWindow() {
+        }
+
+        // Constructor
+        public WeeklyWindow(String dayOfWeek, LocalTime startTime, LocalTime endTime) {
+            this.dayOfWeek = dayOfWeek;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+    }
+
+    /**
+     * Approved time off that has not ended yet
+     */
+    public static class TimeOff {
+        public Long scheduleId;
+        public String scheduleType;
+        public LocalDate startDate;
+        public LocalDate endDate;
+
+        // Empty constructor
+        public TimeOff() {
+        }
+
+        // Constructor
+        public TimeOff(Long scheduleId, String scheduleType, LocalDate startDate, LocalDate endDate) {
+            this.scheduleId = scheduleId;
+            this.scheduleType = scheduleType;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+    }
+}
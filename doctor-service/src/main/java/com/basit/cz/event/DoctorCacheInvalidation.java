@@ -0,0 +1,52 @@
+package com.basit.cz.event;
+
+import java.util.List;
+
+/**
+ * Tells other doctor-service replicas to drop what they cache about some doctors
+ */
+public class DoctorCacheInvalidation {
+
+    /**
+     * What changed, which decides what the other replicas drop
+     */
+    public enum Change {
+        /**
+         * The doctor's own fields, rating or active flag
+         */
+        PROFILE,
+
+        /**
+         * The doctor's availability slots
+         */
+        AVAILABILITY,
+
+        /**
+         * The doctor's time off
+         */
+        TIME_OFF
+    }
+
+    /**
+     * Changed doctors (one, or a whole import batch)
+     */
+    public List<Long> doctorIds;
+
+    public Change change = Change.PROFILE;
+
+    /**
+     * Replica that changed the doctor (it has already invalidated its own cache)
+     */
+    public String origin;
+
+    // Empty constructor
+    public DoctorCacheInvalidation() {
+    }
+
+    // Constructor
+    public DoctorCacheInvalidation(List<Long> doctorIds, Change change, String origin) {
+        this.doctorIds = doctorIds;
+        this.change = change;
+        this.origin = origin;
+    }
+}
@@ -0,0 +1,92 @@
+package com.basit.cz.event;
+
+import com.basit.cz.service.AvailabilityBitmapIndex;
+import com.basit.cz.service.DoctorAutocompleteIndex;
+import com.basit.cz.service.DoctorDirectorySnapshot;
+import com.basit.cz.service.DoctorProfileCache;
+import com.basit.cz.service.DoctorRankingIndex;
+import com.basit.cz.service.DoctorSearchIndex;
+import com.basit.cz.service.DoctorStatisticsStore;
+import com.basit.cz.service.SecondLevelCache;
+import com.basit.cz.service.TimeOffIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.reactive.messaging.annotations.Blocking;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+
+/**
+ * Applies doctor cache invalidations sent by other replicas
+ *
+ * The second-level cache drops what the change touched. A profile change also
+ * changes the directory, so it is dropped as well, and the doctor's statistics,
+ * ranking, search and autocomplete entries are re-read from the database. An
+ * availability change recompiles the doctor's availability bitmap, a time off
+ * change reloads the doctor's approved time off.
+ */
+@ApplicationScoped
+public class DoctorCacheInvalidationConsumer {
+
+    private static final Logger LOG = Logger.getLogger(DoctorCacheInvalidationConsumer.class);
+
+    @Inject
+    DoctorProfileCache profileCache;
+
+    @Inject
+    DoctorDirectorySnapshot directorySnapshot;
+
+    @Inject
+    DoctorStatisticsStore statistics;
+
+    @Inject
+    DoctorRankingIndex rankingIndex;
+
+    @Inject
+    DoctorSearchIndex searchIndex;
+
+    @Inject
+    DoctorAutocompleteIndex autocompleteIndex;
+
+    @Inject
+    AvailabilityBitmapIndex availabilityIndex;
+
+    @Inject
+    TimeOffIndex timeOffIndex;
+
+    @Inject
+    SecondLevelCache secondLevelCache;
+
+    @Inject
+    DoctorCacheInvalidationProducer producer;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Incoming("doctor-cache-invalidations-in")
+    @Blocking
+    public void onInvalidation(String message) {
+        try {
+            DoctorCacheInvalidation invalidation = objectMapper.readValue(message, DoctorCacheInvalidation.class);
+            List<Long> ids = invalidation.doctorIds;
+            if (ids != null && !ids.isEmpty() && !producer.replicaId().equals(invalidation.origin)) {
+                secondLevelCache.evictRemote(ids, invalidation.change);
+                switch (invalidation.change) {
+                    case PROFILE -> {
+                        ids.forEach(profileCache::invalidateRemote);
+                        directorySnapshot.invalidate();
+                        statistics.refresh(ids);
+                        rankingIndex.refresh(ids);
+                        searchIndex.refresh(ids);
+                        autocompleteIndex.refresh(ids);
+                    }
+                    case AVAILABILITY -> ids.forEach(availabilityIndex::recompile);
+                    case TIME_OFF -> ids.forEach(timeOffIndex::refresh);
+                }
+            }
+        } catch (Exception e) {
+            LOG.errorf("Ignoring malformed cache invalidation: %s", e.getMessage());
+        }
+    }
+}
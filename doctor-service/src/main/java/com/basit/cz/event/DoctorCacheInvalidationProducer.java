@@ -0,0 +1,60 @@
+package com.basit.cz.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.jboss.logging.Logger;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Broadcasts doctor cache invalidations to the other replicas
+ */
+@ApplicationScoped
+public class DoctorCacheInvalidationProducer {
+
+    private static final Logger LOG = Logger.getLogger(DoctorCacheInvalidationProducer.class);
+
+    @Channel("doctor-cache-invalidations-out")
+    Emitter<String> emitter;
+
+    @ConfigProperty(name = "doctor.profile-cache.broadcast-invalidations", defaultValue = "false")
+    boolean enabled;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String replicaId = UUID.randomUUID().toString();
+
+    /**
+     * Identifies this replica in the invalidations it sends
+     */
+    public String replicaId() {
+        return replicaId;
+    }
+
+    /**
+     * Tell the other replicas to drop what they cache about the change to a doctor
+     */
+    public void publish(Long doctorId, DoctorCacheInvalidation.Change change) {
+        publish(List.of(doctorId), change);
+    }
+
+    /**
+     * Tell the other replicas about the same change to several doctors in one message
+     */
+    public void publish(Collection<Long> doctorIds, DoctorCacheInvalidation.Change change) {
+        if (!enabled || doctorIds.isEmpty()) {
+            return;
+        }
+        try {
+            emitter.send(objectMapper.writeValueAsString(
+                    new DoctorCacheInvalidation(List.copyOf(doctorIds), change, replicaId)));
+        } catch (Exception e) {
+            // Other replicas keep serving the old data until it is evicted or changed again
+            LOG.errorf("Failed to broadcast cache invalidation for doctors %s: %s", doctorIds, e.getMessage());
+        }
+    }
+}
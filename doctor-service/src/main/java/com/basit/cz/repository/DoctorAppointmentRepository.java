@@ -0,0 +1,74 @@
+package com.basit.cz.repository;
+
+import com.basit.cz.dto.AppointmentCursor;
+import com.basit.cz.entity.DoctorAppointment;
+import com.basit.cz.entity.DoctorAppointment.AppointmentStatus;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Doctor Appointment Repository
+ *
+ * Queries over the local appointment history read model.
+ */
+@ApplicationScoped
+public class DoctorAppointmentRepository implements PanacheRepositoryBase<DoctorAppointment, Long> {
+
+    /**
+     * Find one page of a doctor's appointments, latest start first, using keyset
+     * pagination on (startTime, appointmentId) so deep pages cost the same as the first one
+     *
+     * @param doctorId Doctor's ID
+     * @param status Only appointments in this status (optional)
+     * @param after Last appointment of the previous page (null for the first page)
+     * @param limit Maximum number of appointments
+     * @return Appointments
+     */
+    public List<DoctorAppointment> findPageByDoctor(Long doctorId, AppointmentStatus status,
+                                                    AppointmentCursor after, int limit) {
+        StringBuilder query = new StringBuilder("SELECT a FROM DoctorAppointment a WHERE a.doctorId = :doctorId");
+        if (status != null) {
+            query.append(" AND a.status = :status");
+        }
+        if (after != null) {
+            query.append(" AND (a.startTime < :startTime OR (a.startTime = :startTime AND a.appointmentId < :appointmentId))");
+        }
+        query.append(" ORDER BY a.startTime DESC, a.appointmentId DESC");
+
+        TypedQuery<DoctorAppointment> typed = getEntityManager().createQuery(query.toString(), DoctorAppointment.class)
+                .setParameter("doctorId", doctorId)
+                .setMaxResults(limit);
+        if (status != null) {
+            typed.setParameter("status", status);
+        }
+        if (after != null) {
+            typed.setParameter("startTime", after.startTime);
+            typed.setParameter("appointmentId", after.appointmentId);
+        }
+        return typed.getResultList();
+    }
+
+    /**
+     * Count a doctor's appointments per status in one grouped query
+     *
+     * @param doctorId Doctor's ID
+     * @return Count per status, statuses without appointments left out
+     */
+    public Map<AppointmentStatus, Long> countByStatus(Long doctorId) {
+        List<Object[]> rows = getEntityManager().createQuery(
+                        "SELECT a.status, COUNT(a) FROM DoctorAppointment a WHERE a.doctorId = :doctorId GROUP BY a.status",
+                        Object[].class)
+                .setParameter("doctorId", doctorId)
+                .getResultList();
+        Map<AppointmentStatus, Long> counts = new EnumMap<>(AppointmentStatus.class);
+        for (Object[] row : rows) {
+            counts.put((AppointmentStatus) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
@@ -3,28 +3,81 @@ package com.basit.cz.repository;
 import com.basit.cz.entity.DoctorAvailability;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
 
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Repository for DoctorAvailability entity
+ *
+ * The per-doctor slot lists are query-cached; any write to doctor_availability
+ * invalidates them.
  */
 @ApplicationScoped
 public class DoctorAvailabilityRepository implements PanacheRepository<DoctorAvailability> {
 
+    /**
+     * Query cache region of the cached slot queries
+     */
+    public static final String QUERY_CACHE_REGION = "doctor-availability-query-results";
+
     /**
      * Find all availability slots for a specific doctor
      */
     public List<DoctorAvailability> findByDoctorId(Long doctorId) {
-        return find("doctor.id = ?1 ORDER BY dayOfWeek, startTime", doctorId).list();
+        return find("doctor.id = ?1 ORDER BY dayOfWeek, startTime", doctorId)
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
+                .withHint(HibernateHints.HINT_CACHE_REGION, QUERY_CACHE_REGION)
+                .list();
     }
 
     /**
      * Find active availability slots for a doctor
      */
     public List<DoctorAvailability> findActiveByDoctorId(Long doctorId) {
-        return find("doctor.id = ?1 AND isActive = true ORDER BY dayOfWeek, startTime", doctorId).list();
+        return find("doctor.id = ?1 AND isActive = true ORDER BY dayOfWeek, startTime", doctorId)
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
+                .withHint(HibernateHints.HINT_CACHE_REGION, QUERY_CACHE_REGION)
+                .list();
+    }
+
+    /**
+     * Find a slot with its doctor loaded in the same select
+     */
+    public Optional<DoctorAvailability> findByIdWithDoctor(Long id) {
+        return Optional.ofNullable(getEntityManager().find(DoctorAvailability.class, id,
+                Map.of(SpecHints.HINT_SPEC_FETCH_GRAPH, getEntityManager().getEntityGraph(DoctorAvailability.WITH_DOCTOR))));
+    }
+
+    /**
+     * Day and time range of every active slot of every active doctor
+     *
+     * @return Rows of [doctorId, dayOfWeek, startTime, endTime]
+     */
+    public List<Object[]> findActiveSlots() {
+        return getEntityManager().createQuery(
+                        "SELECT a.doctor.id, a.dayOfWeek, a.startTime, a.endTime FROM DoctorAvailability a " +
+                                "WHERE a.isActive = true AND a.doctor.isActive = true", Object[].class)
+                .getResultList();
+    }
+
+    /**
+     * Day and time range of a doctor's active slots (none when the doctor is inactive)
+     *
+     * @return Rows of [doctorId, dayOfWeek, startTime, endTime]
+     */
+    public List<Object[]> findActiveSlots(Long doctorId) {
+        return getEntityManager().createQuery(
+                        "SELECT a.doctor.id, a.dayOfWeek, a.startTime, a.endTime FROM DoctorAvailability a " +
+                                "WHERE a.doctor.id = :doctorId AND a.isActive = true AND a.doctor.isActive = true",
+                        Object[].class)
+                .setParameter("doctorId", doctorId)
+                .getResultList();
     }
 
     /**
@@ -66,6 +119,13 @@ public class DoctorAvailabilityRepository implements PanacheRepository<DoctorAva
         return delete("doctor.id = ?1", doctorId);
     }
 
+    /**
+     * Delete availability slots by ID in one statement
+     */
+    public long deleteByIds(Collection<Long> ids) {
+        return delete("id IN ?1", ids);
+    }
+
     /**
      * Deactivate all availability slots for a doctor
      */
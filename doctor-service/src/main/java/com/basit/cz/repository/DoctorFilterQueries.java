@@ -0,0 +1,252 @@
+package com.basit.cz.repository;
+
+import com.basit.cz.dto.DoctorFilter;
+import com.basit.cz.entity.Doctor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compiles a DoctorFilter into parameterized HQL
+ *
+ * The query text depends only on which criteria are present and on the sort,
+ * never on their values, so there is a fixed set of shapes (2^6 criteria
+ * combinations per sort, plus one count per combination). Each shape is built
+ * once and reused, which keeps Hibernate's query plan cache and the JDBC
+ * driver's prepared statements warm.
+ */
+public final class DoctorFilterQueries {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final int SPECIALIZATION = 1;
+    private static final int MIN_RATING = 1 << 1;
+    private static final int MIN_EXPERIENCE = 1 << 2;
+    private static final int MIN_FEE = 1 << 3;
+    private static final int MAX_FEE = 1 << 4;
+    private static final int NAME = 1 << 5;
+    private static final int COMBINATIONS = 1 << 6;
+
+    private static final char LIKE_ESCAPE = '!';
+
+    private final AtomicReferenceArray<String> selectShapes =
+            new AtomicReferenceArray<>(COMBINATIONS * DoctorFilter.Sort.values().length);
+    private final AtomicReferenceArray<String> countShapes = new AtomicReferenceArray<>(COMBINATIONS);
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder compiled = new LongAdder();
+
+    // ===============================================
+    // EXECUTION
+    // ===============================================
+
+    /**
+     * Fetch the requested page of matching active doctors
+     */
+    public List<Doctor> page(EntityManager em, DoctorFilter filter) {
+        validate(filter);
+        long offset = (long) filter.page * filter.size;
+        if (offset > Integer.MAX_VALUE) {
+            // Beyond any offset JPA can page to, so beyond every match
+            return List.of();
+        }
+        TypedQuery<Doctor> query = select(em, filter);
+        return query.setFirstResult((int) offset)
+                .setMaxResults(filter.size)
+                .getResultList();
+    }
+
+    /**
+     * Fetch every matching active doctor, ignoring paging
+     */
+    public List<Doctor> list(EntityManager em, DoctorFilter filter) {
+        validateFees(filter);
+        return select(em, filter).getResultList();
+    }
+
+    /**
+     * Count matching active doctors
+     */
+    public long count(EntityManager em, DoctorFilter filter) {
+        validateFees(filter);
+        int mask = mask(filter);
+        TypedQuery<Long> query = em.createQuery(countShape(mask), Long.class);
+        bind(query, filter, mask);
+        return query.getSingleResult();
+    }
+
+    private TypedQuery<Doctor> select(EntityManager em, DoctorFilter filter) {
+        int mask = mask(filter);
+        DoctorFilter.Sort sort = filter.sort != null ? filter.sort : DoctorFilter.Sort.RATING;
+        TypedQuery<Doctor> query = em.createQuery(selectShape(mask, sort), Doctor.class);
+        bind(query, filter, mask);
+        return query;
+    }
+
+    private void validate(DoctorFilter filter) {
+        if (filter.page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (filter.size < 1 || filter.size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        validateFees(filter);
+    }
+
+    private void validateFees(DoctorFilter filter) {
+        if (filter.minFee != null && filter.maxFee != null && filter.minFee > filter.maxFee) {
+            throw new IllegalArgumentException("Minimum fee cannot exceed maximum fee");
+        }
+    }
+
+    // ===============================================
+    // SHAPES
+    // ===============================================
+
+    private static int mask(DoctorFilter filter) {
+        int mask = 0;
+        if (hasText(filter.specialization)) mask |= SPECIALIZATION;
+        if (filter.minRating != null) mask |= MIN_RATING;
+        if (filter.minExperience != null) mask |= MIN_EXPERIENCE;
+        if (filter.minFee != null) mask |= MIN_FEE;
+        if (filter.maxFee != null) mask |= MAX_FEE;
+        if (hasText(filter.name)) mask |= NAME;
+        return mask;
+    }
+
+    private String selectShape(int mask, DoctorFilter.Sort sort) {
+        int slot = sort.ordinal() * COMBINATIONS + mask;
+        lookups.increment();
+        String shape = selectShapes.get(slot);
+        if (shape == null) {
+            shape = "SELECT d FROM Doctor d WHERE " + where(mask) + " ORDER BY " + sort.orderBy;
+            if (selectShapes.compareAndSet(slot, null, shape)) {
+                compiled.increment();
+            }
+        }
+        return shape;
+    }
+
+    private String countShape(int mask) {
+        lookups.increment();
+        String shape = countShapes.get(mask);
+        if (shape == null) {
+            shape = "SELECT COUNT(d) FROM Doctor d WHERE " + where(mask);
+            if (countShapes.compareAndSet(mask, null, shape)) {
+                compiled.increment();
+            }
+        }
+        return shape;
+    }
+
+    private static String where(int mask) {
+        StringBuilder where = new StringBuilder("d.isActive = true");
+        if ((mask & SPECIALIZATION) != 0) {
+            where.append(" AND d.specialization = :specialization");
+        }
+        if ((mask & MIN_RATING) != 0) {
+            where.append(" AND d.averageRating >= :minRating");
+        }
+        if ((mask & MIN_EXPERIENCE) != 0) {
+            where.append(" AND d.yearsOfExperience >= :minExperience");
+        }
+        if ((mask & MIN_FEE) != 0) {
+            where.append(" AND d.consultationFee >= :minFee");
+        }
+        if ((mask & MAX_FEE) != 0) {
+            where.append(" AND d.consultationFee <= :maxFee");
+        }
+        if ((mask & NAME) != 0) {
+            where.append(" AND (LOWER(d.firstName) LIKE :name ESCAPE '").append(LIKE_ESCAPE).append("'")
+                    .append(" OR LOWER(d.lastName) LIKE :name ESCAPE '").append(LIKE_ESCAPE).append("')");
+        }
+        return where.toString();
+    }
+
+    private static void bind(TypedQuery<?> query, DoctorFilter filter, int mask) {
+        if ((mask & SPECIALIZATION) != 0) {
+            query.setParameter("specialization", filter.specialization.trim());
+        }
+        if ((mask & MIN_RATING) != 0) {
+            query.setParameter("minRating", filter.minRating);
+        }
+        if ((mask & MIN_EXPERIENCE) != 0) {
+            query.setParameter("minExperience", filter.minExperience);
+        }
+        if ((mask & MIN_FEE) != 0) {
+            query.setParameter("minFee", filter.minFee);
+        }
+        if ((mask & MAX_FEE) != 0) {
+            query.setParameter("maxFee", filter.maxFee);
+        }
+        if ((mask & NAME) != 0) {
+            query.setParameter("name", "%" + escapeLike(filter.name.trim().toLowerCase()) + "%");
+        }
+    }
+
+    /**
+     * Escape LIKE wildcards so user input only ever matches literally
+     */
+    static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    // ===============================================
+    // METRICS
+    // ===============================================
+
+    /**
+     * Snapshot shape reuse here and, when Hibernate statistics are enabled,
+     * Hibernate's own query plan cache counters
+     */
+    public PlanCacheMetrics metrics(EntityManager em) {
+        PlanCacheMetrics metrics = new PlanCacheMetrics();
+        metrics.maxShapes = selectShapes.length() + countShapes.length();
+        metrics.compiledShapes = compiled.sum();
+        metrics.shapeLookups = lookups.sum();
+        metrics.shapeHits = metrics.shapeLookups - metrics.compiledShapes;
+        metrics.shapeHitRate = metrics.shapeLookups == 0 ? 0.0 : (double) metrics.shapeHits / metrics.shapeLookups;
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        metrics.hibernateStatisticsEnabled = statistics.isStatisticsEnabled();
+        if (metrics.hibernateStatisticsEnabled) {
+            metrics.queryPlanCacheHits = statistics.getQueryPlanCacheHitCount();
+            metrics.queryPlanCacheMisses = statistics.getQueryPlanCacheMissCount();
+            long total = metrics.queryPlanCacheHits + metrics.queryPlanCacheMisses;
+            metrics.queryPlanCacheHitRate = total == 0 ? 0.0 : (double) metrics.queryPlanCacheHits / total;
+        }
+        return metrics;
+    }
+
+    /**
+     * Filter query shape and plan cache counters
+     */
+    public static class PlanCacheMetrics {
+        public long maxShapes;
+        public long compiledShapes;
+        public long shapeLookups;
+        public long shapeHits;
+        public double shapeHitRate;
+        public boolean hibernateStatisticsEnabled;
+        public Long queryPlanCacheHits;
+        public Long queryPlanCacheMisses;
+        public Double queryPlanCacheHitRate;
+    }
+}
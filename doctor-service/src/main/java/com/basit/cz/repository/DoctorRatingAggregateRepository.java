@@ -0,0 +1,90 @@
+package com.basit.cz.repository;
+
+import com.basit.cz.dto.RatingHistogramDTO;
+import com.basit.cz.entity.DoctorRatingAggregate;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Doctor Rating Aggregate Repository
+ *
+ * Atomic, single-row updates of the per-doctor rating aggregate.
+ */
+@ApplicationScoped
+public class DoctorRatingAggregateRepository implements PanacheRepositoryBase<DoctorRatingAggregate, Long> {
+
+    /**
+     * Add per-star deltas to a doctor's aggregate in one UPDATE
+     *
+     * The row lock taken by the UPDATE serializes concurrent review changes for the
+     * same doctor without reading the row first.
+     *
+     * @param doctorId Doctor's ID
+     * @param starDeltas Change per star: [1-star, 2-star, 3-star, 4-star, 5-star]
+     * @return Number of rows updated (0 when the doctor has no aggregate yet)
+     */
+    public int applyDelta(Long doctorId, long[] starDeltas) {
+        long countDelta = 0;
+        long sumDelta = 0;
+        for (int i = 0; i < starDeltas.length; i++) {
+            countDelta += starDeltas[i];
+            sumDelta += (i + 1) * starDeltas[i];
+        }
+        return update("reviewCount = reviewCount + ?2, ratingSum = ratingSum + ?3, " +
+                        "oneStar = oneStar + ?4, twoStar = twoStar + ?5, threeStar = threeStar + ?6, " +
+                        "fourStar = fourStar + ?7, fiveStar = fiveStar + ?8, updatedAt = ?9 " +
+                        "WHERE doctorId = ?1",
+                doctorId, countDelta, sumDelta,
+                starDeltas[0], starDeltas[1], starDeltas[2], starDeltas[3], starDeltas[4],
+                LocalDateTime.now());
+    }
+
+    /**
+     * Read review count and rating sum straight from the database
+     * (bypasses any stale copy in the persistence context)
+     *
+     * @param doctorId Doctor's ID
+     * @return [reviewCount, ratingSum], or null when the doctor has no aggregate
+     */
+    public long[] findTotals(Long doctorId) {
+        List<Object[]> rows = getEntityManager().createQuery(
+                        "SELECT a.reviewCount, a.ratingSum FROM DoctorRatingAggregate a WHERE a.doctorId = :doctorId",
+                        Object[].class)
+                .setParameter("doctorId", doctorId)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        return new long[]{((Number) row[0]).longValue(), ((Number) row[1]).longValue()};
+    }
+
+    /**
+     * Read a doctor's histogram straight from the database
+     *
+     * @param doctorId Doctor's ID
+     * @return Histogram, empty when the doctor has no aggregate
+     */
+    public Optional<RatingHistogramDTO> findHistogram(Long doctorId) {
+        return getEntityManager().createQuery(
+                        "SELECT a.reviewCount, a.ratingSum, a.oneStar, a.twoStar, a.threeStar, a.fourStar, a.fiveStar " +
+                                "FROM DoctorRatingAggregate a WHERE a.doctorId = :doctorId",
+                        Object[].class)
+                .setParameter("doctorId", doctorId)
+                .getResultStream()
+                .findFirst()
+                .map(row -> {
+                    long count = ((Number) row[0]).longValue();
+                    long sum = ((Number) row[1]).longValue();
+                    long[] stars = new long[5];
+                    for (int i = 0; i < stars.length; i++) {
+                        stars[i] = ((Number) row[i + 2]).longValue();
+                    }
+                    return new RatingHistogramDTO(doctorId, count, count == 0 ? 0.0 : (double) sum / count, stars);
+                });
+    }
+}
@@ -1,9 +1,14 @@
 package com.basit.cz.repository;
 
+import com.basit.cz.dto.DoctorFields;
+import com.basit.cz.dto.DoctorFilter;
 import com.basit.cz.entity.Doctor;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -12,10 +17,40 @@ import java.util.List;
 @ApplicationScoped
 public class DoctorRepository implements PanacheRepository<Doctor> {
 
+    /**
+     * Query cache region of the cached doctor queries
+     */
+    public static final String QUERY_CACHE_REGION = "doctor-query-results";
+
+    // List queries shared by the entity and the sparse fieldset variants
+    private static final String BY_SPECIALIZATION =
+            "specialization = ?1 AND isActive = true ORDER BY averageRating DESC";
+    private static final String TOP_RATED =
+            "averageRating >= 4.0 AND isActive = true ORDER BY averageRating DESC, totalReviews DESC";
+    private static final String BY_MINIMUM_RATING =
+            "averageRating >= ?1 AND isActive = true ORDER BY averageRating DESC";
+    private static final String BY_MINIMUM_EXPERIENCE =
+            "yearsOfExperience >= ?1 AND isActive = true ORDER BY yearsOfExperience DESC";
+    private static final String BY_FEE_RANGE =
+            "consultationFee >= ?1 AND consultationFee <= ?2 AND isActive = true ORDER BY consultationFee";
+
+    private final DoctorFilterQueries filterQueries = new DoctorFilterQueries();
+
     // ===============================================
     // EXISTENCE CHECKS
     // ===============================================
 
+    /**
+     * Check if a doctor exists, without a query when the doctor is in the second-level cache
+     *
+     * The entity is not loaded, so a read outside a transaction cannot leave a copy in
+     * the persistence context that later reads would see instead of committed changes.
+     */
+    public boolean existsById(Long id) {
+        return getEntityManager().getEntityManagerFactory().getCache().contains(Doctor.class, id)
+                || count("id", id) > 0;
+    }
+
     /**
      * Check if email already exists
      */
@@ -30,6 +65,29 @@ public class DoctorRepository implements PanacheRepository<Doctor> {
         return count("licenseNumber = ?1", licenseNumber) > 0;
     }
 
+    /**
+     * Registered emails (lower-cased) and license numbers among the given ones,
+     * checked with one query
+     *
+     * @param emails Lower-cased emails
+     * @return [lowerEmail, licenseNumber] rows of the doctors holding any of them
+     */
+    public List<Object[]> findEmailsAndLicenses(Collection<String> emails, Collection<String> licenseNumbers) {
+        if (licenseNumbers.isEmpty()) {
+            return getEntityManager()
+                    .createQuery("SELECT LOWER(d.email), d.licenseNumber FROM Doctor d WHERE LOWER(d.email) IN ?1",
+                            Object[].class)
+                    .setParameter(1, emails)
+                    .getResultList();
+        }
+        return getEntityManager()
+                .createQuery("SELECT LOWER(d.email), d.licenseNumber FROM Doctor d " +
+                        "WHERE LOWER(d.email) IN ?1 OR d.licenseNumber IN ?2", Object[].class)
+                .setParameter(1, emails)
+                .setParameter(2, licenseNumbers)
+                .getResultList();
+    }
+
     // ===============================================
     // BASIC QUERIES
     // ===============================================
@@ -41,6 +99,26 @@ public class DoctorRepository implements PanacheRepository<Doctor> {
         return find("LOWER(email) = LOWER(?1)", email).firstResult();
     }
 
+    /**
+     * Find doctors by ID in one IN-list query (unknown IDs are skipped, order is unspecified)
+     */
+    public List<Doctor> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return list("id IN ?1", ids);
+    }
+
+    /**
+     * Find doctors by ID, selecting only the fieldset's columns (order is unspecified)
+     */
+    public List<Object[]> findByIds(Collection<Long> ids, DoctorFields fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return project(fields, "id IN ?1", ids);
+    }
+
     /**
      * Find all active doctors
      */
@@ -64,7 +142,7 @@ public class DoctorRepository implements PanacheRepository<Doctor> {
      */
     public List<Doctor> searchByName(String searchTerm) {
         String pattern = "%" + searchTerm.toLowerCase() + "%";
-        return find("LOWER(firstName) LIKE ?1 OR LOWER(lastName) LIKE ?1 AND isActive = true ORDER BY firstName",
+        return find("(LOWER(firstName) LIKE ?1 OR LOWER(lastName) LIKE ?1) AND isActive = true ORDER BY firstName",
                 pattern).list();
     }
 
@@ -72,8 +150,14 @@ public class DoctorRepository implements PanacheRepository<Doctor> {
      * Find doctors by specialization
      */
     public List<Doctor> findBySpecialization(String specialization) {
-        return find("specialization = ?1 AND isActive = true ORDER BY averageRating DESC",
-                specialization).list();
+        return find(BY_SPECIALIZATION, specialization).list();
+    }
+
+    /**
+     * Find doctors by specialization, selecting only the fieldset's columns
+     */
+    public List<Object[]> findBySpecialization(String specialization, DoctorFields fields) {
+        return project(fields, BY_SPECIALIZATION, specialization);
     }
 
     /**
@@ -92,15 +176,21 @@ public class DoctorRepository implements PanacheRepository<Doctor> {
      * Find top-rated doctors (rating >= 4.0)
      */
     public List<Doctor> findTopRated() {
-        return find("averageRating >= 4.0 AND isActive = true ORDER BY averageRating DESC, totalReviews DESC")
-                .list();
+        return find(TOP_RATED).list();
     }
 
     /**
      * Find doctors with minimum rating
      */
     public List<Doctor> findByMinimumRating(double minRating) {
-        return find("averageRating >= ?1 AND isActive = true ORDER BY averageRating DESC", minRating).list();
+        return find(BY_MINIMUM_RATING, minRating).list();
+    }
+
+    /**
+     * Find doctors with minimum rating, selecting only the fieldset's columns
+     */
+    public List<Object[]> findByMinimumRating(double minRating, DoctorFields fields) {
+        return project(fields, BY_MINIMUM_RATING, minRating);
     }
 
     /**
@@ -111,6 +201,31 @@ public class DoctorRepository implements PanacheRepository<Doctor> {
                 specialization, minRating).list();
     }
 
+    /**
+     * Rating of every active doctor
+     *
+     * @return Rows of [id, specialization, averageRating, totalReviews]
+     */
+    public List<Object[]> findRatings() {
+        return getEntityManager().createQuery(
+                        "SELECT d.id, d.specialization, d.averageRating, d.totalReviews FROM Doctor d " +
+                                "WHERE d.isActive = true", Object[].class)
+                .getResultList();
+    }
+
+    /**
+     * Rating of the given doctors that are active
+     *
+     * @return Rows of [id, specialization, averageRating, totalReviews]
+     */
+    public List<Object[]> findRatings(Collection<Long> ids) {
+        return getEntityManager().createQuery(
+                        "SELECT d.id, d.specialization, d.averageRating, d.totalReviews FROM Doctor d " +
+                                "WHERE d.id IN ?1 AND d.isActive = true", Object[].class)
+                .setParameter(1, ids)
+                .getResultList();
+    }
+
     // ===============================================
     // EXPERIENCE QUERIES
     // ===============================================
@@ -119,7 +234,14 @@ public class DoctorRepository implements PanacheRepository<Doctor> {
      * Find doctors by minimum years of experience
      */
     public List<Doctor> findByMinimumExperience(int minYears) {
-        return find("yearsOfExperience >= ?1 AND isActive = true ORDER BY yearsOfExperience DESC", minYears).list();
+        return find(BY_MINIMUM_EXPERIENCE, minYears).list();
+    }
+
+    /**
+     * Find doctors by minimum years of experience, selecting only the fieldset's columns
+     */
+    public List<Object[]> findByMinimumExperience(int minYears, DoctorFields fields) {
+        return project(fields, BY_MINIMUM_EXPERIENCE, minYears);
     }
 
     /**
@@ -138,8 +260,14 @@ public class DoctorRepository implements PanacheRepository<Doctor> {
      * Find doctors by consultation fee range
      */
     public List<Doctor> findByConsultationFeeRange(double minFee, double maxFee) {
-        return find("consultationFee >= ?1 AND consultationFee <= ?2 AND isActive = true ORDER BY consultationFee",
-                minFee, maxFee).list();
+        return find(BY_FEE_RANGE, minFee, maxFee).list();
+    }
+
+    /**
+     * Find doctors by consultation fee range, selecting only the fieldset's columns
+     */
+    public List<Object[]> findByConsultationFeeRange(double minFee, double maxFee, DoctorFields fields) {
+        return project(fields, BY_FEE_RANGE, minFee, maxFee);
     }
 
     /**
@@ -197,9 +325,36 @@ public class DoctorRepository implements PanacheRepository<Doctor> {
     public List<String> getAllSpecializations() {
         return find("SELECT DISTINCT d.specialization FROM Doctor d WHERE d.isActive = true ORDER BY d.specialization")
                 .project(String.class)
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
+                .withHint(HibernateHints.HINT_CACHE_REGION, QUERY_CACHE_REGION)
                 .list();
     }
 
+    /**
+     * Statistics inputs of all active doctors
+     *
+     * @return Rows of [id, specialization, averageRating, yearsOfExperience, consultationFee]
+     */
+    public List<Object[]> findStatistics() {
+        return getEntityManager().createQuery(
+                        "SELECT d.id, d.specialization, d.averageRating, d.yearsOfExperience, d.consultationFee " +
+                                "FROM Doctor d WHERE d.isActive = true", Object[].class)
+                .getResultList();
+    }
+
+    /**
+     * Statistics inputs of the given doctors that are active
+     *
+     * @return Rows of [id, specialization, averageRating, yearsOfExperience, consultationFee]
+     */
+    public List<Object[]> findStatistics(Collection<Long> ids) {
+        return getEntityManager().createQuery(
+                        "SELECT d.id, d.specialization, d.averageRating, d.yearsOfExperience, d.consultationFee " +
+                                "FROM Doctor d WHERE d.id IN ?1 AND d.isActive = true", Object[].class)
+                .setParameter(1, ids)
+                .getResultList();
+    }
+
     /**
      * Calculate average rating of all doctors
      */
@@ -242,50 +397,44 @@ public class DoctorRepository implements PanacheRepository<Doctor> {
      */
     public List<Doctor> findByCriteria(String specialization, Double minRating, Integer minExperience,
                                        Double maxFee) {
-        StringBuilder query = new StringBuilder("isActive = true");
-
-        if (specialization != null && !specialization.isEmpty()) {
-            query.append(" AND specialization = '").append(specialization).append("'");
-        }
-        if (minRating != null) {
-            query.append(" AND averageRating >= ").append(minRating);
-        }
-        if (minExperience != null) {
-            query.append(" AND yearsOfExperience >= ").append(minExperience);
-        }
-        if (maxFee != null) {
-            query.append(" AND consultationFee <= ").append(maxFee);
-        }
-
-        query.append(" ORDER BY averageRating DESC, yearsOfExperience DESC");
-
-        return find(query.toString()).list();
+        DoctorFilter filter = new DoctorFilter();
+        filter.specialization = specialization;
+        filter.minRating = minRating;
+        filter.minExperience = minExperience;
+        filter.maxFee = maxFee;
+        return filterQueries.list(getEntityManager(), filter);
     }
 
     /**
      * Search doctors with filters
      */
     public List<Doctor> searchWithFilters(String searchTerm, String specialization, Double minRating) {
-        StringBuilder query = new StringBuilder();
-        query.append("isActive = true");
-
-        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            String pattern = "%" + searchTerm.toLowerCase() + "%";
-            query.append(" AND (LOWER(firstName) LIKE '").append(pattern).append("'")
-                    .append(" OR LOWER(lastName) LIKE '").append(pattern).append("')");
-        }
-
-        if (specialization != null && !specialization.isEmpty()) {
-            query.append(" AND specialization = '").append(specialization).append("'");
-        }
+        DoctorFilter filter = new DoctorFilter();
+        filter.name = searchTerm;
+        filter.specialization = specialization;
+        filter.minRating = minRating;
+        return filterQueries.list(getEntityManager(), filter);
+    }
 
-        if (minRating != null) {
-            query.append(" AND averageRating >= ").append(minRating);
-        }
+    /**
+     * Find one page of doctors matching a typed filter
+     */
+    public List<Doctor> findByFilter(DoctorFilter filter) {
+        return filterQueries.page(getEntityManager(), filter);
+    }
 
-        query.append(" ORDER BY averageRating DESC");
+    /**
+     * Count doctors matching a typed filter
+     */
+    public long countByFilter(DoctorFilter filter) {
+        return filterQueries.count(getEntityManager(), filter);
+    }
 
-        return find(query.toString()).list();
+    /**
+     * Query shape and plan cache counters for the filter queries
+     */
+    public DoctorFilterQueries.PlanCacheMetrics filterMetrics() {
+        return filterQueries.metrics(getEntityManager());
     }
 
     // ===============================================
@@ -319,16 +468,20 @@ public class DoctorRepository implements PanacheRepository<Doctor> {
     public List<Doctor> findAllSortedByFee() {
         return find("isActive = true ORDER BY consultationFee, averageRating DESC").list();
     }
-}
-
-
-
-
-
-
-
-
-
-
 
+    // ===============================================
+    // PROJECTIONS
+    // ===============================================
 
+    /**
+     * Select the fieldset's attributes, in order, of the doctors matching an HQL condition
+     */
+    private List<Object[]> project(DoctorFields fields, String query, Object... params) {
+        TypedQuery<Object[]> projection = getEntityManager().createQuery(
+                "SELECT " + String.join(", ", fields.attributes()) + " FROM Doctor WHERE " + query, Object[].class);
+        for (int i = 0; i < params.length; i++) {
+            projection.setParameter(i + 1, params[i]);
+        }
+        return projection.getResultList();
+    }
+}
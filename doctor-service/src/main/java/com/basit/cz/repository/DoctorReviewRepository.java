@@ -1,12 +1,19 @@
 package com.basit.cz.repository;
 
+import com.basit.cz.dto.ReviewCursor;
 import com.basit.cz.entity.DoctorReview;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 import jakarta.inject.Inject;
+import org.hibernate.jpa.SpecHints;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Doctor Review Repository
@@ -20,6 +27,14 @@ public class DoctorReviewRepository implements PanacheRepository<DoctorReview> {
     @Inject
     EntityManager entityManager;
 
+    /**
+     * Find a review with its doctor loaded in the same select
+     */
+    public Optional<DoctorReview> findByIdWithDoctor(Long id) {
+        return Optional.ofNullable(entityManager.find(DoctorReview.class, id,
+                Map.of(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(DoctorReview.WITH_DOCTOR))));
+    }
+
     /**
      * Find all reviews for a doctor
      *
@@ -30,6 +45,62 @@ public class DoctorReviewRepository implements PanacheRepository<DoctorReview> {
         return list("doctor.id = ?1 ORDER BY createdAt DESC", doctorId);
     }
 
+    /**
+     * Find one page of a doctor's reviews, newest first, using keyset pagination
+     * on (createdAt, id) so deep pages cost the same as the first one
+     *
+     * @param doctorId Doctor's ID
+     * @param rating Only reviews with this rating (optional)
+     * @param verifiedOnly Only verified reviews
+     * @param after Last review of the previous page (null for the first page)
+     * @param limit Maximum number of reviews
+     * @return Reviews with their doctor fetched
+     */
+    public List<DoctorReview> findPageByDoctor(Long doctorId, Integer rating, boolean verifiedOnly,
+                                               ReviewCursor after, int limit) {
+        StringBuilder query = new StringBuilder("SELECT r FROM DoctorReview r JOIN FETCH r.doctor " +
+                "WHERE r.doctor.id = :doctorId");
+        if (rating != null) {
+            query.append(" AND r.rating = :rating");
+        }
+        if (verifiedOnly) {
+            query.append(" AND r.isVerified = true");
+        }
+        if (after != null) {
+            query.append(" AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))");
+        }
+        query.append(" ORDER BY r.createdAt DESC, r.id DESC");
+
+        TypedQuery<DoctorReview> typed = entityManager.createQuery(query.toString(), DoctorReview.class)
+                .setParameter("doctorId", doctorId)
+                .setMaxResults(limit);
+        if (rating != null) {
+            typed.setParameter("rating", rating);
+        }
+        if (after != null) {
+            typed.setParameter("createdAt", after.createdAt);
+            typed.setParameter("id", after.id);
+        }
+        return typed.getResultList();
+    }
+
+    /**
+     * Find which (doctor, patient) pairs already have a review
+     *
+     * @param doctorIds Doctor IDs to check
+     * @param patientIds Patient IDs to check
+     * @return Existing pairs as [doctorId, patientId]
+     */
+    public List<Object[]> findReviewPairs(Collection<Long> doctorIds, Collection<Long> patientIds) {
+        return entityManager.createQuery(
+                        "SELECT r.doctor.id, r.patientId FROM DoctorReview r " +
+                                "WHERE r.doctor.id IN :doctorIds AND r.patientId IN :patientIds",
+                        Object[].class)
+                .setParameter("doctorIds", doctorIds)
+                .setParameter("patientIds", patientIds)
+                .getResultList();
+    }
+
     /**
      * Find reviews by patient
      *
@@ -109,12 +180,33 @@ public class DoctorReviewRepository implements PanacheRepository<DoctorReview> {
      */
     public long[] countByRating(Long doctorId) {
         long[] counts = new long[5];
-        for (int rating = 1; rating <= 5; rating++) {
-            counts[rating - 1] = count("doctor.id = ?1 AND rating = ?2", doctorId, rating);
-        }
+        entityManager.createQuery(
+                        "SELECT r.rating, COUNT(r) FROM DoctorReview r " +
+                                "WHERE r.doctor.id = :doctorId GROUP BY r.rating",
+                        Object[].class)
+                .setParameter("doctorId", doctorId)
+                .getResultList()
+                .forEach(row -> counts[((Number) row[0]).intValue() - 1] = ((Number) row[1]).longValue());
         return counts;
     }
 
+    /**
+     * Count reviews by rating for every reviewed doctor in one pass
+     *
+     * @return Doctor ID to [1-star count, 2-star, 3-star, 4-star, 5-star]
+     */
+    public Map<Long, long[]> countByRatingPerDoctor() {
+        Map<Long, long[]> countsByDoctor = new HashMap<>();
+        entityManager.createQuery(
+                        "SELECT r.doctor.id, r.rating, COUNT(r) FROM DoctorReview r " +
+                                "GROUP BY r.doctor.id, r.rating",
+                        Object[].class)
+                .getResultList()
+                .forEach(row -> countsByDoctor.computeIfAbsent((Long) row[0], id -> new long[5])
+                        [((Number) row[1]).intValue() - 1] = ((Number) row[2]).longValue());
+        return countsByDoctor;
+    }
+
     /**
      * Find recent reviews (last N reviews)
      *
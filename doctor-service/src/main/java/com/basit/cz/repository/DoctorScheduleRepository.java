@@ -5,6 +5,8 @@ import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
 import jakarta.inject.Inject;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -18,6 +20,11 @@ import java.util.List;
 @ApplicationScoped
 public class DoctorScheduleRepository implements PanacheRepository<DoctorSchedule> {
 
+    /**
+     * Query cache region of the cached schedule queries
+     */
+    public static final String QUERY_CACHE_REGION = "doctor-schedule-query-results";
+
     @Inject
     EntityManager entityManager;
 
@@ -120,6 +127,51 @@ public class DoctorScheduleRepository implements PanacheRepository<DoctorSchedul
                 .getResultList();
     }
 
+    /**
+     * Check whether a doctor has a pending or approved schedule overlapping a date range
+     *
+     * @param doctorId Doctor's ID
+     * @param startDate Start of range
+     * @param endDate End of range
+     * @return true if the range is already requested or granted
+     */
+    public boolean hasOpenScheduleOverlapping(Long doctorId, LocalDate startDate, LocalDate endDate) {
+        return count("doctor.id = ?1 AND status IN ?2 AND startDate <= ?3 AND endDate >= ?4",
+                doctorId,
+                List.of(DoctorSchedule.ScheduleStatus.PENDING, DoctorSchedule.ScheduleStatus.APPROVED),
+                endDate, startDate) > 0;
+    }
+
+    /**
+     * Find all approved schedules (any doctor) with their doctors loaded
+     *
+     * @return List of approved schedules
+     */
+    public List<DoctorSchedule> findAllApprovedWithDoctor() {
+        return entityManager.createQuery(
+                        "SELECT s FROM DoctorSchedule s JOIN FETCH s.doctor " +
+                                "WHERE s.status = :status",
+                        DoctorSchedule.class)
+                .setParameter("status", DoctorSchedule.ScheduleStatus.APPROVED)
+                .getResultList();
+    }
+
+    /**
+     * Find a doctor's approved schedules with the doctor loaded
+     *
+     * @param doctorId Doctor's ID
+     * @return List of approved schedules
+     */
+    public List<DoctorSchedule> findApprovedWithDoctor(Long doctorId) {
+        return entityManager.createQuery(
+                        "SELECT s FROM DoctorSchedule s JOIN FETCH s.doctor " +
+                                "WHERE s.doctor.id = :doctorId AND s.status = :status",
+                        DoctorSchedule.class)
+                .setParameter("doctorId", doctorId)
+                .setParameter("status", DoctorSchedule.ScheduleStatus.APPROVED)
+                .getResultList();
+    }
+
     /**
      * Find upcoming schedules (start date in the future)
      *
@@ -141,14 +193,17 @@ public class DoctorScheduleRepository implements PanacheRepository<DoctorSchedul
     }
 
     /**
-     * Find all pending schedules (any doctor)
-     * For admin approval workflow
+     * Find all pending schedules (any doctor) with their doctors loaded
+     * For admin approval workflow (query-cached until doctor_schedules changes)
      *
      * @return List of all pending schedules
      */
     public List<DoctorSchedule> findAllPending() {
-        return list("status = ?1 ORDER BY createdAt ASC",
-                DoctorSchedule.ScheduleStatus.PENDING);
+        return find("status = ?1 ORDER BY createdAt ASC", DoctorSchedule.ScheduleStatus.PENDING)
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
+                .withHint(HibernateHints.HINT_CACHE_REGION, QUERY_CACHE_REGION)
+                .withHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(DoctorSchedule.WITH_DOCTOR))
+                .list();
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.basit.cz.resource;
 
 import com.basit.cz.dto.AvailabilityDTO;
+import com.basit.cz.dto.AvailabilityTemplateResultDTO;
 import com.basit.cz.dto.CreateAvailabilityRequest;
 import com.basit.cz.service.DoctorService;
 import jakarta.inject.Inject;
@@ -22,6 +23,7 @@ import java.util.List;
  * Handles all availability-related operations:
  * - Get doctor's availability schedule
  * - Add new availability slots
+ * - Replace the whole weekly template
  * - Update existing slots
  * - Remove availability slots
  */
@@ -78,6 +80,30 @@ public class AvailabilityResource {
         return Response.status(Response.Status.CREATED).entity(availability).build();
     }
 
+    /**
+     * Replace a doctor's whole weekly availability template
+     */
+    @PUT
+    @Path("/{id}/availability")
+    @Operation(
+            summary = "Replace weekly availability",
+            description = "Replace all of a doctor's slots with a weekly template; only the differences are written"
+    )
+    @APIResponse(
+            responseCode = "200",
+            description = "Template applied, with the number of slots inserted, updated, deleted and unchanged",
+            content = @Content(schema = @Schema(implementation = AvailabilityTemplateResultDTO.class))
+    )
+    @APIResponse(responseCode = "400", description = "Invalid slot or overlapping slots")
+    @APIResponse(responseCode = "404", description = "Doctor not found")
+    public Response replaceDoctorAvailability(
+            @PathParam("id") Long doctorId,
+            @Valid List<CreateAvailabilityRequest> template) {
+
+        AvailabilityTemplateResultDTO result = doctorService.replaceDoctorAvailability(doctorId, template);
+        return Response.ok(result).build();
+    }
+
     /**
      * Update existing availability slot
      */
@@ -2,10 +2,13 @@ package com.basit.cz.resource;
 
 
 import com.basit.cz.dto.*;
+import com.basit.cz.service.DoctorDirectorySnapshot;
+import com.basit.cz.service.DoctorImportReader;
 import com.basit.cz.service.DoctorService;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
@@ -14,6 +17,10 @@ import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import java.io.InputStream;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -27,11 +34,18 @@ import java.util.List;
  * - GET    /{id}              - Get doctor by ID
  * - PUT    /{id}              - Update doctor
  * - DELETE /{id}              - Deactivate doctor
- * - GET    /                  - Get all active doctors
+ * - GET    /                  - Get all active doctors (or ?ids=1,2,3)
+ * - POST   /batch             - Get doctors by IDs
  * - GET    /search            - Search by name
+ * - GET    /search/advanced   - Ranked search with filters and paging
+ * - GET    /autocomplete      - Name and specialization suggestions for a typed prefix
+ * - GET    /filter            - Filter by criteria with sorting and paging
+ * - GET    /filter/metrics    - Filter query plan cache metrics
+ * - GET    /profile-cache/metrics - Doctor profile cache metrics
+ * - GET    /entity-cache/metrics  - Hibernate second-level cache metrics
  * - GET    /specialization/{specialization} - Find by specialization
- * - GET    /top-rated         - Get top-rated doctors
- * - GET    /available/{day}   - Find available on day
+ * - GET    /top-rated         - Get top-rated doctors (Bayesian ranking, optionally ?specialization=&limit=)
+ * - GET    /available/{day}   - Find available on day (optionally ?from=&to=)
  * - GET    /specializations   - List all specializations
  * - GET    /statistics        - Get doctor statistics
  * - POST   /{id}/activate     - Activate doctor
@@ -62,6 +76,29 @@ public class DoctorResource {
         return Response.status(Response.Status.CREATED).entity(doctor).build();
     }
 
+    /**
+     * Import doctors from a CSV or NDJSON stream
+     *
+     * @param contentType text/csv (with a header row) or application/x-ndjson
+     * @param body Doctors to import, read row by row
+     * @return Imported, duplicate and rejected counts with per-line errors (200)
+     */
+    @POST
+    @Path("/import")
+    @Consumes({"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Import doctors",
+            description = "Bulk register doctors from CSV or NDJSON; rows with a registered email or license are skipped")
+    @APIResponse(responseCode = "200", description = "Import finished",
+            content = @Content(schema = @Schema(implementation = DoctorImportResultDTO.class)))
+    @APIResponse(responseCode = "400", description = "CSV header without doctor fields")
+    @APIResponse(responseCode = "413", description = "Stream larger than the HTTP body limit; send it in parts")
+    public Response importDoctors(@HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        DoctorImportReader.Format format = contentType.toLowerCase().startsWith("text/csv")
+                ? DoctorImportReader.Format.CSV : DoctorImportReader.Format.NDJSON;
+        DoctorImportResultDTO result = doctorService.importDoctors(body, format);
+        return Response.ok(result).build();
+    }
+
     /**
      * Get doctor by ID
      *
@@ -116,47 +153,301 @@ public class DoctorResource {
     /**
      * Get all active doctors
      *
-     * @return List of active doctors (200)
+     * The directory is served from a pre-serialized snapshot with a strong ETag,
+     * gzip-encoded when the client accepts it.
+     *
+     * @return List of active doctors (200), or 304 when If-None-Match holds the current ETag
      */
     @GET
-    @Operation(summary = "Get all active doctors", description = "List all active doctor accounts")
+    @Operation(summary = "Get all active doctors",
+            description = "List all active doctor accounts, or the doctors with the given IDs (ids=1,2,3)")
     @APIResponse(responseCode = "200", description = "Doctors retrieved successfully")
-    public Response getAllActiveDoctors() {
-        List<DoctorDTO> doctors = doctorService.getAllActiveDoctors();
-        return Response.ok(doctors).build();
+    @APIResponse(responseCode = "304", description = "Directory unchanged since the ETag in If-None-Match")
+    @APIResponse(responseCode = "400", description = "Invalid or too many IDs")
+    public Response getAllActiveDoctors(@QueryParam("ids") List<String> ids,
+                                        @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+                                        @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        if (ids != null && !ids.isEmpty()) {
+            return Response.ok(doctorService.getDoctorsByIds(parseIds(ids))).build();
+        }
+
+        DoctorDirectorySnapshot.Snapshot directory = doctorService.getDirectorySnapshot();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? directory.gzipEtag : directory.etag;
+        Response.ResponseBuilder response = directory.matches(ifNoneMatch)
+                ? Response.notModified()
+                : Response.ok(gzip ? directory.gzip : directory.json, MediaType.APPLICATION_JSON_TYPE);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response
+                .header(HttpHeaders.ETAG, etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .build();
+    }
+
+    /**
+     * Get several doctors by ID
+     *
+     * @param ids Doctor IDs (duplicates collapsed, at most 500 distinct)
+     * @return Known doctors in request order (200)
+     */
+    @POST
+    @Path("/batch")
+    @Operation(summary = "Get doctors by IDs",
+            description = "Fetch many doctors at once; unknown IDs are left out, request order is kept")
+    @APIResponse(responseCode = "200", description = "Doctors retrieved successfully")
+    @APIResponse(responseCode = "400", description = "Empty, invalid or too many IDs")
+    public Response getDoctorsByIds(List<Long> ids) {
+        return Response.ok(doctorService.getDoctorsByIds(ids)).build();
     }
 
     /**
      * Search doctors by name
      *
      * @param query Search term
+     * @param fields Optional comma-separated DoctorDTO fields to return (id is always included)
      * @return Matching doctors (200)
      */
     @GET
     @Path("/search")
     @Operation(summary = "Search doctors by name", description = "Search doctors by first or last name")
     @APIResponse(responseCode = "200", description = "Search completed")
-    public Response searchByName(@QueryParam("q") String query) {
+    @APIResponse(responseCode = "400", description = "Missing query or unknown field")
+    public Response searchByName(@QueryParam("q") String query, @QueryParam("fields") String fields) {
         if (query == null || query.trim().isEmpty()) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity("Search query is required")
                     .build();
         }
+        DoctorFields fieldset = DoctorFields.parse(fields);
+        if (fieldset != null) {
+            return Response.ok(doctorService.searchByName(query, fieldset)).build();
+        }
         List<DoctorDTO> doctors = doctorService.searchByName(query);
         return Response.ok(doctors).build();
     }
 
+    /**
+     * Autocomplete doctor names and specializations
+     *
+     * @param query Typed prefix
+     * @param limit Suggestions per kind (1-10)
+     * @return Top-rated doctors and largest specializations matching the prefix (200)
+     */
+    @GET
+    @Path("/autocomplete")
+    @Operation(summary = "Autocomplete doctors",
+            description = "Top-rated active doctors whose name or specialization starts with the query, " +
+                    "and the matching specializations")
+    @APIResponse(responseCode = "200", description = "Suggestions retrieved",
+            content = @Content(schema = @Schema(implementation = AutocompleteResultDTO.class)))
+    @APIResponse(responseCode = "400", description = "Missing query or invalid limit")
+    public Response autocomplete(@QueryParam("q") String query,
+                                 @QueryParam("limit") @DefaultValue("8") int limit) {
+        return Response.ok(doctorService.autocomplete(query, limit)).build();
+    }
+
+    /**
+     * Ranked search over names, specialization and qualifications
+     *
+     * @param query Free-text search (optional)
+     * @param namesOnly Match names only
+     * @param specialization Exact specialization (optional)
+     * @param minRating Minimum rating (optional)
+     * @param minFee Minimum consultation fee (optional)
+     * @param maxFee Maximum consultation fee (optional)
+     * @param minExperience Minimum years of experience (optional)
+     * @param page Zero-based page number
+     * @param size Page size (1-100)
+     * @return Page of ranked results (200)
+     */
+    @GET
+    @Path("/search/advanced")
+    @Operation(summary = "Ranked doctor search",
+            description = "Search names, specialization and qualifications with rating, fee and experience filters")
+    @APIResponse(responseCode = "200", description = "Search completed",
+            content = @Content(schema = @Schema(implementation = DoctorSearchResultDTO.class)))
+    @APIResponse(responseCode = "400", description = "Invalid paging or fee range")
+    public Response searchDoctors(@QueryParam("q") String query,
+                                  @QueryParam("namesOnly") @DefaultValue("false") boolean namesOnly,
+                                  @QueryParam("specialization") String specialization,
+                                  @QueryParam("minRating") Double minRating,
+                                  @QueryParam("minFee") Double minFee,
+                                  @QueryParam("maxFee") Double maxFee,
+                                  @QueryParam("minExperience") Integer minExperience,
+                                  @QueryParam("page") @DefaultValue("0") int page,
+                                  @QueryParam("size") @DefaultValue("20") int size) {
+        DoctorSearchRequest request = new DoctorSearchRequest(query);
+        request.namesOnly = namesOnly;
+        request.specialization = specialization;
+        request.minRating = minRating;
+        request.minFee = minFee;
+        request.maxFee = maxFee;
+        request.minExperience = minExperience;
+        request.page = page;
+        request.size = size;
+
+        DoctorSearchResultDTO result = doctorService.searchDoctors(request);
+        return Response.ok(result).build();
+    }
+
+    /**
+     * Filter doctors by any combination of criteria
+     *
+     * @param specialization Exact specialization (optional)
+     * @param minRating Minimum rating (optional)
+     * @param minExperience Minimum years of experience (optional)
+     * @param minFee Minimum consultation fee (optional)
+     * @param maxFee Maximum consultation fee (optional)
+     * @param name Substring of first or last name (optional)
+     * @param sort RATING, EXPERIENCE, FEE or NAME
+     * @param page Zero-based page number
+     * @param size Page size (1-100)
+     * @return Page of matching doctors (200)
+     */
+    @GET
+    @Path("/filter")
+    @Operation(summary = "Filter doctors",
+            description = "Filter by specialization, rating, experience, fee and name with sorting and paging")
+    @APIResponse(responseCode = "200", description = "Doctors retrieved",
+            content = @Content(schema = @Schema(implementation = DoctorPageDTO.class)))
+    @APIResponse(responseCode = "400", description = "Invalid sort, paging or fee range")
+    public Response filterDoctors(@QueryParam("specialization") String specialization,
+                                  @QueryParam("minRating") Double minRating,
+                                  @QueryParam("minExperience") Integer minExperience,
+                                  @QueryParam("minFee") Double minFee,
+                                  @QueryParam("maxFee") Double maxFee,
+                                  @QueryParam("name") String name,
+                                  @QueryParam("sort") @DefaultValue("RATING") String sort,
+                                  @QueryParam("page") @DefaultValue("0") int page,
+                                  @QueryParam("size") @DefaultValue("20") int size) {
+        DoctorFilter filter = new DoctorFilter();
+        filter.specialization = specialization;
+        filter.minRating = minRating;
+        filter.minExperience = minExperience;
+        filter.minFee = minFee;
+        filter.maxFee = maxFee;
+        filter.name = name;
+        filter.sort = parseSort(sort);
+        filter.page = page;
+        filter.size = size;
+
+        DoctorPageDTO result = doctorService.filterDoctors(filter);
+        return Response.ok(result).build();
+    }
+
+    /**
+     * Get query shape and plan cache counters for doctor filtering
+     *
+     * @return Filter metrics (200)
+     */
+    @GET
+    @Path("/filter/metrics")
+    @Operation(summary = "Filter plan cache metrics",
+            description = "Shape reuse of the filter queries and Hibernate query plan cache hit rate")
+    @APIResponse(responseCode = "200", description = "Metrics retrieved")
+    public Response getFilterMetrics() {
+        return Response.ok(doctorService.getFilterMetrics()).build();
+    }
+
+    /**
+     * Get profile cache metrics
+     *
+     * @return Cache metrics (200)
+     */
+    @GET
+    @Path("/profile-cache/metrics")
+    @Operation(summary = "Profile cache metrics",
+            description = "Size, hit rate, evictions and invalidations of the doctor profile cache")
+    @APIResponse(responseCode = "200", description = "Metrics retrieved")
+    public Response getProfileCacheMetrics() {
+        return Response.ok(doctorService.getProfileCacheMetrics()).build();
+    }
+
+    /**
+     * Get second-level cache metrics
+     *
+     * @return Cache metrics (200)
+     */
+    @GET
+    @Path("/entity-cache/metrics")
+    @Operation(summary = "Entity cache metrics",
+            description = "Hit rates of the Hibernate second-level cache regions and the query cache")
+    @APIResponse(responseCode = "200", description = "Metrics retrieved")
+    public Response getEntityCacheMetrics() {
+        return Response.ok(doctorService.getEntityCacheMetrics()).build();
+    }
+
+    private LocalTime parseTime(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid time: " + value + " (expected HH:mm)");
+        }
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private List<Long> parseIds(List<String> values) {
+        List<Long> ids = new ArrayList<>();
+        for (String value : values) {
+            for (String part : value.split(",")) {
+                if (part.isBlank()) {
+                    continue;
+                }
+                try {
+                    ids.add(Long.valueOf(part.trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid doctor ID: " + part.trim());
+                }
+            }
+        }
+        return ids;
+    }
+
+    private DoctorFilter.Sort parseSort(String sort) {
+        try {
+            return DoctorFilter.Sort.valueOf(sort.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sort: " + sort
+                    + ". Use one of RATING, EXPERIENCE, FEE, NAME");
+        }
+    }
+
     /**
      * Find doctors by specialization
      *
      * @param specialization Medical specialization
+     * @param fields Optional comma-separated DoctorDTO fields to return (id is always included)
      * @return Doctors with matching specialization (200)
      */
     @GET
     @Path("/specialization/{specialization}")
     @Operation(summary = "Find by specialization", description = "Get doctors by medical specialization")
     @APIResponse(responseCode = "200", description = "Doctors retrieved")
-    public Response findBySpecialization(@PathParam("specialization") String specialization) {
+    @APIResponse(responseCode = "400", description = "Unknown field in fields")
+    public Response findBySpecialization(@PathParam("specialization") String specialization,
+                                         @QueryParam("fields") String fields) {
+        DoctorFields fieldset = DoctorFields.parse(fields);
+        if (fieldset != null) {
+            return Response.ok(doctorService.findBySpecialization(specialization, fieldset)).build();
+        }
         List<DoctorDTO> doctors = doctorService.findBySpecialization(specialization);
         return Response.ok(doctors).build();
     }
@@ -164,14 +455,26 @@ public class DoctorResource {
     /**
      * Get top-rated doctors
      *
-     * @return Top-rated doctors (rating >= 4.0) (200)
+     * @param specialization Optional exact specialization
+     * @param limit Optional maximum number of doctors
+     * @param fields Optional comma-separated DoctorDTO fields to return (id is always included)
+     * @return Top-rated doctors (rating >= 4.0), best Bayesian score first (200)
      */
     @GET
     @Path("/top-rated")
-    @Operation(summary = "Get top-rated doctors", description = "Get doctors with rating >= 4.0")
+    @Operation(summary = "Get top-rated doctors",
+            description = "Get doctors with rating >= 4.0, ranked by rating adjusted for review count")
     @APIResponse(responseCode = "200", description = "Top-rated doctors retrieved")
-    public Response findTopRated() {
-        List<DoctorDTO> doctors = doctorService.findTopRated();
+    @APIResponse(responseCode = "400", description = "Invalid limit or unknown field in fields")
+    public Response findTopRated(@QueryParam("specialization") String specialization,
+                                 @QueryParam("limit") Integer limit,
+                                 @QueryParam("fields") String fields) {
+        int max = limit != null ? limit : Integer.MAX_VALUE;
+        DoctorFields fieldset = DoctorFields.parse(fields);
+        if (fieldset != null) {
+            return Response.ok(doctorService.findTopRated(specialization, max, fieldset)).build();
+        }
+        List<DoctorDTO> doctors = doctorService.findTopRated(specialization, max);
         return Response.ok(doctors).build();
     }
 
@@ -179,13 +482,19 @@ public class DoctorResource {
      * Find doctors by minimum rating
      *
      * @param rating Minimum rating
+     * @param fields Optional comma-separated DoctorDTO fields to return (id is always included)
      * @return Doctors with rating >= specified value (200)
      */
     @GET
     @Path("/rating/{rating}")
     @Operation(summary = "Find by minimum rating", description = "Get doctors with minimum rating")
     @APIResponse(responseCode = "200", description = "Doctors retrieved")
-    public Response findByMinimumRating(@PathParam("rating") double rating) {
+    @APIResponse(responseCode = "400", description = "Unknown field in fields")
+    public Response findByMinimumRating(@PathParam("rating") double rating, @QueryParam("fields") String fields) {
+        DoctorFields fieldset = DoctorFields.parse(fields);
+        if (fieldset != null) {
+            return Response.ok(doctorService.findByMinimumRating(rating, fieldset)).build();
+        }
         List<DoctorDTO> doctors = doctorService.findByMinimumRating(rating);
         return Response.ok(doctors).build();
     }
@@ -194,13 +503,19 @@ public class DoctorResource {
      * Find doctors by minimum experience
      *
      * @param years Minimum years of experience
+     * @param fields Optional comma-separated DoctorDTO fields to return (id is always included)
      * @return Doctors with experience >= specified years (200)
      */
     @GET
     @Path("/experience/{years}")
     @Operation(summary = "Find by experience", description = "Get doctors with minimum years of experience")
     @APIResponse(responseCode = "200", description = "Doctors retrieved")
-    public Response findByMinimumExperience(@PathParam("years") int years) {
+    @APIResponse(responseCode = "400", description = "Unknown field in fields")
+    public Response findByMinimumExperience(@PathParam("years") int years, @QueryParam("fields") String fields) {
+        DoctorFields fieldset = DoctorFields.parse(fields);
+        if (fieldset != null) {
+            return Response.ok(doctorService.findByMinimumExperience(years, fieldset)).build();
+        }
         List<DoctorDTO> doctors = doctorService.findByMinimumExperience(years);
         return Response.ok(doctors).build();
     }
@@ -209,20 +524,27 @@ public class DoctorResource {
      * Find doctors available on specific day
      *
      * @param day Day of week (e.g., MONDAY)
+     * @param from Optional range start (HH:mm), requires to
+     * @param to Optional range end (HH:mm), requires from
      * @return Available doctors (200)
      */
     @GET
     @Path("/available/{day}")
-    @Operation(summary = "Find available on day", description = "Get doctors available on specific day of week")
+    @Operation(summary = "Find available on day",
+            description = "Get doctors available on specific day of week, optionally for a whole time range")
     @APIResponse(responseCode = "200", description = "Available doctors retrieved")
-    @APIResponse(responseCode = "400", description = "Invalid day of week")
-    public Response findAvailableOnDay(@PathParam("day") String day) {
+    @APIResponse(responseCode = "400", description = "Invalid day of week or time range")
+    public Response findAvailableOnDay(@PathParam("day") String day,
+                                       @QueryParam("from") String from,
+                                       @QueryParam("to") String to) {
+        LocalTime fromTime = parseTime(from);
+        LocalTime toTime = parseTime(to);
         try {
-            List<DoctorDTO> doctors = doctorService.findAvailableOnDay(day);
+            List<DoctorDTO> doctors = doctorService.findAvailable(day, fromTime, toTime);
             return Response.ok(doctors).build();
         } catch (IllegalArgumentException e) {
             return Response.status(Response.Status.BAD_REQUEST)
-                    .entity("Invalid day of week: " + day)
+                    .entity(e.getMessage().startsWith("Invalid day of week") ? "Invalid day of week: " + day : e.getMessage())
                     .build();
         }
     }
@@ -232,20 +554,26 @@ public class DoctorResource {
      *
      * @param minFee Minimum fee
      * @param maxFee Maximum fee
+     * @param fields Optional comma-separated DoctorDTO fields to return (id is always included)
      * @return Doctors within fee range (200)
      */
     @GET
     @Path("/fee-range")
     @Operation(summary = "Find by fee range", description = "Get doctors within consultation fee range")
     @APIResponse(responseCode = "200", description = "Doctors retrieved")
-    @APIResponse(responseCode = "400", description = "Invalid fee range")
+    @APIResponse(responseCode = "400", description = "Invalid fee range or unknown field")
     public Response findByConsultationFeeRange(@QueryParam("min") double minFee,
-                                               @QueryParam("max") double maxFee) {
+                                               @QueryParam("max") double maxFee,
+                                               @QueryParam("fields") String fields) {
         if (minFee < 0 || maxFee < 0 || minFee > maxFee) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity("Invalid fee range")
                     .build();
         }
+        DoctorFields fieldset = DoctorFields.parse(fields);
+        if (fieldset != null) {
+            return Response.ok(doctorService.findByConsultationFeeRange(minFee, maxFee, fieldset)).build();
+        }
         List<DoctorDTO> doctors = doctorService.findByConsultationFeeRange(minFee, maxFee);
         return Response.ok(doctors).build();
     }
@@ -338,21 +666,45 @@ public class DoctorResource {
     // ===============================================
 
     /**
-     * Get all reviews for a doctor
+     * Get reviews for a doctor, newest first
      *
      * @param id Doctor ID
-     * @return List of reviews (200)
+     * @param cursor nextCursor of the previous page (omit for the first page)
+     * @param limit Page size (1-100)
+     * @return Page of reviews (200)
      */
     @GET
     @Path("/{id}/reviews")
-    @Operation(summary = "Get doctor reviews", description = "Retrieve all reviews for a specific doctor")
-    @APIResponse(responseCode = "200", description = "Reviews retrieved successfully")
+    @Operation(summary = "Get doctor reviews", description = "Retrieve a doctor's reviews, newest first, page by page")
+    @APIResponse(responseCode = "200", description = "Reviews retrieved successfully",
+            content = @Content(schema = @Schema(implementation = ReviewPageDTO.class)))
     @APIResponse(responseCode = "404", description = "Doctor not found")
-    public Response getDoctorReviews(@PathParam("id") Long id) {
-        List<ReviewDTO> reviews = doctorService.getDoctorReviews(id);
+    @APIResponse(responseCode = "400", description = "Invalid cursor or limit")
+    public Response getDoctorReviews(@PathParam("id") Long id,
+                                     @QueryParam("cursor") String cursor,
+                                     @QueryParam("limit") @DefaultValue("20") int limit) {
+        ReviewPageDTO reviews = doctorService.getDoctorReviews(id, cursor, limit);
         return Response.ok(reviews).build();
     }
 
+    /**
+     * Import reviews from the legacy system
+     *
+     * @param reviews Reviews to import (at most 10000)
+     * @return Imported, duplicate and rejected counts (200)
+     */
+    @POST
+    @Path("/reviews/import")
+    @Operation(summary = "Import reviews",
+            description = "Bulk import legacy reviews; existing (doctor, patient) pairs are skipped as duplicates")
+    @APIResponse(responseCode = "200", description = "Import finished",
+            content = @Content(schema = @Schema(implementation = ReviewImportResultDTO.class)))
+    @APIResponse(responseCode = "400", description = "Empty or oversized import")
+    public Response importReviews(List<ImportReviewRequest> reviews) {
+        ReviewImportResultDTO result = doctorService.importReviews(reviews);
+        return Response.ok(result).build();
+    }
+
     /**
      * Add a review for a doctor
      *
@@ -372,19 +724,80 @@ public class DoctorResource {
         return Response.status(Response.Status.CREATED).entity(review).build();
     }
 
+    /**
+     * Update a review
+     *
+     * @param id Doctor ID
+     * @param reviewId Review ID
+     * @param request New rating and optional comment
+     * @return Updated review (200)
+     */
+    @PUT
+    @Path("/{id}/reviews/{reviewId}")
+    @Operation(summary = "Update doctor review", description = "Change the rating or comment of a review")
+    @APIResponse(responseCode = "200", description = "Review updated successfully")
+    @APIResponse(responseCode = "404", description = "Doctor or review not found")
+    @APIResponse(responseCode = "400", description = "Invalid input")
+    public Response updateDoctorReview(@PathParam("id") Long id,
+                                       @PathParam("reviewId") Long reviewId,
+                                       @Valid UpdateReviewRequest request) {
+        ReviewDTO review = doctorService.updateDoctorReview(id, reviewId, request);
+        return Response.ok(review).build();
+    }
+
+    /**
+     * Delete a review
+     *
+     * @param id Doctor ID
+     * @param reviewId Review ID
+     * @return No content (204)
+     */
+    @DELETE
+    @Path("/{id}/reviews/{reviewId}")
+    @Operation(summary = "Delete doctor review", description = "Remove a review and update the doctor's rating")
+    @APIResponse(responseCode = "204", description = "Review deleted successfully")
+    @APIResponse(responseCode = "404", description = "Doctor or review not found")
+    public Response deleteDoctorReview(@PathParam("id") Long id,
+                                       @PathParam("reviewId") Long reviewId) {
+        doctorService.deleteDoctorReview(id, reviewId);
+        return Response.noContent().build();
+    }
+
+    /**
+     * Get a doctor's rating histogram
+     *
+     * @param id Doctor ID
+     * @return Review counts per star with total and average (200)
+     */
+    @GET
+    @Path("/{id}/reviews/histogram")
+    @Operation(summary = "Get rating histogram", description = "Review counts per star rating for a doctor")
+    @APIResponse(responseCode = "200", description = "Histogram retrieved",
+            content = @Content(schema = @Schema(implementation = RatingHistogramDTO.class)))
+    @APIResponse(responseCode = "404", description = "Doctor not found")
+    public Response getRatingHistogram(@PathParam("id") Long id) {
+        RatingHistogramDTO histogram = doctorService.getRatingHistogram(id);
+        return Response.ok(histogram).build();
+    }
+
     /**
      * Get verified reviews for a doctor
      *
      * @param id Doctor ID
-     * @return List of verified reviews (200)
+     * @param cursor nextCursor of the previous page (omit for the first page)
+     * @param limit Page size (1-100)
+     * @return Page of verified reviews (200)
      */
     @GET
     @Path("/{id}/reviews/verified")
     @Operation(summary = "Get verified reviews", description = "Retrieve only verified reviews for a doctor")
     @APIResponse(responseCode = "200", description = "Verified reviews retrieved")
     @APIResponse(responseCode = "404", description = "Doctor not found")
-    public Response getVerifiedReviews(@PathParam("id") Long id) {
-        List<ReviewDTO> reviews = doctorService.getVerifiedDoctorReviews(id);
+    @APIResponse(responseCode = "400", description = "Invalid cursor or limit")
+    public Response getVerifiedReviews(@PathParam("id") Long id,
+                                       @QueryParam("cursor") String cursor,
+                                       @QueryParam("limit") @DefaultValue("20") int limit) {
+        ReviewPageDTO reviews = doctorService.getVerifiedDoctorReviews(id, cursor, limit);
         return Response.ok(reviews).build();
     }
 
@@ -393,28 +806,51 @@ public class DoctorResource {
      *
      * @param id Doctor ID
      * @param rating Rating value (1-5)
-     * @return List of reviews with specified rating (200)
+     * @param cursor nextCursor of the previous page (omit for the first page)
+     * @param limit Page size (1-100)
+     * @return Page of reviews with specified rating (200)
      */
     @GET
     @Path("/{id}/reviews/rating/{rating}")
     @Operation(summary = "Get reviews by rating", description = "Retrieve reviews with a specific rating")
     @APIResponse(responseCode = "200", description = "Reviews retrieved")
     @APIResponse(responseCode = "404", description = "Doctor not found")
-    @APIResponse(responseCode = "400", description = "Invalid rating")
+    @APIResponse(responseCode = "400", description = "Invalid rating, cursor or limit")
     public Response getReviewsByRating(@PathParam("id") Long id,
-                                       @PathParam("rating") int rating) {
-        List<ReviewDTO> reviews = doctorService.getDoctorReviewsByRating(id, rating);
+                                       @PathParam("rating") int rating,
+                                       @QueryParam("cursor") String cursor,
+                                       @QueryParam("limit") @DefaultValue("20") int limit) {
+        ReviewPageDTO reviews = doctorService.getDoctorReviewsByRating(id, rating, cursor, limit);
         return Response.ok(reviews).build();
     }
 
-}
-
-
-
-
-
-
-
-
 
+    // ===============================================
+    // APPOINTMENT HISTORY ENDPOINTS
+    // ===============================================
 
+    /**
+     * Get a doctor's appointment history, latest start first
+     *
+     * @param id Doctor ID
+     * @param status Only appointments in this status (optional)
+     * @param cursor nextCursor of the previous page (omit for the first page)
+     * @param limit Page size (1-100)
+     * @return Page of appointments with per-status counts (200)
+     */
+    @GET
+    @Path("/{id}/appointments/history")
+    @Operation(summary = "Get appointment history",
+            description = "Retrieve a doctor's appointments page by page, from the local copy of appointment events")
+    @APIResponse(responseCode = "200", description = "Appointment history retrieved",
+            content = @Content(schema = @Schema(implementation = AppointmentHistoryPageDTO.class)))
+    @APIResponse(responseCode = "404", description = "Doctor not found")
+    @APIResponse(responseCode = "400", description = "Invalid status, cursor or limit")
+    public Response getAppointmentHistory(@PathParam("id") Long id,
+                                          @QueryParam("status") String status,
+                                          @QueryParam("cursor") String cursor,
+                                          @QueryParam("limit") @DefaultValue("20") int limit) {
+        AppointmentHistoryPageDTO history = doctorService.getAppointmentHistory(id, status, cursor, limit);
+        return Response.ok(history).build();
+    }
+}
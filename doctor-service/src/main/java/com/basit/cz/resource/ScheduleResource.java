@@ -0,0 +1,164 @@
+package com.basit.cz.resource;
+
+import com.basit.cz.dto.CreateTimeOffRequest;
+import com.basit.cz.dto.ScheduleDTO;
+import com.basit.cz.service.DoctorService;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * REST Resource for Doctor Schedules and Time Off
+ *
+ * Handles all time-off operations:
+ * - View a doctor's approved time off
+ * - Request, approve, reject and cancel time off
+ * - List doctors on leave across the roster
+ */
+@Path("/api/doctors")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Tag(name = "Doctor Schedule", description = "Doctor schedule and time-off endpoints")
+public class ScheduleResource {
+
+    @Inject
+    DoctorService doctorService;
+
+    /**
+     * Get a doctor's approved time off in a date range
+     */
+    @GET
+    @Path("/{id}/schedule")
+    @Operation(
+            summary = "Get doctor schedule",
+            description = "Approved time off overlapping a date range (defaults to the coming week)"
+    )
+    @APIResponse(
+            responseCode = "200",
+            description = "Schedule retrieved successfully",
+            content = @Content(schema = @Schema(implementation = ScheduleDTO.class))
+    )
+    @APIResponse(responseCode = "400", description = "Invalid date range")
+    @APIResponse(responseCode = "404", description = "Doctor not found")
+    public Response getDoctorSchedule(@PathParam("id") Long doctorId,
+                                      @QueryParam("from") String from,
+                                      @QueryParam("to") String to) {
+        List<ScheduleDTO> schedule = doctorService.getDoctorSchedule(doctorId, parseDate(from), parseDate(to));
+        return Response.ok(schedule).build();
+    }
+
+    /**
+     * Request time off for a doctor
+     */
+    @POST
+    @Path("/{id}/time-off")
+    @Operation(
+            summary = "Request time off",
+            description = "Create a pending time-off request"
+    )
+    @APIResponse(
+            responseCode = "201",
+            description = "Time off requested",
+            content = @Content(schema = @Schema(implementation = ScheduleDTO.class))
+    )
+    @APIResponse(responseCode = "400", description = "Invalid input or overlapping request")
+    @APIResponse(responseCode = "404", description = "Doctor not found")
+    public Response requestTimeOff(@PathParam("id") Long doctorId, @Valid CreateTimeOffRequest request) {
+        ScheduleDTO schedule = doctorService.requestTimeOff(doctorId, request);
+        return Response.status(Response.Status.CREATED).entity(schedule).build();
+    }
+
+    /**
+     * Approve a pending time-off request
+     */
+    @POST
+    @Path("/{id}/time-off/{scheduleId}/approve")
+    @Consumes(MediaType.WILDCARD) // no request body
+    @Operation(summary = "Approve time off", description = "Approve a pending time-off request")
+    @APIResponse(responseCode = "200", description = "Time off approved")
+    @APIResponse(responseCode = "400", description = "Missing approver or request not pending")
+    @APIResponse(responseCode = "404", description = "Time off not found")
+    public Response approveTimeOff(@PathParam("id") Long doctorId,
+                                   @PathParam("scheduleId") Long scheduleId,
+                                   @QueryParam("by") String approver) {
+        return Response.ok(doctorService.approveTimeOff(doctorId, scheduleId, approver)).build();
+    }
+
+    /**
+     * Reject a pending time-off request
+     */
+    @POST
+    @Path("/{id}/time-off/{scheduleId}/reject")
+    @Consumes(MediaType.WILDCARD) // no request body
+    @Operation(summary = "Reject time off", description = "Reject a pending time-off request")
+    @APIResponse(responseCode = "200", description = "Time off rejected")
+    @APIResponse(responseCode = "400", description = "Missing user or request not pending")
+    @APIResponse(responseCode = "404", description = "Time off not found")
+    public Response rejectTimeOff(@PathParam("id") Long doctorId,
+                                  @PathParam("scheduleId") Long scheduleId,
+                                  @QueryParam("by") String rejectedBy) {
+        return Response.ok(doctorService.rejectTimeOff(doctorId, scheduleId, rejectedBy)).build();
+    }
+
+    /**
+     * Cancel a pending or approved time-off request
+     */
+    @POST
+    @Path("/{id}/time-off/{scheduleId}/cancel")
+    @Consumes(MediaType.WILDCARD) // no request body
+    @Operation(summary = "Cancel time off", description = "Cancel a pending or approved time-off request")
+    @APIResponse(responseCode = "200", description = "Time off cancelled")
+    @APIResponse(responseCode = "400", description = "Request already rejected or cancelled")
+    @APIResponse(responseCode = "404", description = "Time off not found")
+    public Response cancelTimeOff(@PathParam("id") Long doctorId, @PathParam("scheduleId") Long scheduleId) {
+        return Response.ok(doctorService.cancelTimeOff(doctorId, scheduleId)).build();
+    }
+
+    /**
+     * List time-off requests awaiting approval
+     */
+    @GET
+    @Path("/time-off/pending")
+    @Operation(summary = "Pending time off", description = "All time-off requests awaiting approval, oldest first")
+    @APIResponse(responseCode = "200", description = "Pending requests retrieved")
+    public Response getPendingTimeOff() {
+        return Response.ok(doctorService.getPendingTimeOff()).build();
+    }
+
+    /**
+     * List approved time off of all doctors overlapping a date range
+     */
+    @GET
+    @Path("/on-leave")
+    @Operation(
+            summary = "Doctors on leave",
+            description = "Approved time off of all doctors overlapping a date range, ordered by start date"
+    )
+    @APIResponse(responseCode = "200", description = "Time off retrieved")
+    @APIResponse(responseCode = "400", description = "Missing or invalid date range")
+    public Response getDoctorsOnLeave(@QueryParam("from") String from, @QueryParam("to") String to) {
+        return Response.ok(doctorService.getDoctorsOnLeave(parseDate(from), parseDate(to))).build();
+    }
+
+    private LocalDate parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + value + " (expected yyyy-MM-dd)");
+        }
+    }
+}
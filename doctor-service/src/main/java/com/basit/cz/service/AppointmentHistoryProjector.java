@@ -0,0 +1,127 @@
+package com.basit.cz.service;
+
+import com.basit.cz.entity.DoctorAppointment;
+import com.basit.cz.entity.DoctorAppointment.AppointmentStatus;
+import com.basit.cz.event.AppointmentEventMessage;
+import com.basit.cz.repository.DoctorAppointmentRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projects appointment events into the doctor-side appointment history
+ *
+ * Every event is an upsert of one DoctorAppointment row, so redelivered events
+ * are harmless. Events are keyed by appointment ID on the topic, which keeps one
+ * appointment's events in order; an event older than the last one applied (e.g.
+ * replayed from the start of the topic) only fills in fields that are still
+ * missing and never rolls back the status or times.
+ */
+@ApplicationScoped
+public class AppointmentHistoryProjector {
+
+    private static final Logger LOG = Logger.getLogger(AppointmentHistoryProjector.class);
+
+    @Inject
+    DoctorAppointmentRepository appointmentRepository;
+
+    /**
+     * Apply one event to the history
+     *
+     * @return Whether the event was recorded (false for event types the history does
+     *         not track and for appointments it cannot place in time)
+     * @throws IllegalArgumentException if the event lacks its appointment, doctor or type
+     */
+    @Transactional
+    public boolean apply(AppointmentEventMessage event) {
+        if (event.appointmentId == null || event.doctorId == null || event.eventType == null) {
+            throw new IllegalArgumentException("Appointment event without appointment, doctor or type");
+        }
+
+        // Status the event moves to (null keeps the current one) and the times it carries;
+        // created and rescheduled events set the times, the others only hint at the start
+        AppointmentStatus status;
+        LocalDateTime startTime = null;
+        LocalDateTime endTime = null;
+        LocalDateTime startHint;
+        switch (event.eventType) {
+            case AppointmentEventMessage.CREATED -> {
+                status = AppointmentStatus.SCHEDULED;
+                startTime = event.startTime;
+                endTime = event.endTime;
+                startHint = event.startTime;
+            }
+            case AppointmentEventMessage.RESCHEDULED -> {
+                status = null;
+                startTime = event.newStartTime;
+                endTime = event.newEndTime;
+                startHint = event.newStartTime;
+            }
+            case AppointmentEventMessage.CONFIRMED -> {
+                status = AppointmentStatus.CONFIRMED;
+                startHint = event.scheduledTime;
+            }
+            case AppointmentEventMessage.COMPLETED -> {
+                status = AppointmentStatus.COMPLETED;
+                startHint = event.scheduledTime;
+            }
+            case AppointmentEventMessage.CANCELLED -> {
+                status = AppointmentStatus.CANCELLED;
+                startHint = event.originalScheduledTime;
+            }
+            default -> {
+                return false;
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime eventTime = event.timestamp != null ? event.timestamp : now;
+
+        DoctorAppointment appointment = appointmentRepository.findById(event.appointmentId);
+        if (appointment == null) {
+            if (startHint == null) {
+                LOG.warnf("Skipping %s for appointment %d: start time unknown", event.eventType, event.appointmentId);
+                return false;
+            }
+            appointment = new DoctorAppointment();
+            appointment.appointmentId = event.appointmentId;
+            appointment.doctorId = event.doctorId;
+            appointment.patientId = event.patientId;
+            appointment.startTime = startHint;
+            appointment.endTime = endTime;
+            appointment.status = status != null ? status : AppointmentStatus.SCHEDULED;
+            appointment.lastEventAt = eventTime;
+            appointment.updatedAt = now;
+            appointmentRepository.persist(appointment);
+            return true;
+        }
+
+        if (eventTime.isBefore(appointment.lastEventAt)) {
+            // Out of date: only complete what is missing
+            if (appointment.patientId == null) {
+                appointment.patientId = event.patientId;
+            }
+            if (appointment.endTime == null && endTime != null) {
+                appointment.endTime = endTime;
+            }
+        } else {
+            appointment.doctorId = event.doctorId;
+            if (event.patientId != null) {
+                appointment.patientId = event.patientId;
+            }
+            if (startTime != null) {
+                appointment.startTime = startTime;
+                appointment.endTime = endTime;
+            }
+            if (status != null) {
+                appointment.status = status;
+            }
+            appointment.lastEventAt = eventTime;
+        }
+        appointment.updatedAt = now;
+        return true;
+    }
+}
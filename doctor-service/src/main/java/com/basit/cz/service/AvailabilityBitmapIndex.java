@@ -0,0 +1,262 @@
+package com.basit.cz.service;
+
+import com.basit.cz.repository.DoctorAvailabilityRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.jboss.logging.Logger;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory weekly availability of all active doctors at 5-minute resolution
+ *
+ * Each doctor's active slots are compiled into a week bitmap of 7 x 288 bits, bit
+ * (day * 288 + minuteOfDay / 5) meaning "available for that whole 5 minutes". The
+ * index also keeps the transpose: for every 5-minute slot of the week, a bitset of
+ * the doctors (by ordinal) available in it. "Who is available Tuesday 14:00-15:00"
+ * is then the AND of the twelve slot bitsets, with no database access.
+ *
+ * Slot times are rounded inwards (a slot 09:03-10:00 covers 09:05-10:00) and query
+ * ranges outwards, so a doctor is only reported when the whole range is covered.
+ *
+ * DoctorService recompiles a doctor through recompileAfterCommit() whenever the
+ * doctor's slots or active flag change, and other replicas' changes arrive as
+ * availability cache invalidations; the index is built at startup.
+ */
+@ApplicationScoped
+public class AvailabilityBitmapIndex {
+
+    private static final Logger LOG = Logger.getLogger(AvailabilityBitmapIndex.class);
+
+    public static final int SLOT_MINUTES = 5;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final int SLOTS_PER_WEEK = 7 * SLOTS_PER_DAY;
+
+    private static final int COMPILE_STRIPES = 64;
+
+    @Inject
+    DoctorAvailabilityRepository availabilityRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private final List<Long> idByOrdinal = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final Map<Long, BitSet> weekByDoctor = new HashMap<>();
+    private final BitSet[] doctorsBySlot = new BitSet[SLOTS_PER_WEEK];
+
+    // Serializes load-and-publish per doctor, so the last recompile always wins
+    private final Object[] compileLocks = new Object[COMPILE_STRIPES];
+
+    public AvailabilityBitmapIndex() {
+        for (int i = 0; i < SLOTS_PER_WEEK; i++) {
+            doctorsBySlot[i] = new BitSet();
+        }
+        for (int i = 0; i < COMPILE_STRIPES; i++) {
+            compileLocks[i] = new Object();
+        }
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        rebuild();
+    }
+
+    // ===============================================
+    // INDEX MAINTENANCE
+    // ===============================================
+
+    /**
+     * Recompile every doctor from the database
+     */
+    public void rebuild() {
+        Map<Long, BitSet> weeks = compile(QuarkusTransaction.joiningExisting().call(
+                () -> availabilityRepository.findActiveSlots()));
+
+        lock.writeLock().lock();
+        try {
+            ordinalById.clear();
+            idByOrdinal.clear();
+            freeOrdinals.clear();
+            weekByDoctor.clear();
+            for (BitSet slot : doctorsBySlot) {
+                slot.clear();
+            }
+            weeks.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recompile a doctor once the current transaction commits,
+     * immediately if there is none
+     */
+    public void recompileAfterCommit(Long doctorId) {
+        if (transactionRegistry.getTransactionKey() == null) {
+            recompile(doctorId);
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    recompile(doctorId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Recompile a doctor from the committed slots
+     */
+    public void recompile(Long doctorId) {
+        synchronized (compileLocks[(int) (doctorId & (COMPILE_STRIPES - 1))]) {
+            BitSet week = compile(QuarkusTransaction.requiringNew().call(
+                    () -> availabilityRepository.findActiveSlots(doctorId))).get(doctorId);
+
+            lock.writeLock().lock();
+            try {
+                remove(doctorId);
+                if (week != null) {
+                    put(doctorId, week);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // ===============================================
+    // QUERIES
+    // ===============================================
+
+    /**
+     * Doctors available on a day, either at any time or for a whole time range
+     *
+     * @param from Range start, or null for any time that day
+     * @param to Range end (exclusive), or null for any time that day
+     * @return IDs of the available doctors, in no particular order
+     */
+    public List<Long> findAvailable(DayOfWeek day, LocalTime from, LocalTime to) {
+        int dayStart = (day.getValue() - 1) * SLOTS_PER_DAY;
+        int first = dayStart;
+        int last = dayStart + SLOTS_PER_DAY;
+        boolean wholeRange = from != null;
+        if (wholeRange) {
+            first = dayStart + minuteOfDay(from) / SLOT_MINUTES;
+            last = dayStart + (minuteOfDay(to) + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet doctors = (BitSet) doctorsBySlot[first].clone();
+            for (int slot = first + 1; slot < last && !(wholeRange && doctors.isEmpty()); slot++) {
+                if (wholeRange) {
+                    doctors.and(doctorsBySlot[slot]);
+                } else {
+                    doctors.or(doctorsBySlot[slot]);
+                }
+            }
+
+            List<Long> ids = new ArrayList<>(doctors.cardinality());
+            for (int ordinal = doctors.nextSetBit(0); ordinal >= 0; ordinal = doctors.nextSetBit(ordinal + 1)) {
+                ids.add(idByOrdinal.get(ordinal));
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copy of a doctor's compiled week (empty when the doctor has no active slots)
+     */
+    public BitSet weekOf(Long doctorId) {
+        lock.readLock().lock();
+        try {
+            BitSet week = weekByDoctor.get(doctorId);
+            return week != null ? (BitSet) week.clone() : new BitSet(SLOTS_PER_WEEK);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===============================================
+    // COMPILATION
+    // ===============================================
+
+    /**
+     * Compile [doctorId, dayOfWeek, startTime, endTime] rows into week bitmaps
+     * (doctors whose slots cover no whole 5 minutes are left out)
+     */
+    private Map<Long, BitSet> compile(List<Object[]> slots) {
+        Map<Long, BitSet> weeks = new HashMap<>();
+        for (Object[] slot : slots) {
+            Long doctorId = (Long) slot[0];
+            DayOfWeek day;
+            try {
+                day = DayOfWeek.valueOf(((String) slot[1]).trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                LOG.warnf("Skipping availability of doctor %d with invalid day '%s'", doctorId, slot[1]);
+                continue;
+            }
+            int dayStart = (day.getValue() - 1) * SLOTS_PER_DAY;
+            int first = (minuteOfDay((LocalTime) slot[2]) + SLOT_MINUTES - 1) / SLOT_MINUTES;
+            int last = minuteOfDay((LocalTime) slot[3]) / SLOT_MINUTES;
+            if (first < last) {
+                weeks.computeIfAbsent(doctorId, id -> new BitSet(SLOTS_PER_WEEK))
+                        .set(dayStart + first, dayStart + last);
+            }
+        }
+        return weeks;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    // Callers hold the write lock
+    private void put(Long doctorId, BitSet week) {
+        Integer ordinal = freeOrdinals.pollFirst();
+        if (ordinal == null) {
+            ordinal = idByOrdinal.size();
+            idByOrdinal.add(doctorId);
+        } else {
+            idByOrdinal.set(ordinal, doctorId);
+        }
+        ordinalById.put(doctorId, ordinal);
+        weekByDoctor.put(doctorId, week);
+        for (int slot = week.nextSetBit(0); slot >= 0; slot = week.nextSetBit(slot + 1)) {
+            doctorsBySlot[slot].set(ordinal);
+        }
+    }
+
+    // Callers hold the write lock
+    private void remove(Long doctorId) {
+        Integer ordinal = ordinalById.remove(doctorId);
+        if (ordinal == null) {
+            return;
+        }
+        BitSet week = weekByDoctor.remove(doctorId);
+        for (int slot = week.nextSetBit(0); slot >= 0; slot = week.nextSetBit(slot + 1)) {
+            doctorsBySlot[slot].clear(ordinal);
+        }
+        idByOrdinal.set(ordinal, null);
+        freeOrdinals.addLast(ordinal);
+    }
+}
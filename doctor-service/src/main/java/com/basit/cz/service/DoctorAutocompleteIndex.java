@@ -0,0 +1,339 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.AutocompleteResultDTO;
+import com.basit.cz.dto.DoctorDTO;
+import com.basit.cz.dto.DoctorMapper;
+import com.basit.cz.repository.DoctorRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory autocomplete over active doctors' names and specializations
+ *
+ * Names and specializations are normalized as in DoctorSearchIndex and indexed in
+ * two compressed prefix tries: one of doctors, keyed by the full name, every later
+ * name token ("john smith", "smith") and the specialization, and one of
+ * specializations, keyed the same way. Every trie node keeps its best TOP_K entries
+ * (doctors by rating, then review count; specializations by doctor count), so a
+ * suggestion is a walk down the typed prefix and never touches the database.
+ *
+ * DoctorService feeds changes through refreshAfterCommit(), which re-reads the
+ * committed doctors, and other replicas' changes arrive as profile cache
+ * invalidations; only the changed doctors' keys are re-inserted. The tries are
+ * built from the database at startup.
+ */
+@ApplicationScoped
+public class DoctorAutocompleteIndex {
+
+    public static final int TOP_K = 10;
+
+    private static final Comparator<DoctorEntry> DOCTOR_RANKING = Comparator
+            .comparingDouble((DoctorEntry d) -> d.rating).reversed()
+            .thenComparing(d -> d.reviews, Comparator.reverseOrder())
+            .thenComparing(d -> d.id);
+
+    private static final Comparator<SpecializationEntry> SPECIALIZATION_RANKING = Comparator
+            .comparingInt((SpecializationEntry s) -> s.doctorCount).reversed()
+            .thenComparing(s -> s.name);
+
+    @Inject
+    DoctorRepository doctorRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final PrefixTrie<DoctorEntry> doctors = new PrefixTrie<>(DOCTOR_RANKING, TOP_K);
+    private final PrefixTrie<SpecializationEntry> specializations = new PrefixTrie<>(SPECIALIZATION_RANKING, TOP_K);
+    private final Map<Long, DoctorEntry> byId = new HashMap<>();
+    // Keyed by normalized specialization
+    private final Map<String, SpecializationEntry> specializationsByKey = new HashMap<>();
+
+    // Serializes load-and-publish, so the last refresh always wins
+    private final Object refreshLock = new Object();
+
+    void onStart(@Observes StartupEvent event) {
+        rebuild();
+    }
+
+    // ===============================================
+    // INDEX MAINTENANCE
+    // ===============================================
+
+    /**
+     * Rebuild both tries from the active doctors
+     */
+    public void rebuild() {
+        List<DoctorDTO> active = QuarkusTransaction.joiningExisting().call(() ->
+                doctorRepository.findActiveDoctors().stream()
+                        .map(DoctorMapper::toDTO)
+                        .collect(Collectors.toList()));
+
+        lock.writeLock().lock();
+        try {
+            doctors.clear();
+            specializations.clear();
+            byId.clear();
+            specializationsByKey.clear();
+
+            Map<String, List<DoctorEntry>> bySpecialization = new HashMap<>();
+            for (DoctorDTO doctor : active) {
+                DoctorEntry entry = new DoctorEntry(doctor);
+                byId.put(entry.id, entry);
+                entry.keys.forEach(key -> doctors.addUnranked(key, entry));
+                if (!entry.specializationKey.isEmpty()) {
+                    bySpecialization.computeIfAbsent(entry.specializationKey, k -> new ArrayList<>()).add(entry);
+                }
+            }
+            bySpecialization.forEach((key, members) -> {
+                SpecializationEntry entry = new SpecializationEntry(members.get(0).specialization, key, members.size());
+                specializationsByKey.put(key, entry);
+                keys(key).forEach(k -> specializations.addUnranked(k, entry));
+            });
+            doctors.recomputeAll();
+            specializations.recomputeAll();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-index a doctor once the current transaction commits,
+     * immediately if there is none
+     */
+    public void refreshAfterCommit(Long doctorId) {
+        refreshAfterCommit(List.of(doctorId));
+    }
+
+    /**
+     * Re-index several doctors with one query once the current transaction commits,
+     * immediately if there is none
+     */
+    public void refreshAfterCommit(Collection<Long> doctorIds) {
+        if (transactionRegistry.getTransactionKey() == null) {
+            refresh(doctorIds);
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    refresh(doctorIds);
+                }
+            }
+        });
+    }
+
+    /**
+     * Re-index doctors from their committed rows (inactive or deleted ones are dropped)
+     */
+    public void refresh(Collection<Long> doctorIds) {
+        if (doctorIds.isEmpty()) {
+            return;
+        }
+        synchronized (refreshLock) {
+            List<DoctorDTO> committed = QuarkusTransaction.requiringNew().call(() ->
+                    doctorRepository.findByIds(doctorIds).stream()
+                            .map(DoctorMapper::toDTO)
+                            .collect(Collectors.toList()));
+            replace(doctorIds, committed);
+        }
+    }
+
+    /**
+     * Replace the doctors' entries with the given snapshots (inactive doctors are dropped)
+     */
+    void replace(Collection<Long> doctorIds, List<DoctorDTO> snapshots) {
+        lock.writeLock().lock();
+        try {
+            doctorIds.forEach(this::remove);
+            for (DoctorDTO doctor : snapshots) {
+                if (Boolean.TRUE.equals(doctor.isActive)) {
+                    put(new DoctorEntry(doctor));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-index one doctor snapshot
+     */
+    void index(DoctorDTO doctor) {
+        replace(List.of(doctor.id), List.of(doctor));
+    }
+
+    // ===============================================
+    // SUGGESTIONS
+    // ===============================================
+
+    /**
+     * Best doctors and specializations whose name or specialization starts with the query
+     *
+     * @param limit Suggestions per kind (1-TOP_K)
+     */
+    public AutocompleteResultDTO suggest(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Autocomplete query is required");
+        }
+        if (limit < 1 || limit > TOP_K) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + TOP_K);
+        }
+        String prefix = key(query);
+        if (prefix.isBlank()) {
+            // Punctuation only: nothing to complete
+            return new AutocompleteResultDTO(query, List.of(), List.of());
+        }
+        List<DoctorEntry> doctorHits;
+        List<SpecializationEntry> specializationHits;
+        lock.readLock().lock();
+        try {
+            doctorHits = doctors.top(prefix);
+            specializationHits = specializations.top(prefix);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // The top lists are immutable, so they are mapped outside the lock
+        return new AutocompleteResultDTO(query,
+                doctorHits.stream()
+                        .limit(limit)
+                        .map(d -> new AutocompleteResultDTO.DoctorSuggestion(
+                                d.id, d.fullName, d.specialization, d.rating, d.reviews))
+                        .collect(Collectors.toList()),
+                specializationHits.stream()
+                        .limit(limit)
+                        .map(s -> new AutocompleteResultDTO.SpecializationSuggestion(s.name, s.doctorCount))
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Number of indexed doctors
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock
+    private void put(DoctorEntry entry) {
+        byId.put(entry.id, entry);
+        entry.keys.forEach(key -> doctors.add(key, entry));
+        if (!entry.specializationKey.isEmpty()) {
+            SpecializationEntry old = specializationsByKey.get(entry.specializationKey);
+            replaceSpecialization(entry.specializationKey, old,
+                    new SpecializationEntry(old != null ? old.name : entry.specialization, entry.specializationKey,
+                            old != null ? old.doctorCount + 1 : 1));
+        }
+    }
+
+    // Callers hold the write lock
+    private void remove(Long doctorId) {
+        DoctorEntry entry = byId.remove(doctorId);
+        if (entry == null) {
+            return;
+        }
+        entry.keys.forEach(key -> doctors.remove(key, entry));
+        if (!entry.specializationKey.isEmpty()) {
+            SpecializationEntry old = specializationsByKey.get(entry.specializationKey);
+            replaceSpecialization(entry.specializationKey, old, old.doctorCount > 1
+                    ? new SpecializationEntry(old.name, old.specializationKey, old.doctorCount - 1)
+                    : null);
+        }
+    }
+
+    // Callers hold the write lock; entries are immutable, so a count change swaps the entry
+    private void replaceSpecialization(String specializationKey, SpecializationEntry old, SpecializationEntry updated) {
+        List<String> keys = keys(specializationKey);
+        if (old != null) {
+            keys.forEach(key -> specializations.remove(key, old));
+            specializationsByKey.remove(specializationKey);
+        }
+        if (updated != null) {
+            keys.forEach(key -> specializations.add(key, updated));
+            specializationsByKey.put(specializationKey, updated);
+        }
+    }
+
+    /**
+     * Normalized lookup key: tokens joined by single spaces, keeping a trailing
+     * space so "john " only matches names with a further token
+     */
+    static String key(String text) {
+        String joined = String.join(" ", DoctorSearchIndex.tokenize(text));
+        return !joined.isEmpty() && Character.isWhitespace(text.charAt(text.length() - 1)) ? joined + " " : joined;
+    }
+
+    /**
+     * The key itself and every suffix starting at a later token
+     */
+    static List<String> keys(String key) {
+        List<String> keys = new ArrayList<>();
+        if (key.isEmpty()) {
+            return keys;
+        }
+        keys.add(key);
+        for (int i = key.indexOf(' '); i >= 0; i = key.indexOf(' ', i + 1)) {
+            keys.add(key.substring(i + 1));
+        }
+        return keys;
+    }
+
+    /**
+     * Indexed snapshot of one active doctor (identity equality, one per indexing)
+     */
+    private static final class DoctorEntry {
+        final Long id;
+        final String fullName;
+        final String specialization;
+        final String specializationKey;
+        final double rating;
+        final int reviews;
+        final Set<String> keys = new LinkedHashSet<>();
+
+        DoctorEntry(DoctorDTO doctor) {
+            this.id = doctor.id;
+            this.fullName = (Objects.toString(doctor.firstName, "") + " " + Objects.toString(doctor.lastName, "")).trim();
+            this.specialization = Objects.toString(doctor.specialization, "").trim();
+            this.specializationKey = key(specialization);
+            this.rating = doctor.averageRating != null ? doctor.averageRating : 0.0;
+            this.reviews = doctor.totalReviews != null ? doctor.totalReviews : 0;
+            keys.addAll(keys(key(fullName)));
+            keys.addAll(keys(specializationKey));
+        }
+    }
+
+    /**
+     * A specialization and its number of active doctors (identity equality)
+     */
+    private static final class SpecializationEntry {
+        final String name;
+        final String specializationKey;
+        final int doctorCount;
+
+        SpecializationEntry(String name, String specializationKey, int doctorCount) {
+            this.name = name;
+            this.specializationKey = specializationKey;
+            this.doctorCount = doctorCount;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.DoctorDTO;
+import com.basit.cz.dto.DoctorMapper;
+import com.basit.cz.repository.DoctorRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-serialized directory of all active doctors, as served by GET /api/doctors
+ *
+ * The directory is built on first use as JSON bytes plus their gzip encoding and
+ * dropped after any committed doctor change, so the next read rebuilds it. The
+ * ETag is a hash of the JSON, so every replica holding the same directory hands
+ * out the same tag. A generation counter keeps a build that raced with a change
+ * from publishing the stale result.
+ */
+@ApplicationScoped
+public class DoctorDirectorySnapshot {
+
+    @Inject
+    DoctorRepository doctorRepository;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    /**
+     * Current directory, built if there is none
+     */
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot != null) {
+                return snapshot;
+            }
+            long builtAt = generation.get();
+            List<DoctorDTO> doctors = QuarkusTransaction.joiningExisting().call(() ->
+                    doctorRepository.findActiveDoctors().stream()
+                            .map(DoctorMapper::toDTO)
+                            .collect(Collectors.toList()));
+            Snapshot built = build(doctors);
+            if (generation.get() == builtAt) {
+                snapshot = built;
+            }
+            return built;
+        }
+    }
+
+    /**
+     * Drop the directory once the current transaction commits
+     * (immediately when there is none)
+     */
+    public void invalidateAfterCommit() {
+        if (transactionRegistry.getTransactionKey() == null) {
+            invalidate();
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    invalidate();
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop the directory now
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot build(List<DoctorDTO> doctors) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(doctors);
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+                out.write(json);
+            }
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json), 0, 16);
+            return new Snapshot(json, gzip.toByteArray(), "\"" + hash + "\"", "\"" + hash + "-gzip\"", doctors.size());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize the doctor directory", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * One immutable build of the directory; the arrays must not be modified
+     */
+    public static final class Snapshot {
+        public final byte[] json;
+        public final byte[] gzip;
+        public final String etag;
+        public final String gzipEtag;
+        public final int doctors;
+
+        Snapshot(byte[] json, byte[] gzip, String etag, String gzipEtag, int doctors) {
+            this.json = json;
+            this.gzip = gzip;
+            this.etag = etag;
+            this.gzipEtag = gzipEtag;
+            this.doctors = doctors;
+        }
+
+        /**
+         * Whether an If-None-Match header matches this build in either encoding
+         * (weak comparison, as RFC 9110 prescribes for If-None-Match)
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals("*") || candidate.equals(etag) || candidate.equals(gzipEtag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.CreateDoctorRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads doctors to import from a CSV or NDJSON stream, one row at a time
+ *
+ * CSV starts with a header naming CreateDoctorRequest fields (case, '_' and '-'
+ * are ignored, unknown columns are skipped) and follows RFC 4180 quoting, so
+ * quoted values may contain commas, doubled quotes and line breaks. NDJSON has
+ * one CreateDoctorRequest object per line. Blank lines are skipped in both.
+ *
+ * A row that cannot be parsed is returned with an error instead of failing the
+ * stream; only I/O failures and an unusable CSV header end the import.
+ */
+public class DoctorImportReader {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final BufferedReader reader;
+    private final Format format;
+    private List<String> header;
+    private List<String> columns;
+    private int line;
+    private int recordLine;
+
+    public DoctorImportReader(InputStream input, Format format) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+    }
+
+    /**
+     * Next row, or null at the end of the stream
+     */
+    public Row next() {
+        try {
+            return format == Format.CSV ? nextCsvRow() : nextJsonRow();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import at line " + line, e);
+        }
+    }
+
+    // ===============================================
+    // NDJSON
+    // ===============================================
+
+    private Row nextJsonRow() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+
+        try {
+            return new Row(line, JSON.readValue(text, CreateDoctorRequest.class), null);
+        } catch (JsonProcessingException e) {
+            return new Row(line, null, "invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    // ===============================================
+    // CSV
+    // ===============================================
+
+    private Row nextCsvRow() throws IOException {
+        if (columns == null) {
+            header = readRecord();
+            if (header == null) {
+                return null;
+            }
+            columns = new ArrayList<>(header.size());
+            for (String name : header) {
+                columns.add(normalize(name));
+            }
+            if (!columns.contains("email")) {
+                throw new IllegalArgumentException("CSV header must name the doctor fields, including email");
+            }
+        }
+
+        List<String> values = readRecord();
+        if (values == null) {
+            return null;
+        }
+        if (values.size() != columns.size()) {
+            return new Row(recordLine, null, "expected " + columns.size() + " columns but found " + values.size());
+        }
+
+        CreateDoctorRequest request = new CreateDoctorRequest();
+        for (int i = 0; i < columns.size(); i++) {
+            String value = values.get(i).isEmpty() ? null : values.get(i);
+            try {
+                set(request, columns.get(i), value);
+            } catch (NumberFormatException e) {
+                return new Row(recordLine, null, header.get(i) + " must be a number");
+            }
+        }
+        return new Row(recordLine, request, null);
+    }
+
+    /**
+     * Read one CSV record, skipping blank lines; recordLine is set to its first line
+     */
+    private List<String> readRecord() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+        recordLine = line;
+
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == text.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // Quoted value continues on the next line
+                String more = reader.readLine();
+                if (more == null) {
+                    break;
+                }
+                line++;
+                value.append('\n');
+                text = more;
+                i = 0;
+                continue;
+            }
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i < text.length() && text.charAt(i) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString().trim());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString().trim());
+        return values;
+    }
+
+    private static String normalize(String column) {
+        return column.trim().replace("_", "").replace("-", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static void set(CreateDoctorRequest request, String column, String value) {
+        switch (column) {
+            case "firstname" -> request.firstName = value;
+            case "lastname" -> request.lastName = value;
+            case "email" -> request.email = value;
+            case "phonenumber" -> request.phoneNumber = value;
+            case "specialization" -> request.specialization = value;
+            case "yearsofexperience" -> request.yearsOfExperience = value != null ? Integer.valueOf(value) : null;
+            case "licensenumber" -> request.licenseNumber = value;
+            case "qualifications" -> request.qualifications = value;
+            case "bio" -> request.bio = value;
+            case "consultationfee" -> request.consultationFee = value != null ? Double.valueOf(value) : null;
+            default -> {
+                // Unknown column
+            }
+        }
+    }
+
+    /**
+     * One parsed row: either a request or the reason it could not be read
+     */
+    public static final class Row {
+        public final int line;
+        public final CreateDoctorRequest request;
+        public final String error;
+
+        Row(int line, CreateDoctorRequest request, String error) {
+            this.line = line;
+            this.request = request;
+            this.error = error;
+        }
+    }
+}
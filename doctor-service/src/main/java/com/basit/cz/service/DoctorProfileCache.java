@@ -0,0 +1,255 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.DoctorDTO;
+import com.basit.cz.event.DoctorCacheInvalidation;
+import com.basit.cz.event.DoctorCacheInvalidationProducer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, least-recently-used read-through cache of doctor profiles
+ *
+ * Every entry records the version of its doctor at load time. Versions live in a
+ * fixed array of stripes indexed by doctor id, so invalidating a doctor is one
+ * atomic increment and needs no per-doctor bookkeeping. A hit whose version is
+ * behind the stripe counts as a miss, and a load that raced with an invalidation
+ * is returned but not stored, so a profile read before a commit can never outlive
+ * the commit's invalidation.
+ *
+ * DoctorService invalidates through invalidateAfterCommit(), which also tells the
+ * other replicas when doctor.profile-cache.broadcast-invalidations is enabled.
+ */
+@ApplicationScoped
+public class DoctorProfileCache {
+
+    private static final int VERSION_STRIPES = 1024;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    DoctorCacheInvalidationProducer invalidationProducer;
+
+    @ConfigProperty(name = "doctor.profile-cache.max-size", defaultValue = "10000")
+    int maxSize;
+
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            if (size() > maxSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder remoteInvalidations = new LongAdder();
+
+    // ===============================================
+    // READS
+    // ===============================================
+
+    /**
+     * Cached profile of a doctor, loaded on a miss
+     *
+     * @param loader Loads the profile; exceptions propagate and nothing is cached
+     */
+    public DoctorDTO get(Long id, Function<Long, DoctorDTO> loader) {
+        int stripe = stripe(id);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(id);
+        }
+        if (entry != null && entry.version == versions.get(stripe)) {
+            hits.increment();
+            return entry.doctor;
+        }
+
+        misses.increment();
+        long version = versions.get(stripe);
+        DoctorDTO doctor = loader.apply(id);
+        synchronized (entries) {
+            if (versions.get(stripe) == version) {
+                entries.put(id, new Entry(doctor, version));
+            }
+        }
+        return doctor;
+    }
+
+    /**
+     * Cached profiles of several doctors; all misses are loaded with one loader call
+     *
+     * @param ids Distinct doctor IDs
+     * @param loader Loads the missing profiles by ID; IDs it does not return are left out
+     * @return Profiles by ID, in no particular order
+     */
+    public Map<Long, DoctorDTO> getAll(Collection<Long> ids, Function<Collection<Long>, Map<Long, DoctorDTO>> loader) {
+        Map<Long, DoctorDTO> found = new HashMap<>();
+        Map<Long, Long> missing = new LinkedHashMap<>();
+        synchronized (entries) {
+            for (Long id : ids) {
+                Entry entry = entries.get(id);
+                long version = versions.get(stripe(id));
+                if (entry != null && entry.version == version) {
+                    found.put(id, entry.doctor);
+                } else {
+                    missing.put(id, version);
+                }
+            }
+        }
+        hits.add(found.size());
+        misses.add(missing.size());
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        Map<Long, DoctorDTO> loaded = loader.apply(missing.keySet());
+        synchronized (entries) {
+            loaded.forEach((id, doctor) -> {
+                if (versions.get(stripe(id)) == missing.get(id)) {
+                    entries.put(id, new Entry(doctor, missing.get(id)));
+                }
+            });
+        }
+        found.putAll(loaded);
+        return found;
+    }
+
+    // ===============================================
+    // INVALIDATION
+    // ===============================================
+
+    /**
+     * Drop a doctor's profile here and on the other replicas once the current
+     * transaction commits (immediately when there is none)
+     */
+    public void invalidateAfterCommit(Long id) {
+        invalidateAfterCommit(List.of(id));
+    }
+
+    /**
+     * Drop several doctors' profiles here and, with one message, on the other
+     * replicas once the current transaction commits (immediately when there is none)
+     */
+    public void invalidateAfterCommit(Collection<Long> ids) {
+        if (transactionRegistry.getTransactionKey() == null) {
+            invalidateAndBroadcast(ids);
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    invalidateAndBroadcast(ids);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop a doctor's profile on this replica
+     */
+    public void invalidate(Long id) {
+        versions.incrementAndGet(stripe(id));
+        synchronized (entries) {
+            entries.remove(id);
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * Drop a doctor's profile changed on another replica
+     */
+    public void invalidateRemote(Long id) {
+        invalidate(id);
+        remoteInvalidations.increment();
+    }
+
+    /**
+     * Drop every cached profile on this replica
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            for (int i = 0; i < VERSION_STRIPES; i++) {
+                versions.incrementAndGet(i);
+            }
+            entries.clear();
+        }
+    }
+
+    private void invalidateAndBroadcast(Collection<Long> ids) {
+        ids.forEach(this::invalidate);
+        invalidationProducer.publish(ids, DoctorCacheInvalidation.Change.PROFILE);
+    }
+
+    // ===============================================
+    // METRICS
+    // ===============================================
+
+    /**
+     * Cache size and hit/miss counters since startup
+     */
+    public CacheMetrics metrics() {
+        CacheMetrics metrics = new CacheMetrics();
+        synchronized (entries) {
+            metrics.size = entries.size();
+        }
+        metrics.maxSize = maxSize;
+        metrics.hits = hits.sum();
+        metrics.misses = misses.sum();
+        long lookups = metrics.hits + metrics.misses;
+        metrics.hitRate = lookups == 0 ? 0.0 : (double) metrics.hits / lookups;
+        metrics.evictions = evictions.sum();
+        metrics.invalidations = invalidations.sum();
+        metrics.remoteInvalidations = remoteInvalidations.sum();
+        return metrics;
+    }
+
+    private static int stripe(Long id) {
+        return (int) (id & (VERSION_STRIPES - 1));
+    }
+
+    private static final class Entry {
+        final DoctorDTO doctor;
+        final long version;
+
+        Entry(DoctorDTO doctor, long version) {
+            this.doctor = doctor;
+            this.version = version;
+        }
+    }
+
+    public static class CacheMetrics {
+        public int size;
+        public int maxSize;
+        public long hits;
+        public long misses;
+        public double hitRate;
+        public long evictions;
+        public long invalidations;
+        public long remoteInvalidations;
+    }
+}
@@ -0,0 +1,260 @@
+package com.basit.cz.service;
+
+import com.basit.cz.repository.DoctorRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory ranking of active doctors by Bayesian-adjusted rating
+ *
+ * A doctor's score is (C * m + averageRating * n) / (C + n) for n reviews: the
+ * average is pulled towards the prior mean m with the weight of C reviews, so a
+ * single 5-star review no longer outranks hundreds of 4.7s. m is the review-
+ * weighted mean of all doctors, taken when the index is built (or set with
+ * doctor.ranking.prior-mean), and C is doctor.ranking.prior-weight.
+ *
+ * Entries are kept sorted by score, roster-wide and per specialization, so a
+ * top-N query reads the first N entries instead of sorting every doctor.
+ *
+ * DoctorService refreshes doctors through refreshAfterCommit() whenever their
+ * rating, specialization or active flag may have changed; the index is built at
+ * startup.
+ */
+@ApplicationScoped
+public class DoctorRankingIndex {
+
+    private static final double DEFAULT_PRIOR_MEAN = 3.0;
+
+    // Rounding slack when comparing a score with the bound derived from it
+    private static final double SCORE_TOLERANCE = 1e-9;
+
+    private static final Comparator<Entry> BY_SCORE = Comparator
+            .comparingDouble((Entry e) -> e.score).reversed()
+            .thenComparing(Comparator.comparingInt((Entry e) -> e.totalReviews).reversed())
+            .thenComparingLong(e -> e.id);
+
+    @Inject
+    DoctorRepository doctorRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @ConfigProperty(name = "doctor.ranking.prior-weight", defaultValue = "10")
+    double priorWeight;
+
+    @ConfigProperty(name = "doctor.ranking.prior-mean")
+    Optional<Double> configuredPriorMean;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> byId = new HashMap<>();
+    private final TreeSet<Entry> ranked = new TreeSet<>(BY_SCORE);
+    private final Map<String, TreeSet<Entry>> bySpecialization = new HashMap<>();
+    private volatile double priorMean = DEFAULT_PRIOR_MEAN;
+
+    // Serializes load-and-publish, so the last refresh always wins
+    private final Object refreshLock = new Object();
+
+    void onStart(@Observes StartupEvent event) {
+        rebuild();
+    }
+
+    // ===============================================
+    // INDEX MAINTENANCE
+    // ===============================================
+
+    /**
+     * Reload every active doctor and recompute the prior mean
+     */
+    public void rebuild() {
+        synchronized (refreshLock) {
+            List<Object[]> rows = QuarkusTransaction.joiningExisting().call(() -> doctorRepository.findRatings());
+
+            double ratingSum = 0;
+            long reviewCount = 0;
+            for (Object[] row : rows) {
+                int reviews = reviews(row);
+                if (reviews > 0) {
+                    ratingSum += (Double) row[2] * reviews;
+                    reviewCount += reviews;
+                }
+            }
+            double mean = configuredPriorMean.orElse(reviewCount > 0 ? ratingSum / reviewCount : DEFAULT_PRIOR_MEAN);
+
+            lock.writeLock().lock();
+            try {
+                priorMean = mean;
+                byId.clear();
+                ranked.clear();
+                bySpecialization.clear();
+                rows.forEach(this::put);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Refresh a doctor once the current transaction commits,
+     * immediately if there is none
+     */
+    public void refreshAfterCommit(Long doctorId) {
+        refreshAfterCommit(List.of(doctorId));
+    }
+
+    /**
+     * Refresh several doctors with one query once the current transaction commits,
+     * immediately if there is none
+     */
+    public void refreshAfterCommit(Collection<Long> doctorIds) {
+        if (transactionRegistry.getTransactionKey() == null) {
+            refresh(doctorIds);
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    refresh(doctorIds);
+                }
+            }
+        });
+    }
+
+    /**
+     * Re-rank doctors from their committed ratings (inactive or deleted ones drop out)
+     */
+    public void refresh(Collection<Long> doctorIds) {
+        if (doctorIds.isEmpty()) {
+            return;
+        }
+        synchronized (refreshLock) {
+            List<Object[]> rows = QuarkusTransaction.requiringNew().call(() -> doctorRepository.findRatings(doctorIds));
+
+            lock.writeLock().lock();
+            try {
+                doctorIds.forEach(this::remove);
+                rows.forEach(this::put);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // ===============================================
+    // QUERIES
+    // ===============================================
+
+    /**
+     * Best-ranked active doctors, reading entries in rank order until enough match
+     * or no later entry can
+     *
+     * @param specialization Exact specialization, or null for all doctors
+     * @param minRating Minimum raw average rating
+     * @param limit Maximum number of doctors
+     * @return Doctor IDs, best score first
+     */
+    public List<Long> top(String specialization, double minRating, int limit) {
+        lock.readLock().lock();
+        try {
+            TreeSet<Entry> entries = specialization == null ? ranked : bySpecialization.get(specialization);
+            if (entries == null) {
+                return List.of();
+            }
+            // A score lies between the prior mean and the average rating, so a doctor
+            // rated minRating or more scores at least the lower of the two
+            double minScore = Math.min(priorMean, minRating) - SCORE_TOLERANCE;
+            List<Long> ids = new ArrayList<>(Math.min(limit, entries.size()));
+            for (Entry entry : entries) {
+                if (ids.size() >= limit || entry.score < minScore) {
+                    break;
+                }
+                if (entry.averageRating >= minRating) {
+                    ids.add(entry.id);
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bayesian score of an active doctor, or null when the doctor is not ranked
+     */
+    public Double score(Long doctorId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = byId.get(doctorId);
+            return entry != null ? entry.score : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Prior mean the scores are pulled towards
+     */
+    public double priorMean() {
+        return priorMean;
+    }
+
+    // Callers hold the write lock; row is [id, specialization, averageRating, totalReviews]
+    private void put(Object[] row) {
+        int reviews = reviews(row);
+        double average = reviews > 0 ? (Double) row[2] : 0.0;
+        double score = (priorWeight * priorMean + average * reviews) / (priorWeight + reviews);
+        Entry entry = new Entry((Long) row[0], (String) row[1], average, reviews, score);
+
+        byId.put(entry.id, entry);
+        ranked.add(entry);
+        bySpecialization.computeIfAbsent(entry.specialization, s -> new TreeSet<>(BY_SCORE)).add(entry);
+    }
+
+    // Callers hold the write lock
+    private void remove(Long doctorId) {
+        Entry entry = byId.remove(doctorId);
+        if (entry == null) {
+            return;
+        }
+        ranked.remove(entry);
+        TreeSet<Entry> entries = bySpecialization.get(entry.specialization);
+        entries.remove(entry);
+        if (entries.isEmpty()) {
+            bySpecialization.remove(entry.specialization);
+        }
+    }
+
+    private static int reviews(Object[] row) {
+        return row[2] != null && row[3] != null ? (Integer) row[3] : 0;
+    }
+
+    private static final class Entry {
+        final long id;
+        final String specialization;
+        final double averageRating;
+        final int totalReviews;
+        final double score;
+
+        Entry(long id, String specialization, double averageRating, int totalReviews, double score) {
+            this.id = id;
+            this.specialization = specialization;
+            this.averageRating = averageRating;
+            this.totalReviews = totalReviews;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.RatingHistogramDTO;
+import com.basit.cz.entity.Doctor;
+import com.basit.cz.entity.DoctorRatingAggregate;
+import com.basit.cz.repository.DoctorRatingAggregateRepository;
+import com.basit.cz.repository.DoctorRepository;
+import com.basit.cz.repository.DoctorReviewRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains per-doctor rating aggregates
+ *
+ * Review changes add per-star deltas to the doctor's aggregate row with one atomic
+ * UPDATE and copy the new count and average onto the doctor, so a new review costs
+ * O(1) instead of an AVG/COUNT over all of the doctor's reviews. A doctor without an
+ * aggregate row gets one seeded from the reviews table, under a lock on the doctor
+ * row so concurrent first reviews create it only once.
+ *
+ * A background verifier periodically recounts all reviews in one grouped query and
+ * repairs any aggregate that drifted (for example after direct SQL changes).
+ */
+@ApplicationScoped
+public class DoctorRatingAggregator {
+
+    private static final Logger LOG = Logger.getLogger(DoctorRatingAggregator.class);
+
+    private static final long[] NO_REVIEWS = new long[5];
+
+    @Inject
+    DoctorRatingAggregateRepository aggregateRepository;
+
+    @Inject
+    DoctorReviewRepository reviewRepository;
+
+    @Inject
+    DoctorRepository doctorRepository;
+
+    @Inject
+    DoctorSearchIndex searchIndex;
+
+    @Inject
+    DoctorAutocompleteIndex autocompleteIndex;
+
+    @Inject
+    DoctorStatisticsStore statistics;
+
+    @Inject
+    DoctorProfileCache profileCache;
+
+    @Inject
+    DoctorDirectorySnapshot directorySnapshot;
+
+    @Inject
+    DoctorRankingIndex rankingIndex;
+
+    @ConfigProperty(name = "doctor.rating.verify-interval", defaultValue = "PT15M")
+    Duration verifyInterval;
+
+    private ScheduledExecutorService verifier;
+
+    void onStart(@Observes StartupEvent event) {
+        verifier = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rating-verifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = verifyInterval.toMillis();
+        verifier.scheduleWithFixedDelay(this::reconcileQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (verifier != null) {
+            verifier.shutdownNow();
+        }
+    }
+
+    // ===============================================
+    // INCREMENTAL UPDATES
+    // ===============================================
+
+    /**
+     * Record a new review with the given rating
+     */
+    public void reviewAdded(Doctor doctor, int rating) {
+        long[] deltas = new long[5];
+        deltas[rating - 1] = 1;
+        apply(doctor, deltas);
+    }
+
+    /**
+     * Record a review whose rating changed
+     */
+    public void reviewChanged(Doctor doctor, int oldRating, int newRating) {
+        if (oldRating == newRating) {
+            return;
+        }
+        long[] deltas = new long[5];
+        deltas[oldRating - 1] = -1;
+        deltas[newRating - 1] = 1;
+        apply(doctor, deltas);
+    }
+
+    /**
+     * Record a removed review with the given rating
+     */
+    public void reviewRemoved(Doctor doctor, int rating) {
+        long[] deltas = new long[5];
+        deltas[rating - 1] = -1;
+        apply(doctor, deltas);
+    }
+
+    /**
+     * Record a batch of imported reviews for one doctor
+     *
+     * @param starDeltas New reviews per star: [1-star, 2-star, 3-star, 4-star, 5-star]
+     */
+    public void reviewsImported(Doctor doctor, long[] starDeltas) {
+        apply(doctor, starDeltas);
+    }
+
+    /**
+     * Apply star deltas to the doctor's aggregate and copy the new totals onto the doctor
+     *
+     * Must run in the transaction that changed the reviews, after the change. The
+     * doctor is re-read under lock, after the aggregate (the order repair uses), so a
+     * copy from a stale second-level cache entry is not written back.
+     */
+    private void apply(Doctor doctor, long[] starDeltas) {
+        boolean applied = aggregateRepository.applyDelta(doctor.id, starDeltas) > 0;
+        doctorRepository.getEntityManager().refresh(doctor, LockModeType.PESSIMISTIC_WRITE);
+        if (!applied) {
+            if (aggregateRepository.applyDelta(doctor.id, starDeltas) == 0) {
+                // Seeded from the reviews table, which already contains this change
+                DoctorRatingAggregate aggregate = new DoctorRatingAggregate();
+                aggregate.doctorId = doctor.id;
+                aggregate.setStarCounts(reviewRepository.countByRating(doctor.id));
+                aggregateRepository.persist(aggregate);
+            }
+        }
+
+        long[] totals = aggregateRepository.findTotals(doctor.id);
+        doctor.totalReviews = (int) totals[0];
+        doctor.averageRating = totals[0] == 0 ? 0.0 : (double) totals[1] / totals[0];
+        doctor.updatedAt = LocalDateTime.now();
+    }
+
+    // ===============================================
+    // READS
+    // ===============================================
+
+    /**
+     * Rating histogram for a doctor, read from the aggregate row
+     */
+    public RatingHistogramDTO getHistogram(Long doctorId) {
+        return aggregateRepository.findHistogram(doctorId)
+                .orElseGet(() -> new RatingHistogramDTO(doctorId, 0L, 0.0, NO_REVIEWS.clone()));
+    }
+
+    // ===============================================
+    // VERIFICATION
+    // ===============================================
+
+    /**
+     * Recount all reviews and repair aggregates that drifted
+     *
+     * @return Number of doctors repaired
+     */
+    public int reconcile() {
+        Set<Long> drifted = QuarkusTransaction.requiringNew().call(() -> {
+            Map<Long, long[]> actual = reviewRepository.countByRatingPerDoctor();
+            Map<Long, long[]> stored = new HashMap<>();
+            aggregateRepository.listAll().forEach(a -> stored.put(a.doctorId, a.starCounts()));
+
+            Set<Long> ids = new TreeSet<>(actual.keySet());
+            ids.addAll(stored.keySet());
+            ids.removeIf(id -> Arrays.equals(actual.getOrDefault(id, NO_REVIEWS), stored.get(id)));
+            return ids;
+        });
+
+        int repaired = 0;
+        for (Long doctorId : drifted) {
+            if (QuarkusTransaction.requiringNew().call(() -> repair(doctorId))) {
+                repaired++;
+            }
+        }
+        if (repaired > 0) {
+            LOG.warnf("Repaired rating aggregates of %d doctors", repaired);
+        }
+        return repaired;
+    }
+
+    /**
+     * Recount one doctor's reviews under lock and overwrite the aggregate
+     *
+     * Locks the aggregate before the doctor, the same order review writers use.
+     */
+    private boolean repair(Long doctorId) {
+        DoctorRatingAggregate aggregate = aggregateRepository.findById(doctorId, LockModeType.PESSIMISTIC_WRITE);
+        Doctor doctor = doctorRepository.findById(doctorId, LockModeType.PESSIMISTIC_WRITE);
+        if (doctor == null) {
+            if (aggregate != null) {
+                aggregateRepository.delete(aggregate);
+            }
+            return aggregate != null;
+        }
+        if (aggregate == null) {
+            // A first review may have created it while we waited for the doctor lock
+            aggregate = aggregateRepository.findById(doctorId, LockModeType.PESSIMISTIC_WRITE);
+        }
+        if (aggregate == null) {
+            aggregate = new DoctorRatingAggregate();
+            aggregate.doctorId = doctorId;
+            aggregateRepository.persist(aggregate);
+        }
+
+        long[] counts = reviewRepository.countByRating(doctorId);
+        if (Arrays.equals(counts, aggregate.starCounts())) {
+            return false;
+        }
+        aggregate.setStarCounts(counts);
+
+        doctor.totalReviews = (int) aggregate.reviewCount;
+        doctor.averageRating = aggregate.averageRating();
+        doctor.updatedAt = LocalDateTime.now();
+        searchIndex.refreshAfterCommit(doctorId);
+        autocompleteIndex.refreshAfterCommit(doctorId);
+        statistics.refreshAfterCommit(doctorId);
+        directorySnapshot.invalidateAfterCommit();
+        rankingIndex.refreshAfterCommit(doctorId);
+        profileCache.invalidateAfterCommit(doctorId);
+        return true;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            LOG.error("Rating aggregate verification failed", e);
+        }
+    }
+}
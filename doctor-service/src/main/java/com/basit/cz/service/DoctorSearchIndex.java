@@ -0,0 +1,443 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.DoctorDTO;
+import com.basit.cz.dto.DoctorMapper;
+import com.basit.cz.dto.DoctorSearchRequest;
+import com.basit.cz.dto.DoctorSearchResultDTO;
+import com.basit.cz.repository.DoctorRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index for doctor search
+ *
+ * Names, specialization and qualifications are normalized (lower case, no accents)
+ * and split into tokens. Each token is indexed by its trigrams, padded with "^" and
+ * "$" boundaries, plus a "^x" gram for one-letter prefixes. A query term of three or
+ * more characters intersects the postings of its trigrams (substring match), shorter
+ * terms use the boundary gram (prefix match). Candidates are then verified and scored,
+ * and numeric filters are checked on the indexed snapshot, so no search touches the
+ * database.
+ *
+ * DoctorService feeds changes through refreshAfterCommit(), which re-reads the
+ * committed doctors, and other replicas' changes arrive as profile cache
+ * invalidations; the index is built from the database at startup.
+ */
+@ApplicationScoped
+public class DoctorSearchIndex {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    // Field weights and match-quality scores for ranking
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double SPECIALIZATION_WEIGHT = 2.0;
+    private static final double QUALIFICATIONS_WEIGHT = 1.0;
+    private static final double EXACT_TOKEN = 3.0;
+    private static final double TOKEN_PREFIX = 2.0;
+    private static final double SUBSTRING = 1.0;
+
+    private static final Comparator<Hit> RANKING = Comparator
+            .comparingDouble((Hit h) -> h.score).reversed()
+            .thenComparing(h -> h.entry.doctor.averageRating != null ? h.entry.doctor.averageRating : 0.0,
+                    Comparator.reverseOrder())
+            .thenComparing(h -> h.entry.doctor.totalReviews != null ? h.entry.doctor.totalReviews : 0,
+                    Comparator.reverseOrder())
+            .thenComparing(h -> h.entry.doctor.id);
+
+    @Inject
+    DoctorRepository doctorRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final Map<String, BitSet> postings = new HashMap<>();
+    private final BitSet active = new BitSet();
+
+    // Serializes load-and-publish, so the last refresh always wins
+    private final Object refreshLock = new Object();
+
+    void onStart(@Observes StartupEvent event) {
+        rebuild();
+    }
+
+    // ===============================================
+    // INDEX MAINTENANCE
+    // ===============================================
+
+    /**
+     * Rebuild the whole index from the database
+     */
+    public void rebuild() {
+        List<DoctorDTO> doctors = QuarkusTransaction.joiningExisting().call(() ->
+                doctorRepository.listAll().stream()
+                        .map(DoctorMapper::toDTO)
+                        .collect(Collectors.toList()));
+
+        lock.writeLock().lock();
+        try {
+            ordinalById.clear();
+            entries.clear();
+            freeOrdinals.clear();
+            postings.clear();
+            active.clear();
+            doctors.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-index a doctor once the current transaction commits,
+     * immediately if there is none
+     */
+    public void refreshAfterCommit(Long doctorId) {
+        refreshAfterCommit(List.of(doctorId));
+    }
+
+    /**
+     * Re-index several doctors with one query once the current transaction commits,
+     * immediately if there is none
+     */
+    public void refreshAfterCommit(Collection<Long> doctorIds) {
+        if (transactionRegistry.getTransactionKey() == null) {
+            refresh(doctorIds);
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    refresh(doctorIds);
+                }
+            }
+        });
+    }
+
+    /**
+     * Re-index doctors from their committed rows (deleted ones are dropped)
+     */
+    public void refresh(Collection<Long> doctorIds) {
+        if (doctorIds.isEmpty()) {
+            return;
+        }
+        synchronized (refreshLock) {
+            List<DoctorDTO> committed = QuarkusTransaction.requiringNew().call(() ->
+                    doctorRepository.findByIds(doctorIds).stream()
+                            .map(DoctorMapper::toDTO)
+                            .collect(Collectors.toList()));
+            replace(doctorIds, committed);
+        }
+    }
+
+    /**
+     * Replace the doctors' entries with the given snapshots (doctors without one are dropped)
+     */
+    void replace(Collection<Long> doctorIds, List<DoctorDTO> snapshots) {
+        lock.writeLock().lock();
+        try {
+            doctorIds.forEach(this::remove);
+            snapshots.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-index one doctor snapshot
+     */
+    void index(DoctorDTO doctor) {
+        replace(List.of(doctor.id), List.of(doctor));
+    }
+
+    // ===============================================
+    // SEARCH
+    // ===============================================
+
+    /**
+     * Ranked, paginated search over active doctors
+     */
+    public DoctorSearchResultDTO search(DoctorSearchRequest request) {
+        if (request.page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (request.size < 1 || request.size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (request.minFee != null && request.maxFee != null && request.minFee > request.maxFee) {
+            throw new IllegalArgumentException("Invalid fee range: min must be less than or equal to max");
+        }
+
+        List<String> terms = tokenize(request.query);
+        String specialization = request.specialization != null && !request.specialization.isBlank()
+                ? normalize(request.specialization.trim())
+                : null;
+        int keep = (int) Math.min(((long) request.page + 1) * request.size, Integer.MAX_VALUE);
+
+        // Bounded heap of the best "keep" hits; its head is the worst one kept
+        PriorityQueue<Hit> best = new PriorityQueue<>(Math.min(keep, 1024), RANKING.reversed());
+        long total = 0;
+
+        lock.readLock().lock();
+        try {
+            BitSet candidates = candidates(terms);
+            for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+                Entry entry = entries.get(ordinal);
+                if (!matchesFilters(entry, specialization, request)) {
+                    continue;
+                }
+                double score = score(entry, terms, request.namesOnly);
+                if (score < 0) {
+                    continue;
+                }
+                total++;
+                Hit hit = new Hit(entry, score);
+                if (best.size() < keep) {
+                    best.add(hit);
+                } else if (RANKING.compare(hit, best.peek()) < 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        List<DoctorSearchResultDTO.Hit> page = ranked.stream()
+                .skip((long) request.page * request.size)
+                .map(h -> new DoctorSearchResultDTO.Hit(h.entry.doctor, h.score))
+                .collect(Collectors.toList());
+
+        return new DoctorSearchResultDTO(request.query, request.page, request.size, total, page);
+    }
+
+    /**
+     * @return number of indexed doctors (active and inactive)
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===============================================
+    // HELPER METHODS
+    // ===============================================
+
+    /**
+     * Active doctors whose grams contain every query term; all active doctors for no terms
+     */
+    private BitSet candidates(List<String> terms) {
+        BitSet result = (BitSet) active.clone();
+        for (String term : terms) {
+            for (String gram : queryGrams(term)) {
+                BitSet posting = postings.get(gram);
+                if (posting == null) {
+                    return new BitSet();
+                }
+                result.and(posting);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private boolean matchesFilters(Entry entry, String specialization, DoctorSearchRequest request) {
+        DoctorDTO doctor = entry.doctor;
+        if (specialization != null && !specialization.equals(entry.specialization)) {
+            return false;
+        }
+        if (request.minRating != null && (doctor.averageRating == null || doctor.averageRating < request.minRating)) {
+            return false;
+        }
+        if (request.minFee != null && (doctor.consultationFee == null || doctor.consultationFee < request.minFee)) {
+            return false;
+        }
+        if (request.maxFee != null && (doctor.consultationFee == null || doctor.consultationFee > request.maxFee)) {
+            return false;
+        }
+        return request.minExperience == null
+                || (doctor.yearsOfExperience != null && doctor.yearsOfExperience >= request.minExperience);
+    }
+
+    /**
+     * Sum of the best field match per term, or -1 if some term matches no field
+     * (trigram candidates can be false positives)
+     */
+    private double score(Entry entry, List<String> terms, boolean namesOnly) {
+        double total = 0;
+        for (String term : terms) {
+            double best = NAME_WEIGHT * matchQuality(entry.nameTokens, entry.name, term);
+            if (!namesOnly) {
+                best = Math.max(best, SPECIALIZATION_WEIGHT
+                        * matchQuality(entry.specializationTokens, entry.specialization, term));
+                best = Math.max(best, QUALIFICATIONS_WEIGHT
+                        * matchQuality(entry.qualificationTokens, entry.qualifications, term));
+            }
+            if (best == 0) {
+                return -1;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static double matchQuality(String[] tokens, String text, String term) {
+        double quality = 0;
+        for (String token : tokens) {
+            if (token.equals(term)) {
+                return EXACT_TOKEN;
+            }
+            if (token.startsWith(term)) {
+                quality = TOKEN_PREFIX;
+            }
+        }
+        if (quality == 0 && term.length() >= 3 && text.contains(term)) {
+            quality = SUBSTRING;
+        }
+        return quality;
+    }
+
+    private void put(DoctorDTO doctor) {
+        Integer free = freeOrdinals.poll();
+        int ordinal = free != null ? free : entries.size();
+        Entry entry = new Entry(doctor);
+        if (ordinal == entries.size()) {
+            entries.add(entry);
+        } else {
+            entries.set(ordinal, entry);
+        }
+        ordinalById.put(doctor.id, ordinal);
+
+        for (String gram : entry.grams) {
+            postings.computeIfAbsent(gram, g -> new BitSet()).set(ordinal);
+        }
+        active.set(ordinal, Boolean.TRUE.equals(doctor.isActive));
+    }
+
+    private void remove(Long doctorId) {
+        Integer ordinal = ordinalById.remove(doctorId);
+        if (ordinal == null) {
+            return;
+        }
+        Entry entry = entries.set(ordinal, null);
+        for (String gram : entry.grams) {
+            BitSet posting = postings.get(gram);
+            posting.clear(ordinal);
+            if (posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+        active.clear(ordinal);
+        freeOrdinals.push(ordinal);
+    }
+
+    static String normalize(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(NON_WORD.split(normalize(text)))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Grams indexed for a token: "^x" and the trigrams of "^token$"
+     */
+    static void tokenGrams(String token, Set<String> grams) {
+        grams.add("^" + token.charAt(0));
+        String padded = "^" + token + "$";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+    }
+
+    /**
+     * Grams a term must have: its trigrams (substring), or its "^"-prefixed gram if shorter than 3
+     */
+    static List<String> queryGrams(String term) {
+        if (term.length() < 3) {
+            return List.of("^" + term);
+        }
+        List<String> grams = new ArrayList<>(term.length() - 2);
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            grams.add(term.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Indexed snapshot of one doctor
+     */
+    private static class Entry {
+        final DoctorDTO doctor;
+        final String name;
+        final String specialization;
+        final String qualifications;
+        final String[] nameTokens;
+        final String[] specializationTokens;
+        final String[] qualificationTokens;
+        final Set<String> grams = new HashSet<>();
+
+        Entry(DoctorDTO doctor) {
+            this.doctor = doctor;
+            this.name = normalize(Objects.toString(doctor.firstName, "") + " " + Objects.toString(doctor.lastName, ""));
+            this.specialization = normalize(Objects.toString(doctor.specialization, "").trim());
+            this.qualifications = normalize(Objects.toString(doctor.qualifications, ""));
+            this.nameTokens = tokenize(name).toArray(new String[0]);
+            this.specializationTokens = tokenize(specialization).toArray(new String[0]);
+            this.qualificationTokens = tokenize(qualifications).toArray(new String[0]);
+            for (String[] tokens : List.of(nameTokens, specializationTokens, qualificationTokens)) {
+                for (String token : tokens) {
+                    tokenGrams(token, grams);
+                }
+            }
+        }
+    }
+
+    private static class Hit {
+        final Entry entry;
+        final double score;
+
+        Hit(Entry entry, double score) {
+            this.entry = entry;
+            this.score = score;
+        }
+    }
+}
@@ -3,16 +3,28 @@ package com.basit.cz.service;
 
 import com.basit.cz.dto.*;
 import com.basit.cz.entity.*;
+import com.basit.cz.event.DoctorAvailabilityEventProducer;
+import com.basit.cz.event.DoctorCacheInvalidation;
 import com.basit.cz.exception.NotFoundException;
 import com.basit.cz.repository.*;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceException;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.exception.ConstraintViolationException;
 
+import java.io.InputStream;
 import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.List;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -21,6 +33,20 @@ import java.util.stream.Collectors;
 @ApplicationScoped
 public class DoctorService {
 
+    public static final int MAX_BATCH_LOOKUP = 500;
+    public static final double TOP_RATED_MIN_RATING = 4.0;
+    public static final int MAX_SCHEDULE_RANGE_DAYS = 366;
+    public static final int MAX_REVIEW_PAGE_SIZE = 100;
+    public static final int MAX_REVIEW_IMPORT = 10_000;
+    public static final int MAX_APPOINTMENT_PAGE_SIZE = 100;
+    public static final int MAX_AVAILABILITY_TEMPLATE_SLOTS = 500;
+    private static final int MAX_IMPORT_ERRORS = 100;
+
+    // Weekly template order: by day of the week, then start time
+    private static final Comparator<DoctorAvailability> TEMPLATE_ORDER = Comparator
+            .comparing((DoctorAvailability a) -> DayOfWeek.valueOf(a.dayOfWeek))
+            .thenComparing(a -> a.startTime);
+
     @Inject
     DoctorRepository doctorRepository;
 
@@ -33,6 +59,51 @@ public class DoctorService {
     @Inject
     DoctorScheduleRepository scheduleRepository;
 
+    @Inject
+    DoctorAppointmentRepository appointmentRepository;
+
+    @Inject
+    DoctorSearchIndex searchIndex;
+
+    @Inject
+    DoctorAutocompleteIndex autocompleteIndex;
+
+    @Inject
+    DoctorStatisticsStore statistics;
+
+    @Inject
+    DoctorRatingAggregator ratingAggregator;
+
+    @Inject
+    DoctorProfileCache profileCache;
+
+    @Inject
+    DoctorDirectorySnapshot directorySnapshot;
+
+    @Inject
+    DoctorRankingIndex rankingIndex;
+
+    @Inject
+    AvailabilityBitmapIndex availabilityIndex;
+
+    @Inject
+    TimeOffIndex timeOffIndex;
+
+    @Inject
+    DoctorAvailabilityEventProducer availabilityEvents;
+
+    @Inject
+    SecondLevelCache secondLevelCache;
+
+    @Inject
+    Validator validator;
+
+    @ConfigProperty(name = "doctor.review.import-batch-size", defaultValue = "500")
+    int reviewImportBatchSize;
+
+    @ConfigProperty(name = "doctor.import.batch-size", defaultValue = "500")
+    int doctorImportBatchSize;
+
     // ===============================================
     // CRUD OPERATIONS
     // ===============================================
@@ -48,37 +119,62 @@ public class DoctorService {
         }
 
         // Create doctor entity
-        Doctor doctor = new Doctor();
-        doctor.firstName = request.firstName;
-        doctor.lastName = request.lastName;
-        doctor.email = request.email;
-        doctor.phoneNumber = request.phoneNumber;
-        doctor.specialization = request.specialization;
-        doctor.yearsOfExperience = request.yearsOfExperience;
-        doctor.licenseNumber = request.licenseNumber;
-        doctor.consultationFee = request.consultationFee;
-        doctor.bio = request.bio;
-        doctor.qualifications = request.qualifications;
-        doctor.isActive = true;
-        doctor.averageRating = 0.0;
-        doctor.totalReviews = 0;
-        doctor.createdAt = LocalDateTime.now();
-        doctor.updatedAt = LocalDateTime.now();
+        Doctor doctor = newDoctor(request);
 
         // Persist
         doctorRepository.persist(doctor);
 
         // Convert to DTO
-        return DoctorMapper.toDTO(doctor);
+        DoctorDTO dto = DoctorMapper.toDTO(doctor);
+        publishChange(doctor.id);
+        return dto;
     }
 
     /**
-     * Get doctor by ID
+     * Get doctor by ID (served from the profile cache)
      */
     public DoctorDTO getDoctorById(Long id) {
-        Doctor doctor = doctorRepository.findByIdOptional(id)
-                .orElseThrow(() -> new NotFoundException("Doctor not found with id: " + id));
-        return DoctorMapper.toDTO(doctor);
+        return profileCache.get(id, doctorId -> DoctorMapper.toDTO(doctorRepository.findByIdOptional(doctorId)
+                .orElseThrow(() -> new NotFoundException("Doctor not found with id: " + doctorId))));
+    }
+
+    /**
+     * Get several doctors by ID with at most one query
+     *
+     * Duplicate IDs are collapsed, unknown IDs are left out, and the result keeps
+     * the order in which the IDs were first requested.
+     */
+    public List<DoctorDTO> getDoctorsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one doctor ID is required");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.contains(null)) {
+            throw new IllegalArgumentException("Doctor IDs must not be null");
+        }
+        if (distinct.size() > MAX_BATCH_LOOKUP) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_LOOKUP + " doctor IDs per request");
+        }
+
+        Map<Long, DoctorDTO> doctors = loadDoctors(distinct);
+        return distinct.stream()
+                .map(doctors::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Profile cache size and hit rate
+     */
+    public DoctorProfileCache.CacheMetrics getProfileCacheMetrics() {
+        return profileCache.metrics();
+    }
+
+    /**
+     * Hibernate second-level and query cache hit rates, per region
+     */
+    public SecondLevelCache.CacheMetrics getEntityCacheMetrics() {
+        return secondLevelCache.metrics();
     }
 
     /**
@@ -90,12 +186,19 @@ public class DoctorService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Pre-serialized directory of all active doctors
+     */
+    public DoctorDirectorySnapshot.Snapshot getDirectorySnapshot() {
+        return directorySnapshot.get();
+    }
+
     /**
      * Update doctor information
      */
     @Transactional
     public DoctorDTO updateDoctor(Long id, UpdateDoctorRequest request) {
-        Doctor doctor = doctorRepository.findByIdOptional(id)
+        Doctor doctor = findForWrite(id)
                 .orElseThrow(() -> new NotFoundException("Doctor not found with id: " + id));
 
         // Update fields if provided
@@ -115,7 +218,9 @@ public class DoctorService {
         doctor.updatedAt = LocalDateTime.now();
         doctorRepository.persist(doctor);
 
-        return DoctorMapper.toDTO(doctor);
+        DoctorDTO dto = DoctorMapper.toDTO(doctor);
+        publishChange(doctor.id);
+        return dto;
     }
 
     /**
@@ -123,12 +228,15 @@ public class DoctorService {
      */
     @Transactional
     public void deactivateDoctor(Long id) {
-        Doctor doctor = doctorRepository.findByIdOptional(id)
+        Doctor doctor = findForWrite(id)
                 .orElseThrow(() -> new NotFoundException("Doctor not found with id: " + id));
 
         doctor.isActive = false;
         doctor.updatedAt = LocalDateTime.now();
         doctorRepository.persist(doctor);
+        publishChange(doctor.id);
+        availabilityChanged(doctor.id);
+        secondLevelCache.broadcastAfterCommit(doctor.id, DoctorCacheInvalidation.Change.AVAILABILITY);
     }
 
     /**
@@ -136,12 +244,186 @@ public class DoctorService {
      */
     @Transactional
     public void activateDoctor(Long id) {
-        Doctor doctor = doctorRepository.findByIdOptional(id)
+        Doctor doctor = findForWrite(id)
                 .orElseThrow(() -> new NotFoundException("Doctor not found with id: " + id));
 
         doctor.isActive = true;
         doctor.updatedAt = LocalDateTime.now();
         doctorRepository.persist(doctor);
+        publishChange(doctor.id);
+        availabilityChanged(doctor.id);
+        secondLevelCache.broadcastAfterCommit(doctor.id, DoctorCacheInvalidation.Change.AVAILABILITY);
+    }
+
+    // ===============================================
+    // BULK IMPORT
+    // ===============================================
+
+    /**
+     * Import doctors from a CSV or NDJSON stream
+     *
+     * Rows are validated as they are read and inserted in batches of
+     * doctor.import.batch-size, one transaction each. Email and license uniqueness
+     * is checked for a whole batch with one query; rows whose email or license is
+     * already registered, or appears earlier in the stream, count as duplicates.
+     */
+    public DoctorImportResultDTO importDoctors(InputStream input, DoctorImportReader.Format format) {
+        DoctorImportReader reader = new DoctorImportReader(input, format);
+        DoctorImportResultDTO result = new DoctorImportResultDTO();
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenLicenses = new HashSet<>();
+        List<DoctorImportReader.Row> batch = new ArrayList<>(doctorImportBatchSize);
+
+        for (DoctorImportReader.Row row = reader.next(); row != null; row = reader.next()) {
+            result.received++;
+            String error = row.error != null ? row.error : validateImportedDoctor(row.request);
+            if (error != null) {
+                result.rejected++;
+                addImportError(result, row.line, error);
+                continue;
+            }
+            String email = row.request.email.toLowerCase(Locale.ROOT);
+            String license = row.request.licenseNumber;
+            if (seenEmails.contains(email) || (license != null && seenLicenses.contains(license))) {
+                result.duplicates++;
+                addImportError(result, row.line, "email or license number appears earlier in the import");
+                continue;
+            }
+            seenEmails.add(email);
+            if (license != null) {
+                seenLicenses.add(license);
+            }
+
+            batch.add(row);
+            if (batch.size() == doctorImportBatchSize) {
+                importDoctorBatch(batch, result);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            importDoctorBatch(batch, result);
+        }
+        return result;
+    }
+
+    /**
+     * Insert one batch in its own transaction, falling back to row by row when a
+     * concurrent registration takes one of its emails or licenses
+     */
+    private void importDoctorBatch(List<DoctorImportReader.Row> batch, DoctorImportResultDTO result) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> insertDoctors(batch, result));
+        } catch (PersistenceException e) {
+            if (!isDuplicateDoctor(e)) {
+                throw e;
+            }
+            for (DoctorImportReader.Row row : batch) {
+                try {
+                    QuarkusTransaction.requiringNew().run(() -> insertDoctors(List.of(row), result));
+                } catch (PersistenceException duplicate) {
+                    if (!isDuplicateDoctor(duplicate)) {
+                        throw duplicate;
+                    }
+                    result.duplicates++;
+                    addImportError(result, row.line, "email or license number already registered");
+                }
+            }
+        }
+    }
+
+    /**
+     * Insert the rows whose email and license are free, inside the caller's transaction
+     *
+     * Counts are only added to the result once the rows are flushed, so a batch that
+     * fails on a unique index can be retried without counting twice.
+     */
+    private void insertDoctors(List<DoctorImportReader.Row> rows, DoctorImportResultDTO result) {
+        Set<String> emails = new HashSet<>();
+        Set<String> licenses = new HashSet<>();
+        for (DoctorImportReader.Row row : rows) {
+            emails.add(row.request.email.toLowerCase(Locale.ROOT));
+            if (row.request.licenseNumber != null) {
+                licenses.add(row.request.licenseNumber);
+            }
+        }
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenLicenses = new HashSet<>();
+        for (Object[] taken : doctorRepository.findEmailsAndLicenses(emails, licenses)) {
+            takenEmails.add((String) taken[0]);
+            if (taken[1] != null) {
+                takenLicenses.add((String) taken[1]);
+            }
+        }
+
+        List<DoctorImportReader.Row> duplicates = new ArrayList<>();
+        List<Doctor> doctors = new ArrayList<>(rows.size());
+        for (DoctorImportReader.Row row : rows) {
+            if (takenEmails.contains(row.request.email.toLowerCase(Locale.ROOT))
+                    || takenLicenses.contains(row.request.licenseNumber)) {
+                duplicates.add(row);
+                continue;
+            }
+            Doctor doctor = newDoctor(row.request);
+            doctorRepository.persist(doctor);
+            doctors.add(doctor);
+        }
+        // Sends the inserts in JDBC batches of hibernate-orm.jdbc.statement-batch-size
+        doctorRepository.flush();
+
+        if (!doctors.isEmpty()) {
+            List<Long> ids = doctors.stream().map(doctor -> doctor.id).collect(Collectors.toList());
+            searchIndex.refreshAfterCommit(ids);
+            autocompleteIndex.refreshAfterCommit(ids);
+            statistics.refreshAfterCommit(ids);
+            directorySnapshot.invalidateAfterCommit();
+            rankingIndex.refreshAfterCommit(ids);
+            // Nothing is cached for a new doctor, but other replicas must pick up the
+            // batch, with one message for all of it
+            profileCache.invalidateAfterCommit(ids);
+        }
+        result.imported += doctors.size();
+        result.duplicates += duplicates.size();
+        duplicates.forEach(row -> addImportError(result, row.line, "email or license number already registered"));
+    }
+
+    private String validateImportedDoctor(CreateDoctorRequest request) {
+        Set<ConstraintViolation<CreateDoctorRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        // Column lengths of the doctors table
+        if (tooLong(request.firstName, 100) || tooLong(request.lastName, 100)) {
+            return "names must not exceed 100 characters";
+        }
+        if (tooLong(request.email, 150)) {
+            return "email must not exceed 150 characters";
+        }
+        if (tooLong(request.phoneNumber, 20)) {
+            return "phone number must not exceed 20 characters";
+        }
+        if (tooLong(request.specialization, 100)) {
+            return "specialization must not exceed 100 characters";
+        }
+        if (tooLong(request.licenseNumber, 50)) {
+            return "license number must not exceed 50 characters";
+        }
+        if (tooLong(request.qualifications, 500)) {
+            return "qualifications must not exceed 500 characters";
+        }
+        return null;
+    }
+
+    private static boolean tooLong(String value, int maxLength) {
+        return value != null && value.length() > maxLength;
+    }
+
+    private void addImportError(DoctorImportResultDTO result, int line, String error) {
+        if (result.errors.size() < MAX_IMPORT_ERRORS) {
+            result.errors.add("Line " + line + ": " + error);
+        }
     }
 
     // ===============================================
@@ -158,24 +440,103 @@ public class DoctorService {
     }
 
     /**
-     * Search doctors by name
+     * Find doctors by specialization, with only the fieldset's fields
+     */
+    public List<Map<String, Object>> findBySpecialization(String specialization, DoctorFields fields) {
+        return sparse(doctorRepository.findBySpecialization(specialization, fields), fields);
+    }
+
+    /**
+     * Search active doctors by name (served from the in-memory search index,
+     * best matches first, at most DoctorSearchIndex.MAX_PAGE_SIZE results)
      */
     public List<DoctorDTO> searchByName(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             throw new IllegalArgumentException("Search term cannot be empty");
         }
 
-        return doctorRepository.searchByName(searchTerm).stream()
+        DoctorSearchRequest request = new DoctorSearchRequest(searchTerm);
+        request.namesOnly = true;
+        request.size = DoctorSearchIndex.MAX_PAGE_SIZE;
+
+        return searchIndex.search(request).results.stream()
+                .map(hit -> hit.doctor)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Search active doctors by name, with only the fieldset's fields
+     */
+    public List<Map<String, Object>> searchByName(String searchTerm, DoctorFields fields) {
+        return searchByName(searchTerm).stream()
+                .map(doctor -> DoctorMapper.toSparse(doctor, fields))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Ranked, paginated search over names, specialization and qualifications
+     * with optional rating, fee and experience filters
+     */
+    public DoctorSearchResultDTO searchDoctors(DoctorSearchRequest request) {
+        return searchIndex.search(request);
+    }
+
+    /**
+     * Top-rated active doctors and the specializations whose name starts with the query
+     * (served from the in-memory autocomplete index)
+     */
+    public AutocompleteResultDTO autocomplete(String query, int limit) {
+        return autocompleteIndex.suggest(query, limit);
+    }
+
+    /**
+     * Filter active doctors in the database by any combination of criteria,
+     * sorted and paginated
+     */
+    public DoctorPageDTO filterDoctors(DoctorFilter filter) {
+        List<DoctorDTO> doctors = doctorRepository.findByFilter(filter).stream()
                 .map(DoctorMapper::toDTO)
                 .collect(Collectors.toList());
+        long total = doctorRepository.countByFilter(filter);
+        return new DoctorPageDTO(filter.page, filter.size, total, doctors);
     }
 
     /**
-     * Find top-rated doctors (rating >= 4.0)
+     * Query shape and plan cache counters for doctor filtering
+     */
+    public DoctorFilterQueries.PlanCacheMetrics getFilterMetrics() {
+        return doctorRepository.filterMetrics();
+    }
+
+    /**
+     * Find top-rated doctors (rating >= 4.0), best Bayesian score first
      */
     public List<DoctorDTO> findTopRated() {
-        return doctorRepository.findTopRated().stream()
-                .map(DoctorMapper::toDTO)
+        return findTopRated(null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Find the best-ranked doctors with rating >= 4.0 (served from the ranking index)
+     *
+     * @param specialization Exact specialization, or null for all
+     * @param limit Maximum number of doctors
+     */
+    public List<DoctorDTO> findTopRated(String specialization, int limit) {
+        return ranked(rankingIndex.top(specialization, TOP_RATED_MIN_RATING, validateRankingLimit(limit)));
+    }
+
+    /**
+     * Find the best-ranked doctors with rating >= 4.0, with only the fieldset's fields
+     */
+    public List<Map<String, Object>> findTopRated(String specialization, int limit, DoctorFields fields) {
+        List<Long> ids = rankingIndex.top(specialization, TOP_RATED_MIN_RATING, validateRankingLimit(limit));
+        Map<Long, Map<String, Object>> doctors = new HashMap<>();
+        for (Map<String, Object> doctor : sparse(doctorRepository.findByIds(ids, fields), fields)) {
+            doctors.put((Long) doctor.get("id"), doctor);
+        }
+        return ids.stream()
+                .map(doctors::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
@@ -189,12 +550,17 @@ public class DoctorService {
     }
 
     /**
-     * Find doctors by specialization and minimum rating
+     * Find doctors by minimum rating, with only the fieldset's fields
+     */
+    public List<Map<String, Object>> findByMinimumRating(double minRating, DoctorFields fields) {
+        return sparse(doctorRepository.findByMinimumRating(minRating, fields), fields);
+    }
+
+    /**
+     * Find doctors by specialization and minimum rating, best Bayesian score first
      */
     public List<DoctorDTO> findBySpecializationAndRating(String specialization, double minRating) {
-        return doctorRepository.findBySpecializationAndRating(specialization, minRating).stream()
-                .map(DoctorMapper::toDTO)
-                .collect(Collectors.toList());
+        return ranked(rankingIndex.top(specialization, minRating, Integer.MAX_VALUE));
     }
 
     /**
@@ -206,18 +572,44 @@ public class DoctorService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Find doctors by minimum experience, with only the fieldset's fields
+     */
+    public List<Map<String, Object>> findByMinimumExperience(int minYears, DoctorFields fields) {
+        return sparse(doctorRepository.findByMinimumExperience(minYears, fields), fields);
+    }
+
     /**
      * Find doctors available on specific day
      */
     public List<DoctorDTO> findAvailableOnDay(String dayOfWeek) {
+        return findAvailable(dayOfWeek, null, null);
+    }
+
+    /**
+     * Find doctors available for a whole time range on a day
+     * (served from the availability bitmaps)
+     *
+     * @param from Range start, or null together with to for any time that day
+     * @param to Range end, or null together with from for any time that day
+     */
+    public List<DoctorDTO> findAvailable(String dayOfWeek, LocalTime from, LocalTime to) {
         if (!isValidDayOfWeek(dayOfWeek)) {
             throw new IllegalArgumentException(
                     "Invalid day of week. Use: MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY"
             );
         }
+        if ((from == null) != (to == null)) {
+            throw new IllegalArgumentException("Both from and to are required for a time range");
+        }
+        if (from != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
 
-        return doctorRepository.findAvailableOnDay(dayOfWeek).stream()
-                .map(DoctorMapper::toDTO)
+        List<Long> ids = availabilityIndex.findAvailable(DayOfWeek.valueOf(dayOfWeek.toUpperCase()), from, to);
+        return loadDoctors(ids).values().stream()
+                .sorted(Comparator.comparing((DoctorDTO d) -> d.firstName, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(d -> d.id))
                 .collect(Collectors.toList());
     }
 
@@ -234,6 +626,16 @@ public class DoctorService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Find doctors by consultation fee range, with only the fieldset's fields
+     */
+    public List<Map<String, Object>> findByConsultationFeeRange(double minFee, double maxFee, DoctorFields fields) {
+        if (minFee > maxFee) {
+            throw new IllegalArgumentException("Invalid fee range: min must be less than or equal to max");
+        }
+        return sparse(doctorRepository.findByConsultationFeeRange(minFee, maxFee, fields), fields);
+    }
+
     // ===============================================
     // UTILITY OPERATIONS
     // ===============================================
@@ -246,23 +648,17 @@ public class DoctorService {
     }
 
     /**
-     * Count doctors by specialization
+     * Count active doctors by specialization (served from the in-memory aggregates)
      */
     public long countBySpecialization(String specialization) {
-        return doctorRepository.countBySpecialization(specialization);
+        return statistics.countBySpecialization(specialization);
     }
 
     /**
-     * Get doctor statistics
+     * Get doctor statistics (served from the in-memory aggregates)
      */
     public DoctorStatistics getStatistics() {
-        Object[] stats = doctorRepository.getDoctorStatistics();
-
-        Long totalDoctors = ((Number) stats[0]).longValue();
-        Double avgRating = stats[1] != null ? ((Number) stats[1]).doubleValue() : 0.0;
-        Double avgExperience = stats[2] != null ? ((Number) stats[2]).doubleValue() : 0.0;
-
-        return new DoctorStatistics(totalDoctors, avgRating, avgExperience);
+        return statistics.statistics();
     }
 
     /**
@@ -272,6 +668,8 @@ public class DoctorService {
         public Long totalDoctors;
         public Double averageRating;
         public Double averageExperience;
+        public List<SpecializationDTO> bySpecialization;
+        public List<ExperienceBandDTO> byExperienceBand;
 
         public DoctorStatistics(Long totalDoctors, Double averageRating, Double averageExperience) {
             this.totalDoctors = totalDoctors;
@@ -350,6 +748,8 @@ public class DoctorService {
         availability.createdAt = LocalDateTime.now();
 
         availabilityRepository.persist(availability);
+        availabilityChanged(doctor.id);
+        secondLevelCache.broadcastAfterCommit(doctor.id, DoctorCacheInvalidation.Change.AVAILABILITY);
 
         return new AvailabilityDTO(
                 availability.id,
@@ -369,7 +769,7 @@ public class DoctorService {
     public AvailabilityDTO updateAvailability(
             Long availabilityId, CreateAvailabilityRequest request) {
 
-        DoctorAvailability availability = availabilityRepository.findByIdOptional(availabilityId)
+        DoctorAvailability availability = availabilityRepository.findByIdWithDoctor(availabilityId)
                 .orElseThrow(() -> new NotFoundException("Availability not found with id: " + availabilityId));
 
         // Validate time range if provided
@@ -395,6 +795,8 @@ public class DoctorService {
         }
 
         availabilityRepository.persist(availability);
+        availabilityChanged(availability.doctor.id);
+        secondLevelCache.broadcastAfterCommit(availability.doctor.id, DoctorCacheInvalidation.Change.AVAILABILITY);
 
         return new AvailabilityDTO(
                 availability.id,
@@ -412,10 +814,244 @@ public class DoctorService {
      */
     @Transactional
     public void deleteAvailability(Long availabilityId) {
-        DoctorAvailability availability = availabilityRepository.findByIdOptional(availabilityId)
+        DoctorAvailability availability = availabilityRepository.findByIdWithDoctor(availabilityId)
                 .orElseThrow(() -> new NotFoundException("Availability not found with id: " + availabilityId));
 
         availabilityRepository.delete(availability);
+        availabilityChanged(availability.doctor.id);
+        secondLevelCache.broadcastAfterCommit(availability.doctor.id, DoctorCacheInvalidation.Change.AVAILABILITY);
+    }
+
+    /**
+     * Replace a doctor's whole weekly availability with a template
+     *
+     * The template is validated as a whole and diffed in memory against the doctor's
+     * current slots: identical slots are kept, other existing rows are rewritten in
+     * place, and only the remainder is inserted or deleted. Inserts and updates are
+     * flushed in JDBC batches and deletes go out as one statement, all in one
+     * transaction. An empty template removes every slot.
+     */
+    @Transactional
+    public AvailabilityTemplateResultDTO replaceDoctorAvailability(Long doctorId,
+                                                                   List<CreateAvailabilityRequest> template) {
+        // Locked so concurrent template pushes are applied one after the other
+        Doctor doctor = findForWrite(doctorId)
+                .orElseThrow(() -> new NotFoundException("Doctor not found with id: " + doctorId));
+        if (template == null) {
+            throw new IllegalArgumentException("Availability template is required");
+        }
+        if (template.size() > MAX_AVAILABILITY_TEMPLATE_SLOTS) {
+            throw new IllegalArgumentException("A template can have at most " + MAX_AVAILABILITY_TEMPLATE_SLOTS + " slots");
+        }
+        List<DoctorAvailability> desired = validateTemplate(template);
+
+        List<DoctorAvailability> existing = availabilityRepository.findByDoctorId(doctorId);
+
+        AvailabilityTemplateResultDTO result = new AvailabilityTemplateResultDTO();
+        result.doctorId = doctorId;
+        List<DoctorAvailability> current = new ArrayList<>(desired.size());
+
+        // Slots already there with the same day and times are kept; at most their active flag changes
+        Map<String, Deque<DoctorAvailability>> existingByKey = new HashMap<>();
+        for (DoctorAvailability slot : existing) {
+            existingByKey.computeIfAbsent(slotKey(slot), key -> new ArrayDeque<>()).add(slot);
+        }
+        Set<Long> matchedIds = new HashSet<>();
+        List<DoctorAvailability> unmatched = new ArrayList<>();
+        for (DoctorAvailability slot : desired) {
+            Deque<DoctorAvailability> matches = existingByKey.get(slotKey(slot));
+            DoctorAvailability match = matches != null ? matches.poll() : null;
+            if (match == null) {
+                unmatched.add(slot);
+                continue;
+            }
+            if (match.isActive.equals(slot.isActive)) {
+                result.unchanged++;
+            } else {
+                match.isActive = slot.isActive;
+                result.updated++;
+            }
+            matchedIds.add(match.id);
+            current.add(match);
+        }
+
+        // Rewrite leftover rows with the remaining slots, then insert or delete the difference
+        List<DoctorAvailability> leftover = existing.stream()
+                .filter(slot -> !matchedIds.contains(slot.id))
+                .collect(Collectors.toList());
+        int reused = Math.min(leftover.size(), unmatched.size());
+        for (int i = 0; i < unmatched.size(); i++) {
+            DoctorAvailability slot = unmatched.get(i);
+            if (i < reused) {
+                DoctorAvailability row = leftover.get(i);
+                row.dayOfWeek = slot.dayOfWeek;
+                row.startTime = slot.startTime;
+                row.endTime = slot.endTime;
+                row.isActive = slot.isActive;
+                current.add(row);
+                result.updated++;
+            } else {
+                slot.doctor = doctor;
+                slot.createdAt = LocalDateTime.now();
+                availabilityRepository.persist(slot);
+                current.add(slot);
+                result.inserted++;
+            }
+        }
+        List<Long> obsolete = leftover.subList(reused, leftover.size()).stream()
+                .map(slot -> slot.id)
+                .collect(Collectors.toList());
+        if (!obsolete.isEmpty()) {
+            // The bulk delete flushes the pending inserts and updates first
+            availabilityRepository.deleteByIds(obsolete);
+            result.deleted = obsolete.size();
+        }
+
+        if (result.inserted + result.updated + result.deleted > 0) {
+            availabilityChanged(doctorId);
+            secondLevelCache.broadcastAfterCommit(doctorId, DoctorCacheInvalidation.Change.AVAILABILITY);
+        }
+        result.availability = current.stream()
+                .sorted(TEMPLATE_ORDER)
+                .map(a -> new AvailabilityDTO(
+                        a.id,
+                        doctor.id,
+                        doctor.getFullName(),
+                        a.dayOfWeek,
+                        a.startTime,
+                        a.endTime,
+                        a.isActive
+                ))
+                .collect(Collectors.toList());
+        return result;
+    }
+
+    // ===============================================
+    // SCHEDULE AND TIME-OFF METHODS
+    // ===============================================
+
+    /**
+     * Get a doctor's approved time off in a date range (served from the time-off index)
+     *
+     * @param from Range start, defaults to today
+     * @param to Range end (inclusive), defaults to six days after from
+     */
+    public List<ScheduleDTO> getDoctorSchedule(Long doctorId, LocalDate from, LocalDate to) {
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new NotFoundException("Doctor not found with id: " + doctorId);
+        }
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(6);
+        validateDateRange(start, end);
+        return timeOffIndex.overlapping(doctorId, start, end);
+    }
+
+    /**
+     * Get all doctors' approved time off overlapping a date range (served from the time-off index)
+     */
+    public List<ScheduleDTO> getDoctorsOnLeave(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to are required");
+        }
+        validateDateRange(from, to);
+        return timeOffIndex.overlapping(from, to);
+    }
+
+    /**
+     * Get all time-off requests awaiting approval, oldest first
+     */
+    public List<ScheduleDTO> getPendingTimeOff() {
+        return scheduleRepository.findAllPending().stream()
+                .map(ScheduleMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Request time off (created as PENDING)
+     */
+    @Transactional
+    public ScheduleDTO requestTimeOff(Long doctorId, CreateTimeOffRequest request) {
+        // Locked so concurrent requests cannot both pass the overlap check
+        Doctor doctor = findForWrite(doctorId)
+                .orElseThrow(() -> new NotFoundException("Doctor not found with id: " + doctorId));
+
+        DoctorSchedule.ScheduleType type;
+        try {
+            type = DoctorSchedule.ScheduleType.valueOf(request.scheduleType.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid schedule type. Use: " +
+                    Arrays.toString(DoctorSchedule.ScheduleType.values()));
+        }
+        validateDateRange(request.startDate, request.endDate);
+
+        if (scheduleRepository.hasOpenScheduleOverlapping(doctorId, request.startDate, request.endDate)) {
+            throw new IllegalArgumentException("Time off overlaps an existing pending or approved request");
+        }
+
+        DoctorSchedule schedule = new DoctorSchedule();
+        schedule.doctor = doctor;
+        schedule.scheduleType = type;
+        schedule.startDate = request.startDate;
+        schedule.endDate = request.endDate;
+        schedule.reason = request.reason;
+        schedule.notes = request.notes;
+        schedule.status = DoctorSchedule.ScheduleStatus.PENDING;
+        scheduleRepository.persist(schedule);
+        secondLevelCache.broadcastAfterCommit(doctorId, DoctorCacheInvalidation.Change.TIME_OFF);
+
+        return ScheduleMapper.toDTO(schedule);
+    }
+
+    /**
+     * Approve a pending time-off request
+     */
+    @Transactional
+    public ScheduleDTO approveTimeOff(Long doctorId, Long scheduleId, String approver) {
+        if (approver == null || approver.isBlank()) {
+            throw new IllegalArgumentException("Approver is required");
+        }
+        DoctorSchedule schedule = findDoctorSchedule(doctorId, scheduleId);
+        if (!schedule.isPending()) {
+            throw new IllegalArgumentException("Only pending time off can be approved");
+        }
+        schedule.approve(approver);
+        timeOffIndex.refreshAfterCommit(doctorId);
+        availabilityEvents.publishAfterCommit(doctorId);
+        secondLevelCache.broadcastAfterCommit(doctorId, DoctorCacheInvalidation.Change.TIME_OFF);
+        return ScheduleMapper.toDTO(schedule);
+    }
+
+    /**
+     * Reject a pending time-off request
+     */
+    @Transactional
+    public ScheduleDTO rejectTimeOff(Long doctorId, Long scheduleId, String rejectedBy) {
+        if (rejectedBy == null || rejectedBy.isBlank()) {
+            throw new IllegalArgumentException("Rejecting user is required");
+        }
+        DoctorSchedule schedule = findDoctorSchedule(doctorId, scheduleId);
+        if (!schedule.isPending()) {
+            throw new IllegalArgumentException("Only pending time off can be rejected");
+        }
+        schedule.reject(rejectedBy);
+        secondLevelCache.broadcastAfterCommit(doctorId, DoctorCacheInvalidation.Change.TIME_OFF);
+        return ScheduleMapper.toDTO(schedule);
+    }
+
+    /**
+     * Cancel a pending or approved time-off request
+     */
+    @Transactional
+    public ScheduleDTO cancelTimeOff(Long doctorId, Long scheduleId) {
+        DoctorSchedule schedule = findDoctorSchedule(doctorId, scheduleId);
+        if (!schedule.isPending() && !schedule.isApproved()) {
+            throw new IllegalArgumentException("Only pending or approved time off can be cancelled");
+        }
+        schedule.cancel();
+        timeOffIndex.refreshAfterCommit(doctorId);
+        availabilityEvents.publishAfterCommit(doctorId);
+        secondLevelCache.broadcastAfterCommit(doctorId, DoctorCacheInvalidation.Change.TIME_OFF);
+        return ScheduleMapper.toDTO(schedule);
     }
 
     // ===============================================
@@ -423,34 +1059,152 @@ public class DoctorService {
     // ===============================================
 
     /**
-     * Get all specializations with details
+     * Get all specializations with details (served from the in-memory aggregates)
      */
     public List<SpecializationDTO> getAllSpecializationsWithDetails() {
-        List<String> specializations = doctorRepository.getAllSpecializations();
-
-        return specializations.stream()
-                .map(spec -> {
-                    List<Doctor> doctors = doctorRepository.findBySpecialization(spec);
-                    long count = doctors.size();
-                    double avgFee = doctors.stream()
-                            .filter(d -> d.consultationFee != null)
-                            .mapToDouble(d -> d.consultationFee)
-                            .average()
-                            .orElse(0.0);
-                    double avgRating = doctors.stream()
-                            .mapToDouble(d -> d.averageRating)
-                            .average()
-                            .orElse(0.0);
-
-                    return new SpecializationDTO(spec, count, avgFee, avgRating);
-                })
-                .collect(Collectors.toList());
+        return statistics.specializations();
     }
 
     // ===============================================
     // HELPER METHODS
     // ===============================================
 
+    /**
+     * Profiles of ranked doctors in rank order (doctors deleted since ranking are left out)
+     */
+    private List<DoctorDTO> ranked(List<Long> ids) {
+        Map<Long, DoctorDTO> doctors = loadDoctors(ids);
+        return ids.stream()
+                .map(doctors::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private int validateRankingLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return limit;
+    }
+
+    /**
+     * Convert projected rows to JSON objects holding only the fieldset's fields
+     */
+    private List<Map<String, Object>> sparse(List<Object[]> rows, DoctorFields fields) {
+        return rows.stream()
+                .map(row -> DoctorMapper.toSparse(DoctorMapper.fromProjection(row, fields), fields))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * New active doctor without ratings, not yet persisted
+     */
+    private Doctor newDoctor(CreateDoctorRequest request) {
+        Doctor doctor = new Doctor();
+        doctor.firstName = request.firstName;
+        doctor.lastName = request.lastName;
+        doctor.email = request.email;
+        doctor.phoneNumber = request.phoneNumber;
+        doctor.specialization = request.specialization;
+        doctor.yearsOfExperience = request.yearsOfExperience;
+        doctor.licenseNumber = request.licenseNumber;
+        doctor.consultationFee = request.consultationFee;
+        doctor.bio = request.bio;
+        doctor.qualifications = request.qualifications;
+        doctor.isActive = true;
+        doctor.averageRating = 0.0;
+        doctor.totalReviews = 0;
+        doctor.createdAt = LocalDateTime.now();
+        doctor.updatedAt = LocalDateTime.now();
+        return doctor;
+    }
+
+    /**
+     * Propagate a doctor change to the in-memory read models once the transaction commits
+     */
+    private void publishChange(Long doctorId) {
+        searchIndex.refreshAfterCommit(doctorId);
+        autocompleteIndex.refreshAfterCommit(doctorId);
+        statistics.refreshAfterCommit(doctorId);
+        directorySnapshot.invalidateAfterCommit();
+        rankingIndex.refreshAfterCommit(doctorId);
+        profileCache.invalidateAfterCommit(doctorId);
+    }
+
+    /**
+     * Recompile the doctor's availability bitmap and publish the new availability
+     * snapshot once the transaction commits
+     */
+    private void availabilityChanged(Long doctorId) {
+        availabilityIndex.recompileAfterCommit(doctorId);
+        availabilityEvents.publishAfterCommit(doctorId);
+    }
+
+    /**
+     * Profiles of the given doctors, from the profile cache or one IN-list query
+     */
+    private Map<Long, DoctorDTO> loadDoctors(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return profileCache.getAll(ids, missing ->
+                doctorRepository.findByIds(missing).stream()
+                        .collect(Collectors.toMap(doctor -> doctor.id, DoctorMapper::toDTO)));
+    }
+
+    /**
+     * Check a weekly template and turn it into unsaved slots ordered by day and start time
+     */
+    private List<DoctorAvailability> validateTemplate(List<CreateAvailabilityRequest> template) {
+        List<DoctorAvailability> slots = new ArrayList<>(template.size());
+        for (int i = 0; i < template.size(); i++) {
+            CreateAvailabilityRequest request = template.get(i);
+            String prefix = "Slot " + (i + 1) + ": ";
+            if (request == null || request.dayOfWeek == null || request.startTime == null || request.endTime == null) {
+                throw new IllegalArgumentException(prefix + "day of week, start time and end time are required");
+            }
+            if (!isValidDayOfWeek(request.dayOfWeek)) {
+                throw new IllegalArgumentException(prefix +
+                        "invalid day of week. Use: MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY");
+            }
+            if (!request.startTime.isBefore(request.endTime)) {
+                throw new IllegalArgumentException(prefix + "start time must be before end time");
+            }
+            DoctorAvailability slot = new DoctorAvailability();
+            slot.dayOfWeek = request.dayOfWeek.trim().toUpperCase();
+            slot.startTime = request.startTime;
+            slot.endTime = request.endTime;
+            slot.isActive = request.isActive != null ? request.isActive : true;
+            slots.add(slot);
+        }
+        slots.sort(TEMPLATE_ORDER);
+
+        // Sorted by start, an active slot overlaps an earlier one of its day iff it starts before their latest end
+        String day = null;
+        DoctorAvailability latest = null;
+        for (DoctorAvailability slot : slots) {
+            if (!slot.isActive) {
+                continue;
+            }
+            if (!slot.dayOfWeek.equals(day)) {
+                day = slot.dayOfWeek;
+                latest = null;
+            }
+            if (latest != null && hasTimeConflict(slot.startTime, slot.endTime, latest.startTime, latest.endTime)) {
+                throw new IllegalArgumentException("Slots overlap on " + day + ": " + latest.startTime + "-" +
+                        latest.endTime + " and " + slot.startTime + "-" + slot.endTime);
+            }
+            if (latest == null || slot.endTime.isAfter(latest.endTime)) {
+                latest = slot;
+            }
+        }
+        return slots;
+    }
+
+    private static String slotKey(DoctorAvailability slot) {
+        return slot.dayOfWeek + "|" + slot.startTime + "|" + slot.endTime;
+    }
+
     /**
      * Validate day of week
      */
@@ -485,16 +1239,6 @@ public class DoctorService {
         Doctor doctor = doctorRepository.findByIdOptional(doctorId)
                 .orElseThrow(() -> new NotFoundException("Doctor not found with id: " + doctorId));
 
-        // Check if patient already reviewed this doctor
-        List<DoctorReview> existingReviews = reviewRepository.findByPatientId(request.patientId);
-        boolean alreadyReviewed = existingReviews.stream()
-                .anyMatch(r -> r.doctor.id.equals(doctorId));
-
-        if (alreadyReviewed) {
-            throw new IllegalArgumentException(
-                    "Patient has already reviewed this doctor. Please update the existing review instead.");
-        }
-
         // Create new review
         DoctorReview review = new DoctorReview();
         review.doctor = doctor;
@@ -506,100 +1250,396 @@ public class DoctorService {
         review.createdAt = LocalDateTime.now();
         review.updatedAt = LocalDateTime.now();
 
-        // Persist review
+        // Persist review; the unique (doctor, patient) index rejects a second review
         reviewRepository.persist(review);
+        try {
+            reviewRepository.flush();
+        } catch (PersistenceException e) {
+            if (isDuplicateReview(e)) {
+                throw new IllegalArgumentException(
+                        "Patient has already reviewed this doctor. Please update the existing review instead.");
+            }
+            throw e;
+        }
 
-        // Update doctor's average rating and review count
-        updateDoctorRatingStats(doctor);
+        // Update doctor's rating aggregate, average rating and review count
+        ratingAggregator.reviewAdded(doctor, review.rating);
+        saveRatingStats(doctor);
 
         return ReviewMapper.toDTO(review);
     }
 
     /**
-     * Get all reviews for a doctor
+     * Update the rating and comment of a doctor's review
      */
-    public List<ReviewDTO> getDoctorReviews(Long doctorId) {
-        // Validate doctor exists
-        Doctor doctor = doctorRepository.findByIdOptional(doctorId)
-                .orElseThrow(() -> new NotFoundException("Doctor not found with id: " + doctorId));
+    @Transactional
+    public ReviewDTO updateDoctorReview(Long doctorId, Long reviewId, UpdateReviewRequest request) {
+        DoctorReview review = findDoctorReview(doctorId, reviewId);
+
+        int oldRating = review.rating;
+        review.rating = request.rating;
+        if (request.comment != null) {
+            review.comment = request.comment;
+        }
+        review.updatedAt = LocalDateTime.now();
+        reviewRepository.persist(review);
 
-        List<DoctorReview> reviews = reviewRepository.findByDoctorId(doctorId);
+        if (oldRating != review.rating) {
+            ratingAggregator.reviewChanged(review.doctor, oldRating, review.rating);
+            saveRatingStats(review.doctor);
+        }
 
-        return reviews.stream()
-                .map(ReviewMapper::toDTO)
-                .collect(Collectors.toList());
+        return ReviewMapper.toDTO(review);
+    }
+
+    /**
+     * Delete a doctor's review
+     */
+    @Transactional
+    public void deleteDoctorReview(Long doctorId, Long reviewId) {
+        DoctorReview review = findDoctorReview(doctorId, reviewId);
+        Doctor doctor = review.doctor;
+
+        reviewRepository.delete(review);
+
+        ratingAggregator.reviewRemoved(doctor, review.rating);
+        saveRatingStats(doctor);
     }
 
     /**
-     * Get reviews with specific rating for a doctor
+     * Get a doctor's rating histogram (1-5 stars)
      */
-    public List<ReviewDTO> getDoctorReviewsByRating(Long doctorId, int rating) {
+    public RatingHistogramDTO getRatingHistogram(Long doctorId) {
         // Validate doctor exists
-        Doctor doctor = doctorRepository.findByIdOptional(doctorId)
-                .orElseThrow(() -> new NotFoundException("Doctor not found with id: " + doctorId));
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new NotFoundException("Doctor not found with id: " + doctorId);
+        }
+        return ratingAggregator.getHistogram(doctorId);
+    }
+
+    /**
+     * Get a page of reviews for a doctor, newest first
+     */
+    public ReviewPageDTO getDoctorReviews(Long doctorId, String cursor, int limit) {
+        return listReviews(doctorId, null, false, cursor, limit);
+    }
 
+    /**
+     * Get a page of reviews with specific rating for a doctor
+     */
+    public ReviewPageDTO getDoctorReviewsByRating(Long doctorId, int rating, String cursor, int limit) {
         // Validate rating range
         if (rating < 1 || rating > 5) {
             throw new IllegalArgumentException("Rating must be between 1 and 5");
         }
+        return listReviews(doctorId, rating, false, cursor, limit);
+    }
 
-        List<DoctorReview> reviews = reviewRepository.findByDoctorAndRating(doctorId, rating);
+    /**
+     * Get a page of verified reviews for a doctor
+     */
+    public ReviewPageDTO getVerifiedDoctorReviews(Long doctorId, String cursor, int limit) {
+        return listReviews(doctorId, null, true, cursor, limit);
+    }
 
-        return reviews.stream()
-                .map(ReviewMapper::toDTO)
-                .collect(Collectors.toList());
+    /**
+     * Import reviews from the legacy system in batches
+     *
+     * Each batch is one transaction. Entries for unknown doctors or with invalid data
+     * are rejected, and reviews for an already reviewed (doctor, patient) pair are
+     * counted as duplicates, so a file can be re-imported safely.
+     */
+    public ReviewImportResultDTO importReviews(List<ImportReviewRequest> reviews) {
+        if (reviews == null || reviews.isEmpty()) {
+            throw new IllegalArgumentException("No reviews to import");
+        }
+        if (reviews.size() > MAX_REVIEW_IMPORT) {
+            throw new IllegalArgumentException("Import at most " + MAX_REVIEW_IMPORT + " reviews per request");
+        }
+
+        ReviewImportResultDTO result = new ReviewImportResultDTO();
+        result.received = reviews.size();
+        for (int from = 0; from < reviews.size(); from += reviewImportBatchSize) {
+            int offset = from;
+            List<ImportReviewRequest> batch = reviews.subList(from, Math.min(from + reviewImportBatchSize, reviews.size()));
+            try {
+                merge(result, QuarkusTransaction.requiringNew().call(() -> importReviewBatch(batch, offset)));
+            } catch (PersistenceException e) {
+                if (!isDuplicateReview(e)) {
+                    throw e;
+                }
+                // A concurrent writer added one of the pairs; retry the batch entry by entry
+                for (int i = 0; i < batch.size(); i++) {
+                    List<ImportReviewRequest> single = List.of(batch.get(i));
+                    int index = offset + i;
+                    try {
+                        merge(result, QuarkusTransaction.requiringNew().call(() -> importReviewBatch(single, index)));
+                    } catch (PersistenceException duplicate) {
+                        if (!isDuplicateReview(duplicate)) {
+                            throw duplicate;
+                        }
+                        result.duplicates++;
+                    }
+                }
+            }
+        }
+        return result;
     }
 
     /**
-     * Get verified reviews for a doctor
+     * Load one keyset page of a doctor's reviews
      */
-    public List<ReviewDTO> getVerifiedDoctorReviews(Long doctorId) {
+    private ReviewPageDTO listReviews(Long doctorId, Integer rating, boolean verifiedOnly, String cursor, int limit) {
         // Validate doctor exists
-        Doctor doctor = doctorRepository.findByIdOptional(doctorId)
-                .orElseThrow(() -> new NotFoundException("Doctor not found with id: " + doctorId));
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new NotFoundException("Doctor not found with id: " + doctorId);
+        }
+        if (limit < 1 || limit > MAX_REVIEW_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_REVIEW_PAGE_SIZE);
+        }
 
-        List<DoctorReview> reviews = reviewRepository.findVerifiedByDoctor(doctorId);
+        // One extra row tells whether there is a next page
+        List<DoctorReview> reviews = reviewRepository.findPageByDoctor(
+                doctorId, rating, verifiedOnly, ReviewCursor.decode(cursor), limit + 1);
+        String nextCursor = null;
+        if (reviews.size() > limit) {
+            reviews = reviews.subList(0, limit);
+            DoctorReview last = reviews.get(limit - 1);
+            nextCursor = new ReviewCursor(last.createdAt, last.id).encode();
+        }
 
-        return reviews.stream()
+        List<ReviewDTO> page = reviews.stream()
                 .map(ReviewMapper::toDTO)
                 .collect(Collectors.toList());
+        return new ReviewPageDTO(page, limit, nextCursor);
     }
 
     /**
-     * Update doctor's rating statistics after a review is added/updated
+     * Import one batch inside the caller's transaction
      */
-    @Transactional
-    public void updateDoctorRatingStats(Doctor doctor) {
-        Double avgRating = reviewRepository.getAverageRating(doctor.id);
-        long totalReviews = reviewRepository.count("doctor.id", doctor.id);
+    private ReviewImportResultDTO importReviewBatch(List<ImportReviewRequest> batch, int offset) {
+        ReviewImportResultDTO outcome = new ReviewImportResultDTO();
+
+        Set<Long> doctorIds = new HashSet<>();
+        Set<Long> patientIds = new HashSet<>();
+        for (ImportReviewRequest entry : batch) {
+            if (entry.doctorId != null && entry.patientId != null) {
+                doctorIds.add(entry.doctorId);
+                patientIds.add(entry.patientId);
+            }
+        }
+        Map<Long, Doctor> doctors = doctorIds.isEmpty() ? Map.of() : doctorRepository.list("id IN ?1", doctorIds).stream()
+                .collect(Collectors.toMap(d -> d.id, d -> d));
+        Set<String> reviewed = new HashSet<>();
+        if (!doctorIds.isEmpty()) {
+            reviewRepository.findReviewPairs(doctorIds, patientIds)
+                    .forEach(pair -> reviewed.add(pair[0] + ":" + pair[1]));
+        }
 
-        doctor.averageRating = avgRating != null ? avgRating : 0.0;
-        doctor.totalReviews = (int) totalReviews;
-        doctor.updatedAt = LocalDateTime.now();
+        Map<Doctor, long[]> starDeltas = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            ImportReviewRequest entry = batch.get(i);
+            String error = validateImportedReview(entry, doctors);
+            if (error != null) {
+                outcome.rejected++;
+                outcome.errors.add("Review #" + (offset + i) + ": " + error);
+                continue;
+            }
+            if (!reviewed.add(entry.doctorId + ":" + entry.patientId)) {
+                outcome.duplicates++;
+                continue;
+            }
 
-        doctorRepository.persist(doctor);
+            DoctorReview review = new DoctorReview();
+            review.doctor = doctors.get(entry.doctorId);
+            review.patientId = entry.patientId;
+            review.rating = entry.rating;
+            review.comment = entry.comment;
+            review.patientName = entry.patientName;
+            review.isVerified = Boolean.TRUE.equals(entry.isVerified);
+            review.appointmentDate = entry.appointmentDate;
+            review.createdAt = entry.createdAt;
+            reviewRepository.persist(review);
+
+            starDeltas.computeIfAbsent(review.doctor, d -> new long[5])[entry.rating - 1]++;
+            outcome.imported++;
+        }
+        reviewRepository.flush();
+
+        // One aggregate update per doctor and batch
+        starDeltas.forEach((doctor, deltas) -> {
+            ratingAggregator.reviewsImported(doctor, deltas);
+            saveRatingStats(doctor);
+        });
+        return outcome;
     }
 
+    private String validateImportedReview(ImportReviewRequest entry, Map<Long, Doctor> doctors) {
+        if (entry.doctorId == null || entry.patientId == null) {
+            return "doctorId and patientId are required";
+        }
+        if (entry.rating == null || entry.rating < 1 || entry.rating > 5) {
+            return "rating must be between 1 and 5";
+        }
+        if (entry.comment != null && entry.comment.length() > 1000) {
+            return "comment must not exceed 1000 characters";
+        }
+        if (!doctors.containsKey(entry.doctorId)) {
+            return "doctor " + entry.doctorId + " not found";
+        }
+        return null;
+    }
 
-}
-
-
-
-
-
-
-
-
+    private void merge(ReviewImportResultDTO result, ReviewImportResultDTO batch) {
+        result.imported += batch.imported;
+        result.duplicates += batch.duplicates;
+        result.rejected += batch.rejected;
+        for (String error : batch.errors) {
+            if (result.errors.size() < MAX_IMPORT_ERRORS) {
+                result.errors.add(error);
+            }
+        }
+    }
 
+    /**
+     * Whether a persistence failure is the unique (doctor, patient) review index
+     */
+    private boolean isDuplicateReview(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException violation) {
+                String constraint = violation.getConstraintName() != null
+                        ? violation.getConstraintName() : String.valueOf(violation.getMessage());
+                return constraint.toLowerCase().contains(DoctorReview.UNIQUE_DOCTOR_PATIENT);
+            }
+        }
+        return false;
+    }
 
+    /**
+     * Whether a persistence failure is a duplicate doctor email or license number
+     */
+    private boolean isDuplicateDoctor(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                // Some databases report the name schema-qualified, upper-cased or with an index suffix
+                String name = violation.getConstraintName().toLowerCase(Locale.ROOT);
+                return name.contains(Doctor.UNIQUE_EMAIL) || name.contains(Doctor.UNIQUE_LICENSE_NUMBER);
+            }
+        }
+        return false;
+    }
 
+    /**
+     * Load a doctor that is about to be changed, locked and read from the database
+     *
+     * A locked load skips the second-level cache, whose entry may predate another
+     * replica's change; writing such a copy back would undo that change.
+     */
+    private Optional<Doctor> findForWrite(Long doctorId) {
+        return doctorRepository.findByIdOptional(doctorId, LockModeType.PESSIMISTIC_WRITE);
+    }
 
+    /**
+     * Find a review and check that it belongs to the doctor
+     */
+    private DoctorReview findDoctorReview(Long doctorId, Long reviewId) {
+        DoctorReview review = reviewRepository.findByIdWithDoctor(reviewId)
+                .orElseThrow(() -> new NotFoundException("Review not found with id: " + reviewId));
+        if (!review.doctor.id.equals(doctorId)) {
+            throw new NotFoundException("Review " + reviewId + " not found for doctor " + doctorId);
+        }
+        return review;
+    }
 
+    /**
+     * Find a schedule entry of a doctor, locked for a status change
+     */
+    private DoctorSchedule findDoctorSchedule(Long doctorId, Long scheduleId) {
+        DoctorSchedule schedule = scheduleRepository.findById(scheduleId, LockModeType.PESSIMISTIC_WRITE);
+        if (schedule == null || !schedule.doctor.id.equals(doctorId)) {
+            throw new NotFoundException("Time off not found with id: " + scheduleId);
+        }
+        return schedule;
+    }
 
+    /**
+     * Validate an inclusive date range
+     */
+    private void validateDateRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date cannot be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_SCHEDULE_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_SCHEDULE_RANGE_DAYS + " days");
+        }
+    }
 
+    /**
+     * Persist the rating stats the aggregator copied onto the doctor
+     */
+    private void saveRatingStats(Doctor doctor) {
+        doctorRepository.persist(doctor);
+        publishChange(doctor.id);
+    }
 
 
+    // ===============================================
+    // APPOINTMENT HISTORY METHODS
+    // ===============================================
 
+    /**
+     * Get a page of a doctor's appointment history, latest start first
+     *
+     * Served from the local read model fed by appointment events, so it never
+     * calls the Appointment Service. The counts cover all of the doctor's
+     * appointments, whatever the status filter.
+     *
+     * @param doctorId Doctor's ID
+     * @param status Only appointments in this status (optional)
+     * @param cursor nextCursor of the previous page (null for the first page)
+     * @param limit Page size
+     */
+    public AppointmentHistoryPageDTO getAppointmentHistory(Long doctorId, String status, String cursor, int limit) {
+        // Validate doctor exists
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new NotFoundException("Doctor not found with id: " + doctorId);
+        }
+        if (limit < 1 || limit > MAX_APPOINTMENT_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_APPOINTMENT_PAGE_SIZE);
+        }
+        DoctorAppointment.AppointmentStatus statusFilter = null;
+        if (status != null && !status.isBlank()) {
+            try {
+                statusFilter = DoctorAppointment.AppointmentStatus.valueOf(status.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid appointment status. Use: " +
+                        Arrays.toString(DoctorAppointment.AppointmentStatus.values()));
+            }
+        }
 
+        // One extra row tells whether there is a next page
+        List<DoctorAppointment> appointments = appointmentRepository.findPageByDoctor(
+                doctorId, statusFilter, AppointmentCursor.decode(cursor), limit + 1);
+        String nextCursor = null;
+        if (appointments.size() > limit) {
+            appointments = appointments.subList(0, limit);
+            DoctorAppointment last = appointments.get(limit - 1);
+            nextCursor = new AppointmentCursor(last.startTime, last.appointmentId).encode();
+        }
 
+        List<AppointmentHistoryDTO> page = appointments.stream()
+                .map(a -> new AppointmentHistoryDTO(a.appointmentId, a.patientId, a.startTime,
+                        a.endTime, a.status.name(), a.updatedAt))
+                .collect(Collectors.toList());
 
+        Map<DoctorAppointment.AppointmentStatus, Long> counts = appointmentRepository.countByStatus(doctorId);
+        Map<String, Long> countsByStatus = new LinkedHashMap<>();
+        long total = 0;
+        for (DoctorAppointment.AppointmentStatus value : DoctorAppointment.AppointmentStatus.values()) {
+            long count = counts.getOrDefault(value, 0L);
+            countsByStatus.put(value.name(), count);
+            total += count;
+        }
+        return new AppointmentHistoryPageDTO(doctorId, page, limit, nextCursor, total, countsByStatus);
+    }
+}
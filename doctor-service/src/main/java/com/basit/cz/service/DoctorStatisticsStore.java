@@ -0,0 +1,285 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.ExperienceBandDTO;
+import com.basit.cz.dto.SpecializationDTO;
+import com.basit.cz.repository.DoctorRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory aggregates over active doctors: count and rating, experience and fee
+ * sums, roster-wide, per specialization and per experience band
+ *
+ * Each doctor's contribution is remembered, so a changed doctor is re-read by ID
+ * and its old contribution swapped for the new one; reading the statistics never
+ * touches the doctors table. The aggregates are built at startup, and DoctorService
+ * refreshes doctors through refreshAfterCommit() whenever they change.
+ */
+@ApplicationScoped
+public class DoctorStatisticsStore {
+
+    // Lower bounds of the experience bands in years; the last band is open-ended
+    static final int[] EXPERIENCE_BANDS = {0, 5, 10, 20};
+
+    @Inject
+    DoctorRepository doctorRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> byId = new HashMap<>();
+    private final Totals overall = new Totals();
+    private final Map<String, Totals> bySpecialization = new TreeMap<>();
+    private final Totals[] byBand = new Totals[EXPERIENCE_BANDS.length];
+
+    {
+        Arrays.setAll(byBand, i -> new Totals());
+    }
+
+    // Serializes load-and-publish, so the last refresh always wins
+    private final Object refreshLock = new Object();
+
+    void onStart(@Observes StartupEvent event) {
+        rebuild();
+    }
+
+    // ===============================================
+    // AGGREGATE MAINTENANCE
+    // ===============================================
+
+    /**
+     * Recompute every aggregate from the active doctors
+     */
+    public void rebuild() {
+        synchronized (refreshLock) {
+            List<Object[]> rows = QuarkusTransaction.joiningExisting().call(() -> doctorRepository.findStatistics());
+
+            lock.writeLock().lock();
+            try {
+                byId.clear();
+                overall.clear();
+                bySpecialization.clear();
+                for (Totals band : byBand) {
+                    band.clear();
+                }
+                rows.forEach(this::put);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Refresh a doctor once the current transaction commits,
+     * immediately if there is none
+     */
+    public void refreshAfterCommit(Long doctorId) {
+        refreshAfterCommit(List.of(doctorId));
+    }
+
+    /**
+     * Refresh several doctors with one query once the current transaction commits,
+     * immediately if there is none
+     */
+    public void refreshAfterCommit(Collection<Long> doctorIds) {
+        if (transactionRegistry.getTransactionKey() == null) {
+            refresh(doctorIds);
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    refresh(doctorIds);
+                }
+            }
+        });
+    }
+
+    /**
+     * Swap the contribution of doctors for their committed state
+     * (inactive or deleted ones drop out)
+     */
+    public void refresh(Collection<Long> doctorIds) {
+        if (doctorIds.isEmpty()) {
+            return;
+        }
+        synchronized (refreshLock) {
+            List<Object[]> rows = QuarkusTransaction.requiringNew().call(() -> doctorRepository.findStatistics(doctorIds));
+
+            lock.writeLock().lock();
+            try {
+                doctorIds.forEach(this::remove);
+                rows.forEach(this::put);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // ===============================================
+    // QUERIES
+    // ===============================================
+
+    /**
+     * Roster-wide statistics with their breakdowns
+     */
+    public DoctorService.DoctorStatistics statistics() {
+        lock.readLock().lock();
+        try {
+            DoctorService.DoctorStatistics statistics = new DoctorService.DoctorStatistics(
+                    overall.doctors, overall.averageRating(), overall.averageExperience());
+            statistics.bySpecialization = summarizeSpecializations();
+            statistics.byExperienceBand = new ArrayList<>(byBand.length);
+            for (int i = 0; i < byBand.length; i++) {
+                Integer maxYears = i + 1 < EXPERIENCE_BANDS.length ? EXPERIENCE_BANDS[i + 1] - 1 : null;
+                statistics.byExperienceBand.add(new ExperienceBandDTO(EXPERIENCE_BANDS[i], maxYears,
+                        byBand[i].doctors, byBand[i].averageRating(), byBand[i].averageConsultationFee()));
+            }
+            return statistics;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Per-specialization summary, ordered by specialization name
+     */
+    public List<SpecializationDTO> specializations() {
+        lock.readLock().lock();
+        try {
+            return summarizeSpecializations();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of active doctors in a specialization
+     */
+    public long countBySpecialization(String specialization) {
+        lock.readLock().lock();
+        try {
+            Totals totals = bySpecialization.get(specialization);
+            return totals != null ? totals.doctors : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Callers hold the read lock
+    private List<SpecializationDTO> summarizeSpecializations() {
+        List<SpecializationDTO> summary = new ArrayList<>(bySpecialization.size());
+        bySpecialization.forEach((name, totals) -> summary.add(new SpecializationDTO(name, totals.doctors,
+                totals.averageConsultationFee(), totals.averageRating(), totals.averageExperience())));
+        return summary;
+    }
+
+    // Callers hold the write lock; row is [id, specialization, averageRating, yearsOfExperience, consultationFee]
+    private void put(Object[] row) {
+        Entry entry = new Entry((String) row[1], (Double) row[2], (Integer) row[3], (Double) row[4]);
+        byId.put((Long) row[0], entry);
+        overall.add(entry, 1);
+        bySpecialization.computeIfAbsent(entry.specialization, s -> new Totals()).add(entry, 1);
+        byBand[band(entry.experience)].add(entry, 1);
+    }
+
+    // Callers hold the write lock
+    private void remove(Long doctorId) {
+        Entry entry = byId.remove(doctorId);
+        if (entry == null) {
+            return;
+        }
+        overall.add(entry, -1);
+        Totals totals = bySpecialization.get(entry.specialization);
+        totals.add(entry, -1);
+        if (totals.doctors == 0) {
+            bySpecialization.remove(entry.specialization);
+        }
+        byBand[band(entry.experience)].add(entry, -1);
+    }
+
+    // Doctors without a recorded experience count in the first band
+    private static int band(Integer experience) {
+        int years = experience != null ? experience : 0;
+        int band = 0;
+        while (band + 1 < EXPERIENCE_BANDS.length && years >= EXPERIENCE_BANDS[band + 1]) {
+            band++;
+        }
+        return band;
+    }
+
+    private static final class Entry {
+        final String specialization;
+        final Double rating;
+        final Integer experience;
+        final Double fee;
+
+        Entry(String specialization, Double rating, Integer experience, Double fee) {
+            this.specialization = specialization;
+            this.rating = rating;
+            this.experience = experience;
+            this.fee = fee;
+        }
+    }
+
+    /**
+     * Running sums; averages skip missing values, as SQL AVG does
+     */
+    private static final class Totals {
+        long doctors;
+        long rated;
+        double ratingSum;
+        long experienced;
+        long experienceSum;
+        long withFee;
+        double feeSum;
+
+        void add(Entry entry, int sign) {
+            doctors += sign;
+            if (entry.rating != null) {
+                rated += sign;
+                ratingSum = rated == 0 ? 0 : ratingSum + sign * entry.rating;
+            }
+            if (entry.experience != null) {
+                experienced += sign;
+                experienceSum += sign * entry.experience;
+            }
+            if (entry.fee != null) {
+                withFee += sign;
+                feeSum = withFee == 0 ? 0 : feeSum + sign * entry.fee;
+            }
+        }
+
+        void clear() {
+            doctors = rated = experienced = experienceSum = withFee = 0;
+            ratingSum = feeSum = 0;
+        }
+
+        double averageRating() {
+            return rated == 0 ? 0.0 : ratingSum / rated;
+        }
+
+        double averageExperience() {
+            return experienced == 0 ? 0.0 : (double) experienceSum / experienced;
+        }
+
+        double averageConsultationFee() {
+            return withFee == 0 ? 0.0 : feeSum / withFee;
+        }
+    }
+}
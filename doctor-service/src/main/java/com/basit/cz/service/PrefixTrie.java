@@ -0,0 +1,194 @@
+package com.basit.cz.service;
+
+import java.util.*;
+
+/**
+ * Compressed prefix trie (radix tree) whose nodes keep the best K values of their subtree
+ *
+ * Each edge holds a string rather than a single character, so chains of one-child
+ * nodes collapse into one. Every node stores the top K values reachable below it,
+ * so a prefix lookup is a walk down at most prefix-length characters followed by
+ * returning a ready list. add() and remove() recompute the top lists on the changed
+ * path only, from the children's lists.
+ *
+ * Not thread-safe; callers guard it with their own lock.
+ *
+ * @param <T> Value type; equal values under one key are stored once
+ */
+class PrefixTrie<T> {
+
+    private final Comparator<? super T> order;
+    private final int topK;
+    private Node<T> root = new Node<>("");
+
+    PrefixTrie(Comparator<? super T> order, int topK) {
+        this.order = order;
+        this.topK = topK;
+    }
+
+    /**
+     * Best values (at most K) among the keys starting with prefix
+     */
+    List<T> top(String prefix) {
+        Node<T> node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node<T> child = node.children.get(prefix.charAt(i));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefix(child.label, prefix, i);
+            if (i + common == prefix.length()) {
+                // The prefix ends on or inside this edge
+                return child.top;
+            }
+            if (common < child.label.length()) {
+                return List.of();
+            }
+            node = child;
+            i += common;
+        }
+        return node.top;
+    }
+
+    /**
+     * Add a value under a key and update the top lists along its path
+     */
+    void add(String key, T value) {
+        Deque<Node<T>> path = insert(key, value);
+        for (Node<T> node : path) {
+            node.top = merge(node);
+        }
+    }
+
+    /**
+     * Add values without maintaining the top lists; finish with recomputeAll()
+     */
+    void addUnranked(String key, T value) {
+        insert(key, value);
+    }
+
+    /**
+     * Recompute every top list bottom-up, after addUnranked() or clear()
+     */
+    void recomputeAll() {
+        recompute(root);
+    }
+
+    /**
+     * Remove a value from a key, pruning nodes left without values or branches
+     */
+    void remove(String key, T value) {
+        Deque<Node<T>> path = new ArrayDeque<>();
+        Node<T> node = root;
+        path.push(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node<T> child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return;
+            }
+            node = child;
+            path.push(node);
+            i += child.label.length();
+        }
+        if (!node.values.remove(value)) {
+            return;
+        }
+
+        // Walk back up: drop empty leaves, merge pass-through nodes into their only child
+        Node<T> changed = null;
+        while (!path.isEmpty()) {
+            Node<T> current = path.pop();
+            if (changed != null && changed.values.isEmpty()) {
+                if (changed.children.isEmpty()) {
+                    current.children.remove(changed.label.charAt(0));
+                } else if (changed.children.size() == 1) {
+                    Node<T> only = changed.children.values().iterator().next();
+                    only.label = changed.label + only.label;
+                    current.children.put(only.label.charAt(0), only);
+                }
+            }
+            current.top = merge(current);
+            changed = current;
+        }
+    }
+
+    void clear() {
+        root = new Node<>("");
+    }
+
+    // Returns the path from the key's node up to the root
+    private Deque<Node<T>> insert(String key, T value) {
+        Deque<Node<T>> path = new ArrayDeque<>();
+        Node<T> node = root;
+        path.push(node);
+        int i = 0;
+        while (i < key.length()) {
+            char first = key.charAt(i);
+            Node<T> child = node.children.get(first);
+            if (child == null) {
+                child = new Node<>(key.substring(i));
+                node.children.put(first, child);
+                node = child;
+                path.push(node);
+                break;
+            }
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                // Split the edge where the key leaves it
+                Node<T> middle = new Node<>(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children.put(child.label.charAt(0), child);
+                middle.top = child.top;
+                node.children.put(first, middle);
+                child = middle;
+            }
+            node = child;
+            path.push(node);
+            i += common;
+        }
+        node.values.add(value);
+        return path;
+    }
+
+    private void recompute(Node<T> node) {
+        for (Node<T> child : node.children.values()) {
+            recompute(child);
+        }
+        node.top = merge(node);
+    }
+
+    private List<T> merge(Node<T> node) {
+        Set<T> candidates = new HashSet<>(node.values);
+        for (Node<T> child : node.children.values()) {
+            candidates.addAll(child.top);
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        List<T> sorted = new ArrayList<>(candidates);
+        sorted.sort(order);
+        return List.copyOf(sorted.subList(0, Math.min(topK, sorted.size())));
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < max && label.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private static final class Node<T> {
+        String label;
+        final Map<Character, Node<T>> children = new HashMap<>(4);
+        final Set<T> values = new HashSet<>(2);
+        List<T> top = List.of();
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+}
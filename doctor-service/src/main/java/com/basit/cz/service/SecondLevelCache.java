@@ -0,0 +1,186 @@
+package com.basit.cz.service;
+
+import com.basit.cz.entity.Doctor;
+import com.basit.cz.entity.DoctorAvailability;
+import com.basit.cz.entity.DoctorSchedule;
+import com.basit.cz.event.DoctorCacheInvalidation;
+import com.basit.cz.event.DoctorCacheInvalidationProducer;
+import com.basit.cz.repository.DoctorAvailabilityRepository;
+import com.basit.cz.repository.DoctorRepository;
+import com.basit.cz.repository.DoctorScheduleRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cross-replica eviction and metrics for the Hibernate second-level cache
+ *
+ * Doctor, its availabilities collection, DoctorAvailability and DoctorSchedule are
+ * cached per replica, as are the results of the query-cached repository queries.
+ * Hibernate keeps them right for writes made on this replica. Writes made on another
+ * replica arrive as doctor cache invalidations, and only what the change touched is
+ * evicted: a profile change drops the doctor by ID and the doctor query results.
+ * Changed slots and schedules are not known by ID, so an availability or time off
+ * change drops their entity and query regions as a whole. Those writes are rare
+ * next to reads, so the coarse eviction is cheap.
+ */
+@ApplicationScoped
+public class SecondLevelCache {
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    DoctorCacheInvalidationProducer invalidationProducer;
+
+    private final LongAdder remoteEvictions = new LongAdder();
+
+    /**
+     * Tell the other replicas to evict the doctor's changed data once the current
+     * transaction commits (immediately when there is none)
+     */
+    public void broadcastAfterCommit(Long doctorId, DoctorCacheInvalidation.Change change) {
+        if (transactionRegistry.getTransactionKey() == null) {
+            invalidationProducer.publish(doctorId, change);
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    invalidationProducer.publish(doctorId, change);
+                }
+            }
+        });
+    }
+
+    /**
+     * Evict what a change to doctors made on another replica may have made stale
+     */
+    public void evictRemote(Collection<Long> doctorIds, DoctorCacheInvalidation.Change change) {
+        Cache cache = cache();
+        switch (change) {
+            case PROFILE -> {
+                doctorIds.forEach(id -> cache.evictEntityData(Doctor.class, id));
+                cache.evictQueryRegion(DoctorRepository.QUERY_CACHE_REGION);
+            }
+            case AVAILABILITY -> {
+                doctorIds.forEach(id -> cache.evictCollectionData(Doctor.class.getName() + ".availabilities", id));
+                cache.evictEntityData(DoctorAvailability.class);
+                cache.evictQueryRegion(DoctorAvailabilityRepository.QUERY_CACHE_REGION);
+            }
+            case TIME_OFF -> {
+                cache.evictEntityData(DoctorSchedule.class);
+                cache.evictQueryRegion(DoctorScheduleRepository.QUERY_CACHE_REGION);
+            }
+        }
+        remoteEvictions.increment();
+    }
+
+    /**
+     * Per-region and query cache counters (only when Hibernate statistics are enabled)
+     */
+    public CacheMetrics metrics() {
+        Statistics statistics = sessionFactory().getStatistics();
+        CacheMetrics metrics = new CacheMetrics();
+        metrics.remoteEvictions = remoteEvictions.sum();
+        metrics.hibernateStatisticsEnabled = statistics.isStatisticsEnabled();
+        if (!metrics.hibernateStatisticsEnabled) {
+            return metrics;
+        }
+
+        metrics.hits = statistics.getSecondLevelCacheHitCount();
+        metrics.misses = statistics.getSecondLevelCacheMissCount();
+        metrics.hitRate = hitRate(metrics.hits, metrics.misses);
+        metrics.queryCacheHits = statistics.getQueryCacheHitCount();
+        metrics.queryCacheMisses = statistics.getQueryCacheMissCount();
+        metrics.queryCacheHitRate = hitRate(metrics.queryCacheHits, metrics.queryCacheMisses);
+
+        metrics.regions = new ArrayList<>();
+        for (String name : new TreeSet<>(List.of(statistics.getSecondLevelCacheRegionNames()))) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region == null) {
+                continue;
+            }
+            RegionMetrics regionMetrics = new RegionMetrics();
+            regionMetrics.region = name;
+            regionMetrics.hits = region.getHitCount();
+            regionMetrics.misses = region.getMissCount();
+            regionMetrics.puts = region.getPutCount();
+            regionMetrics.entries = region.getElementCountInMemory();
+            regionMetrics.hitRate = hitRate(regionMetrics.hits, regionMetrics.misses);
+            metrics.regions.add(regionMetrics);
+        }
+        return metrics;
+    }
+
+    private Cache cache() {
+        return sessionFactory().getCache();
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    private static double hitRate(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * Second-level and query cache counters
+     */
+    public static class CacheMetrics {
+
+        /**
+         * Invalidations from other replicas applied so far
+         */
+        public long remoteEvictions;
+
+        public boolean hibernateStatisticsEnabled;
+        public Long hits;
+        public Long misses;
+        public Double hitRate;
+        public Long queryCacheHits;
+        public Long queryCacheMisses;
+        public Double queryCacheHitRate;
+        public List<RegionMetrics> regions;
+    }
+
+    /**
+     * Counters of one cache region
+     */
+    public static class RegionMetrics {
+        public String region;
+        public long hits;
+        public long misses;
+        public long puts;
+
+        /**
+         * Entries held in memory (-1 when the cache does not report it)
+         */
+        public long entries;
+
+        public double hitRate;
+    }
+}
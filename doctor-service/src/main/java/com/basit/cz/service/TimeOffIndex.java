@@ -0,0 +1,223 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.ScheduleDTO;
+import com.basit.cz.dto.ScheduleMapper;
+import com.basit.cz.entity.DoctorSchedule;
+import com.basit.cz.repository.DoctorScheduleRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory interval index of approved time off across all doctors
+ *
+ * Entries are kept sorted by (startDate, id), roster-wide and per doctor, together
+ * with a multiset of their lengths. An entry overlapping [from, to] must start no
+ * later than to and no earlier than from minus the longest entry, so a range query
+ * scans only that slice of the sorted set and checks the end dates.
+ *
+ * DoctorService refreshes a doctor through refreshAfterCommit() whenever one of the
+ * doctor's time off is approved or cancelled, and other replicas' changes arrive as
+ * time off cache invalidations; the index is built at startup.
+ */
+@ApplicationScoped
+public class TimeOffIndex {
+
+    private static final int REFRESH_STRIPES = 64;
+
+    private static final Comparator<ScheduleDTO> BY_START = Comparator
+            .comparing((ScheduleDTO s) -> s.startDate)
+            .thenComparing(s -> s.id);
+
+    @Inject
+    DoctorScheduleRepository scheduleRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, ScheduleDTO> byId = new HashMap<>();
+    private final TreeSet<ScheduleDTO> byStart = new TreeSet<>(BY_START);
+    private final Map<Long, TreeSet<ScheduleDTO>> byDoctor = new HashMap<>();
+    private final TreeMap<Long, Integer> lengths = new TreeMap<>();
+
+    // Serializes load-and-publish per doctor, so the last refresh always wins
+    private final Object[] refreshLocks = new Object[REFRESH_STRIPES];
+
+    public TimeOffIndex() {
+        for (int i = 0; i < REFRESH_STRIPES; i++) {
+            refreshLocks[i] = new Object();
+        }
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        rebuild();
+    }
+
+    // ===============================================
+    // INDEX MAINTENANCE
+    // ===============================================
+
+    /**
+     * Reload all approved time off from the database
+     */
+    public void rebuild() {
+        List<ScheduleDTO> approved = QuarkusTransaction.joiningExisting().call(() ->
+                scheduleRepository.findAllApprovedWithDoctor().stream()
+                        .map(ScheduleMapper::toDTO)
+                        .collect(Collectors.toList()));
+
+        lock.writeLock().lock();
+        try {
+            byId.clear();
+            byStart.clear();
+            byDoctor.clear();
+            lengths.clear();
+            approved.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reload a doctor's approved time off once the current transaction commits,
+     * immediately if there is none
+     */
+    public void refreshAfterCommit(Long doctorId) {
+        if (transactionRegistry.getTransactionKey() == null) {
+            refresh(doctorId);
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    refresh(doctorId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Replace a doctor's entries with the doctor's committed approved time off
+     */
+    public void refresh(Long doctorId) {
+        synchronized (refreshLocks[(int) (doctorId & (REFRESH_STRIPES - 1))]) {
+            List<ScheduleDTO> approved = QuarkusTransaction.requiringNew().call(() ->
+                    scheduleRepository.findApprovedWithDoctor(doctorId).stream()
+                            .map(ScheduleMapper::toDTO)
+                            .collect(Collectors.toList()));
+
+            lock.writeLock().lock();
+            try {
+                TreeSet<ScheduleDTO> entries = byDoctor.get(doctorId);
+                if (entries != null) {
+                    new ArrayList<>(entries).forEach(entry -> remove(entry.id));
+                }
+                approved.forEach(this::put);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // ===============================================
+    // QUERIES
+    // ===============================================
+
+    /**
+     * Approved time off of all doctors overlapping a date range (inclusive)
+     *
+     * @return Entries ordered by start date
+     */
+    public List<ScheduleDTO> overlapping(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            return overlapping(byStart, from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approved time off of one doctor overlapping a date range (inclusive)
+     *
+     * @return Entries ordered by start date
+     */
+    public List<ScheduleDTO> overlapping(Long doctorId, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            TreeSet<ScheduleDTO> entries = byDoctor.get(doctorId);
+            return entries != null ? overlapping(entries, from, to) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Check whether a doctor is on approved leave on a date
+     */
+    public boolean isOnLeave(Long doctorId, LocalDate date) {
+        return !overlapping(doctorId, date, date).isEmpty();
+    }
+
+    // Callers hold a lock
+    private List<ScheduleDTO> overlapping(TreeSet<ScheduleDTO> entries, LocalDate from, LocalDate to) {
+        if (entries.isEmpty() || to.isBefore(from)) {
+            return List.of();
+        }
+        LocalDate earliestStart = from.minusDays(lengths.lastKey() - 1);
+        List<ScheduleDTO> result = new ArrayList<>();
+        for (ScheduleDTO entry : entries.subSet(probe(earliestStart, Long.MIN_VALUE), true,
+                probe(to, Long.MAX_VALUE), true)) {
+            if (!entry.endDate.isBefore(from)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    private static ScheduleDTO probe(LocalDate startDate, long id) {
+        ScheduleDTO probe = new ScheduleDTO();
+        probe.startDate = startDate;
+        probe.id = id;
+        return probe;
+    }
+
+    // Callers hold the write lock
+    private void put(ScheduleDTO schedule) {
+        byId.put(schedule.id, schedule);
+        byStart.add(schedule);
+        byDoctor.computeIfAbsent(schedule.doctorId, id -> new TreeSet<>(BY_START)).add(schedule);
+        lengths.merge(schedule.durationDays, 1, Integer::sum);
+    }
+
+    // Callers hold the write lock
+    private void remove(Long scheduleId) {
+        ScheduleDTO schedule = byId.remove(scheduleId);
+        if (schedule == null) {
+            return;
+        }
+        byStart.remove(schedule);
+        TreeSet<ScheduleDTO> doctorEntries = byDoctor.get(schedule.doctorId);
+        doctorEntries.remove(schedule);
+        if (doctorEntries.isEmpty()) {
+            byDoctor.remove(schedule.doctorId);
+        }
+        lengths.computeIfPresent(schedule.durationDays, (length, count) -> count > 1 ? count - 1 : null);
+    }
+}
@@ -0,0 +1,77 @@
+package com.basit.cz;
+
+import com.basit.cz.entity.*;
+import com.basit.cz.service.AvailabilityBitmapIndex;
+import com.basit.cz.service.DoctorAutocompleteIndex;
+import com.basit.cz.service.DoctorDirectorySnapshot;
+import com.basit.cz.service.DoctorProfileCache;
+import com.basit.cz.service.DoctorRankingIndex;
+import com.basit.cz.service.DoctorSearchIndex;
+import com.basit.cz.service.DoctorStatisticsStore;
+import com.basit.cz.service.TimeOffIndex;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Empties the doctor tables between tests
+ *
+ * Bulk deletes and rows persisted directly by a test bypass DoctorService, so
+ * every in-memory read model is resynced from the database afterwards.
+ */
+@ApplicationScoped
+public class DoctorDataReset {
+
+    @Inject
+    DoctorSearchIndex searchIndex;
+
+    @Inject
+    DoctorAutocompleteIndex autocompleteIndex;
+
+    @Inject
+    DoctorStatisticsStore statistics;
+
+    @Inject
+    DoctorProfileCache profileCache;
+
+    @Inject
+    DoctorDirectorySnapshot directorySnapshot;
+
+    @Inject
+    DoctorRankingIndex rankingIndex;
+
+    @Inject
+    AvailabilityBitmapIndex availabilityIndex;
+
+    @Inject
+    TimeOffIndex timeOffIndex;
+
+    /**
+     * Delete every doctor and everything attached to one, then resync the read models
+     */
+    public void reset() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            DoctorAppointment.deleteAll();
+            DoctorSchedule.deleteAll();
+            DoctorReview.deleteAll();
+            DoctorAvailability.deleteAll();
+            DoctorRatingAggregate.deleteAll();
+            Doctor.deleteAll();
+        });
+        rebuildReadModels();
+    }
+
+    /**
+     * Resync the read models after a test wrote rows around DoctorService
+     */
+    public void rebuildReadModels() {
+        searchIndex.rebuild();
+        autocompleteIndex.rebuild();
+        statistics.rebuild();
+        profileCache.invalidateAll();
+        directorySnapshot.invalidate();
+        rankingIndex.rebuild();
+        availabilityIndex.rebuild();
+        timeOffIndex.rebuild();
+    }
+}
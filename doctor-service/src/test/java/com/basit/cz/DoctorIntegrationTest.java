@@ -2,14 +2,10 @@ package com.basit.cz;
 
 
 import com.basit.cz.dto.CreateDoctorRequest;
-import com.basit.cz.entity.Doctor;
-import com.basit.cz.entity.DoctorAvailability;
-import com.basit.cz.entity.DoctorReview;
-import com.basit.cz.entity.DoctorSchedule;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
-import jakarta.transaction.Transactional;
+import jakarta.inject.Inject;
 import org.junit.jupiter.api.*;
 
 import static io.restassured.RestAssured.given;
@@ -35,18 +31,17 @@ import static org.hamcrest.Matchers.*;
 @DisplayName("Integration Tests - End-to-End Workflows")
 public class DoctorIntegrationTest {
 
+    @Inject
+    DoctorDataReset dataReset;
+
     private static Long doctorId1;
     private static Long doctorId2;
     private static Long doctorId3;
 
     @BeforeEach
-    @Transactional
     public void setup() {
         // Clean database before each test
-        DoctorSchedule.deleteAll();
-        DoctorReview.deleteAll();
-        DoctorAvailability.deleteAll();
-        Doctor.deleteAll();
+        dataReset.reset();
     }
 
     // ═══════════════════════════════════════════════════════════════
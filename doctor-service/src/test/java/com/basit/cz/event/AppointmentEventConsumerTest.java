@@ -0,0 +1,179 @@
+package com.basit.cz.event;
+
+import com.basit.cz.dto.AppointmentHistoryPageDTO;
+import com.basit.cz.entity.*;
+import com.basit.cz.service.AppointmentHistoryProjector;
+import com.basit.cz.service.DoctorService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.reactive.messaging.memory.InMemoryConnector;
+import jakarta.enterprise.inject.Any;
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the doctor-side appointment history read model
+ */
+@QuarkusTest
+public class AppointmentEventConsumerTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    @Inject
+    DoctorService doctorService;
+
+    @Inject
+    AppointmentHistoryProjector projector;
+
+    @Inject
+    @Any
+    InMemoryConnector connector;
+
+    private Long doctorId;
+
+    @BeforeEach
+    public void setup() {
+        doctorId = QuarkusTransaction.requiringNew().call(() -> {
+            DoctorAppointment.deleteAll();
+            DoctorSchedule.deleteAll();
+            DoctorReview.deleteAll();
+            DoctorAvailability.deleteAll();
+            DoctorRatingAggregate.deleteAll();
+            Doctor.deleteAll();
+
+            Doctor doctor = new Doctor();
+            doctor.firstName = "Hana";
+            doctor.lastName = "History";
+            doctor.email = "hana.history@test.com";
+            doctor.specialization = "Cardiology";
+            doctor.licenseNumber = "LIC-HISTORY";
+            doctor.persist();
+            return doctor.id;
+        });
+    }
+
+    @Test
+    public void testEventsFromTopicBuildHistory() throws InterruptedException {
+        // Times as the Appointment Service writes them (arrays), plus a malformed record
+        connector.source("appointment-events-in").send("{not json");
+        connector.source("appointment-events-in").send("{\"eventType\":\"APPOINTMENT_CREATED\",\"timestamp\":[2026,2,1,8,0]," +
+                "\"appointmentId\":501,\"patientId\":7,\"doctorId\":" + doctorId + "," +
+                "\"startTime\":[2026,3,2,9,0],\"endTime\":[2026,3,2,9,30],\"type\":\"CONSULTATION\"}");
+        connector.source("appointment-events-in").send("{\"eventType\":\"APPOINTMENT_CONFIRMED\",\"timestamp\":\"2026-02-02T08:00:00\"," +
+                "\"appointmentId\":501,\"patientId\":7,\"doctorId\":" + doctorId + ",\"scheduledTime\":\"2026-03-02T09:00:00\"}");
+
+        AppointmentHistoryPageDTO history = awaitStatus(501L, "CONFIRMED");
+        assertEquals(1, history.total);
+        assertEquals(7L, history.appointments.get(0).patientId);
+        assertEquals(MONDAY, history.appointments.get(0).startTime);
+        assertEquals(MONDAY.plusMinutes(30), history.appointments.get(0).endTime);
+    }
+
+    @Test
+    public void testOutOfOrderAndRedeliveredEvents() {
+        AppointmentEventMessage cancelled = event(AppointmentEventMessage.CANCELLED, 3, 601L);
+        cancelled.originalScheduledTime = MONDAY;
+        assertTrue(projector.apply(cancelled));
+
+        // The older creation only fills in the end time
+        AppointmentEventMessage created = event(AppointmentEventMessage.CREATED, 1, 601L);
+        created.startTime = MONDAY;
+        created.endTime = MONDAY.plusMinutes(45);
+        assertTrue(projector.apply(created));
+        assertTrue(projector.apply(cancelled));
+
+        AppointmentEventMessage rescheduled = event(AppointmentEventMessage.RESCHEDULED, 2, 601L);
+        rescheduled.newStartTime = MONDAY.plusDays(1);
+        rescheduled.newEndTime = MONDAY.plusDays(1).plusMinutes(45);
+        assertTrue(projector.apply(rescheduled));
+
+        AppointmentHistoryPageDTO history = doctorService.getAppointmentHistory(doctorId, null, null, 10);
+        assertEquals(1, history.total);
+        assertEquals("CANCELLED", history.appointments.get(0).status);
+        assertEquals(MONDAY, history.appointments.get(0).startTime);
+        assertEquals(MONDAY.plusMinutes(45), history.appointments.get(0).endTime);
+
+        // Without any time the appointment cannot be placed in the history
+        assertFalse(projector.apply(event(AppointmentEventMessage.CONFIRMED, 1, 602L)));
+    }
+
+    @Test
+    public void testKeysetPagingStatusFilterAndCounts() {
+        for (long i = 0; i < 5; i++) {
+            AppointmentEventMessage created = event(AppointmentEventMessage.CREATED, 1, 700 + i);
+            // Two appointments share a start time; the ID breaks the tie
+            created.startTime = MONDAY.plusDays(Math.min(i, 3));
+            created.endTime = created.startTime.plusMinutes(30);
+            projector.apply(created);
+        }
+        AppointmentEventMessage completed = event(AppointmentEventMessage.COMPLETED, 2, 700L);
+        completed.scheduledTime = MONDAY;
+        projector.apply(completed);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            AppointmentHistoryPageDTO page = doctorService.getAppointmentHistory(doctorId, null, cursor, 2);
+            page.appointments.forEach(a -> seen.add(a.appointmentId));
+            cursor = page.nextCursor;
+            pages++;
+        } while (cursor != null);
+        assertEquals(List.of(704L, 703L, 702L, 701L, 700L), seen);
+        assertEquals(3, pages);
+
+        AppointmentHistoryPageDTO done = doctorService.getAppointmentHistory(doctorId, "completed", null, 10);
+        assertEquals(1, done.appointments.size());
+        assertEquals(5, done.total);
+        assertEquals(4L, done.countsByStatus.get("SCHEDULED"));
+        assertEquals(1L, done.countsByStatus.get("COMPLETED"));
+        assertEquals(0L, done.countsByStatus.get("NO_SHOW"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> doctorService.getAppointmentHistory(doctorId, "LOST", null, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> doctorService.getAppointmentHistory(doctorId, null, "garbage", 10));
+    }
+
+    @Test
+    public void testStorageFailuresAreNotSkipped() {
+        AppointmentEventConsumer consumer = new AppointmentEventConsumer();
+        consumer.projector = mock(AppointmentHistoryProjector.class);
+        when(consumer.projector.apply(any())).thenThrow(new PersistenceException("database unavailable"));
+
+        // Malformed records are skipped, a record that cannot be stored is not
+        consumer.onAppointmentEvent("{not json");
+        consumer.onAppointmentEvent("{\"eventType\":\"APPOINTMENT_CREATED\",\"timestamp\":\"tomorrow\"}");
+        verify(consumer.projector, never()).apply(any());
+        assertThrows(PersistenceException.class, () -> consumer.onAppointmentEvent(
+                "{\"eventType\":\"APPOINTMENT_CONFIRMED\",\"appointmentId\":701,\"doctorId\":" + doctorId + "}"));
+    }
+
+    private AppointmentEventMessage event(String type, int day, Long appointmentId) {
+        return new AppointmentEventMessage(type, LocalDateTime.of(2026, 2, day, 8, 0), appointmentId, 9L, doctorId);
+    }
+
+    private AppointmentHistoryPageDTO awaitStatus(Long appointmentId, String status) throws InterruptedException {
+        // The consumer runs on a worker thread
+        for (int attempt = 0; attempt < 100; attempt++) {
+            AppointmentHistoryPageDTO history = doctorService.getAppointmentHistory(doctorId, null, null, 10);
+            if (history.appointments.stream()
+                    .anyMatch(a -> a.appointmentId.equals(appointmentId) && a.status.equals(status))) {
+                return history;
+            }
+            Thread.sleep(50);
+        }
+        fail("Appointment " + appointmentId + " never reached " + status);
+        return null;
+    }
+}
@@ -0,0 +1,130 @@
+package com.basit.cz.event;
+
+import com.basit.cz.dto.AvailabilityDTO;
+import com.basit.cz.dto.CreateAvailabilityRequest;
+import com.basit.cz.dto.CreateTimeOffRequest;
+import com.basit.cz.dto.ScheduleDTO;
+import com.basit.cz.entity.Doctor;
+import com.basit.cz.entity.DoctorAvailability;
+import com.basit.cz.entity.DoctorRatingAggregate;
+import com.basit.cz.entity.DoctorReview;
+import com.basit.cz.entity.DoctorSchedule;
+import com.basit.cz.service.DoctorService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.reactive.messaging.kafka.Record;
+import io.smallrye.reactive.messaging.memory.InMemoryConnector;
+import io.smallrye.reactive.messaging.memory.InMemorySink;
+import jakarta.enterprise.inject.Any;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DoctorAvailabilityUpdated snapshots
+ */
+@QuarkusTest
+public class DoctorAvailabilityEventProducerTest {
+
+    @Inject
+    DoctorService doctorService;
+
+    @Inject
+    DoctorAvailabilityEventProducer producer;
+
+    @Inject
+    @Any
+    InMemoryConnector connector;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private InMemorySink<Record<String, String>> sink;
+    private Long doctorId;
+
+    @BeforeEach
+    public void setup() {
+        doctorId = QuarkusTransaction.requiringNew().call(() -> {
+            DoctorSchedule.deleteAll();
+            DoctorReview.deleteAll();
+            DoctorAvailability.deleteAll();
+            DoctorRatingAggregate.deleteAll();
+            Doctor.deleteAll();
+
+            Doctor doctor = new Doctor();
+            doctor.firstName = "Eve";
+            doctor.lastName = "Events";
+            doctor.email = "eve.events@test.com";
+            doctor.specialization = "Oncology";
+            doctor.licenseNumber = "LIC-EVENTS";
+            doctor.persist();
+            return doctor.id;
+        });
+        sink = connector.sink("doctor-availability-out");
+        sink.clear();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        // Suites that only clear doctors and slots run after this one
+        QuarkusTransaction.requiringNew().run(() -> DoctorSchedule.deleteAll());
+    }
+
+    @Test
+    public void testEveryChangePublishesFullSnapshot() throws Exception {
+        long failedBefore = producer.failedSends();
+        doctorService.addDoctorAvailability(doctorId,
+                new CreateAvailabilityRequest("WEDNESDAY", LocalTime.of(13, 0), LocalTime.of(17, 0)));
+        AvailabilityDTO monday = doctorService.addDoctorAvailability(doctorId,
+                new CreateAvailabilityRequest("MONDAY", LocalTime.of(8, 0), LocalTime.of(12, 0)));
+
+        JsonNode snapshot = last();
+        assertTrue(snapshot.get("active").asBoolean());
+        assertEquals(2, snapshot.get("weeklyWindows").size());
+        assertEquals("MONDAY", snapshot.get("weeklyWindows").get(0).get("dayOfWeek").asText());
+        assertEquals("08:00:00", snapshot.get("weeklyWindows").get(0).get("startTime").asText());
+
+        LocalDate start = LocalDate.now().plusDays(7);
+        ScheduleDTO leave = doctorService.requestTimeOff(doctorId,
+                new CreateTimeOffRequest("VACATION", start, start.plusDays(2), null));
+        int beforeApproval = sink.received().size();
+        doctorService.approveTimeOff(doctorId, leave.id, "admin");
+        assertEquals(beforeApproval + 1, sink.received().size());
+        assertEquals(start.toString(), last().get("timeOff").get(0).get("startDate").asText());
+
+        doctorService.deleteAvailability(monday.id);
+        snapshot = last();
+        assertEquals(1, snapshot.get("weeklyWindows").size());
+        assertEquals(1, snapshot.get("timeOff").size());
+
+        doctorService.deactivateDoctor(doctorId);
+        assertFalse(last().get("active").asBoolean());
+
+        doctorService.cancelTimeOff(doctorId, leave.id);
+        assertEquals(0, last().get("timeOff").size());
+
+        assertTrue(sink.received().stream().allMatch(m -> m.getPayload().key().equals(doctorId.toString())));
+        assertEquals(failedBefore, producer.failedSends());
+    }
+
+    @Test
+    public void testRepublishAllSeedsTopic() throws Exception {
+        assertEquals(1, producer.republishAll());
+        assertEquals(1, sink.received().size());
+        assertEquals(doctorId.longValue(), last().get("doctorId").asLong());
+    }
+
+    private JsonNode last() throws Exception {
+        List<? extends Message<Record<String, String>>> received = sink.received();
+        return objectMapper.readTree(received.get(received.size() - 1).getPayload().value());
+    }
+}
@@ -1,5 +1,6 @@
 package com.basit.cz.repository;
 
+import com.basit.cz.dto.DoctorFilter;
 import com.basit.cz.entity.Doctor;
 import com.basit.cz.entity.DoctorAvailability;
 import io.quarkus.test.junit.QuarkusTest;
@@ -324,6 +325,104 @@ public class DoctorRepositoryTest {
         ));
     }
 
+    // ===============================================
+    // FILTER TESTS
+    // ===============================================
+
+    @Test
+    @Transactional
+    public void testFindByCriteria() {
+        Doctor match = createTestDoctor("Crit", "Match", "crit.match@test.com");
+        match.specialization = "Cardiology";
+        match.averageRating = 4.6;
+        match.yearsOfExperience = 12;
+        match.consultationFee = 120.0;
+        doctorRepository.persist(match);
+
+        Doctor tooExpensive = createTestDoctor("Crit", "Expensive", "crit.expensive@test.com");
+        tooExpensive.specialization = "Cardiology";
+        tooExpensive.averageRating = 4.8;
+        tooExpensive.yearsOfExperience = 20;
+        tooExpensive.consultationFee = 300.0;
+        doctorRepository.persist(tooExpensive);
+
+        List<Doctor> found = doctorRepository.findByCriteria("Cardiology", 4.5, 10, 200.0);
+
+        assertEquals(1, found.size());
+        assertEquals(match.id, found.get(0).id);
+    }
+
+    @Test
+    @Transactional
+    public void testSearchWithFiltersTreatsInputAsLiteral() {
+        doctorRepository.persist(createTestDoctor("Ann", "O'Brien", "obrien@test.com"));
+        doctorRepository.persist(createTestDoctor("Ann", "Other", "other@test.com"));
+
+        assertEquals(1, doctorRepository.searchWithFilters("o'bri", null, null).size());
+        assertTrue(doctorRepository.searchWithFilters("%", null, null).isEmpty());
+        assertTrue(doctorRepository.searchWithFilters("x' OR '1'='1", "General", null).isEmpty());
+    }
+
+    @Test
+    @Transactional
+    public void testFindByFilterSortsAndPages() {
+        for (int i = 1; i <= 5; i++) {
+            Doctor doctor = createTestDoctor("Page" + i, "Doc", "page" + i + "@test.com");
+            doctor.consultationFee = 50.0 * i;
+            doctorRepository.persist(doctor);
+        }
+
+        DoctorFilter filter = new DoctorFilter();
+        filter.minFee = 100.0;
+        filter.sort = DoctorFilter.Sort.FEE;
+        filter.size = 2;
+        filter.page = 1;
+
+        List<Doctor> page = doctorRepository.findByFilter(filter);
+
+        assertEquals(4, doctorRepository.countByFilter(filter));
+        assertEquals(List.of(200.0, 250.0), page.stream().map(d -> d.consultationFee).toList());
+    }
+
+    @Test
+    @Transactional
+    public void testFilterReusesQueryShapes() {
+        DoctorFilter filter = new DoctorFilter();
+        filter.specialization = "Neurology";
+        filter.minRating = 3.0;
+        doctorRepository.findByFilter(filter);
+        long compiled = doctorRepository.filterMetrics().compiledShapes;
+
+        // Different values, same criteria: no new shape
+        filter.specialization = "Oncology";
+        filter.minRating = 4.5;
+        doctorRepository.findByFilter(filter);
+
+        DoctorFilterQueries.PlanCacheMetrics metrics = doctorRepository.filterMetrics();
+        assertEquals(compiled, metrics.compiledShapes);
+        assertTrue(metrics.shapeHits > 0);
+        assertTrue(metrics.hibernateStatisticsEnabled);
+        assertTrue(metrics.queryPlanCacheHits > 0);
+    }
+
+    @Test
+    public void testFindByFilterRejectsInvalidPaging() {
+        DoctorFilter filter = new DoctorFilter();
+        filter.size = DoctorFilterQueries.MAX_PAGE_SIZE + 1;
+
+        assertThrows(IllegalArgumentException.class, () -> doctorRepository.findByFilter(filter));
+    }
+
+    @Test
+    @Transactional
+    public void testFindByFilterPastTheLastOffsetIsEmpty() {
+        DoctorFilter filter = new DoctorFilter();
+        filter.size = DoctorFilterQueries.MAX_PAGE_SIZE;
+        filter.page = Integer.MAX_VALUE;
+
+        assertTrue(doctorRepository.findByFilter(filter).isEmpty());
+    }
+
     // ===============================================
     // AVAILABILITY TESTS
     // ===============================================
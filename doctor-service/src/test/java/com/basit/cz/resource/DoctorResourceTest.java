@@ -1,13 +1,17 @@
 package com.basit.cz.resource;
 
+import com.basit.cz.DoctorDataReset;
 import com.basit.cz.dto.CreateDoctorRequest;
 import com.basit.cz.dto.UpdateDoctorRequest;
 import com.basit.cz.entity.Doctor;
 import com.basit.cz.entity.DoctorAvailability;
-import com.basit.cz.entity.DoctorReview;
-import com.basit.cz.entity.DoctorSchedule;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,9 +19,11 @@ import org.junit.jupiter.api.Test;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.List;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
 
@@ -43,6 +49,7 @@ import static org.hamcrest.Matchers.hasSize;
  * 11. GET   /api/doctors/available/{day}
  * 12. GET   /api/doctors/fee-range?min=&max=
  * 13. GET   /api/doctors/specializations
+ *     GET   /api/doctors/specializations/details
  * 14. GET   /api/doctors/statistics
  * 15. POST  /api/doctors/{id}/activate
  * 16. POST  /api/doctors/{id}/deactivate
@@ -51,19 +58,19 @@ import static org.hamcrest.Matchers.hasSize;
 @DisplayName("REST API Tests - DoctorResource")
 public class DoctorResourceTest {
 
+    @Inject
+    DoctorDataReset dataReset;
+
     private Long testDoctorId;
 
     @BeforeEach
-    @Transactional
     public void setup() {
         // Clean database
-        DoctorSchedule.deleteAll();
-        DoctorReview.deleteAll();
-        DoctorAvailability.deleteAll();
-        Doctor.deleteAll();
+        dataReset.reset();
 
         // Create test doctors and store ID
-        testDoctorId = createTestDoctors();
+        testDoctorId = QuarkusTransaction.requiringNew().call(this::createTestDoctors);
+        dataReset.rebuildReadModels();
     }
 
     // ═══════════════════════════════════════════════════════════
@@ -255,6 +262,130 @@ public class DoctorResourceTest {
                 .body("[0].isActive", equalTo(true));
     }
 
+    @Test
+    @DisplayName("TEST 10a: Get all active doctors - ETag, gzip and conditional GET")
+    public void testGetAllActiveDoctors_ConditionalGet() {
+        // Without content decoders the client does not ask for gzip
+        RestAssuredConfig identity = RestAssured.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders());
+        String etag = given()
+                .config(identity)
+                .when()
+                .get("/api/doctors")
+                .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .header("Content-Encoding", nullValue())
+                .extract().header("ETag");
+
+        given()
+                .header("Accept-Encoding", "gzip")
+                .when()
+                .get("/api/doctors")
+                .then()
+                .statusCode(200)
+                .header("Content-Encoding", "gzip")
+                .header("ETag", etag.replaceFirst("\"$", "-gzip\""))
+                .body("$", hasSize(greaterThan(0)));
+
+        given()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/api/doctors")
+                .then()
+                .statusCode(304);
+
+        // Any doctor change publishes a new directory
+        UpdateDoctorRequest update = new UpdateDoctorRequest();
+        update.bio = "Changed bio";
+        given()
+                .contentType(ContentType.JSON)
+                .body(update)
+                .when()
+                .put("/api/doctors/" + testDoctorId)
+                .then()
+                .statusCode(200);
+
+        given()
+                .config(identity)
+                .header("If-None-Match", etag)
+                .when()
+                .get("/api/doctors")
+                .then()
+                .statusCode(200)
+                .header("ETag", not(etag));
+    }
+
+    @Test
+    @DisplayName("TEST 10b: Get doctors by IDs - Order kept, duplicates and unknown IDs dropped")
+    public void testGetDoctorsByIds() {
+        List<Integer> ids = given()
+                .when()
+                .get("/api/doctors")
+                .then()
+                .statusCode(200)
+                .extract().path("id");
+        Integer first = ids.get(0);
+        Integer last = ids.get(ids.size() - 1);
+
+        given()
+                .queryParam("ids", last + ",9999," + first + "," + last)
+                .when()
+                .get("/api/doctors")
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(2))
+                .body("[0].id", equalTo(last))
+                .body("[1].id", equalTo(first));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of(first, last, first))
+                .when()
+                .post("/api/doctors/batch")
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(2))
+                .body("[0].id", equalTo(first))
+                .body("[1].id", equalTo(last));
+    }
+
+    @Test
+    @DisplayName("TEST 10c: Get doctors by IDs - Invalid input")
+    public void testGetDoctorsByIds_Invalid() {
+        given()
+                .queryParam("ids", "1,abc")
+                .when()
+                .get("/api/doctors")
+                .then()
+                .statusCode(400);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of())
+                .when()
+                .post("/api/doctors/batch")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("TEST 10d: Import doctors - CSV stream")
+    public void testImportDoctors_Csv() {
+        given()
+                .contentType("text/csv")
+                .body("firstName,lastName,email,phoneNumber,specialization,yearsOfExperience\n" +
+                        "Kim,Import,kim.import@test.com,+111,Cardiology,3\n" +
+                        "Lee,Import,kim.import@test.com,+222,Cardiology,4\n")
+                .when()
+                .post("/api/doctors/import")
+                .then()
+                .statusCode(200)
+                .body("received", is(2))
+                .body("imported", is(1))
+                .body("duplicates", is(1))
+                .body("errors[0]", startsWith("Line 3: "));
+    }
+
     // ═══════════════════════════════════════════════════════════
     // TEST 11-12: GET /api/doctors/search - Search by Name
     // ═══════════════════════════════════════════════════════════
@@ -285,6 +416,48 @@ public class DoctorResourceTest {
                 .body(containsString("Search query is required"));
     }
 
+    @Test
+    @DisplayName("TEST 12a: Autocomplete - Doctors and specializations by prefix")
+    public void testAutocomplete_Success() {
+        given()
+                .queryParam("q", "car")
+                .when()
+                .get("/api/doctors/autocomplete")
+                .then()
+                .statusCode(200)
+                .body("doctors.fullName", contains("John Cardio", "Jane Smith"))
+                .body("specializations.name", contains("Cardiology"))
+                .body("specializations[0].doctorCount", equalTo(2));
+
+        given()
+                .queryParam("q", "j")
+                .queryParam("limit", 1)
+                .when()
+                .get("/api/doctors/autocomplete")
+                .then()
+                .statusCode(200)
+                .body("doctors.id", contains(testDoctorId.intValue()));
+    }
+
+    @Test
+    @DisplayName("TEST 12b: Autocomplete - Missing query and invalid limit")
+    public void testAutocomplete_InvalidInput() {
+        given()
+                .when()
+                .get("/api/doctors/autocomplete")
+                .then()
+                .statusCode(400)
+                .body(containsString("Autocomplete query is required"));
+
+        given()
+                .queryParam("q", "jo")
+                .queryParam("limit", 50)
+                .when()
+                .get("/api/doctors/autocomplete")
+                .then()
+                .statusCode(400);
+    }
+
     // ═══════════════════════════════════════════════════════════
     // TEST 13: GET /api/doctors/specialization/{spec}
     // ═══════════════════════════════════════════════════════════
@@ -301,6 +474,38 @@ public class DoctorResourceTest {
                 .body("[1].specialization", equalTo("Cardiology"));
     }
 
+    @Test
+    @DisplayName("TEST 13b: Find by specialization - Sparse fieldset")
+    public void testFindBySpecialization_Fields() {
+        given()
+                .queryParam("fields", "fullName,averageRating")
+                .when()
+                .get("/api/doctors/specialization/Cardiology")
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(2))
+                .body("[0].fullName", equalTo("John Cardio"))
+                .body("[0].averageRating", equalTo(4.8f))
+                .body("[0].id", notNullValue())
+                .body("[0].keySet()", hasItems("id", "fullName", "averageRating"))
+                .body("[0].size()", is(3));
+
+        given()
+                .queryParam("fields", "id")
+                .when()
+                .get("/api/doctors/top-rated")
+                .then()
+                .statusCode(200)
+                .body("[0].size()", is(1));
+
+        given()
+                .queryParam("fields", "fullName,password")
+                .when()
+                .get("/api/doctors/specialization/Cardiology")
+                .then()
+                .statusCode(400);
+    }
+
     // ═══════════════════════════════════════════════════════════
     // TEST 14: GET /api/doctors/top-rated
     // ═══════════════════════════════════════════════════════════
@@ -370,6 +575,67 @@ public class DoctorResourceTest {
                 .body(containsString("Invalid day of week"));
     }
 
+    @Test
+    @DisplayName("TEST 18b: Replace weekly availability - Only differences written")
+    public void testReplaceAvailabilityTemplate() {
+        String template = """
+                [{"dayOfWeek":"MONDAY","startTime":"09:00","endTime":"17:00"},
+                 {"dayOfWeek":"tuesday","startTime":"13:00","endTime":"17:00"},
+                 {"dayOfWeek":"TUESDAY","startTime":"09:00","endTime":"12:00"}]""";
+        given()
+                .contentType(ContentType.JSON)
+                .body(template)
+                .when()
+                .put("/api/doctors/" + testDoctorId + "/availability")
+                .then()
+                .statusCode(200)
+                .body("inserted", equalTo(2))
+                .body("unchanged", equalTo(1))
+                .body("deleted", equalTo(0))
+                .body("availability.dayOfWeek", contains("MONDAY", "TUESDAY", "TUESDAY"))
+                .body("availability[1].startTime", equalTo("09:00:00"));
+
+        // Monday moves (row rewritten in place), the Tuesday afternoon goes
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                        [{"dayOfWeek":"MONDAY","startTime":"08:00","endTime":"12:00"},
+                         {"dayOfWeek":"TUESDAY","startTime":"09:00","endTime":"12:00"}]""")
+                .when()
+                .put("/api/doctors/" + testDoctorId + "/availability")
+                .then()
+                .statusCode(200)
+                .body("inserted", equalTo(0))
+                .body("updated", equalTo(1))
+                .body("deleted", equalTo(1))
+                .body("unchanged", equalTo(1));
+
+        given()
+                .when()
+                .get("/api/doctors/available/TUESDAY?from=13:00&to=14:00")
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(0));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                        [{"dayOfWeek":"FRIDAY","startTime":"09:00","endTime":"12:00"},
+                         {"dayOfWeek":"FRIDAY","startTime":"11:00","endTime":"13:00"}]""")
+                .when()
+                .put("/api/doctors/" + testDoctorId + "/availability")
+                .then()
+                .statusCode(400)
+                .body(containsString("overlap"));
+
+        given()
+                .when()
+                .get("/api/doctors/" + testDoctorId + "/availability")
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(2));
+    }
+
     // ═══════════════════════════════════════════════════════════
     // TEST 19-20: GET /api/doctors/fee-range
     // ═══════════════════════════════════════════════════════════
@@ -414,6 +680,42 @@ public class DoctorResourceTest {
                 .body("$", hasItems("Cardiology", "Neurology", "Pediatrics"));
     }
 
+    // ═══════════════════════════════════════════════════════════
+    // TEST 21b: GET /api/doctors/specializations/details
+    // ═══════════════════════════════════════════════════════════
+    @Test
+    @DisplayName("TEST 21b: Specialization details refresh after a doctor update")
+    public void testGetSpecializationDetails() {
+        given()
+                .when()
+                .get("/api/doctors/specializations/details")
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(3))
+                .body("[0].name", equalTo("Cardiology"))
+                .body("[0].doctorCount", equalTo(2))
+                .body("[0].averageConsultationFee", equalTo(92.5f))
+                .body("[0].averageRating", equalTo(4.5f));
+
+        UpdateDoctorRequest request = new UpdateDoctorRequest();
+        request.consultationFee = 130.0;
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .put("/api/doctors/" + testDoctorId)
+                .then()
+                .statusCode(200);
+
+        given()
+                .when()
+                .get("/api/doctors/specializations/details")
+                .then()
+                .statusCode(200)
+                .body("[0].averageConsultationFee", equalTo(107.5f));
+    }
+
     // ═══════════════════════════════════════════════════════════
     // TEST 22: GET /api/doctors/statistics
     // ═══════════════════════════════════════════════════════════
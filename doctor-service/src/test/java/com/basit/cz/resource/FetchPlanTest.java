@@ -0,0 +1,178 @@
+package com.basit.cz.resource;
+
+import com.basit.cz.DoctorDataReset;
+import com.basit.cz.dto.CreateAvailabilityRequest;
+import com.basit.cz.dto.CreateDoctorRequest;
+import com.basit.cz.dto.CreateReviewRequest;
+import com.basit.cz.dto.CreateTimeOffRequest;
+import com.basit.cz.dto.ScheduleDTO;
+import com.basit.cz.entity.*;
+import com.basit.cz.repository.DoctorAvailabilityRepository;
+import com.basit.cz.repository.DoctorReviewRepository;
+import com.basit.cz.service.*;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement counts of the doctor list endpoints
+ *
+ * Every list endpoint must run the same number of statements however many rows it
+ * returns; a lazy association touched per row makes the count grow with the data.
+ * Hibernate batch-loads lazy associations, so the larger data set spans more than
+ * one batch.
+ */
+@QuarkusTest
+@DisplayName("Fetch plan Tests - statements per request")
+public class FetchPlanTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 6, 3);
+    private static final long MAX_STATEMENTS_PER_REQUEST = 5;
+    // More than one default batch fetch size (16) of doctors
+    private static final int MANY_DOCTORS = 20;
+
+    @Inject
+    DoctorService doctorService;
+
+    @Inject
+    DoctorAvailabilityRepository availabilityRepository;
+
+    @Inject
+    DoctorReviewRepository reviewRepository;
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    DoctorProfileCache profileCache;
+
+    @Inject
+    DoctorDataReset dataReset;
+
+    private StatementCounter counter;
+    private final List<Long> doctorIds = new ArrayList<>();
+    private long nextPatientId = 1;
+    private int nextSlot = 0;
+
+    @BeforeEach
+    public void setup() {
+        dataReset.reset();
+
+        counter = new StatementCounter(entityManagerFactory, profileCache);
+        doctorIds.clear();
+        nextPatientId = 1;
+        nextSlot = 0;
+    }
+
+    @Test
+    @DisplayName("List endpoints do not run more statements as rows are added")
+    public void testListEndpointsRunAFixedNumberOfStatements() {
+        addDoctors(2);
+        addReviewsAndSlots(doctorIds.get(0), 1);
+        Map<String, Long> few = countListEndpoints();
+
+        addDoctors(MANY_DOCTORS);
+        addReviewsAndSlots(doctorIds.get(0), 4);
+        Map<String, Long> many = countListEndpoints();
+
+        few.forEach((path, statements) -> {
+            assertEquals(statements, many.get(path), "Statements grow with the rows returned by " + path);
+            assertTrue(statements <= MAX_STATEMENTS_PER_REQUEST, path + " runs " + statements + " statements");
+        });
+    }
+
+    @Test
+    @DisplayName("Single-row lookups load the doctor with the row")
+    public void testLookupsFetchTheDoctor() {
+        addDoctors(1);
+        Long doctorId = doctorIds.get(0);
+        Long slotId = doctorService.getDoctorAvailability(doctorId).get(0).id;
+        Long reviewId = doctorService.getDoctorReviews(doctorId, null, 10).reviews.get(0).id;
+        entityManagerFactory.getCache().evictAll();
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            assertTrue(Hibernate.isInitialized(availabilityRepository.findByIdWithDoctor(slotId).orElseThrow().doctor));
+            assertTrue(Hibernate.isInitialized(reviewRepository.findByIdWithDoctor(reviewId).orElseThrow().doctor));
+            assertTrue(reviewRepository.findByIdWithDoctor(reviewId + 1000).isEmpty());
+        });
+    }
+
+    // ===============================================
+    // HELPER METHODS
+    // ===============================================
+
+    private Map<String, Long> countListEndpoints() {
+        Long first = doctorIds.get(0);
+        String ids = doctorIds.stream().limit(2).map(String::valueOf).reduce((a, b) -> a + "," + b).orElseThrow();
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String path : List.of(
+                "/api/doctors",
+                "/api/doctors?ids=" + ids,
+                "/api/doctors/specialization/Cardiology",
+                "/api/doctors/filter?specialization=Cardiology",
+                "/api/doctors/rating/1",
+                "/api/doctors/experience/0",
+                "/api/doctors/fee-range?min=0&max=1000",
+                "/api/doctors/available/MONDAY",
+                "/api/doctors/top-rated",
+                "/api/doctors/time-off/pending",
+                "/api/doctors/on-leave?from=" + MONDAY + "&to=" + MONDAY.plusDays(6),
+                "/api/doctors/" + first + "/availability",
+                "/api/doctors/" + first + "/reviews",
+                "/api/doctors/" + first + "/schedule?from=" + MONDAY,
+                "/api/doctors/" + first + "/appointments/history")) {
+            counts.put(path, counter.count(path));
+        }
+        return counts;
+    }
+
+    /**
+     * Doctors with a slot, a review, approved leave and a pending request each
+     */
+    private void addDoctors(int count) {
+        for (int i = 0; i < count; i++) {
+            int n = doctorIds.size();
+            CreateDoctorRequest request = new CreateDoctorRequest();
+            request.firstName = "Fetch" + n;
+            request.lastName = "Plan";
+            request.email = "fetch" + n + ".plan@test.com";
+            request.specialization = "Cardiology";
+            request.licenseNumber = "LIC-FETCH-" + n;
+            request.yearsOfExperience = 5 + n;
+            request.consultationFee = 100.0 + n;
+            Long doctorId = doctorService.registerDoctor(request).id;
+            doctorIds.add(doctorId);
+
+            addReviewsAndSlots(doctorId, 1);
+            ScheduleDTO leave = doctorService.requestTimeOff(doctorId,
+                    new CreateTimeOffRequest("VACATION", MONDAY, MONDAY.plusDays(2), null));
+            doctorService.approveTimeOff(doctorId, leave.id, "admin");
+            doctorService.requestTimeOff(doctorId,
+                    new CreateTimeOffRequest("TRAINING", MONDAY.plusDays(14), MONDAY.plusDays(15), null));
+        }
+    }
+
+    private void addReviewsAndSlots(Long doctorId, int count) {
+        for (int i = 0; i < count; i++) {
+            doctorService.addDoctorReview(doctorId, new CreateReviewRequest(nextPatientId++, 4, "Thorough", null));
+            LocalTime start = LocalTime.of(6, 0).plusMinutes(30L * nextSlot++);
+            doctorService.addDoctorAvailability(doctorId,
+                    new CreateAvailabilityRequest("MONDAY", start, start.plusMinutes(30)));
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.basit.cz.resource;
+
+import com.basit.cz.dto.CreateTimeOffRequest;
+import com.basit.cz.entity.Doctor;
+import com.basit.cz.entity.DoctorAvailability;
+import com.basit.cz.entity.DoctorRatingAggregate;
+import com.basit.cz.entity.DoctorReview;
+import com.basit.cz.entity.DoctorSchedule;
+import com.basit.cz.service.TimeOffIndex;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.smallrye.reactive.messaging.memory.InMemoryConnector;
+import jakarta.enterprise.inject.Any;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * REST API tests for ScheduleResource (time off and the roster-wide leave view)
+ */
+@QuarkusTest
+@DisplayName("REST API Tests - ScheduleResource")
+public class ScheduleResourceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 6, 3);
+
+    @Inject
+    TimeOffIndex timeOffIndex;
+
+    @Inject
+    @Any
+    InMemoryConnector connector;
+
+    private Long aliceId;
+    private Long bobId;
+
+    @BeforeEach
+    public void setup() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            DoctorSchedule.deleteAll();
+            DoctorReview.deleteAll();
+            DoctorAvailability.deleteAll();
+            DoctorRatingAggregate.deleteAll();
+            Doctor.deleteAll();
+        });
+        aliceId = createDoctor("Alice", "alice.leave@test.com");
+        bobId = createDoctor("Bob", "bob.leave@test.com");
+        timeOffIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Approved time off appears in the schedule and roster, cancelled time off disappears")
+    public void testTimeOffLifecycle() {
+        Integer aliceLeave = requestTimeOff(aliceId, "VACATION", MONDAY, MONDAY.plusDays(4));
+        Integer bobLeave = requestTimeOff(bobId, "conference", MONDAY.plusDays(3), MONDAY.plusDays(3));
+
+        // Pending requests are not part of the schedule yet
+        given().queryParam("from", MONDAY.toString()).queryParam("to", MONDAY.plusDays(6).toString())
+                .when().get("/api/doctors/on-leave")
+                .then().statusCode(200).body("$", hasSize(0));
+        given().when().get("/api/doctors/time-off/pending")
+                .then().statusCode(200).body("$", hasSize(2));
+
+        approve(aliceId, aliceLeave);
+        approve(bobId, bobLeave);
+
+        given().queryParam("from", MONDAY.toString())
+                .when().get("/api/doctors/" + aliceId + "/schedule")
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(1))
+                .body("[0].status", equalTo("APPROVED"))
+                .body("[0].durationDays", equalTo(5));
+
+        given().queryParam("from", MONDAY.plusDays(2).toString()).queryParam("to", MONDAY.plusDays(3).toString())
+                .when().get("/api/doctors/on-leave")
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(2))
+                .body("[0].doctorName", equalTo("Alice Leave"))
+                .body("[1].doctorId", equalTo(bobId.intValue()));
+
+        given().queryParam("from", MONDAY.plusDays(5).toString()).queryParam("to", MONDAY.plusDays(9).toString())
+                .when().get("/api/doctors/on-leave")
+                .then().statusCode(200).body("$", hasSize(0));
+
+        given().when().post("/api/doctors/" + aliceId + "/time-off/" + aliceLeave + "/cancel")
+                .then().statusCode(200).body("status", equalTo("CANCELLED"));
+
+        given().queryParam("from", MONDAY.toString()).queryParam("to", MONDAY.plusDays(6).toString())
+                .when().get("/api/doctors/on-leave")
+                .then().statusCode(200).body("$", hasSize(1)).body("[0].doctorId", equalTo(bobId.intValue()));
+    }
+
+    @Test
+    @DisplayName("Overlapping and invalid time-off requests are rejected")
+    public void testInvalidRequests() {
+        requestTimeOff(aliceId, "VACATION", MONDAY, MONDAY.plusDays(4));
+
+        postTimeOff(aliceId, new CreateTimeOffRequest("TRAINING", MONDAY.plusDays(4), MONDAY.plusDays(6), null))
+                .then().statusCode(400);
+        postTimeOff(aliceId, new CreateTimeOffRequest("HOLIDAY", MONDAY.plusDays(10), MONDAY.plusDays(11), null))
+                .then().statusCode(400);
+        postTimeOff(aliceId, new CreateTimeOffRequest("VACATION", MONDAY.plusDays(11), MONDAY.plusDays(10), null))
+                .then().statusCode(400);
+        postTimeOff(9999L, new CreateTimeOffRequest("VACATION", MONDAY, MONDAY, null))
+                .then().statusCode(404);
+
+        given().when().get("/api/doctors/on-leave")
+                .then().statusCode(400);
+        given().queryParam("from", "03/06/2030").queryParam("to", MONDAY.toString())
+                .when().get("/api/doctors/on-leave")
+                .then().statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Only pending time off can be approved, and only by the owning doctor's path")
+    public void testApprovalRules() {
+        Integer leave = requestTimeOff(aliceId, "SICK_LEAVE", MONDAY, MONDAY);
+
+        given().when().post("/api/doctors/" + aliceId + "/time-off/" + leave + "/approve")
+                .then().statusCode(400);
+        given().queryParam("by", "admin")
+                .when().post("/api/doctors/" + bobId + "/time-off/" + leave + "/approve")
+                .then().statusCode(404);
+
+        given().queryParam("by", "admin")
+                .when().post("/api/doctors/" + aliceId + "/time-off/" + leave + "/reject")
+                .then().statusCode(200).body("status", equalTo("REJECTED"));
+        given().queryParam("by", "admin")
+                .when().post("/api/doctors/" + aliceId + "/time-off/" + leave + "/approve")
+                .then().statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Time off approved on another replica reaches the roster through the invalidation")
+    public void testRemoteApprovalRefreshesRoster() throws InterruptedException {
+        Integer leave = requestTimeOff(aliceId, "VACATION", MONDAY, MONDAY.plusDays(1));
+        QuarkusTransaction.requiringNew().run(() ->
+                DoctorSchedule.<DoctorSchedule>findById(leave.longValue()).approve("admin"));
+        assertTrue(timeOffIndex.overlapping(MONDAY, MONDAY).isEmpty());
+
+        connector.source("doctor-cache-invalidations-in").send("{\"doctorIds\":[" + aliceId
+                + "],\"change\":\"TIME_OFF\",\"origin\":\"other-replica\"}");
+
+        // The consumer runs on a worker thread
+        long deadline = System.currentTimeMillis() + 5000;
+        while (timeOffIndex.overlapping(MONDAY, MONDAY).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        given().queryParam("from", MONDAY.toString()).queryParam("to", MONDAY.toString())
+                .when().get("/api/doctors/on-leave")
+                .then().statusCode(200).body("$", hasSize(1)).body("[0].doctorId", equalTo(aliceId.intValue()));
+    }
+
+    // ===============================================
+    // HELPER METHODS
+    // ===============================================
+
+    private Integer requestTimeOff(Long doctorId, String type, LocalDate start, LocalDate end) {
+        return postTimeOff(doctorId, new CreateTimeOffRequest(type, start, end, "Test"))
+                .then()
+                .statusCode(201)
+                .body("status", equalTo("PENDING"))
+                .extract().path("id");
+    }
+
+    private io.restassured.response.Response postTimeOff(Long doctorId, CreateTimeOffRequest request) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post("/api/doctors/" + doctorId + "/time-off");
+    }
+
+    private void approve(Long doctorId, Integer scheduleId) {
+        given().queryParam("by", "admin")
+                .when().post("/api/doctors/" + doctorId + "/time-off/" + scheduleId + "/approve")
+                .then().statusCode(200).body("status", equalTo("APPROVED"));
+    }
+
+    private Long createDoctor(String firstName, String email) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            Doctor doctor = new Doctor();
+            doctor.firstName = firstName;
+            doctor.lastName = "Leave";
+            doctor.email = email;
+            doctor.specialization = "Pediatrics";
+            doctor.licenseNumber = "LIC-LEAVE-" + firstName.toUpperCase();
+            doctor.persist();
+            return doctor.id;
+        });
+    }
+}
@@ -0,0 +1,39 @@
+package com.basit.cz.resource;
+
+import com.basit.cz.service.DoctorProfileCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Counts the SQL statements Hibernate prepares while serving a GET request
+ *
+ * The second-level cache and the profile cache are emptied first, so each request
+ * is counted on its cold path, where a per-row lazy load shows up as extra statements.
+ * Needs quarkus.hibernate-orm.statistics=true.
+ */
+public class StatementCounter {
+
+    private final SessionFactory sessionFactory;
+    private final DoctorProfileCache profileCache;
+
+    public StatementCounter(EntityManagerFactory entityManagerFactory, DoctorProfileCache profileCache) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.profileCache = profileCache;
+    }
+
+    /**
+     * Statements run by a GET request that must answer 200
+     */
+    public long count(String path) {
+        sessionFactory.getCache().evictAllRegions();
+        profileCache.invalidateAll();
+
+        Statistics statistics = sessionFactory.getStatistics();
+        long before = statistics.getPrepareStatementCount();
+        given().when().get(path).then().statusCode(200);
+        return statistics.getPrepareStatementCount() - before;
+    }
+}
@@ -0,0 +1,180 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.AvailabilityDTO;
+import com.basit.cz.dto.CreateAvailabilityRequest;
+import com.basit.cz.dto.DoctorDTO;
+import com.basit.cz.entity.Doctor;
+import com.basit.cz.entity.DoctorAvailability;
+import com.basit.cz.entity.DoctorRatingAggregate;
+import com.basit.cz.entity.DoctorReview;
+import com.basit.cz.entity.DoctorSchedule;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.reactive.messaging.memory.InMemoryConnector;
+import jakarta.enterprise.inject.Any;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the compiled weekly availability bitmaps
+ */
+@QuarkusTest
+public class AvailabilityBitmapIndexTest {
+
+    @Inject
+    DoctorService doctorService;
+
+    @Inject
+    AvailabilityBitmapIndex availabilityIndex;
+
+    @Inject
+    DoctorProfileCache profileCache;
+
+    @Inject
+    @Any
+    InMemoryConnector connector;
+
+    private Long morningId;
+    private Long allDayId;
+
+    @BeforeEach
+    public void setup() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            DoctorSchedule.deleteAll();
+            DoctorReview.deleteAll();
+            DoctorAvailability.deleteAll();
+            DoctorRatingAggregate.deleteAll();
+            Doctor.deleteAll();
+        });
+        morningId = createDoctor("Mona", "mona.morning@test.com");
+        allDayId = createDoctor("Dave", "dave.allday@test.com");
+        availabilityIndex.rebuild();
+        profileCache.invalidateAll();
+
+        doctorService.addDoctorAvailability(morningId, slot("TUESDAY", "08:00", "12:00"));
+        doctorService.addDoctorAvailability(allDayId, slot("TUESDAY", "08:00", "18:00"));
+    }
+
+    @Test
+    public void testRangeMustBeFullyCovered() {
+        assertEquals(List.of(allDayId, morningId), available("TUESDAY", "09:00", "12:00"));
+        assertEquals(List.of(allDayId), available("TUESDAY", "11:30", "12:30"));
+        assertEquals(List.of(allDayId), available("TUESDAY", "14:00", "15:00"));
+        assertTrue(available("TUESDAY", "17:30", "18:30").isEmpty());
+        assertTrue(available("WEDNESDAY", "09:00", "10:00").isEmpty());
+    }
+
+    @Test
+    public void testTimesAreRoundedToWholeSlots() {
+        doctorService.addDoctorAvailability(morningId, slot("FRIDAY", "09:03", "10:00"));
+
+        BitSet week = availabilityIndex.weekOf(morningId);
+        int friday = 4 * AvailabilityBitmapIndex.SLOTS_PER_DAY;
+        assertFalse(week.get(friday + 9 * 12));
+        assertTrue(week.get(friday + 9 * 12 + 1));
+        assertEquals(11, week.get(friday, friday + AvailabilityBitmapIndex.SLOTS_PER_DAY).cardinality());
+
+        assertTrue(available("FRIDAY", "09:00", "10:00").isEmpty());
+        assertEquals(List.of(morningId), available("FRIDAY", "09:05", "09:58"));
+    }
+
+    @Test
+    public void testWritesRecompileDoctor() {
+        AvailabilityDTO wednesday = doctorService.addDoctorAvailability(morningId, slot("WEDNESDAY", "13:00", "17:00"));
+        assertEquals(List.of(morningId), available("WEDNESDAY", "14:00", "15:00"));
+
+        doctorService.updateAvailability(wednesday.id, slot(null, "15:00", "17:00"));
+        assertTrue(available("WEDNESDAY", "14:00", "15:00").isEmpty());
+
+        doctorService.deleteAvailability(wednesday.id);
+        assertTrue(doctorService.findAvailableOnDay("WEDNESDAY").isEmpty());
+
+        doctorService.deactivateDoctor(allDayId);
+        assertEquals(List.of(morningId), ids(doctorService.findAvailableOnDay("tuesday")));
+        doctorService.activateDoctor(allDayId);
+        assertEquals(List.of(allDayId, morningId), ids(doctorService.findAvailableOnDay("TUESDAY")));
+    }
+
+    @Test
+    public void testRemoteAvailabilityChangeRecompilesDoctor() throws InterruptedException {
+        // Another replica added a slot
+        QuarkusTransaction.requiringNew().run(() -> {
+            DoctorAvailability availability = new DoctorAvailability();
+            availability.doctor = Doctor.findById(morningId);
+            availability.dayOfWeek = "THURSDAY";
+            availability.startTime = LocalTime.of(9, 0);
+            availability.endTime = LocalTime.of(11, 0);
+            availability.persist();
+        });
+        assertTrue(available("THURSDAY", "09:00", "10:00").isEmpty());
+
+        connector.source("doctor-cache-invalidations-in").send("{\"doctorIds\":[" + morningId
+                + "],\"change\":\"AVAILABILITY\",\"origin\":\"other-replica\"}");
+
+        // The consumer runs on a worker thread
+        long deadline = System.currentTimeMillis() + 5000;
+        while (available("THURSDAY", "09:00", "10:00").isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(morningId), available("THURSDAY", "09:00", "10:00"));
+    }
+
+    @Test
+    public void testInvalidRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> doctorService.findAvailable("TUESDAY", LocalTime.of(10, 0), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> doctorService.findAvailable("TUESDAY", LocalTime.of(10, 0), LocalTime.of(9, 0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> doctorService.findAvailable("FUNDAY", null, null));
+    }
+
+    @Test
+    public void testQueryUsesIndexOnly() {
+        List<Long> ids = availabilityIndex.findAvailable(DayOfWeek.TUESDAY, LocalTime.of(8, 0), LocalTime.of(12, 0));
+        assertEquals(2, ids.size());
+        assertTrue(ids.containsAll(List.of(morningId, allDayId)));
+    }
+
+    // ===============================================
+    // HELPER METHODS
+    // ===============================================
+
+    private List<Long> available(String day, String from, String to) {
+        return ids(doctorService.findAvailable(day, LocalTime.parse(from), LocalTime.parse(to)));
+    }
+
+    private List<Long> ids(List<DoctorDTO> doctors) {
+        return doctors.stream().map(d -> d.id).collect(Collectors.toList());
+    }
+
+    private CreateAvailabilityRequest slot(String day, String start, String end) {
+        CreateAvailabilityRequest request = new CreateAvailabilityRequest();
+        request.dayOfWeek = day;
+        request.startTime = LocalTime.parse(start);
+        request.endTime = LocalTime.parse(end);
+        return request;
+    }
+
+    private Long createDoctor(String firstName, String email) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            Doctor doctor = new Doctor();
+            doctor.firstName = firstName;
+            doctor.lastName = "Slots";
+            doctor.email = email;
+            doctor.specialization = "General Practice";
+            doctor.licenseNumber = "LIC-" + firstName.toUpperCase();
+            doctor.persist();
+            return doctor.id;
+        });
+    }
+}
@@ -0,0 +1,142 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.AutocompleteResultDTO;
+import com.basit.cz.dto.DoctorDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DoctorAutocompleteIndex (no database involved)
+ */
+public class DoctorAutocompleteIndexTest {
+
+    private DoctorAutocompleteIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new DoctorAutocompleteIndex();
+        index.index(doctor(1L, "John", "Smith", "Cardiology", 4.8, 50));
+        index.index(doctor(2L, "Johanna", "Müller", "Neurology", 4.2, 30));
+        index.index(doctor(3L, "Bob", "Johnson", "Cardiology", 3.9, 20));
+        index.index(doctor(4L, "Alice", "Brown", "Cardiac Surgery", 4.5, 10));
+    }
+
+    @Test
+    public void testPrefixMatchesAnyNameToken() {
+        // First and last names, ordered by rating
+        assertEquals(List.of(1L, 2L, 3L), doctorIds(index.suggest("joh", 10)));
+        assertEquals(List.of(3L), doctorIds(index.suggest("johns", 10)));
+        assertEquals(List.of(1L), doctorIds(index.suggest("smi", 10)));
+        assertTrue(doctorIds(index.suggest("ohn", 10)).isEmpty());
+    }
+
+    @Test
+    public void testFullNameAndTrailingSpace() {
+        assertEquals(List.of(1L), doctorIds(index.suggest("john sm", 10)));
+        // "john " needs a further token, so Johnson no longer matches
+        assertEquals(List.of(1L), doctorIds(index.suggest("john ", 10)));
+        assertTrue(doctorIds(index.suggest("john b", 10)).isEmpty());
+    }
+
+    @Test
+    public void testCaseAndAccentInsensitive() {
+        assertEquals(List.of(2L), doctorIds(index.suggest("MULL", 10)));
+        assertEquals(List.of(2L), doctorIds(index.suggest("mül", 10)));
+    }
+
+    @Test
+    public void testSpecializationsRankedByDoctorCount() {
+        AutocompleteResultDTO result = index.suggest("card", 10);
+
+        assertEquals(List.of("Cardiology", "Cardiac Surgery"), specializations(result));
+        assertEquals(2, result.specializations.get(0).doctorCount);
+        // Doctors match on their specialization too
+        assertEquals(List.of(1L, 4L, 3L), doctorIds(result));
+        assertEquals(List.of("Cardiac Surgery"), specializations(index.suggest("surg", 10)));
+    }
+
+    @Test
+    public void testLimit() {
+        AutocompleteResultDTO result = index.suggest("card", 1);
+
+        assertEquals(List.of(1L), doctorIds(result));
+        assertEquals(List.of("Cardiology"), specializations(result));
+    }
+
+    @Test
+    public void testReindexUpdatesRankingAndKeys() {
+        index.index(doctor(3L, "Bob", "Johnson", "Cardiology", 5.0, 21));
+        assertEquals(List.of(3L, 1L, 2L), doctorIds(index.suggest("joh", 10)));
+
+        index.index(doctor(1L, "Jonathan", "Smith", "Neurology", 4.8, 50));
+        assertEquals(List.of(3L, 2L), doctorIds(index.suggest("joh", 10)));
+        assertEquals(List.of(1L), doctorIds(index.suggest("jon", 10)));
+        // One doctor each now, so the names break the tie
+        assertEquals(List.of("Cardiac Surgery", "Cardiology"), specializations(index.suggest("card", 10)));
+        assertEquals(1, index.suggest("cardiol", 10).specializations.get(0).doctorCount);
+        assertEquals(2, index.suggest("neuro", 10).specializations.get(0).doctorCount);
+    }
+
+    @Test
+    public void testInactiveAndDeletedDoctorsAreDropped() {
+        DoctorDTO inactive = doctor(1L, "John", "Smith", "Cardiology", 4.8, 50);
+        inactive.isActive = false;
+        index.index(inactive);
+        assertEquals(List.of(2L, 3L), doctorIds(index.suggest("joh", 10)));
+
+        index.replace(List.of(4L), List.of());
+        assertTrue(specializations(index.suggest("cardiac", 10)).isEmpty());
+        assertEquals(List.of("Cardiology"), specializations(index.suggest("card", 10)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testSplitEdgesMergeBackAfterRemoval() {
+        // "johanna" shares "joh" with "john"; dropping both leaves "johnson" reachable
+        index.replace(List.of(1L, 2L), List.of());
+        assertEquals(List.of(3L), doctorIds(index.suggest("j", 10)));
+        assertEquals(List.of(3L), doctorIds(index.suggest("johnso", 10)));
+
+        index.index(doctor(5L, "Jo", "Lee", "Oncology", 4.0, 5));
+        assertEquals(List.of(5L, 3L), doctorIds(index.suggest("jo", 10)));
+        assertEquals(List.of(3L), doctorIds(index.suggest("joh", 10)));
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> index.suggest(" ", 5));
+        assertThrows(IllegalArgumentException.class, () -> index.suggest("jo", 0));
+        assertThrows(IllegalArgumentException.class, () -> index.suggest("jo", DoctorAutocompleteIndex.TOP_K + 1));
+
+        AutocompleteResultDTO punctuation = index.suggest("--", 5);
+        assertTrue(punctuation.doctors.isEmpty());
+        assertTrue(punctuation.specializations.isEmpty());
+    }
+
+    // ===============================================
+    // HELPER METHODS
+    // ===============================================
+
+    private List<Long> doctorIds(AutocompleteResultDTO result) {
+        return result.doctors.stream().map(d -> d.id).collect(Collectors.toList());
+    }
+
+    private List<String> specializations(AutocompleteResultDTO result) {
+        return result.specializations.stream().map(s -> s.name).collect(Collectors.toList());
+    }
+
+    private DoctorDTO doctor(Long id, String firstName, String lastName, String specialization,
+                             double rating, int reviews) {
+        DoctorDTO doctor = new DoctorDTO(id, firstName, lastName, firstName.toLowerCase() + "@test.com");
+        doctor.specialization = specialization;
+        doctor.averageRating = rating;
+        doctor.totalReviews = reviews;
+        doctor.isActive = true;
+        return doctor;
+    }
+}
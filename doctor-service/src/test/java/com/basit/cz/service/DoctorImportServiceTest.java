@@ -0,0 +1,126 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.DoctorImportResultDTO;
+import com.basit.cz.entity.*;
+import com.basit.cz.event.DoctorCacheInvalidation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.reactive.messaging.memory.InMemoryConnector;
+import io.smallrye.reactive.messaging.memory.InMemorySink;
+import jakarta.enterprise.inject.Any;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the streaming bulk doctor import
+ */
+@QuarkusTest
+public class DoctorImportServiceTest {
+
+    @Inject
+    DoctorService doctorService;
+
+    @Inject
+    @Any
+    InMemoryConnector connector;
+
+    @BeforeEach
+    public void setup() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            DoctorSchedule.deleteAll();
+            DoctorReview.deleteAll();
+            DoctorAvailability.deleteAll();
+            DoctorRatingAggregate.deleteAll();
+            Doctor.deleteAll();
+
+            Doctor doctor = new Doctor();
+            doctor.firstName = "Ida";
+            doctor.lastName = "Existing";
+            doctor.email = "ida.existing@test.com";
+            doctor.specialization = "Cardiology";
+            doctor.licenseNumber = "LIC-TAKEN";
+            doctor.persist();
+        });
+        connector.sink("doctor-cache-invalidations-out").clear();
+    }
+
+    @Test
+    public void testCsvImportReportsEveryRow() {
+        String csv = """
+                first_name,last_name,email,phone_number,specialization,years_of_experience,license_number,bio
+                Ann,One,ann.one@test.com,+100,Cardiology,5,LIC-1,"Heart, lungs and ""more""
+                on two lines"
+                Bob,Two,bob.two@test.com,+200,Neurology,x,LIC-2,
+                Cid,Three,IDA.EXISTING@test.com,+300,Neurology,3,LIC-3,
+
+                Dan,Four,dan.four@test.com,+400,Neurology,7,LIC-1,
+                Eva,Five,eva.five@test.com,+500,Pediatrics,2,LIC-TAKEN,
+                Fay,Six,not-an-email,+600,Pediatrics,2,LIC-6,
+                Gus,Seven,gus.seven@test.com,+700,Pediatrics,9,LIC-7,
+                """;
+
+        DoctorImportResultDTO result = doctorService.importDoctors(stream(csv), DoctorImportReader.Format.CSV);
+
+        assertEquals(7, result.received);
+        assertEquals(2, result.imported);
+        assertEquals(3, result.duplicates);
+        assertEquals(2, result.rejected);
+        assertTrue(result.errors.contains("Line 4: years_of_experience must be a number"));
+        assertTrue(result.errors.stream().anyMatch(e -> e.startsWith("Line 5: ") && e.contains("already registered")));
+        assertTrue(result.errors.stream().anyMatch(e -> e.startsWith("Line 7: ") && e.contains("earlier")));
+        assertTrue(result.errors.stream().anyMatch(e -> e.startsWith("Line 8: ") && e.contains("already registered")));
+        assertTrue(result.errors.stream().anyMatch(e -> e.startsWith("Line 9: ") && e.contains("valid")));
+
+        Doctor ann = QuarkusTransaction.requiringNew().call(() -> Doctor.find("email", "ann.one@test.com").firstResult());
+        assertEquals("Heart, lungs and \"more\"\non two lines", ann.bio);
+        assertTrue(ann.isActive);
+        assertEquals(3L, QuarkusTransaction.requiringNew().call(() -> Doctor.count()));
+    }
+
+    @Test
+    public void testNdjsonImportIsIdempotent() throws Exception {
+        String ndjson = """
+                {"firstName":"Hal","lastName":"Eight","email":"hal@test.com","phoneNumber":"+800","specialization":"Oncology","yearsOfExperience":4}
+                {"firstName":"Ivy","lastName":"Nine","email":"ivy@test.com","phoneNumber":"+900","specialization":"Oncology","yearsOfExperience":6,"licenseNumber":"LIC-9"}
+                {not json
+                {"firstName":"Jon","lastName":"Ten","email":"jon@test.com","phoneNumber":"+1000","specialization":"Oncology"}
+                """;
+
+        DoctorImportResultDTO first = doctorService.importDoctors(stream(ndjson), DoctorImportReader.Format.NDJSON);
+        assertEquals(4, first.received);
+        assertEquals(2, first.imported);
+        assertEquals(2, first.rejected);
+        assertTrue(first.errors.get(0).startsWith("Line 3: invalid JSON"));
+        assertTrue(first.errors.get(1).startsWith("Line 4: Years of experience is required"));
+
+        // The batch goes to the other replicas as one invalidation
+        InMemorySink<String> sink = connector.sink("doctor-cache-invalidations-out");
+        assertEquals(1, sink.received().size());
+        DoctorCacheInvalidation invalidation = new ObjectMapper()
+                .readValue(sink.received().get(0).getPayload(), DoctorCacheInvalidation.class);
+        assertEquals(2, invalidation.doctorIds.size());
+
+        DoctorImportResultDTO second = doctorService.importDoctors(stream(ndjson), DoctorImportReader.Format.NDJSON);
+        assertEquals(0, second.imported);
+        assertEquals(2, second.duplicates);
+        assertEquals(1, sink.received().size());
+        assertEquals(1, doctorService.searchByName("ivy").size());
+    }
+
+    @Test
+    public void testCsvWithoutDoctorHeaderIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> doctorService.importDoctors(stream("a,b\n1,2\n"), DoctorImportReader.Format.CSV));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,178 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.CreateReviewRequest;
+import com.basit.cz.dto.DoctorDTO;
+import com.basit.cz.dto.DoctorSearchRequest;
+import com.basit.cz.dto.UpdateDoctorRequest;
+import com.basit.cz.entity.Doctor;
+import com.basit.cz.entity.DoctorAvailability;
+import com.basit.cz.entity.DoctorRatingAggregate;
+import com.basit.cz.entity.DoctorReview;
+import com.basit.cz.entity.DoctorSchedule;
+import com.basit.cz.exception.NotFoundException;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.reactive.messaging.memory.InMemoryConnector;
+import io.smallrye.reactive.messaging.memory.InMemorySink;
+import jakarta.enterprise.inject.Any;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the doctor profile read-through cache
+ */
+@QuarkusTest
+public class DoctorProfileCacheTest {
+
+    @Inject
+    DoctorService doctorService;
+
+    @Inject
+    DoctorProfileCache profileCache;
+
+    @Inject
+    @Any
+    InMemoryConnector connector;
+
+    private Long doctorId;
+
+    @BeforeEach
+    public void setup() {
+        doctorId = QuarkusTransaction.requiringNew().call(() -> {
+            DoctorSchedule.deleteAll();
+            DoctorReview.deleteAll();
+            DoctorAvailability.deleteAll();
+            DoctorRatingAggregate.deleteAll();
+            Doctor.deleteAll();
+
+            Doctor doctor = new Doctor();
+            doctor.firstName = "Carla";
+            doctor.lastName = "Cache";
+            doctor.email = "carla.cache@test.com";
+            doctor.specialization = "Neurology";
+            doctor.licenseNumber = "LIC-CACHE";
+            doctor.consultationFee = 80.0;
+            doctor.persist();
+            return doctor.id;
+        });
+        profileCache.invalidateAll();
+        connector.sink("doctor-cache-invalidations-out").clear();
+    }
+
+    @Test
+    public void testRepeatedReadsAreServedFromCache() {
+        DoctorProfileCache.CacheMetrics before = profileCache.metrics();
+
+        DoctorDTO first = doctorService.getDoctorById(doctorId);
+        DoctorDTO second = doctorService.getDoctorById(doctorId);
+
+        DoctorProfileCache.CacheMetrics after = profileCache.metrics();
+        assertSame(first, second);
+        assertEquals(1, after.misses - before.misses);
+        assertEquals(1, after.hits - before.hits);
+    }
+
+    @Test
+    public void testBatchLookupUsesCache() {
+        DoctorDTO cached = doctorService.getDoctorById(doctorId);
+        DoctorProfileCache.CacheMetrics before = profileCache.metrics();
+
+        List<DoctorDTO> doctors = doctorService.getDoctorsByIds(List.of(doctorId + 1, doctorId, doctorId));
+
+        DoctorProfileCache.CacheMetrics after = profileCache.metrics();
+        assertEquals(1, doctors.size());
+        assertSame(cached, doctors.get(0));
+        assertEquals(1, after.hits - before.hits);
+        assertEquals(1, after.misses - before.misses);
+    }
+
+    @Test
+    public void testUnknownDoctorIsNotCached() {
+        assertThrows(NotFoundException.class, () -> doctorService.getDoctorById(doctorId + 1));
+        assertEquals(0, profileCache.metrics().size);
+    }
+
+    @Test
+    public void testWritesInvalidateAndBroadcast() {
+        doctorService.getDoctorById(doctorId);
+
+        UpdateDoctorRequest update = new UpdateDoctorRequest();
+        update.consultationFee = 120.0;
+        doctorService.updateDoctor(doctorId, update);
+        assertEquals(120.0, read().consultationFee);
+
+        doctorService.addDoctorReview(doctorId, new CreateReviewRequest(1L, 4, "Fine", null));
+        assertEquals(1, read().totalReviews);
+
+        doctorService.deactivateDoctor(doctorId);
+        assertFalse(read().isActive);
+
+        // Deactivation also broadcasts the availability change
+        InMemorySink<String> sink = connector.sink("doctor-cache-invalidations-out");
+        assertEquals(4, sink.received().size());
+        assertTrue(sink.received().get(0).getPayload().contains("\"doctorIds\":[" + doctorId + "]"));
+    }
+
+    @Test
+    public void testRemoteInvalidationDropsEntry() throws InterruptedException {
+        DoctorDTO cached = doctorService.getDoctorById(doctorId);
+
+        // Another replica changed the doctor
+        QuarkusTransaction.requiringNew().run(() -> {
+            Doctor doctor = Doctor.findById(doctorId);
+            doctor.bio = "Changed elsewhere";
+        });
+        assertSame(cached, doctorService.getDoctorById(doctorId));
+
+        long remoteBefore = profileCache.metrics().remoteInvalidations;
+        connector.source("doctor-cache-invalidations-in")
+                .send("{\"doctorIds\":[" + doctorId + "],\"origin\":\"other-replica\"}");
+
+        awaitRemoteInvalidations(remoteBefore + 1);
+        assertEquals("Changed elsewhere", read().bio);
+    }
+
+    @Test
+    public void testRemoteProfileChangeReindexesSearch() throws InterruptedException {
+        // Another replica renamed the doctor
+        QuarkusTransaction.requiringNew().run(() -> {
+            Doctor doctor = Doctor.findById(doctorId);
+            doctor.lastName = "Renamed";
+        });
+
+        connector.source("doctor-cache-invalidations-in")
+                .send("{\"doctorIds\":[" + doctorId + "],\"origin\":\"other-replica\"}");
+
+        // Autocomplete is re-read last
+        long deadline = System.currentTimeMillis() + 5000;
+        while (doctorService.autocomplete("renam", 5).doctors.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(doctorId, doctorService.autocomplete("renam", 5).doctors.get(0).id);
+        assertEquals(doctorId, doctorService.searchDoctors(new DoctorSearchRequest("renamed")).results.get(0).doctor.id);
+    }
+
+    // ===============================================
+    // HELPER METHODS
+    // ===============================================
+
+    /**
+     * Read the profile in its own transaction, so the reload sees committed changes
+     */
+    private DoctorDTO read() {
+        return QuarkusTransaction.requiringNew().call(() -> doctorService.getDoctorById(doctorId));
+    }
+
+    private void awaitRemoteInvalidations(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (profileCache.metrics().remoteInvalidations < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, profileCache.metrics().remoteInvalidations);
+    }
+}
@@ -0,0 +1,111 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.CreateReviewRequest;
+import com.basit.cz.dto.DoctorDTO;
+import com.basit.cz.entity.*;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the Bayesian doctor ranking
+ */
+@QuarkusTest
+public class DoctorRankingIndexTest {
+
+    @Inject
+    DoctorService doctorService;
+
+    @Inject
+    DoctorRankingIndex rankingIndex;
+
+    @Inject
+    DoctorProfileCache profileCache;
+
+    private Long newcomerId;
+    private Long establishedId;
+    private Long neurologistId;
+
+    @BeforeEach
+    public void setup() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            DoctorSchedule.deleteAll();
+            DoctorReview.deleteAll();
+            DoctorAvailability.deleteAll();
+            DoctorRatingAggregate.deleteAll();
+            Doctor.deleteAll();
+        });
+        newcomerId = createDoctor("Nina", "Cardiology", 5.0, 1);
+        establishedId = createDoctor("Emil", "Cardiology", 4.7, 120);
+        neurologistId = createDoctor("Nora", "Neurology", 4.5, 40);
+        createDoctor("Otto", "Neurology", 3.9, 200);
+        rankingIndex.rebuild();
+        profileCache.invalidateAll();
+    }
+
+    @Test
+    public void testSingleReviewDoesNotOutrankEstablishedDoctors() {
+        // Prior mean is the review-weighted mean of all doctors
+        assertEquals(1529.0 / 361, rankingIndex.priorMean(), 1e-9);
+
+        assertEquals(List.of(establishedId, neurologistId, newcomerId), ids(doctorService.findTopRated()));
+        assertEquals(List.of(establishedId, newcomerId), ids(doctorService.findTopRated("Cardiology", 10)));
+        assertEquals(List.of(establishedId), ids(doctorService.findTopRated(null, 1)));
+        assertTrue(rankingIndex.score(newcomerId) < rankingIndex.score(neurologistId));
+    }
+
+    @Test
+    public void testRatingChangesReRankIncrementally() {
+        for (long patient = 1; patient <= 30; patient++) {
+            doctorService.addDoctorReview(newcomerId, new CreateReviewRequest(patient, 5, "Excellent", null));
+        }
+        assertEquals(List.of(newcomerId, establishedId, neurologistId), ids(doctorService.findTopRated()));
+
+        doctorService.deactivateDoctor(neurologistId);
+        assertNull(rankingIndex.score(neurologistId));
+        assertEquals(List.of(newcomerId, establishedId), ids(doctorService.findTopRated()));
+        assertTrue(doctorService.findBySpecializationAndRating("Neurology", 0.0).stream()
+                .noneMatch(d -> d.id.equals(neurologistId)));
+    }
+
+    @Test
+    public void testMinimumRatingStopsOnlyPastReachableScores() {
+        // The newcomer ranks below a lower-rated doctor but still qualifies
+        assertEquals(List.of(newcomerId), ids(doctorService.findBySpecializationAndRating("Cardiology", 4.8)));
+        assertEquals(List.of(establishedId, newcomerId),
+                ids(doctorService.findBySpecializationAndRating("Cardiology", 4.5)));
+        assertTrue(doctorService.findBySpecializationAndRating("Neurology", 4.6).isEmpty());
+    }
+
+    @Test
+    public void testInvalidLimitRejected() {
+        assertThrows(IllegalArgumentException.class, () -> doctorService.findTopRated(null, 0));
+    }
+
+    private Long createDoctor(String name, String specialization, double rating, int reviews) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            Doctor doctor = new Doctor();
+            doctor.firstName = name;
+            doctor.lastName = "Rank";
+            doctor.email = name.toLowerCase() + ".rank@test.com";
+            doctor.specialization = specialization;
+            doctor.licenseNumber = "LIC-RANK-" + name;
+            doctor.averageRating = rating;
+            doctor.totalReviews = reviews;
+            doctor.isActive = true;
+            doctor.persist();
+            return doctor.id;
+        });
+    }
+
+    private static List<Long> ids(List<DoctorDTO> doctors) {
+        return doctors.stream().map(d -> d.id).collect(Collectors.toList());
+    }
+}
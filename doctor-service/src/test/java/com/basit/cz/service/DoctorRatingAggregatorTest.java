@@ -0,0 +1,128 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.CreateReviewRequest;
+import com.basit.cz.dto.RatingHistogramDTO;
+import com.basit.cz.dto.ReviewDTO;
+import com.basit.cz.dto.UpdateReviewRequest;
+import com.basit.cz.entity.Doctor;
+import com.basit.cz.entity.DoctorAvailability;
+import com.basit.cz.entity.DoctorRatingAggregate;
+import com.basit.cz.entity.DoctorReview;
+import com.basit.cz.entity.DoctorSchedule;
+import com.basit.cz.exception.NotFoundException;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for incremental rating aggregates and their verifier
+ */
+@QuarkusTest
+public class DoctorRatingAggregatorTest {
+
+    @Inject
+    DoctorService doctorService;
+
+    @Inject
+    DoctorRatingAggregator ratingAggregator;
+
+    private Long doctorId;
+
+    @BeforeEach
+    public void setup() {
+        doctorId = QuarkusTransaction.requiringNew().call(() -> {
+            DoctorSchedule.deleteAll();
+            DoctorReview.deleteAll();
+            DoctorAvailability.deleteAll();
+            DoctorRatingAggregate.deleteAll();
+            Doctor.deleteAll();
+
+            Doctor doctor = new Doctor();
+            doctor.firstName = "Rita";
+            doctor.lastName = "Rating";
+            doctor.email = "rita.rating@test.com";
+            doctor.specialization = "Cardiology";
+            doctor.licenseNumber = "LIC-RATING";
+            doctor.persist();
+            return doctor.id;
+        });
+    }
+
+    @Test
+    public void testReviewsUpdateAggregateAndHistogram() {
+        doctorService.addDoctorReview(doctorId, review(1L, 5));
+        doctorService.addDoctorReview(doctorId, review(2L, 4));
+        doctorService.addDoctorReview(doctorId, review(3L, 4));
+
+        RatingHistogramDTO histogram = doctorService.getRatingHistogram(doctorId);
+        assertEquals(3L, histogram.totalReviews);
+        assertArrayEquals(new long[]{0, 0, 0, 2, 1}, histogram.starCounts);
+        assertEquals(13.0 / 3, histogram.averageRating, 1e-9);
+
+        Doctor doctor = QuarkusTransaction.requiringNew().call(() -> Doctor.findById(doctorId));
+        assertEquals(3, doctor.totalReviews);
+        assertEquals(13.0 / 3, doctor.averageRating, 1e-9);
+    }
+
+    @Test
+    public void testChangeAndDeleteReview() {
+        ReviewDTO first = doctorService.addDoctorReview(doctorId, review(1L, 5));
+        ReviewDTO second = doctorService.addDoctorReview(doctorId, review(2L, 3));
+
+        doctorService.updateDoctorReview(doctorId, first.id, new UpdateReviewRequest(1, null));
+        RatingHistogramDTO histogram = doctorService.getRatingHistogram(doctorId);
+        assertArrayEquals(new long[]{1, 0, 1, 0, 0}, histogram.starCounts);
+        assertEquals(2.0, histogram.averageRating, 1e-9);
+
+        doctorService.deleteDoctorReview(doctorId, second.id);
+        histogram = doctorService.getRatingHistogram(doctorId);
+        assertEquals(1L, histogram.totalReviews);
+        assertEquals(1.0, histogram.averageRating, 1e-9);
+
+        assertEquals(1.0, doctorService.getDoctorById(doctorId).averageRating, 1e-9);
+    }
+
+    @Test
+    public void testReviewMustBelongToDoctor() {
+        ReviewDTO review = doctorService.addDoctorReview(doctorId, review(1L, 5));
+
+        assertThrows(NotFoundException.class, () -> doctorService.deleteDoctorReview(doctorId + 1, review.id));
+        assertThrows(NotFoundException.class, () -> doctorService.getRatingHistogram(doctorId + 1));
+    }
+
+    @Test
+    public void testReconcileRepairsDrift() {
+        doctorService.addDoctorReview(doctorId, review(1L, 2));
+
+        // Review written behind the aggregate's back
+        QuarkusTransaction.requiringNew().run(() -> {
+            DoctorReview review = new DoctorReview();
+            review.doctor = Doctor.findById(doctorId);
+            review.patientId = 2L;
+            review.rating = 4;
+            review.createdAt = LocalDateTime.now();
+            review.persist();
+        });
+
+        assertEquals(1, ratingAggregator.reconcile());
+        assertEquals(0, ratingAggregator.reconcile());
+
+        RatingHistogramDTO histogram = doctorService.getRatingHistogram(doctorId);
+        assertArrayEquals(new long[]{0, 1, 0, 1, 0}, histogram.starCounts);
+        assertEquals(3.0, doctorService.getDoctorById(doctorId).averageRating, 1e-9);
+    }
+
+    // ===============================================
+    // HELPER METHODS
+    // ===============================================
+
+    private CreateReviewRequest review(Long patientId, int rating) {
+        return new CreateReviewRequest(patientId, rating, "Review " + rating, "Patient " + patientId);
+    }
+}
@@ -0,0 +1,126 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.*;
+import com.basit.cz.entity.*;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for review duplicate detection, keyset paging and bulk import
+ */
+@QuarkusTest
+public class DoctorReviewServiceTest {
+
+    @Inject
+    DoctorService doctorService;
+
+    private Long doctorId;
+
+    @BeforeEach
+    public void setup() {
+        doctorId = QuarkusTransaction.requiringNew().call(() -> {
+            DoctorSchedule.deleteAll();
+            DoctorReview.deleteAll();
+            DoctorAvailability.deleteAll();
+            DoctorRatingAggregate.deleteAll();
+            Doctor.deleteAll();
+
+            Doctor doctor = new Doctor();
+            doctor.firstName = "Rene";
+            doctor.lastName = "Review";
+            doctor.email = "rene.review@test.com";
+            doctor.specialization = "Dermatology";
+            doctor.licenseNumber = "LIC-REVIEW";
+            doctor.persist();
+            return doctor.id;
+        });
+    }
+
+    @Test
+    public void testDuplicateReviewRejectedByUniqueIndex() {
+        doctorService.addDoctorReview(doctorId, new CreateReviewRequest(7L, 4, "Good", null));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> doctorService.addDoctorReview(doctorId, new CreateReviewRequest(7L, 2, "Again", null)));
+
+        assertTrue(e.getMessage().contains("already reviewed"));
+        assertEquals(1L, doctorService.getRatingHistogram(doctorId).totalReviews);
+    }
+
+    @Test
+    public void testKeysetPagingWalksAllReviewsNewestFirst() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<ImportReviewRequest> reviews = new ArrayList<>();
+        for (long patient = 1; patient <= 5; patient++) {
+            ImportReviewRequest review = new ImportReviewRequest(doctorId, patient, 5, "Review " + patient);
+            // Two reviews share a timestamp, so the id has to break the tie
+            review.createdAt = base.plusMinutes(Math.min(patient, 4));
+            reviews.add(review);
+        }
+        doctorService.importReviews(reviews);
+
+        List<Long> patients = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ReviewPageDTO page = doctorService.getDoctorReviews(doctorId, cursor, 2);
+            page.reviews.forEach(r -> patients.add(r.patientId));
+            cursor = page.nextCursor;
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(5, patients.size());
+        assertEquals(List.of(3L, 2L, 1L), patients.subList(2, 5));
+        assertTrue(patients.subList(0, 2).containsAll(List.of(4L, 5L)));
+
+        assertEquals(5, doctorService.getDoctorReviewsByRating(doctorId, 5, null, 10).reviews.size());
+        assertTrue(doctorService.getVerifiedDoctorReviews(doctorId, null, 10).reviews.isEmpty());
+    }
+
+    @Test
+    public void testInvalidCursorAndLimit() {
+        assertThrows(IllegalArgumentException.class, () -> doctorService.getDoctorReviews(doctorId, "not-a-cursor", 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> doctorService.getDoctorReviews(doctorId, null, DoctorService.MAX_REVIEW_PAGE_SIZE + 1));
+    }
+
+    @Test
+    public void testImportSkipsDuplicatesAndRejectsInvalidEntries() {
+        doctorService.addDoctorReview(doctorId, new CreateReviewRequest(1L, 1, "Existing", null));
+
+        LocalDateTime legacy = LocalDateTime.of(2019, 5, 1, 9, 30);
+        ImportReviewRequest migrated = new ImportReviewRequest(doctorId, 2L, 5, "Legacy");
+        migrated.createdAt = legacy;
+        migrated.isVerified = true;
+
+        ReviewImportResultDTO result = doctorService.importReviews(List.of(
+                new ImportReviewRequest(doctorId, 1L, 4, "Already reviewed"),
+                migrated,
+                new ImportReviewRequest(doctorId, 2L, 3, "Same pair in the file"),
+                new ImportReviewRequest(doctorId, 3L, 6, "Bad rating"),
+                new ImportReviewRequest(doctorId + 1, 4L, 4, "Unknown doctor")));
+
+        assertEquals(5, result.received);
+        assertEquals(1, result.imported);
+        assertEquals(2, result.duplicates);
+        assertEquals(2, result.rejected);
+        assertEquals(2, result.errors.size());
+
+        RatingHistogramDTO histogram = doctorService.getRatingHistogram(doctorId);
+        assertArrayEquals(new long[]{1, 0, 0, 0, 1}, histogram.starCounts);
+        assertEquals(3.0, doctorService.getDoctorById(doctorId).averageRating, 1e-9);
+
+        ReviewDTO imported = doctorService.getVerifiedDoctorReviews(doctorId, null, 10).reviews.get(0);
+        assertEquals(legacy, imported.createdAt);
+    }
+}
@@ -0,0 +1,156 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.DoctorDTO;
+import com.basit.cz.dto.DoctorSearchRequest;
+import com.basit.cz.dto.DoctorSearchResultDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DoctorSearchIndex (no database involved)
+ */
+public class DoctorSearchIndexTest {
+
+    private DoctorSearchIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new DoctorSearchIndex();
+        index.index(doctor(1L, "John", "Smith", "Cardiology", "MD, FACC", 4.8, 120.0, 15));
+        index.index(doctor(2L, "Johanna", "Müller", "Neurology", "PhD Neuroscience", 4.2, 90.0, 8));
+        index.index(doctor(3L, "Bob", "Johnson", "Cardiology", "MD", 3.9, 150.0, 20));
+        index.index(doctor(4L, "Alice", "Brown", "Dermatology", "Board certified cardiology consultant", 4.5, 80.0, 5));
+    }
+
+    @Test
+    public void testSearchRanksExactNameFirst() {
+        // Exact first name before a last-name prefix
+        assertEquals(List.of(1L, 3L), ids(index.search(new DoctorSearchRequest("john"))));
+
+        // Equal prefix matches are ordered by rating
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search(new DoctorSearchRequest("joh"))));
+    }
+
+    @Test
+    public void testSearchIsCaseAndAccentInsensitive() {
+        assertEquals(List.of(2L), ids(index.search(new DoctorSearchRequest("MULLER"))));
+        assertEquals(List.of(2L), ids(index.search(new DoctorSearchRequest("müll"))));
+    }
+
+    @Test
+    public void testSearchAcrossFieldsWeightsSpecializationOverQualifications() {
+        List<Long> ids = ids(index.search(new DoctorSearchRequest("cardio")));
+
+        assertEquals(List.of(1L, 3L, 4L), ids);
+
+        DoctorSearchRequest namesOnly = new DoctorSearchRequest("cardio");
+        namesOnly.namesOnly = true;
+        assertTrue(ids(index.search(namesOnly)).isEmpty());
+    }
+
+    @Test
+    public void testMultipleTermsMustAllMatch() {
+        assertEquals(List.of(1L), ids(index.search(new DoctorSearchRequest("john cardiology smi"))));
+        assertTrue(ids(index.search(new DoctorSearchRequest("john dermatology"))).isEmpty());
+    }
+
+    @Test
+    public void testSubstringAndShortPrefix() {
+        // "ohns" is inside "Johnson" but no prefix of any token
+        assertEquals(List.of(3L), ids(index.search(new DoctorSearchRequest("ohns"))));
+        // Two letters only match token prefixes
+        assertEquals(List.of(4L), ids(index.search(new DoctorSearchRequest("al"))));
+        assertTrue(ids(index.search(new DoctorSearchRequest("oh"))).isEmpty());
+    }
+
+    @Test
+    public void testNumericFilters() {
+        DoctorSearchRequest request = new DoctorSearchRequest();
+        request.minRating = 4.0;
+        request.maxFee = 100.0;
+        assertEquals(List.of(4L, 2L), ids(index.search(request)));
+
+        request = new DoctorSearchRequest("cardiology");
+        request.minExperience = 16;
+        assertEquals(List.of(3L), ids(index.search(request)));
+
+        request = new DoctorSearchRequest();
+        request.specialization = "cardiology";
+        request.minFee = 130.0;
+        assertEquals(List.of(3L), ids(index.search(request)));
+    }
+
+    @Test
+    public void testPagination() {
+        DoctorSearchRequest request = new DoctorSearchRequest();
+        request.size = 3;
+        request.page = 1;
+
+        DoctorSearchResultDTO result = index.search(request);
+
+        assertEquals(4, result.total);
+        assertEquals(List.of(3L), ids(result));
+    }
+
+    @Test
+    public void testReindexAndDeactivate() {
+        index.index(doctor(1L, "Jonathan", "Smith", "Cardiology", "MD", 4.8, 120.0, 15));
+        assertEquals(List.of(3L), ids(index.search(new DoctorSearchRequest("john"))));
+        assertEquals(List.of(1L), ids(index.search(new DoctorSearchRequest("jonathan"))));
+
+        DoctorDTO inactive = doctor(3L, "Bob", "Johnson", "Cardiology", "MD", 3.9, 150.0, 20);
+        inactive.isActive = false;
+        index.index(inactive);
+        assertTrue(ids(index.search(new DoctorSearchRequest("john"))).isEmpty());
+
+        index.replace(List.of(2L), List.of());
+        assertTrue(ids(index.search(new DoctorSearchRequest("joh"))).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testPagePastTheEnd() {
+        DoctorSearchRequest request = new DoctorSearchRequest("john");
+        request.size = DoctorSearchIndex.MAX_PAGE_SIZE;
+        request.page = Integer.MAX_VALUE;
+
+        DoctorSearchResultDTO result = index.search(request);
+
+        assertEquals(2, result.total);
+        assertTrue(result.results.isEmpty());
+    }
+
+    @Test
+    public void testInvalidPaging() {
+        DoctorSearchRequest request = new DoctorSearchRequest("john");
+        request.size = DoctorSearchIndex.MAX_PAGE_SIZE + 1;
+
+        assertThrows(IllegalArgumentException.class, () -> index.search(request));
+    }
+
+    // ===============================================
+    // HELPER METHODS
+    // ===============================================
+
+    private List<Long> ids(DoctorSearchResultDTO result) {
+        return result.results.stream().map(hit -> hit.doctor.id).collect(Collectors.toList());
+    }
+
+    private DoctorDTO doctor(Long id, String firstName, String lastName, String specialization,
+                             String qualifications, double rating, double fee, int experience) {
+        DoctorDTO doctor = new DoctorDTO(id, firstName, lastName, firstName.toLowerCase() + "@test.com");
+        doctor.specialization = specialization;
+        doctor.qualifications = qualifications;
+        doctor.averageRating = rating;
+        doctor.consultationFee = fee;
+        doctor.yearsOfExperience = experience;
+        doctor.totalReviews = 10;
+        doctor.isActive = true;
+        return doctor;
+    }
+}
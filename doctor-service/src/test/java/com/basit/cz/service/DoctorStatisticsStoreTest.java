@@ -0,0 +1,115 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.CreateReviewRequest;
+import com.basit.cz.dto.ExperienceBandDTO;
+import com.basit.cz.dto.SpecializationDTO;
+import com.basit.cz.dto.UpdateDoctorRequest;
+import com.basit.cz.entity.*;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the maintained doctor statistics
+ */
+@QuarkusTest
+public class DoctorStatisticsStoreTest {
+
+    @Inject
+    DoctorService doctorService;
+
+    @Inject
+    DoctorStatisticsStore statistics;
+
+    @Inject
+    DoctorProfileCache profileCache;
+
+    private Long cardiologistId;
+    private Long neurologistId;
+
+    @BeforeEach
+    public void setup() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            DoctorSchedule.deleteAll();
+            DoctorReview.deleteAll();
+            DoctorAvailability.deleteAll();
+            DoctorRatingAggregate.deleteAll();
+            Doctor.deleteAll();
+        });
+        cardiologistId = createDoctor("Carl", "Cardiology", 4.0, 3, 100.0, true);
+        createDoctor("Cora", "Cardiology", 5.0, 12, 200.0, true);
+        neurologistId = createDoctor("Ned", "Neurology", 3.0, 25, null, true);
+        createDoctor("Ina", "Neurology", 1.0, 40, 50.0, false);
+        statistics.rebuild();
+        profileCache.invalidateAll();
+    }
+
+    @Test
+    public void testStatisticsAndBreakdowns() {
+        DoctorService.DoctorStatistics stats = doctorService.getStatistics();
+        assertEquals(3L, stats.totalDoctors);
+        assertEquals(4.0, stats.averageRating, 1e-9);
+        assertEquals(40.0 / 3, stats.averageExperience, 1e-9);
+
+        SpecializationDTO cardiology = stats.bySpecialization.get(0);
+        assertEquals("Cardiology", cardiology.name);
+        assertEquals(2L, cardiology.doctorCount);
+        assertEquals(150.0, cardiology.averageConsultationFee, 1e-9);
+        assertEquals(7.5, cardiology.averageExperience, 1e-9);
+        // Doctors without a fee are left out of the fee average
+        assertEquals(0.0, stats.bySpecialization.get(1).averageConsultationFee, 1e-9);
+
+        List<ExperienceBandDTO> bands = stats.byExperienceBand;
+        assertEquals(List.of(0, 5, 10, 20), bands.stream().map(b -> b.minYears).toList());
+        assertEquals(4, bands.get(0).maxYears);
+        assertNull(bands.get(3).maxYears);
+        assertEquals(List.of(1L, 0L, 1L, 1L), bands.stream().map(b -> b.doctorCount).toList());
+
+        assertEquals(2, doctorService.countBySpecialization("Cardiology"));
+        assertEquals(0, doctorService.countBySpecialization("Oncology"));
+    }
+
+    @Test
+    public void testLifecycleAndRatingChangesUpdateAggregates() {
+        UpdateDoctorRequest update = new UpdateDoctorRequest();
+        update.consultationFee = 300.0;
+        doctorService.updateDoctor(cardiologistId, update);
+        assertEquals(250.0, doctorService.getStatistics().bySpecialization.get(0).averageConsultationFee, 1e-9);
+        assertEquals(300.0, doctorService.getStatistics().byExperienceBand.get(0).averageConsultationFee, 1e-9);
+
+        doctorService.deactivateDoctor(neurologistId);
+        doctorService.addDoctorReview(cardiologistId, new CreateReviewRequest(1L, 1, "Rushed", null));
+
+        DoctorService.DoctorStatistics stats = doctorService.getStatistics();
+        assertEquals(2L, stats.totalDoctors);
+        assertEquals(3.0, stats.averageRating, 1e-9);
+        assertEquals(0, doctorService.countBySpecialization("Neurology"));
+        assertEquals(List.of("Cardiology"),
+                doctorService.getAllSpecializationsWithDetails().stream().map(s -> s.name).toList());
+        assertEquals(List.of(1L, 0L, 1L, 0L), stats.byExperienceBand.stream().map(b -> b.doctorCount).toList());
+    }
+
+    private Long createDoctor(String name, String specialization, double rating, int experience,
+                              Double fee, boolean active) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            Doctor doctor = new Doctor();
+            doctor.firstName = name;
+            doctor.lastName = "Stats";
+            doctor.email = name.toLowerCase() + ".stats@test.com";
+            doctor.specialization = specialization;
+            doctor.licenseNumber = "LIC-STATS-" + name;
+            doctor.averageRating = rating;
+            doctor.yearsOfExperience = experience;
+            doctor.consultationFee = fee;
+            doctor.isActive = active;
+            doctor.persist();
+            return doctor.id;
+        });
+    }
+}
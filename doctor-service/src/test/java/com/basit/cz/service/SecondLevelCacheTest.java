@@ -0,0 +1,287 @@
+package com.basit.cz.service;
+
+import com.basit.cz.dto.CreateAvailabilityRequest;
+import com.basit.cz.dto.CreateReviewRequest;
+import com.basit.cz.dto.UpdateDoctorRequest;
+import com.basit.cz.entity.*;
+import com.basit.cz.repository.DoctorAvailabilityRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.reactive.messaging.memory.InMemoryConnector;
+import jakarta.enterprise.inject.Any;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the Hibernate second-level cache and its invalidation
+ */
+@QuarkusTest
+public class SecondLevelCacheTest {
+
+    private static final String AVAILABILITIES = Doctor.class.getName() + ".availabilities";
+
+    @Inject
+    DoctorService doctorService;
+
+    @Inject
+    DoctorAvailabilityRepository availabilityRepository;
+
+    @Inject
+    SecondLevelCache secondLevelCache;
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    @Any
+    InMemoryConnector connector;
+
+    private Long doctorId;
+
+    @BeforeEach
+    public void setup() {
+        doctorId = QuarkusTransaction.requiringNew().call(() -> {
+            DoctorSchedule.deleteAll();
+            DoctorReview.deleteAll();
+            DoctorAvailability.deleteAll();
+            DoctorRatingAggregate.deleteAll();
+            Doctor.deleteAll();
+
+            Doctor doctor = new Doctor();
+            doctor.firstName = "Lena";
+            doctor.lastName = "Level";
+            doctor.email = "lena.level@test.com";
+            doctor.specialization = "Dermatology";
+            doctor.licenseNumber = "LIC-L2";
+            doctor.consultationFee = 90.0;
+            doctor.persist();
+            return doctor.id;
+        });
+        doctorService.addDoctorAvailability(doctorId,
+                new CreateAvailabilityRequest("MONDAY", LocalTime.of(9, 0), LocalTime.of(12, 0)));
+        cache().evictAllRegions();
+        awaitNextCacheTimestamp();
+    }
+
+    @Test
+    public void testEntityReadsAreServedFromCacheAndUpdatedOnWrite() {
+        Statistics statistics = statistics();
+        long hits = statistics.getSecondLevelCacheHitCount();
+
+        loadFee();
+        assertTrue(cache().containsEntity(Doctor.class, doctorId));
+        assertEquals(90.0, loadFee());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > hits);
+
+        // Writes through the session update the cached entry
+        UpdateDoctorRequest update = new UpdateDoctorRequest();
+        update.consultationFee = 120.0;
+        doctorService.updateDoctor(doctorId, update);
+        assertEquals(120.0, loadFee());
+
+        // A bulk update cannot tell which entries changed, so it drops the whole region
+        QuarkusTransaction.requiringNew().run(() -> Doctor.update("consultationFee = 150.0 where id = ?1", doctorId));
+        assertFalse(cache().containsEntity(Doctor.class, doctorId));
+        assertEquals(150.0, loadFee());
+
+        SecondLevelCache.CacheMetrics metrics = secondLevelCache.metrics();
+        assertTrue(metrics.hibernateStatisticsEnabled);
+        assertTrue(metrics.regions.stream().anyMatch(r -> r.region.equals(Doctor.class.getName()) && r.hits > 0));
+    }
+
+    @Test
+    public void testQueryCacheIsInvalidatedByAvailabilityWrites() {
+        Statistics statistics = statistics();
+        assertEquals(1, activeSlots());
+        long hits = statistics.getQueryCacheHitCount();
+        assertEquals(1, activeSlots());
+        assertEquals(hits + 1, statistics.getQueryCacheHitCount());
+
+        // Any write to the table makes the cached result stale
+        doctorService.addDoctorAvailability(doctorId,
+                new CreateAvailabilityRequest("TUESDAY", LocalTime.of(9, 0), LocalTime.of(12, 0)));
+        assertEquals(2, activeSlots());
+        assertEquals(hits + 1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    public void testCollectionCacheIsEvictedWhenSlotsChange() {
+        assertEquals(1, collectionSize());
+        assertTrue(cache().containsCollection(AVAILABILITIES, doctorId));
+
+        // Slots are saved from the owning side; the inverse collection must not go stale
+        doctorService.addDoctorAvailability(doctorId,
+                new CreateAvailabilityRequest("FRIDAY", LocalTime.of(14, 0), LocalTime.of(16, 0)));
+        assertFalse(cache().containsCollection(AVAILABILITIES, doctorId));
+        assertEquals(2, collectionSize());
+    }
+
+    @Test
+    public void testRemoteInvalidationEvictsOnlyWhatChanged() throws Exception {
+        loadFee();
+        activeSlots();
+
+        // Another replica changed the fee, unseen by this replica's cache
+        updateFeeBehindCache(130.0);
+        assertEquals(90.0, loadFee());
+
+        // A profile change drops the stale doctor but leaves the slots cached
+        sendRemoteInvalidation("PROFILE");
+        assertEquals(130.0, loadFee());
+        long hits = statistics().getQueryCacheHitCount();
+        activeSlots();
+        assertEquals(hits + 1, statistics().getQueryCacheHitCount());
+
+        // An availability change drops the slots but leaves the doctor cached
+        sendRemoteInvalidation("AVAILABILITY");
+        assertTrue(cache().containsEntity(Doctor.class, doctorId));
+        long misses = statistics().getQueryCacheMissCount();
+        activeSlots();
+        assertEquals(misses + 1, statistics().getQueryCacheMissCount());
+    }
+
+    @Test
+    public void testWritesDoNotStartFromStaleCachedDoctor() throws Exception {
+        loadFee();
+
+        // Another replica deactivated the doctor, unseen by this replica's cache
+        updateBehindCache("is_active = false");
+        assertTrue(QuarkusTransaction.requiringNew().call(() -> Doctor.<Doctor>findById(doctorId).isActive));
+
+        // The fee change must not bring back the cached active flag
+        UpdateDoctorRequest update = new UpdateDoctorRequest();
+        update.consultationFee = 110.0;
+        doctorService.updateDoctor(doctorId, update);
+        assertEquals(110.0, loadFee());
+        assertFalse(QuarkusTransaction.requiringNew().call(() -> Doctor.<Doctor>findById(doctorId).isActive));
+
+        // Nor may a new review's rating totals bring back the cached fee
+        updateBehindCache("consultation_fee = 140.0");
+        doctorService.addDoctorReview(doctorId, new CreateReviewRequest(1L, 4, "Good", null));
+        Doctor reviewed = QuarkusTransaction.requiringNew().call(() -> Doctor.<Doctor>findById(doctorId));
+        assertEquals(140.0, reviewed.consultationFee);
+        assertEquals(1, reviewed.totalReviews);
+    }
+
+    @Test
+    public void testStaleCachedDoctorCannotBeWrittenBack() throws Exception {
+        loadFee();
+        updateBehindCache("is_active = false");
+
+        // A write from the stale copy fails on its version instead of overwriting the change
+        Exception failure = assertThrows(Exception.class, () -> QuarkusTransaction.requiringNew().run(() -> {
+            Doctor doctor = Doctor.findById(doctorId);
+            doctor.consultationFee = 100.0;
+        }));
+        assertTrue(hasCause(failure, OptimisticLockException.class), failure.toString());
+
+        cache().evictEntityData(Doctor.class, doctorId);
+        Doctor doctor = QuarkusTransaction.requiringNew().call(() -> Doctor.<Doctor>findById(doctorId));
+        assertFalse(doctor.isActive);
+        assertEquals(90.0, doctor.consultationFee);
+    }
+
+    // ===============================================
+    // HELPER METHODS
+    // ===============================================
+
+    /**
+     * Load in a fresh session, so only the second-level cache can serve the read
+     */
+    private Double loadFee() {
+        return QuarkusTransaction.requiringNew().call(() -> Doctor.<Doctor>findById(doctorId).consultationFee);
+    }
+
+    /**
+     * Send an invalidation from another replica and wait until it has been applied
+     */
+    private void sendRemoteInvalidation(String change) throws InterruptedException {
+        long applied = secondLevelCache.metrics().remoteEvictions;
+        connector.source("doctor-cache-invalidations-in").send("{\"doctorIds\":[" + doctorId
+                + "],\"change\":\"" + change + "\",\"origin\":\"other-replica\"}");
+
+        // The consumer runs on a worker thread
+        long deadline = System.currentTimeMillis() + 5000;
+        while (secondLevelCache.metrics().remoteEvictions == applied && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(applied + 1, secondLevelCache.metrics().remoteEvictions);
+    }
+
+    /**
+     * Update the doctor through JDBC, so Hibernate does not evict anything
+     */
+    private void updateFeeBehindCache(double fee) throws SQLException {
+        updateBehindCache("consultation_fee = " + fee);
+    }
+
+    /**
+     * Update the doctor through JDBC as another replica's Hibernate would, bumping its
+     * version, so this replica's cache keeps the old copy
+     */
+    private void updateBehindCache(String assignments) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE doctors SET " + assignments + ", version = version + 1 WHERE id = ?")) {
+            update.setLong(1, doctorId);
+            update.executeUpdate();
+        }
+    }
+
+    private static boolean hasCause(Throwable failure, Class<? extends Throwable> type) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (type.isInstance(t)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int activeSlots() {
+        return QuarkusTransaction.requiringNew().call(() -> availabilityRepository.findActiveByDoctorId(doctorId).size());
+    }
+
+    private int collectionSize() {
+        return QuarkusTransaction.requiringNew().call(() -> Doctor.<Doctor>findById(doctorId).availabilities.size());
+    }
+
+    /**
+     * Query results cached in the same cache timestamp (millisecond) as a write to
+     * their tables count as stale, so let the clock move past the setup's writes
+     */
+    private void awaitNextCacheTimestamp() {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache().getRegionFactory();
+        long written = regionFactory.nextTimestamp();
+        while (regionFactory.nextTimestamp() <= written) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}